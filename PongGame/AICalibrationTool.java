@@ -0,0 +1,363 @@
+// AICalibrationTool.java
+// This file contains the command-line tool searching AI profiles that reach target win rates against a reference AI.
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Calibrates the AI difficulties: evaluates every {@link AIProfile} of a parameter grid (shortest reaction delay,
+ * spread of the reaction delay, largest aiming error) against a reference opponent, then picks for each target the
+ * profile whose score is closest to the target win rate, e.g. {@code EASY=0.2} for an EASY AI that loses 80% of
+ * its matches to the reference.
+ * <ul>
+ * <li>All the grid points are played at once through {@link TournamentRunner#playAgainst}, which spreads their
+ *     matches over every core.</li>
+ * <li>The score of a point is its share of matches won, a match stopped at the tick limit counting as half a win,
+ *     since evenly matched AIs rally forever; its 95% interval is the Wilson interval of that share.</li>
+ * <li>Every point played is appended to a cache file, keyed by its parameters, the opponent and the match
+ *     settings. A re-run only plays the points missing from it, so refining the grid or adding targets is cheap.
+ *     The matches of a point are seeded from its parameters, so a cached result is exactly what a new run would find.</li>
+ * </ul>
+ * The chosen profiles are printed in the {@code name=min-max:error} form, ready for {@link TournamentRunner} or
+ * for the constants of {@link AIProfile}.
+ * Usage: {@code java -cp PongGame AICalibrationTool [--opponent SPEC] [--target NAME=RATE ...] [--reaction MIN:MAX:STEP]
+ * [--spread MIN:MAX:STEP] [--error MIN:MAX:STEP] [--matches N] [--threads N] [--seed S] [--max-ticks T] [--cache FILE]}
+ * <p>
+ * Calibre les difficultés de l'IA : évalue chaque {@link AIProfile} d'une grille de paramètres (délai de réaction le
+ * plus court, étendue du délai de réaction, plus grande erreur de visée) contre un adversaire de référence, puis
+ * choisit pour chaque cible le profil dont le score est le plus proche du taux de victoire visé, par exemple
+ * {@code EASY=0.2} pour une IA EASY qui perd 80 % de ses parties contre la référence.
+ * <ul>
+ * <li>Tous les points de la grille sont joués à la fois via {@link TournamentRunner#playAgainst}, qui répartit leurs
+ *     parties sur tous les cœurs.</li>
+ * <li>Le score d'un point est sa part de parties gagnées, une partie arrêtée à la limite de ticks comptant comme une
+ *     demi-victoire, puisque des IA de même niveau échangent indéfiniment ; son intervalle à 95 % est l'intervalle de
+ *     Wilson de cette part.</li>
+ * <li>Chaque point joué est ajouté à un fichier cache, indexé par ses paramètres, l'adversaire et les réglages des
+ *     parties. Une nouvelle exécution ne joue que les points qui y manquent, de sorte qu'affiner la grille ou ajouter
+ *     des cibles coûte peu. Les parties d'un point sont ensemencées à partir de ses paramètres, un résultat en cache
+ *     est donc exactement celui qu'une nouvelle exécution trouverait.</li>
+ * </ul>
+ * Les profils choisis sont affichés sous la forme {@code nom=min-max:erreur}, prêts pour {@link TournamentRunner} ou
+ * pour les constantes d'{@link AIProfile}.
+ */
+public class AICalibrationTool {
+    private static final String DEFAULT_CACHE_FILENAME = "pong_calibration_cache.csv"; // (EN) Results of the points already played. (FR) Résultats des points déjà joués.
+    private static final int DEFAULT_MATCHES = 200; // (EN) Matches per grid point. (FR) Parties par point de la grille.
+    private static final long DEFAULT_MAX_TICKS = 10L * 60 * MatchEngine.TICKS_PER_SECOND; // (EN) Ten minutes of play. (FR) Dix minutes de jeu.
+    private static final int SEEDING_VERSION = 2; // (EN) Part of the cache key, bumped when the seeding of the matches changes. (FR) Partie de la clé du cache, incrémentée quand l'ensemencement des parties change.
+    private static final String CACHE_HEADER = "key,matches,wins,losses,capped,points,opponent_points,ticks"; // (EN) First line of the cache file. (FR) Première ligne du fichier cache.
+
+    /**
+     * Result of one grid point against the opponent.
+     * <p>
+     * Résultat d'un point de la grille contre l'adversaire.
+     */
+    static final class Point {
+        final AIProfile profile; // (EN) The candidate. (FR) Le candidat.
+        final int matches, wins, losses, capped; // (EN) Match outcomes. (FR) Issues des parties.
+        final long points, opponentPoints, ticks; // (EN) Points scored by each side and ticks simulated. (FR) Points marqués par chaque côté et ticks simulés.
+
+        Point(AIProfile profile, int matches, int wins, int losses, int capped, long points, long opponentPoints, long ticks) {
+            this.profile = profile;
+            this.matches = matches;
+            this.wins = wins;
+            this.losses = losses;
+            this.capped = capped;
+            this.points = points;
+            this.opponentPoints = opponentPoints;
+            this.ticks = ticks;
+        }
+
+        /**
+         * Share of matches won, capped matches counting as half a win.
+         * <p>
+         * Part des parties gagnées, les parties plafonnées comptant comme une demi-victoire.
+         */
+        double score() {
+            return (wins + 0.5 * capped) / matches;
+        }
+
+        double[] interval() {
+            return TournamentRunner.wilsonInterval(wins + 0.5 * capped, matches);
+        }
+    }
+
+    private final AIProfile opponent; // (EN) The reference AI. (FR) L'IA de référence.
+    private final int matches; // (EN) Matches per point. (FR) Parties par point.
+    private final long maxTicks; // (EN) Tick limit of a match. (FR) Limite de ticks d'une partie.
+    private final long seed; // (EN) Seed of the matches. (FR) Graine des parties.
+    private final Path cacheFile; // (EN) Where played points are kept. (FR) Où les points joués sont gardés.
+
+    /**
+     * Constructs a calibration against a reference opponent.
+     * <p>
+     * Construit une calibration contre un adversaire de référence.
+     *
+     * @param opponent  (EN) The reference AI. (FR) L'IA de référence.
+     * @param matches   (EN) Matches per grid point. (FR) Parties par point de la grille.
+     * @param maxTicks  (EN) Tick limit of a match. (FR) Limite de ticks d'une partie.
+     * @param seed      (EN) Seed of the matches. (FR) Graine des parties.
+     * @param cacheFile (EN) Cache of the points already played. (FR) Cache des points déjà joués.
+     */
+    public AICalibrationTool(AIProfile opponent, int matches, long maxTicks, long seed, Path cacheFile) {
+        if (matches <= 0 || maxTicks <= 0) {
+            throw new IllegalArgumentException("Matches and tick limit must be positive: " + matches + ", " + maxTicks);
+        }
+        this.opponent = opponent;
+        this.matches = matches;
+        this.maxTicks = maxTicks;
+        this.seed = seed;
+        this.cacheFile = cacheFile;
+    }
+
+    public static void main(String[] args) throws Exception {
+        AIProfile opponent = AIProfile.MEDIUM;
+        Map<String, Double> targets = new LinkedHashMap<>();
+        int[] reaction = {0, 30, 3};
+        int[] spread = {0, 10, 5};
+        double[] error = {0, 1, 0.1};
+        int matches = DEFAULT_MATCHES;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = 1;
+        long maxTicks = DEFAULT_MAX_TICKS;
+        Path cache = Paths.get(DEFAULT_CACHE_FILENAME);
+        boolean valid = true;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--opponent": opponent = AIProfile.parse(args[++i]); break;
+                    case "--target": {
+                        String target = args[++i];
+                        int equals = target.indexOf('=');
+                        double rate = Double.parseDouble(target.substring(equals + 1));
+                        if (equals <= 0 || rate < 0 || rate > 1) throw new IllegalArgumentException(target);
+                        targets.put(target.substring(0, equals), rate);
+                        break;
+                    }
+                    case "--reaction": reaction = parseIntRange(args[++i]); break;
+                    case "--spread": spread = parseIntRange(args[++i]); break;
+                    case "--error": error = parseDoubleRange(args[++i]); break;
+                    case "--matches": matches = Integer.parseInt(args[++i]); break;
+                    case "--threads": threads = Integer.parseInt(args[++i]); break;
+                    case "--seed": seed = Long.parseLong(args[++i]); break;
+                    case "--max-ticks": maxTicks = Long.parseLong(args[++i]); break;
+                    case "--cache": cache = Paths.get(args[++i]); break;
+                    default: throw new IllegalArgumentException(args[i]);
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) { // NumberFormatException included / NumberFormatException comprise
+            valid = false; // Reported as a usage error below / Signalé comme erreur d'utilisation ci-dessous
+        }
+        if (!valid || matches <= 0 || threads <= 0 || maxTicks <= 0) {
+            System.err.println("Usage: java -cp PongGame AICalibrationTool [--opponent SPEC] [--target NAME=RATE ...] "
+                    + "[--reaction MIN:MAX:STEP] [--spread MIN:MAX:STEP] [--error MIN:MAX:STEP] [--matches N] "
+                    + "[--threads N] [--seed S] [--max-ticks T] [--cache FILE]");
+            System.exit(2);
+        }
+        if (targets.isEmpty()) { // Against MEDIUM: EASY loses 80%, HARD wins 65% / Contre MEDIUM : EASY perd 80 %, HARD gagne 65 %
+            targets.put("EASY", 0.2);
+            targets.put("MEDIUM", 0.5);
+            targets.put("HARD", 0.65);
+        }
+
+        List<AIProfile> grid = grid(reaction, spread, error);
+        AICalibrationTool tool = new AICalibrationTool(opponent, matches, maxTicks, seed, cache);
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        List<Point> points;
+        int played;
+        try {
+            Map<String, Point> cached = tool.loadCache();
+            int before = cached.size();
+            points = tool.evaluate(pool, grid, cached);
+            played = cached.size() - before;
+        } finally {
+            pool.shutdown();
+        }
+        System.out.println(String.format(Locale.ROOT, "%d grid points against %s (%s): %d from the cache, %d played in %.1f s",
+                grid.size(), opponent, opponent.getParameters(), grid.size() - played, played,
+                (System.nanoTime() - start) / 1e9));
+        System.out.print(report(points, targets));
+    }
+
+    /**
+     * Returns the result of every grid point, playing only the points missing from the cache and adding them to it.
+     * <p>
+     * Retourne le résultat de chaque point de la grille, en ne jouant que les points absents du cache et en les y ajoutant.
+     *
+     * @param pool   (EN) Runs the matches. (FR) Exécute les parties.
+     * @param grid   (EN) The candidates. (FR) Les candidats.
+     * @param cached (EN) Points already played, by key; completed with the new ones. (FR) Points déjà joués, par clé ; complétés avec les nouveaux.
+     * @return (EN) One result per candidate, in order. (FR) Un résultat par candidat, dans l'ordre.
+     */
+    public List<Point> evaluate(ForkJoinPool pool, List<AIProfile> grid, Map<String, Point> cached) throws IOException {
+        List<AIProfile> missing = new ArrayList<>();
+        for (AIProfile candidate : grid) {
+            if (!cached.containsKey(key(candidate))) missing.add(candidate);
+        }
+        if (!missing.isEmpty()) {
+            TournamentRunner runner = new TournamentRunner(List.of(opponent), matches, maxTicks, seed);
+            List<TournamentRunner.PairResult> results = runner.playAgainst(pool, missing, opponent);
+            List<Point> played = new ArrayList<>(results.size());
+            for (TournamentRunner.PairResult r : results) {
+                Point point = new Point(r.getFirst(), r.getMatches(), r.getFirstWins(), r.getSecondWins(),
+                        r.getCapped(), r.getFirstPoints(), r.getSecondPoints(), r.getTicks());
+                played.add(point);
+                cached.put(key(point.profile), point);
+            }
+            appendToCache(played);
+        }
+        List<Point> points = new ArrayList<>(grid.size());
+        for (AIProfile candidate : grid) {
+            Point point = cached.get(key(candidate));
+            // The cached profile may carry another name / Le profil en cache peut porter un autre nom
+            points.add(new Point(candidate, point.matches, point.wins, point.losses, point.capped, point.points,
+                    point.opponentPoints, point.ticks));
+        }
+        return points;
+    }
+
+    /**
+     * Key of a candidate in the cache: everything its result depends on.
+     * <p>
+     * Clé d'un candidat dans le cache : tout ce dont son résultat dépend.
+     */
+    private String key(AIProfile candidate) {
+        return candidate.getParameters() + " vs " + opponent.getParameters() + " x" + matches + " t" + maxTicks + " s" + seed
+                + " v" + SEEDING_VERSION; // Results seeded another way are played again / Les résultats ensemencés autrement sont rejoués
+    }
+
+    /**
+     * Reads the cache file; a missing file is an empty cache, a malformed line is skipped.
+     * <p>
+     * Lit le fichier cache ; un fichier absent est un cache vide, une ligne mal formée est ignorée.
+     *
+     * @return (EN) The cached points, by key. (FR) Les points en cache, par clé.
+     */
+    public Map<String, Point> loadCache() throws IOException {
+        Map<String, Point> cached = new HashMap<>();
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(cacheFile, StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return cached;
+        }
+        for (String line : lines) {
+            String[] fields = line.split(",");
+            if (fields.length != 8 || line.equals(CACHE_HEADER)) continue;
+            try {
+                String key = fields[0];
+                AIProfile profile = AIProfile.parse("cached=" + key.substring(0, key.indexOf(' ')));
+                cached.put(key, new Point(profile, Integer.parseInt(fields[1]), Integer.parseInt(fields[2]),
+                        Integer.parseInt(fields[3]), Integer.parseInt(fields[4]), Long.parseLong(fields[5]),
+                        Long.parseLong(fields[6]), Long.parseLong(fields[7])));
+            } catch (IllegalArgumentException | StringIndexOutOfBoundsException e) {
+                // Left over by an interrupted write, played again / Laissée par une écriture interrompue, rejouée
+            }
+        }
+        return cached;
+    }
+
+    private void appendToCache(List<Point> played) throws IOException {
+        boolean exists = Files.exists(cacheFile);
+        try (BufferedWriter out = Files.newBufferedWriter(cacheFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            if (!exists) {
+                out.write(CACHE_HEADER);
+                out.newLine();
+            }
+            for (Point p : played) {
+                out.write(key(p.profile) + "," + p.matches + "," + p.wins + "," + p.losses + "," + p.capped + ","
+                        + p.points + "," + p.opponentPoints + "," + p.ticks);
+                out.newLine();
+            }
+        }
+    }
+
+    /**
+     * Builds the profiles of the grid, named after their parameters.
+     * <p>
+     * Construit les profils de la grille, nommés d'après leurs paramètres.
+     */
+    static List<AIProfile> grid(int[] reaction, int[] spread, double[] error) {
+        List<AIProfile> grid = new ArrayList<>();
+        for (int r = reaction[0]; r <= reaction[1]; r += reaction[2]) {
+            for (int s = spread[0]; s <= spread[1]; s += spread[2]) {
+                int steps = (int) Math.round((error[1] - error[0]) / error[2]);
+                for (int e = 0; e <= steps; e++) {
+                    double maxError = Math.round((error[0] + e * error[2]) * 1e4) / 1e4; // No drift from repeated adds / Pas de dérive due aux additions répétées
+                    grid.add(new AIProfile(String.format(Locale.ROOT, "R%d+%d/E%.2f", r, s, maxError), r, r + s, maxError));
+                }
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Formats, for each target, the closest grid point and its neighbours in score.
+     * <p>
+     * Met en forme, pour chaque cible, le point de la grille le plus proche et ses voisins en score.
+     */
+    static String report(List<Point> points, Map<String, Double> targets) {
+        StringBuilder sb = new StringBuilder();
+        StringBuilder specs = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%-10s %6s  %-18s %7s %15s %7s %7s%n",
+                "target", "rate", "profile", "score", "95% CI", "capped", "pts %"));
+        for (Map.Entry<String, Double> target : targets.entrySet()) {
+            Point best = null;
+            for (Point p : points) {
+                if (best == null || Math.abs(p.score() - target.getValue()) < Math.abs(best.score() - target.getValue())) {
+                    best = p;
+                }
+            }
+            if (best == null) break;
+            double[] ci = best.interval();
+            long allPoints = best.points + best.opponentPoints;
+            sb.append(String.format(Locale.ROOT, "%-10s %6.2f  %-18s %7.3f %7.3f-%-7.3f %7d %7.2f%s%n",
+                    target.getKey(), target.getValue(), best.profile, best.score(), ci[0], ci[1], best.capped,
+                    allPoints == 0 ? Double.NaN : 100.0 * best.points / allPoints,
+                    target.getValue() < ci[0] || target.getValue() > ci[1] ? "  (target outside the interval)" : ""));
+            specs.append(' ').append(target.getKey()).append('=').append(best.profile.getParameters());
+        }
+        sb.append("Profiles:").append(specs).append('\n');
+        return sb.toString();
+    }
+
+    private static int[] parseIntRange(String range) {
+        String[] parts = range.split(":");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Expected MIN:MAX:STEP, got " + range);
+        }
+        int[] values = {Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), Integer.parseInt(parts[2])};
+        if (values[0] < 0 || values[1] < values[0] || values[2] <= 0) {
+            throw new IllegalArgumentException("Expected MIN:MAX:STEP, got " + range);
+        }
+        return values;
+    }
+
+    private static double[] parseDoubleRange(String range) {
+        String[] parts = range.split(":");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Expected MIN:MAX:STEP, got " + range);
+        }
+        double[] values = {Double.parseDouble(parts[0]), Double.parseDouble(parts[1]), Double.parseDouble(parts[2])};
+        if (!(values[0] >= 0) || !(values[1] >= values[0]) || !(values[2] > 0)) {
+            throw new IllegalArgumentException("Expected MIN:MAX:STEP, got " + range);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,14 @@
+// AIDifficulty.java
+// This file contains the difficulty levels available to the AI paddle controller.
+
+/**
+ * AI Difficulty Levels.
+ * <p>
+ * Niveaux de Difficulté de l'IA.
+ */
+public enum AIDifficulty {
+    EASY,      // (EN) Easy difficulty. (FR) Difficulté facile.
+    MEDIUM,    // (EN) Medium difficulty. (FR) Difficulté moyenne.
+    HARD,      // (EN) Hard difficulty. (FR) Difficulté difficile.
+    IMPOSSIBLE // (EN) Impossible difficulty (perfect AI). (FR) Difficulté impossible (IA parfaite).
+}
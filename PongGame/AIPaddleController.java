@@ -0,0 +1,408 @@
+// AIPaddleController.java
+// This file contains the AI paddle controller, extracted from GamePanel.moveAIPaddle().
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Implements the AI logic for a paddle.
+ * The AI predicts where each incoming ball will reach its paddle, folding the wall bounces analytically, and moves
+ * towards the most urgent ball it can still intercept, with adjustable difficulty levels affecting reaction time
+ * and accuracy.
+ * Incoming balls are kept in a priority queue keyed by the tick at which they reach the paddle. The queue is
+ * updated only for the balls whose motion changed since the last tick ({@link MatchEngine#getChangedBalls()}),
+ * and an entry made stale by a later change is recognized by the ball's version and dropped when it reaches the
+ * head, so a tick costs O(log n) per changed ball plus a few head lookups, even with hundreds of balls in play.
+ * The reaction delay and the aiming error are drawn once per shot, when the targeted ball changes or is hit,
+ * so a tick usually costs a few comparisons and no random draw.
+ * Works for either side of the field so that AI-vs-AI matches can be simulated.
+ * <p>
+ * Implémente la logique de l'IA pour une raquette.
+ * L'IA prédit où chaque balle entrante atteindra sa raquette, en repliant analytiquement les rebonds sur les murs,
+ * et se dirige vers la balle la plus urgente qu'elle peut encore intercepter, avec des niveaux de difficulté
+ * ajustables affectant le temps de réaction et la précision.
+ * Les balles entrantes sont gardées dans une file de priorité ordonnée par le tick auquel elles atteignent la
+ * raquette. La file n'est mise à jour que pour les balles dont le mouvement a changé depuis le dernier tick
+ * ({@link MatchEngine#getChangedBalls()}), et une entrée rendue obsolète par un changement ultérieur est reconnue
+ * par la version de la balle et écartée lorsqu'elle arrive en tête, de sorte qu'un tick coûte O(log n) par balle
+ * modifiée plus quelques lectures de la tête, même avec des centaines de balles en jeu.
+ * Le délai de réaction et l'erreur de visée sont tirés une fois par tir, lorsque la balle ciblée change ou est
+ * frappée, de sorte qu'un tick coûte en général quelques comparaisons et aucun tirage aléatoire.
+ * Fonctionne des deux côtés du terrain afin de pouvoir simuler des parties IA contre IA.
+ */
+public class AIPaddleController implements PaddleController {
+    private static final int MAX_CANDIDATES = 8; // (EN) Most urgent balls examined per tick. (FR) Balles les plus urgentes examinées par tick.
+    private static final int MIN_QUEUE_SLACK = 32; // (EN) Stale entries tolerated before rebuilding, beyond one per ball. (FR) Entrées obsolètes tolérées avant reconstruction, au-delà d'une par balle.
+
+    private volatile AIDifficulty difficulty; // (EN) Current AI difficulty, null for a tuned profile. (FR) Difficulté actuelle de l'IA, null pour un profil réglé.
+    private volatile AIProfile profile; // (EN) Reaction and aiming of the current difficulty. (FR) Réaction et visée de la difficulté actuelle.
+    private final Random random; // (EN) Random source for reaction delays and errors. (FR) Source aléatoire pour les délais de réaction et les erreurs.
+
+    // --- Incoming balls (engine thread only) ---
+    // --- Balles entrantes (thread du moteur uniquement) ---
+    private final ThreatQueue threats = new ThreatQueue(); // (EN) Incoming balls by contact tick. (FR) Balles entrantes par tick de contact.
+    private MatchEngine syncedEngine; // (EN) Match the queue describes, null before the first call. (FR) Partie décrite par la file, null avant le premier appel.
+    private int syncedPlayer; // (EN) Paddle the queue was built for. (FR) Raquette pour laquelle la file a été construite.
+    private long syncedTick; // (EN) Engine tick of the last update. (FR) Tick du moteur de la dernière mise à jour.
+    private final long[] candidateTick = new long[MAX_CANDIDATES]; // (EN) Head entries examined this tick. (FR) Entrées de tête examinées ce tick.
+    private final int[] candidateY = new int[MAX_CANDIDATES];
+    private final int[] candidateVersion = new int[MAX_CANDIDATES];
+    private final MatchEngine.Ball[] candidateBall = new MatchEngine.Ball[MAX_CANDIDATES];
+
+    // --- Current shot (engine thread only) ---
+    // --- Tir courant (thread du moteur uniquement) ---
+    private MatchEngine.Ball targetBall; // (EN) Ball of the current shot, null if none. (FR) Balle du tir courant, null si aucune.
+    private int targetVx; // (EN) Its horizontal velocity; a change means a new shot. (FR) Sa vitesse horizontale ; un changement signifie un nouveau tir.
+    private int aimError; // (EN) Aiming error of the shot, in pixels. (FR) Erreur de visée du tir, en pixels.
+    private long reactionTick; // (EN) First tick the AI reacts to the shot. (FR) Premier tick où l'IA réagit au tir.
+
+    /**
+     * Constructs a new AI controller.
+     * <p>
+     * Construit un nouveau contrôleur IA.
+     *
+     * @param difficulty (EN) The initial difficulty. (FR) La difficulté initiale.
+     * @param random     (EN) The random source to use. (FR) La source aléatoire à utiliser.
+     */
+    public AIPaddleController(AIDifficulty difficulty, Random random) {
+        this.difficulty = difficulty;
+        this.profile = AIProfile.of(difficulty);
+        this.random = random;
+    }
+
+    /**
+     * Constructs an AI controller with a tuned profile, e.g. for {@link TournamentRunner}.
+     * <p>
+     * Construit un contrôleur IA avec un profil réglé, par exemple pour {@link TournamentRunner}.
+     *
+     * @param profile (EN) The reaction and aiming of the AI. (FR) La réaction et la visée de l'IA.
+     * @param random  (EN) The random source to use. (FR) La source aléatoire à utiliser.
+     */
+    public AIPaddleController(AIProfile profile, Random random) {
+        this.profile = profile;
+        this.random = random;
+    }
+
+    /**
+     * Returns the current difficulty.
+     * <p>
+     * Retourne la difficulté actuelle.
+     *
+     * @return (EN) The AI difficulty, null if built with a tuned profile. (FR) La difficulté de l'IA, null si construite avec un profil réglé.
+     */
+    public AIDifficulty getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Changes the difficulty, e.g. from the options menu; applies from the next shot.
+     * <p>
+     * Change la difficulté, par exemple depuis le menu des options ; s'applique à partir du prochain tir.
+     *
+     * @param difficulty (EN) The new difficulty. (FR) La nouvelle difficulté.
+     */
+    public void setDifficulty(AIDifficulty difficulty) {
+        this.difficulty = difficulty;
+        this.profile = AIProfile.of(difficulty);
+    }
+
+    public AIProfile getProfile() {
+        return profile;
+    }
+
+    @Override
+    public int computeMove(MatchEngine engine, int player) {
+        long tick = engine.getTick();
+        updateThreats(engine, player, tick);
+
+        int paddleY = engine.getPaddleY(player);
+        int paddleHeight = engine.getPaddleHeight(player);
+        int fieldHeight = engine.getHeight();
+        int targetSlot = selectTarget(tick, paddleY, paddleHeight);
+        if (targetSlot < 0) { // Nothing coming, return to center / Rien n'arrive, revenir au centre
+            targetBall = null;
+            return moveTowards(paddleY, fieldHeight / 2 - paddleHeight / 2);
+        }
+
+        MatchEngine.Ball ball = candidateBall[targetSlot];
+        int predictedY = candidateY[targetSlot];
+        if (ball != targetBall || ball.getVx() != targetVx) { // A wall bounce keeps the shot / Un rebond sur un mur garde le tir
+            targetBall = ball;
+            targetVx = ball.getVx();
+            rollShot(tick, paddleHeight);
+        }
+        if (tick < reactionTick) {
+            return 0; // AI has not reacted to this shot yet / L'IA n'a pas encore réagi à ce tir
+        }
+
+        // Center the paddle on the predicted contact, off by the aiming error, inside the field
+        // Centrer la raquette sur le contact prédit, décalée de l'erreur de visée, dans le terrain
+        int targetY = predictedY - paddleHeight / 2 + aimError;
+        targetY = Math.max(0, Math.min(targetY, fieldHeight - paddleHeight));
+        return moveTowards(paddleY, targetY);
+    }
+
+    /**
+     * Brings the queue up to date: re-predicts only the balls changed since the previous tick, or rebuilds it
+     * from every ball when a tick was missed, the match or side changed, most balls changed at once, or stale
+     * entries pile up.
+     * Repeated calls within one tick change nothing.
+     * <p>
+     * Met la file à jour : ne reprédit que les balles modifiées depuis le tick précédent, ou la reconstruit à partir
+     * de toutes les balles quand un tick a été manqué, que la partie ou le côté a changé, que la plupart des balles
+     * ont changé à la fois, ou que les entrées obsolètes s'accumulent. Des appels répétés pendant un même tick ne changent rien.
+     */
+    private void updateThreats(MatchEngine engine, int player, long tick) {
+        boolean continuous = engine == syncedEngine && player == syncedPlayer;
+        if (continuous && tick == syncedTick) return;
+        int contactX = engine.getPaddleContactX(player);
+        List<MatchEngine.Ball> balls = engine.getBalls();
+        List<MatchEngine.Ball> changed = engine.getChangedBalls();
+        // Incremental unless a tick was missed or most balls changed at once (new round, speed-up)
+        // Incrémental sauf si un tick a été manqué ou que la plupart des balles ont changé à la fois (nouvelle manche, accélération)
+        boolean incremental = continuous && tick == syncedTick + 1 && changed.size() * 2 <= balls.size();
+        if (incremental) {
+            for (int i = 0; i < changed.size(); i++) { // Indexed loop avoids an iterator per tick / Boucle indexée pour éviter un itérateur par tick
+                addThreat(changed.get(i), player, tick, contactX, engine.getHeight(), false);
+            }
+        }
+        if (!incremental || threats.size() > 2 * balls.size() + MIN_QUEUE_SLACK) {
+            threats.clear();
+            for (int i = 0; i < balls.size(); i++) {
+                addThreat(balls.get(i), player, tick, contactX, engine.getHeight(), true);
+            }
+            threats.heapify(); // O(n) instead of n sifts / O(n) au lieu de n remontées
+        }
+        syncedEngine = engine;
+        syncedPlayer = player;
+        syncedTick = tick;
+    }
+
+    /**
+     * Queues a ball if it is in play, free and coming towards the paddle, with the tick and height of its contact.
+     * While rebuilding, the entry is only appended and the caller restores the heap order once at the end.
+     * <p>
+     * Met une balle en file si elle est en jeu, libre et se dirige vers la raquette, avec le tick et la hauteur de son contact.
+     * Pendant une reconstruction, l'entrée est seulement ajoutée à la fin et l'appelant rétablit l'ordre du tas une fois à la fin.
+     */
+    private void addThreat(MatchEngine.Ball ball, int player, long tick, int contactX, int fieldHeight, boolean rebuilding) {
+        if (!ball.isInPlay() || ball.isSticky()) return; // A held ball's release is a change / La libération d'une balle retenue est un changement
+        int x = ball.getX();
+        int vx = ball.getVx();
+        boolean approaching = player == 2 ? vx > 0 && x < contactX : vx < 0 && x > contactX;
+        if (!approaching) return;
+        int moves = (contactX - x + vx - Integer.signum(vx)) / vx; // Ball moves until contact, rounded up / Déplacements de la balle jusqu'au contact, arrondis au supérieur
+        // Balls move after the paddles in each step, so the contact happens during step tick + moves - 1
+        // Les balles se déplacent après les raquettes à chaque pas, le contact a donc lieu pendant le pas tick + moves - 1
+        long contactTick = tick + moves - 1;
+        int contactY = predictContactY(x, ball.getY(), vx, ball.getVy(), contactX, fieldHeight);
+        if (rebuilding) {
+            threats.append(contactTick, contactY, ball, ball.getVersion());
+        } else {
+            threats.push(contactTick, contactY, ball, ball.getVersion());
+        }
+    }
+
+    /**
+     * Picks the most urgent ball the paddle can still reach in time among the next few contacts, or the most urgent
+     * one if none can be reached. Stale and missed entries met at the head are dropped for good; when the head can
+     * be reached, as with a single ball, it is read in place.
+     * <p>
+     * Choisit la balle la plus urgente que la raquette peut encore atteindre à temps parmi les prochains contacts, ou
+     * la plus urgente si aucune ne peut l'être. Les entrées obsolètes ou manquées rencontrées en tête sont écartées
+     * définitivement ; quand la tête peut être atteinte, comme avec une seule balle, elle est lue sur place.
+     *
+     * @return (EN) The slot of the chosen candidate, -1 if no ball is coming. (FR) L'emplacement du candidat choisi, -1 si aucune balle n'arrive.
+     */
+    private int selectTarget(long tick, int paddleY, int paddleHeight) {
+        int count = 0;
+        while (count < MAX_CANDIDATES && threats.size() > 0) {
+            MatchEngine.Ball ball = threats.peekBall();
+            if (threats.peekVersion() != ball.getVersion() || threats.peekTick() < tick) {
+                threats.pop(); // Stale or missed / Obsolète ou manquée
+                continue;
+            }
+            candidateTick[count] = threats.peekTick();
+            candidateY[count] = threats.peekContactY();
+            candidateVersion[count] = threats.peekVersion();
+            candidateBall[count] = ball;
+            if (canReach(count, tick, paddleY, paddleHeight)) {
+                break; // Found it, still at the head / Trouvée, toujours en tête
+            }
+            threats.pop(); // Look behind it / Regarder derrière elle
+            count++;
+        }
+        int chosen = count < MAX_CANDIDATES && threats.size() > 0 ? count : 0; // Else the most urgent / Sinon la plus urgente
+        for (int i = 0; i < count; i++) { // Put the candidates popped back / Remettre les candidats retirés
+            threats.push(candidateTick[i], candidateY[i], candidateBall[i], candidateVersion[i]);
+        }
+        return count == 0 && threats.size() == 0 ? -1 : chosen;
+    }
+
+    /**
+     * Tells whether the paddle, moving at full speed, can touch a candidate ball before its contact.
+     * <p>
+     * Indique si la raquette, se déplaçant à pleine vitesse, peut toucher une balle candidate avant son contact.
+     */
+    private boolean canReach(int slot, long tick, int paddleY, int paddleHeight) {
+        // Distance left before the ball touches the paddle, and paddle moves left before the contact
+        // Distance restante avant que la balle touche la raquette, et déplacements de raquette restants avant le contact
+        int distance = Math.abs(candidateY[slot] - (paddleY + paddleHeight / 2)) - paddleHeight / 2 - MatchEngine.BALL_RADIUS;
+        return distance <= MatchEngine.PADDLE_SPEED * (candidateTick[slot] - tick + 1);
+    }
+
+    /**
+     * Draws the reaction delay and the aiming error of a new shot according to the profile.
+     * <p>
+     * Tire le délai de réaction et l'erreur de visée d'un nouveau tir selon le profil.
+     */
+    private void rollShot(long tick, int paddleHeight) {
+        AIProfile p = profile;
+        int reactionTicks = p.getMinReactionTicks(); // Ticks before the AI starts moving / Ticks avant que l'IA commence à bouger
+        if (p.getMaxReactionTicks() > reactionTicks) {
+            reactionTicks += random.nextInt(p.getMaxReactionTicks() - reactionTicks + 1);
+        }
+        double maxError = p.getMaxError(); // Largest aiming error, in paddle heights / Plus grande erreur de visée, en hauteurs de raquette
+        reactionTick = tick + reactionTicks;
+        aimError = maxError == 0 ? 0 : (int) ((random.nextDouble() * 2 - 1) * maxError * paddleHeight);
+    }
+
+    /**
+     * Predicts the Y coordinate of the ball's center when it reaches {@code contactX}, in closed form.
+     * Between the walls the center moves in {@code [R, height - R]} (R = ball radius); unfolding every bounce
+     * turns the path into a straight line, whose position modulo twice the range is folded back into it.
+     * <p>
+     * Prédit la coordonnée Y du centre de la balle lorsqu'elle atteint {@code contactX}, sous forme close.
+     * Entre les murs, le centre se déplace dans {@code [R, hauteur - R]} (R = rayon de la balle) ; déplier chaque
+     * rebond transforme la trajectoire en ligne droite, dont la position modulo deux fois l'intervalle y est repliée.
+     *
+     * @param x        (EN) Ball center X. (FR) X du centre de la balle.
+     * @param y        (EN) Ball center Y. (FR) Y du centre de la balle.
+     * @param vx       (EN) Horizontal velocity, non-zero and towards contactX. (FR) Vitesse horizontale, non nulle et vers contactX.
+     * @param vy       (EN) Vertical velocity. (FR) Vitesse verticale.
+     * @param contactX (EN) X of the ball's center at the paddle. (FR) X du centre de la balle à la raquette.
+     * @param height   (EN) Field height. (FR) Hauteur du terrain.
+     * @return (EN) The predicted Y of the ball's center. (FR) Le Y prédit du centre de la balle.
+     */
+    static int predictContactY(int x, int y, int vx, int vy, int contactX, int height) {
+        int min = MatchEngine.BALL_RADIUS;
+        int span = height - 2 * MatchEngine.BALL_RADIUS; // Range of the center / Intervalle du centre
+        if (span <= 0) return height / 2;
+        double ticks = (contactX - x) / (double) vx; // Ticks until contact / Ticks jusqu'au contact
+        double period = 2.0 * span; // Down and back up / Aller et retour
+        double unfolded = (y - min + vy * ticks) % period;
+        if (unfolded < 0) unfolded += period;
+        return (int) Math.round(min + (unfolded <= span ? unfolded : period - unfolded));
+    }
+
+    /**
+     * Moves the paddle top towards a target at paddle speed, without overshooting it.
+     * <p>
+     * Déplace le haut de la raquette vers une cible à la vitesse de la raquette, sans la dépasser.
+     */
+    private static int moveTowards(int paddleY, int targetY) {
+        if (paddleY < targetY) {
+            return Math.min(MatchEngine.PADDLE_SPEED, targetY - paddleY);
+        } else if (paddleY > targetY) {
+            return -Math.min(MatchEngine.PADDLE_SPEED, paddleY - targetY);
+        }
+        return 0;
+    }
+
+    /**
+     * Binary min-heap of predicted contacts, ordered by contact tick, stored as parallel arrays grown only when more
+     * balls are in play, so updating it never allocates in steady state. Entries are never removed in place: one
+     * whose version no longer matches its ball is stale and is skipped when it reaches the head.
+     * <p>
+     * Tas binaire minimum de contacts prédits, ordonné par tick de contact, stocké en tableaux parallèles agrandis
+     * seulement quand davantage de balles sont en jeu, de sorte que sa mise à jour n'alloue rien en régime établi.
+     * Les entrées ne sont jamais supprimées sur place : celle dont la version ne correspond plus à sa balle est
+     * obsolète et est ignorée lorsqu'elle arrive en tête.
+     */
+    private static final class ThreatQueue {
+        private long[] tick = new long[16]; // (EN) Step during which the ball reaches the paddle. (FR) Pas pendant lequel la balle atteint la raquette.
+        private int[] contactY = new int[16]; // (EN) Predicted Y of the ball's center at contact. (FR) Y prédit du centre de la balle au contact.
+        private int[] version = new int[16]; // (EN) Ball version the prediction was made from. (FR) Version de la balle à partir de laquelle la prédiction a été faite.
+        private MatchEngine.Ball[] ball = new MatchEngine.Ball[16]; // (EN) Predicted balls. (FR) Balles prédites.
+        private int size; // (EN) Number of entries. (FR) Nombre d'entrées.
+
+        int size() { return size; }
+        long peekTick() { return tick[0]; }
+        int peekContactY() { return contactY[0]; }
+        int peekVersion() { return version[0]; }
+        MatchEngine.Ball peekBall() { return ball[0]; }
+
+        void clear() {
+            Arrays.fill(ball, 0, size, null); // Lets recycled balls of an old match go / Libère les balles recyclées d'une ancienne partie
+            size = 0;
+        }
+
+        void push(long t, int y, MatchEngine.Ball b, int v) {
+            append(t, y, b, v);
+            int i = size - 1;
+            while (i > 0) { // Sift the hole up / Remonter le trou
+                int parent = (i - 1) >>> 1;
+                if (tick[parent] <= t) break;
+                move(parent, i);
+                i = parent;
+            }
+            set(i, t, y, b, v);
+        }
+
+        /**
+         * Adds an entry at the end without restoring the heap order; {@link #heapify()} must follow.
+         * <p>
+         * Ajoute une entrée à la fin sans rétablir l'ordre du tas ; {@link #heapify()} doit suivre.
+         */
+        void append(long t, int y, MatchEngine.Ball b, int v) {
+            if (size == tick.length) {
+                int capacity = size * 2;
+                tick = Arrays.copyOf(tick, capacity);
+                contactY = Arrays.copyOf(contactY, capacity);
+                version = Arrays.copyOf(version, capacity);
+                ball = Arrays.copyOf(ball, capacity);
+            }
+            set(size++, t, y, b, v);
+        }
+
+        void heapify() {
+            for (int i = (size >>> 1) - 1; i >= 0; i--) {
+                siftDown(i, tick[i], contactY[i], ball[i], version[i]);
+            }
+        }
+
+        void pop() {
+            int last = --size;
+            long t = tick[last];
+            int y = contactY[last];
+            int v = version[last];
+            MatchEngine.Ball b = ball[last];
+            ball[last] = null;
+            if (last > 0) siftDown(0, t, y, b, v);
+        }
+
+        private void siftDown(int i, long t, int y, MatchEngine.Ball b, int v) {
+            while (true) { // Sift the hole down / Descendre le trou
+                int child = 2 * i + 1;
+                if (child >= size) break;
+                if (child + 1 < size && tick[child + 1] < tick[child]) child++;
+                if (t <= tick[child]) break;
+                move(child, i);
+                i = child;
+            }
+            set(i, t, y, b, v);
+        }
+
+        private void move(int from, int to) {
+            set(to, tick[from], contactY[from], ball[from], version[from]);
+        }
+
+        private void set(int i, long t, int y, MatchEngine.Ball b, int v) {
+            tick[i] = t;
+            contactY[i] = y;
+            ball[i] = b;
+            version[i] = v;
+        }
+    }
+}
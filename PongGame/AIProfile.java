@@ -0,0 +1,126 @@
+// AIProfile.java
+// This file contains the tuning of the AI paddle controller: reaction delay and aiming error of each shot.
+
+import java.util.Locale;
+
+/**
+ * Immutable tuning of an {@link AIPaddleController}: how many ticks it waits before reacting to a new shot, drawn
+ * uniformly in {@code [minReactionTicks, maxReactionTicks]}, and its largest aiming error, as a fraction of the
+ * paddle height. Each {@link AIDifficulty} has a built-in profile; other profiles are tuned variants, written
+ * {@code name=min-max:error} (e.g. {@code SHARP=3-6:0.2}) on the command line of the simulation tools.
+ * <p>
+ * Réglage immuable d'un {@link AIPaddleController} : le nombre de ticks qu'il attend avant de réagir à un nouveau
+ * tir, tiré uniformément dans {@code [minReactionTicks, maxReactionTicks]}, et sa plus grande erreur de visée, en
+ * fraction de la hauteur de la raquette. Chaque {@link AIDifficulty} a un profil intégré ; les autres profils sont
+ * des variantes réglées, écrites {@code nom=min-max:erreur} (par ex. {@code SHARP=3-6:0.2}) sur la ligne de
+ * commande des outils de simulation.
+ */
+public final class AIProfile {
+    public static final AIProfile EASY = new AIProfile("EASY", 15, 24, 0.8); // (EN) Slow reaction, off-target aiming. (FR) Réaction lente, visée imprécise.
+    public static final AIProfile MEDIUM = new AIProfile("MEDIUM", 5, 9, 0.3); // (EN) Average reaction and aiming. (FR) Réaction et visée moyennes.
+    public static final AIProfile HARD = new AIProfile("HARD", 1, 2, 0.05); // (EN) Almost perfect. (FR) Presque parfait.
+    public static final AIProfile IMPOSSIBLE = new AIProfile("IMPOSSIBLE", 0, 0, 0); // (EN) Instant reaction, perfect aiming. (FR) Réaction instantanée, visée parfaite.
+
+    private final String name; // (EN) Name shown in reports. (FR) Nom affiché dans les rapports.
+    private final int minReactionTicks; // (EN) Shortest reaction delay. (FR) Délai de réaction le plus court.
+    private final int maxReactionTicks; // (EN) Longest reaction delay. (FR) Délai de réaction le plus long.
+    private final double maxError; // (EN) Largest aiming error, in paddle heights. (FR) Plus grande erreur de visée, en hauteurs de raquette.
+
+    /**
+     * Constructs a profile.
+     * <p>
+     * Construit un profil.
+     *
+     * @param name             (EN) Name shown in reports, without '=' or ','. (FR) Nom affiché dans les rapports, sans '=' ni ','.
+     * @param minReactionTicks (EN) Shortest reaction delay, in ticks. (FR) Délai de réaction le plus court, en ticks.
+     * @param maxReactionTicks (EN) Longest reaction delay, in ticks. (FR) Délai de réaction le plus long, en ticks.
+     * @param maxError         (EN) Largest aiming error, in paddle heights. (FR) Plus grande erreur de visée, en hauteurs de raquette.
+     */
+    public AIProfile(String name, int minReactionTicks, int maxReactionTicks, double maxError) {
+        if (name == null || name.isEmpty() || name.indexOf('=') >= 0 || name.indexOf(',') >= 0) {
+            throw new IllegalArgumentException("Invalid profile name: " + name);
+        }
+        if (minReactionTicks < 0 || maxReactionTicks < minReactionTicks || !(maxError >= 0)) {
+            throw new IllegalArgumentException("Invalid profile " + name + ": reaction " + minReactionTicks + "-"
+                    + maxReactionTicks + ", error " + maxError);
+        }
+        this.name = name;
+        this.minReactionTicks = minReactionTicks;
+        this.maxReactionTicks = maxReactionTicks;
+        this.maxError = maxError;
+    }
+
+    /**
+     * Returns the built-in profile of a difficulty.
+     * <p>
+     * Retourne le profil intégré d'une difficulté.
+     *
+     * @param difficulty (EN) The difficulty. (FR) La difficulté.
+     * @return (EN) Its profile. (FR) Son profil.
+     */
+    public static AIProfile of(AIDifficulty difficulty) {
+        switch (difficulty) {
+            case EASY: return EASY;
+            case MEDIUM: return MEDIUM;
+            case HARD: return HARD;
+            default: return IMPOSSIBLE;
+        }
+    }
+
+    /**
+     * Parses a difficulty name ({@code HARD}) or a tuned variant ({@code name=min-max:error}).
+     * <p>
+     * Analyse un nom de difficulté ({@code HARD}) ou une variante réglée ({@code nom=min-max:erreur}).
+     *
+     * @param spec (EN) The text to parse. (FR) Le texte à analyser.
+     * @return (EN) The profile. (FR) Le profil.
+     * @throws IllegalArgumentException (EN) If the text is not a valid profile. (FR) Si le texte n'est pas un profil valide.
+     */
+    public static AIProfile parse(String spec) {
+        int equals = spec.indexOf('=');
+        if (equals < 0) {
+            return of(AIDifficulty.valueOf(spec.toUpperCase(Locale.ROOT)));
+        }
+        int dash = spec.indexOf('-', equals);
+        int colon = spec.indexOf(':', equals);
+        if (dash < 0 || colon < dash) {
+            throw new IllegalArgumentException("Expected name=min-max:error, got " + spec);
+        }
+        try {
+            return new AIProfile(spec.substring(0, equals),
+                    Integer.parseInt(spec.substring(equals + 1, dash)),
+                    Integer.parseInt(spec.substring(dash + 1, colon)),
+                    Double.parseDouble(spec.substring(colon + 1)));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Expected name=min-max:error, got " + spec, e);
+        }
+    }
+
+    public String getName() { return name; }
+    public int getMinReactionTicks() { return minReactionTicks; }
+    public int getMaxReactionTicks() { return maxReactionTicks; }
+    public double getMaxError() { return maxError; }
+
+    /**
+     * Returns the tuning without the name, {@code min-max:error}; two profiles with the same parameters play alike.
+     * <p>
+     * Retourne le réglage sans le nom, {@code min-max:erreur} ; deux profils de mêmes paramètres jouent de la même façon.
+     */
+    public String getParameters() {
+        return String.format(Locale.ROOT, "%d-%d:%s", minReactionTicks, maxReactionTicks, maxError);
+    }
+
+    /**
+     * Returns the profile in the form accepted by {@link #parse}.
+     * <p>
+     * Retourne le profil sous la forme acceptée par {@link #parse}.
+     */
+    public String toSpec() {
+        return name + "=" + getParameters();
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,107 @@
+// ActiveRenderCanvas.java
+// This file contains the optional active-rendering surface (Canvas + BufferStrategy) used instead of repaint().
+
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+
+/**
+ * Heavyweight drawing surface presented with a {@link BufferStrategy} (double or triple buffering).
+ * Frames are drawn and shown synchronously by the calling thread (the game loop), instead of being
+ * requested with {@code repaint()} and coalesced by the Event Dispatch Thread, so each frame is
+ * presented exactly once and its cost can be measured.
+ * <p>
+ * Surface de dessin lourde présentée avec une {@link BufferStrategy} (double ou triple tampon).
+ * Les images sont dessinées et affichées de façon synchrone par le thread appelant (la boucle de jeu), au lieu
+ * d'être demandées avec {@code repaint()} et fusionnées par le thread de distribution des événements, de sorte
+ * que chaque image est présentée exactement une fois et que son coût peut être mesuré.
+ */
+public class ActiveRenderCanvas extends Canvas {
+    private static final long serialVersionUID = 1L; // For serialization compatibility / Pour la compatibilité de sérialisation
+
+    /**
+     * Draws one frame onto the back buffer.
+     * <p>
+     * Dessine une image dans le tampon arrière.
+     */
+    public interface FrameRenderer {
+        /**
+         * Draws the whole frame.
+         * <p>
+         * Dessine l'image entière.
+         *
+         * @param g2d (EN) Graphics of the back buffer. (FR) Graphics du tampon arrière.
+         */
+        void renderFrame(Graphics2D g2d);
+    }
+
+    private final int bufferCount; // (EN) Number of buffers (2 = double, 3 = triple buffering). (FR) Nombre de tampons (2 = double, 3 = triple tampon).
+    private final FrameRenderer renderer; // (EN) Drawing code shared with the passive mode. (FR) Code de dessin partagé avec le mode passif.
+    private BufferStrategy strategy; // (EN) Created lazily once the canvas is displayable. (FR) Créée à la demande une fois le canevas affichable.
+    private long framesPresented; // (EN) Number of frames shown so far. (FR) Nombre d'images affichées jusqu'ici.
+    private long lastFrameNanos; // (EN) Duration of the last draw + show. (FR) Durée du dernier dessin + affichage.
+
+    /**
+     * Constructs the canvas.
+     * <p>
+     * Construit le canevas.
+     *
+     * @param width       (EN) Width of the surface. (FR) Largeur de la surface.
+     * @param height      (EN) Height of the surface. (FR) Hauteur de la surface.
+     * @param bufferCount (EN) 2 for double buffering, 3 for triple buffering. (FR) 2 pour le double tampon, 3 pour le triple tampon.
+     * @param renderer    (EN) The code drawing each frame. (FR) Le code dessinant chaque image.
+     */
+    public ActiveRenderCanvas(int width, int height, int bufferCount, FrameRenderer renderer) {
+        if (bufferCount < 2 || bufferCount > 3) {
+            throw new IllegalArgumentException("Buffer count must be 2 or 3: " + bufferCount);
+        }
+        this.bufferCount = bufferCount;
+        this.renderer = renderer;
+        setPreferredSize(new Dimension(width, height));
+        setBackground(Color.BLACK);
+        setIgnoreRepaint(true); // The game loop presents frames itself / La boucle de jeu présente elle-même les images
+        setFocusable(true);
+    }
+
+    /**
+     * Draws and presents one frame, redrawing it if the buffer contents were lost or restored meanwhile.
+     * Must be called from a single thread (the game loop).
+     * <p>
+     * Dessine et présente une image, en la redessinant si le contenu des tampons a été perdu ou restauré entre-temps.
+     * Doit être appelée depuis un seul thread (la boucle de jeu).
+     *
+     * @return (EN) false if the canvas is not displayable yet and nothing was drawn. (FR) false si le canevas n'est pas encore affichable et que rien n'a été dessiné.
+     */
+    public boolean renderAndShow() {
+        if (!isDisplayable()) return false; // No peer yet (or window closed) / Pas encore de pair (ou fenêtre fermée)
+        if (strategy == null) {
+            createBufferStrategy(bufferCount);
+            strategy = getBufferStrategy();
+        }
+
+        long start = System.nanoTime();
+        do {
+            do {
+                Graphics2D g2d = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    renderer.renderFrame(g2d);
+                } finally {
+                    g2d.dispose();
+                }
+            } while (strategy.contentsRestored()); // Redraw into restored buffers / Redessiner dans les tampons restaurés
+            strategy.show();
+        } while (strategy.contentsLost()); // Start over if the buffers were lost / Recommencer si les tampons ont été perdus
+        Toolkit.getDefaultToolkit().sync(); // Flush the display pipeline (X11) / Vider la chaîne d'affichage (X11)
+
+        lastFrameNanos = System.nanoTime() - start;
+        framesPresented++;
+        return true;
+    }
+
+    public int getBufferCount() { return bufferCount; }
+    public long getFramesPresented() { return framesPresented; }
+    public long getLastFrameNanos() { return lastFrameNanos; }
+}
@@ -0,0 +1,301 @@
+// GameEvents.java
+// This file contains the Java Flight Recorder events emitted by the game (ticks, frames, collisions, power-ups, high score I/O).
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Custom Java Flight Recorder events of the game, shown under the "Pong" category in JDK Mission Control
+ * so that hitches can be correlated with what happened in the game.
+ * Every event is created only if its type is enabled in a running recording (a cached {@link EventType}
+ * flag read), so when nothing is recorded the instrumented paths cost one branch and stay allocation-free,
+ * as checked by {@link TickAllocationCheck} (the JIT does not remove unused event objects by itself).
+ * Record with {@code java -XX:StartFlightRecording=filename=pong.jfr -cp PongGame PongGame}.
+ * <p>
+ * Événements Java Flight Recorder personnalisés du jeu, affichés sous la catégorie « Pong » dans JDK Mission
+ * Control afin de pouvoir corréler les saccades avec ce qui s'est passé dans le jeu.
+ * Chaque événement n'est créé que si son type est activé dans un enregistrement en cours (lecture d'un indicateur
+ * {@link EventType} en cache), de sorte que sans enregistrement les chemins instrumentés coûtent un branchement et
+ * restent sans allocation, comme vérifié par {@link TickAllocationCheck} (le JIT ne supprime pas de lui-même les
+ * objets d'événement inutilisés).
+ * Enregistrer avec {@code java -XX:StartFlightRecording=filename=pong.jfr -cp PongGame PongGame}.
+ */
+public final class GameEvents {
+    // Collision kinds / Types de collision
+    public static final String WALL = "WALL";
+    public static final String PADDLE = "PADDLE";
+    public static final String POWER_UP = "POWER_UP";
+    // Power-up actions / Actions de power-up
+    public static final String SPAWNED = "SPAWNED";
+    public static final String COLLECTED = "COLLECTED";
+    public static final String EXPIRED = "EXPIRED";
+    public static final String EFFECT_ENDED = "EFFECT_ENDED";
+    // High score operations / Opérations sur les meilleurs scores
+    public static final String LOAD = "LOAD";
+    public static final String SAVE = "SAVE";
+    public static final String APPEND = "APPEND";
+
+    private static final EventType TICK_TYPE = EventType.getEventType(TickEvent.class);
+    private static final EventType PAINT_TYPE = EventType.getEventType(PaintEvent.class);
+    private static final EventType COLLISION_TYPE = EventType.getEventType(CollisionEvent.class);
+    private static final EventType POWER_UP_TYPE = EventType.getEventType(PowerUpEvent.class);
+    private static final EventType HIGH_SCORE_IO_TYPE = EventType.getEventType(HighScoreIoEvent.class);
+
+    private GameEvents() {
+        // Holder of the event types only / Contient uniquement les types d'événements
+    }
+
+    /**
+     * One game tick of the panel (particles and engine step).
+     * <p>
+     * Un tick de jeu du panneau (particules et pas du moteur).
+     */
+    @Name("pong.Tick")
+    @Label("Game Tick")
+    @Category("Pong")
+    @Description("One simulation tick: particle update and match engine step")
+    @StackTrace(false)
+    public static final class TickEvent extends Event {
+        @Label("Tick")
+        long tick;
+        @Label("Balls")
+        int ballCount;
+        @Label("Particles")
+        int particleCount;
+    }
+
+    /**
+     * One frame drawn, passive or active rendering.
+     * <p>
+     * Une image dessinée, en rendu passif ou actif.
+     */
+    @Name("pong.Paint")
+    @Label("Paint Pass")
+    @Category("Pong")
+    @Description("Drawing of one whole frame")
+    @StackTrace(false)
+    public static final class PaintEvent extends Event {
+        @Label("Game State")
+        String gameState;
+        @Label("Active Rendering")
+        boolean activeRendering;
+    }
+
+    /**
+     * A ball bouncing on a wall, hitting a paddle or collecting a power-up.
+     * <p>
+     * Une balle rebondissant sur un mur, touchant une raquette ou collectant un power-up.
+     */
+    @Name("pong.Collision")
+    @Label("Collision")
+    @Category("Pong")
+    @Description("Ball collision with a wall, a paddle or a power-up")
+    @StackTrace(false)
+    public static final class CollisionEvent extends Event {
+        @Label("Kind")
+        String kind;
+        @Label("Player")
+        @Description("Paddle hit or player credited, 0 for walls")
+        int player;
+        @Label("X")
+        int x;
+        @Label("Y")
+        int y;
+        @Label("Tick")
+        long tick;
+    }
+
+    /**
+     * Life cycle of a power-up: spawned, collected, expired on screen, effect ended.
+     * <p>
+     * Cycle de vie d'un power-up : apparu, collecté, expiré à l'écran, effet terminé.
+     */
+    @Name("pong.PowerUp")
+    @Label("Power-Up")
+    @Category("Pong")
+    @Description("Power-up spawn, activation and expiry")
+    @StackTrace(false)
+    public static final class PowerUpEvent extends Event {
+        @Label("Action")
+        String action;
+        @Label("Type")
+        String powerUpType;
+        @Label("Player")
+        @Description("Player affected, 0 when not applicable")
+        int player;
+        @Label("Tick")
+        long tick;
+    }
+
+    /**
+     * Loading or saving the high score file.
+     * <p>
+     * Chargement ou sauvegarde du fichier des meilleurs scores.
+     */
+    @Name("pong.HighScoreIO")
+    @Label("High Score I/O")
+    @Category("Pong")
+    @Description("Read or write of the high score file")
+    public static final class HighScoreIoEvent extends Event {
+        @Label("Operation")
+        String operation;
+        @Label("File")
+        String file;
+        @Label("Entries")
+        int entries;
+        @Label("Success")
+        boolean success;
+    }
+
+    /**
+     * Starts timing a tick.
+     * <p>
+     * Commence à chronométrer un tick.
+     *
+     * @return (EN) The started event, or null when not recorded. (FR) L'événement démarré, ou null s'il n'est pas enregistré.
+     */
+    public static TickEvent beginTick() {
+        if (!TICK_TYPE.isEnabled()) return null;
+        TickEvent event = new TickEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends and commits a tick event started by {@link #beginTick()}; does nothing for null.
+     * <p>
+     * Termine et valide un événement de tick démarré par {@link #beginTick()} ; ne fait rien pour null.
+     *
+     * @param event     (EN) The event, may be null. (FR) L'événement, peut être null.
+     * @param tick      (EN) Simulation tick. (FR) Tick de simulation.
+     * @param balls     (EN) Balls in play. (FR) Balles en jeu.
+     * @param particles (EN) Live particles. (FR) Particules vivantes.
+     */
+    public static void commitTick(TickEvent event, long tick, int balls, int particles) {
+        if (event == null) return;
+        event.end();
+        if (event.shouldCommit()) {
+            event.tick = tick;
+            event.ballCount = balls;
+            event.particleCount = particles;
+            event.commit();
+        }
+    }
+
+    /**
+     * Starts timing a paint pass.
+     * <p>
+     * Commence à chronométrer un dessin.
+     *
+     * @return (EN) The started event, or null when not recorded. (FR) L'événement démarré, ou null s'il n'est pas enregistré.
+     */
+    public static PaintEvent beginPaint() {
+        if (!PAINT_TYPE.isEnabled()) return null;
+        PaintEvent event = new PaintEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends and commits a paint event started by {@link #beginPaint()}; does nothing for null.
+     * <p>
+     * Termine et valide un événement de dessin démarré par {@link #beginPaint()} ; ne fait rien pour null.
+     *
+     * @param event           (EN) The event, may be null. (FR) L'événement, peut être null.
+     * @param gameState       (EN) Name of the drawn state. (FR) Nom de l'état dessiné.
+     * @param activeRendering (EN) Whether active rendering is used. (FR) Si le rendu actif est utilisé.
+     */
+    public static void commitPaint(PaintEvent event, String gameState, boolean activeRendering) {
+        if (event == null) return;
+        event.end();
+        if (event.shouldCommit()) {
+            event.gameState = gameState;
+            event.activeRendering = activeRendering;
+            event.commit();
+        }
+    }
+
+    /**
+     * Starts timing a high score file operation.
+     * <p>
+     * Commence à chronométrer une opération sur le fichier des meilleurs scores.
+     *
+     * @return (EN) The started event, or null when not recorded. (FR) L'événement démarré, ou null s'il n'est pas enregistré.
+     */
+    public static HighScoreIoEvent beginHighScoreIo() {
+        if (!HIGH_SCORE_IO_TYPE.isEnabled()) return null;
+        HighScoreIoEvent event = new HighScoreIoEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends and commits a high score I/O event started by {@link #beginHighScoreIo()}; does nothing for null.
+     * <p>
+     * Termine et valide un événement d'E/S des meilleurs scores démarré par {@link #beginHighScoreIo()} ; ne fait rien pour null.
+     *
+     * @param event     (EN) The event, may be null. (FR) L'événement, peut être null.
+     * @param operation (EN) {@link #LOAD}, {@link #SAVE} or {@link #APPEND}. (FR) {@link #LOAD}, {@link #SAVE} ou {@link #APPEND}.
+     * @param file      (EN) The high score file. (FR) Le fichier des meilleurs scores.
+     * @param entries   (EN) Entries read or written. (FR) Entrées lues ou écrites.
+     * @param success   (EN) Whether the operation succeeded. (FR) Si l'opération a réussi.
+     */
+    public static void commitHighScoreIo(HighScoreIoEvent event, String operation, String file, int entries, boolean success) {
+        if (event == null) return;
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.file = file;
+            event.entries = entries;
+            event.success = success;
+            event.commit();
+        }
+    }
+
+    /**
+     * Emits a collision event if the type is enabled.
+     * <p>
+     * Émet un événement de collision si le type est activé.
+     *
+     * @param kind   (EN) {@link #WALL}, {@link #PADDLE} or {@link #POWER_UP}. (FR) {@link #WALL}, {@link #PADDLE} ou {@link #POWER_UP}.
+     * @param player (EN) Player concerned, 0 for walls. (FR) Joueur concerné, 0 pour les murs.
+     * @param x      (EN) X coordinate of the contact. (FR) Coordonnée X du contact.
+     * @param y      (EN) Y coordinate of the contact. (FR) Coordonnée Y du contact.
+     * @param tick   (EN) Simulation tick. (FR) Tick de simulation.
+     */
+    public static void collision(String kind, int player, int x, int y, long tick) {
+        if (!COLLISION_TYPE.isEnabled()) return;
+        CollisionEvent event = new CollisionEvent();
+        event.kind = kind;
+        event.player = player;
+        event.x = x;
+        event.y = y;
+        event.tick = tick;
+        event.commit();
+    }
+
+    /**
+     * Emits a power-up event if the type is enabled.
+     * <p>
+     * Émet un événement de power-up si le type est activé.
+     *
+     * @param action (EN) {@link #SPAWNED}, {@link #COLLECTED}, {@link #EXPIRED} or {@link #EFFECT_ENDED}. (FR) {@link #SPAWNED}, {@link #COLLECTED}, {@link #EXPIRED} ou {@link #EFFECT_ENDED}.
+     * @param type   (EN) The power-up type. (FR) Le type de power-up.
+     * @param player (EN) Player affected, 0 when not applicable. (FR) Joueur affecté, 0 si non applicable.
+     * @param tick   (EN) Simulation tick. (FR) Tick de simulation.
+     */
+    public static void powerUp(String action, PowerUp.PowerUpType type, int player, long tick) {
+        if (!POWER_UP_TYPE.isEnabled()) return;
+        PowerUpEvent event = new PowerUpEvent();
+        event.action = action;
+        event.powerUpType = type.name();
+        event.player = player;
+        event.tick = tick;
+        event.commit();
+    }
+}
@@ -0,0 +1,125 @@
+// GameMetrics.java
+// This file contains the live game metrics exposed through JMX (see GameMetricsMBean).
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Live game and engine metrics exposed as a platform MBean.
+ * Each value has a single writer (the game loop, or the thread doing high score I/O) and is published
+ * through a volatile field or an atomic counter, and the timing figures come from the windows already
+ * published by {@link PerformanceStats}. Polling from {@code jconsole} therefore reads memory only: it
+ * takes no lock the game loop could wait on and never touches the engine itself.
+ * <p>
+ * Métriques en direct du jeu et du moteur exposées comme MBean de plateforme.
+ * Chaque valeur a un seul écrivain (la boucle de jeu, ou le thread effectuant les E/S des meilleurs scores) et est
+ * publiée via un champ volatil ou un compteur atomique, et les chiffres de durée proviennent des fenêtres déjà
+ * publiées par {@link PerformanceStats}. Interroger depuis {@code jconsole} ne fait donc que lire la mémoire :
+ * aucun verrou que la boucle de jeu pourrait attendre, et aucun accès au moteur lui-même.
+ */
+public class GameMetrics implements GameMetricsMBean {
+    public static final String OBJECT_NAME = "PongGame:type=GameMetrics"; // (EN) JMX name of the MBean. (FR) Nom JMX du MBean.
+
+    private final PerformanceStats stats; // (EN) Source of rates and tick timings. (FR) Source des fréquences et durées des ticks.
+    private volatile String gameState = "MAIN_MENU"; // (EN) Published by the game loop. (FR) Publié par la boucle de jeu.
+    private volatile int player1Score; // (EN) Published by the game loop. (FR) Publié par la boucle de jeu.
+    private volatile int player2Score; // (EN) Published by the game loop. (FR) Publié par la boucle de jeu.
+    private volatile long totalTicks; // (EN) Written by the game loop only. (FR) Écrit uniquement par la boucle de jeu.
+    private volatile long caughtUpTicks; // (EN) Written by the game loop only. (FR) Écrit uniquement par la boucle de jeu.
+    private volatile long droppedTicks; // (EN) Written by the game loop only. (FR) Écrit uniquement par la boucle de jeu.
+    private volatile long lastLoadNanos; // (EN) Duration of the last high score load. (FR) Durée du dernier chargement des meilleurs scores.
+    private volatile long lastSaveNanos; // (EN) Duration of the last high score save. (FR) Durée de la dernière sauvegarde des meilleurs scores.
+    private final AtomicLong droppedInputEvents = new AtomicLong(); // (EN) Written by the event dispatch thread. (FR) Écrit par le thread de distribution des événements.
+    private final AtomicLongArray powerUpActivations = new AtomicLongArray(PowerUp.PowerUpType.values().length); // (EN) Indexed by PowerUpType ordinal. (FR) Indexé par l'ordinal de PowerUpType.
+
+    /**
+     * Constructs the metrics.
+     * <p>
+     * Construit les métriques.
+     *
+     * @param stats (EN) The performance statistics of the same panel. (FR) Les statistiques de performance du même panneau.
+     */
+    public GameMetrics(PerformanceStats stats) {
+        this.stats = stats;
+    }
+
+    // --- Writers (game threads) ---
+    // --- Écrivains (threads du jeu) ---
+
+    /**
+     * Publishes the state and scores after a pass of the game loop.
+     * <p>
+     * Publie l'état et les scores après un passage de la boucle de jeu.
+     *
+     * @param state (EN) Name of the game state. (FR) Nom de l'état de jeu.
+     * @param score1 (EN) Score of player 1. (FR) Score du joueur 1.
+     * @param score2 (EN) Score of player 2. (FR) Score du joueur 2.
+     */
+    void publishState(String state, int score1, int score2) {
+        gameState = state;
+        player1Score = score1;
+        player2Score = score2;
+    }
+
+    /**
+     * Counts the ticks of one pass of the game loop and the ticks it skipped; game loop only.
+     * <p>
+     * Compte les ticks d'un passage de la boucle de jeu et les ticks qu'il a sautés ; boucle de jeu uniquement.
+     *
+     * @param ticks   (EN) Ticks run by the pass (more than 1 means catching up). (FR) Ticks exécutés par le passage (plus de 1 signifie un rattrapage).
+     * @param dropped (EN) Ticks skipped. (FR) Ticks sautés.
+     */
+    void recordLoopPass(int ticks, long dropped) {
+        // Single writer: plain read-modify-write of volatile fields is safe / Un seul écrivain : lecture-modification-écriture simple sûre
+        totalTicks += ticks;
+        if (ticks > 1) caughtUpTicks += ticks - 1;
+        if (dropped > 0) droppedTicks += dropped;
+    }
+
+    void recordHighScoreLoad(long nanos) { lastLoadNanos = nanos; }
+    void recordHighScoreSave(long nanos) { lastSaveNanos = nanos; }
+
+    void recordDroppedInputEvent() { droppedInputEvents.incrementAndGet(); }
+
+    void recordPowerUpActivation(PowerUp.PowerUpType type) {
+        powerUpActivations.incrementAndGet(type.ordinal());
+    }
+
+    // --- MBean attributes ---
+    // --- Attributs du MBean ---
+
+    @Override public String getGameState() { return gameState; }
+    @Override public int getPlayer1Score() { return player1Score; }
+    @Override public int getPlayer2Score() { return player2Score; }
+    @Override public int getTicksPerSecond() { return stats.getTicks().getPerSecond(); }
+    @Override public int getFramesPerSecond() { return stats.getFrames().getPerSecond(); }
+    @Override public double getAverageTickMicros() { return stats.getTicks().getMeanNanos() / 1e3; }
+    @Override public double getP99TickMicros() { return stats.getTicks().getP99Nanos() / 1e3; }
+    @Override public long getTotalTicks() { return totalTicks; }
+    @Override public long getCaughtUpTicks() { return caughtUpTicks; }
+    @Override public long getDroppedTicks() { return droppedTicks; }
+    @Override public int getBallCount() { return stats.getBallCount(); }
+    @Override public int getParticleCount() { return stats.getParticleCount(); }
+    @Override public double getP99InputLatencyMicros() { return stats.getInputs().getP99Nanos() / 1e3; }
+    @Override public long getDroppedInputEvents() { return droppedInputEvents.get(); }
+    @Override public double getLastHighScoreLoadMillis() { return lastLoadNanos / 1e6; }
+    @Override public double getLastHighScoreSaveMillis() { return lastSaveNanos / 1e6; }
+
+    @Override
+    public long getPowerUpActivations() {
+        long total = 0;
+        for (int i = 0; i < powerUpActivations.length(); i++) {
+            total += powerUpActivations.get(i);
+        }
+        return total;
+    }
+
+    @Override public long getPaddleEnlargeActivations() { return activations(PowerUp.PowerUpType.PADDLE_ENLARGE); }
+    @Override public long getMultiBallActivations() { return activations(PowerUp.PowerUpType.MULTI_BALL); }
+    @Override public long getBallSpeedUpActivations() { return activations(PowerUp.PowerUpType.BALL_SPEED_UP); }
+    @Override public long getStickyPaddleActivations() { return activations(PowerUp.PowerUpType.STICKY_PADDLE); }
+
+    private long activations(PowerUp.PowerUpType type) {
+        return powerUpActivations.get(type.ordinal());
+    }
+}
@@ -0,0 +1,77 @@
+// GameMetricsMBean.java
+// This file contains the JMX management interface of the live game metrics.
+
+/**
+ * Standard MBean interface of {@link GameMetrics}, registered by {@code PongGame.main} under
+ * {@value GameMetrics#OBJECT_NAME} and readable locally with {@code jconsole} or any JMX client.
+ * Every attribute is a read of a value published by the game threads; reading never blocks them.
+ * <p>
+ * Interface MBean standard de {@link GameMetrics}, enregistrée par {@code PongGame.main} sous
+ * {@value GameMetrics#OBJECT_NAME} et lisible localement avec {@code jconsole} ou tout client JMX.
+ * Chaque attribut est une lecture d'une valeur publiée par les threads du jeu ; la lecture ne les bloque jamais.
+ */
+public interface GameMetricsMBean {
+
+    /** (EN) Current state of the game (MAIN_MENU, PLAYING, ...). (FR) État actuel du jeu (MAIN_MENU, PLAYING, ...). */
+    String getGameState();
+
+    /** (EN) Score of player 1 in the current match. (FR) Score du joueur 1 dans la partie en cours. */
+    int getPlayer1Score();
+
+    /** (EN) Score of player 2 in the current match. (FR) Score du joueur 2 dans la partie en cours. */
+    int getPlayer2Score();
+
+    /** (EN) Game ticks during the last second. (FR) Ticks de jeu pendant la dernière seconde. */
+    int getTicksPerSecond();
+
+    /** (EN) Frames drawn during the last second. (FR) Images dessinées pendant la dernière seconde. */
+    int getFramesPerSecond();
+
+    /** (EN) Average tick duration over the last second, in microseconds. (FR) Durée moyenne d'un tick sur la dernière seconde, en microsecondes. */
+    double getAverageTickMicros();
+
+    /** (EN) 99th percentile tick duration over the last second, in microseconds. (FR) 99e centile de la durée d'un tick sur la dernière seconde, en microsecondes. */
+    double getP99TickMicros();
+
+    /** (EN) Ticks run since startup. (FR) Ticks exécutés depuis le démarrage. */
+    long getTotalTicks();
+
+    /** (EN) Extra ticks run back to back to catch up with a late loop. (FR) Ticks supplémentaires exécutés à la suite pour rattraper une boucle en retard. */
+    long getCaughtUpTicks();
+
+    /** (EN) Ticks skipped because the loop was too late to catch up. (FR) Ticks sautés parce que la boucle était trop en retard pour rattraper. */
+    long getDroppedTicks();
+
+    /** (EN) Balls in play. (FR) Balles en jeu. */
+    int getBallCount();
+
+    /** (EN) Live particles. (FR) Particules vivantes. */
+    int getParticleCount();
+
+    /** (EN) 99th percentile delay between a key event and the tick applying it, in microseconds. (FR) 99e centile du délai entre un événement clavier et le tick qui l'applique, en microsecondes. */
+    double getP99InputLatencyMicros();
+
+    /** (EN) Key events refused because the input queue was full. (FR) Événements clavier refusés parce que la file d'entrée était pleine. */
+    long getDroppedInputEvents();
+
+    /** (EN) Duration of the last high score load, in milliseconds. (FR) Durée du dernier chargement des meilleurs scores, en millisecondes. */
+    double getLastHighScoreLoadMillis();
+
+    /** (EN) Duration of the last high score save, in milliseconds. (FR) Durée de la dernière sauvegarde des meilleurs scores, en millisecondes. */
+    double getLastHighScoreSaveMillis();
+
+    /** (EN) Power-ups collected since startup, all types. (FR) Power-ups collectés depuis le démarrage, tous types. */
+    long getPowerUpActivations();
+
+    /** (EN) PADDLE_ENLARGE power-ups collected. (FR) Power-ups PADDLE_ENLARGE collectés. */
+    long getPaddleEnlargeActivations();
+
+    /** (EN) MULTI_BALL power-ups collected. (FR) Power-ups MULTI_BALL collectés. */
+    long getMultiBallActivations();
+
+    /** (EN) BALL_SPEED_UP power-ups collected. (FR) Power-ups BALL_SPEED_UP collectés. */
+    long getBallSpeedUpActivations();
+
+    /** (EN) STICKY_PADDLE power-ups collected. (FR) Power-ups STICKY_PADDLE collectés. */
+    long getStickyPaddleActivations();
+}
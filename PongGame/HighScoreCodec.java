@@ -0,0 +1,554 @@
+// HighScoreCodec.java
+// This file contains the binary format of the high score file and the reader of the legacy serialized file.
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Versioned, length-prefixed binary format of the high score file, replacing Java serialization.
+ * <pre>
+ *   int    MAGIC ('PONG')
+ *   short  VERSION
+ *   int    entry count
+ *   count x { short name length, player name (UTF-8), int score }
+ *   int    CRC-32 of all the bytes above
+ * </pre>
+ * All numbers are big-endian ({@link DataOutputStream}). A truncated or corrupted file is detected by the
+ * checksum and the length checks, and is rejected as a whole.
+ * Files written by older versions (a serialized {@code ArrayList<HighScoreEntry>}) are still read once by
+ * {@link #readLegacy(InputStream)}, behind an {@link ObjectInputFilter} that only accepts the classes of that
+ * list, so a crafted file cannot instantiate anything else; {@link HighScoreStore} then rewrites them in this format.
+ * <p>
+ * Scores posted after the last full write go to a sibling log file, one record per batch, so that a batch costs
+ * its own size rather than the size of the table:
+ * <pre>
+ *   int    LOG_MAGIC ('PLOG')
+ *   short  VERSION
+ *   long   length of the high score file the log applies to
+ *   int    stored CRC-32 of that file
+ *   records x { int entry count, count x entry (as above), int CRC-32 of the record }
+ * </pre>
+ * The log names the high score file it extends, so a log left behind by an interrupted full write is recognised as
+ * already included ({@link Log#isStale()}) instead of being replayed twice. Reading stops at the first incomplete or
+ * corrupted record ({@link Log#isComplete()}), which keeps every record before it.
+ * <p>
+ * Format binaire versionné et préfixé par les longueurs du fichier des meilleurs scores, remplaçant la sérialisation Java.
+ * Tous les nombres sont en gros-boutiste ({@link DataOutputStream}). Un fichier tronqué ou corrompu est détecté par la
+ * somme de contrôle et les vérifications de longueur, et est rejeté en entier.
+ * Les fichiers écrits par les anciennes versions (une {@code ArrayList<HighScoreEntry>} sérialisée) sont encore lus une fois
+ * par {@link #readLegacy(InputStream)}, derrière un {@link ObjectInputFilter} qui n'accepte que les classes de cette liste,
+ * de sorte qu'un fichier forgé ne peut rien instancier d'autre ; {@link HighScoreStore} les réécrit ensuite dans ce format.
+ * <p>
+ * Les scores publiés après la dernière écriture complète vont dans un fichier journal voisin, un enregistrement par lot,
+ * de sorte qu'un lot coûte sa propre taille plutôt que celle de la table. Le journal désigne le fichier des meilleurs
+ * scores qu'il prolonge, de sorte qu'un journal laissé par une écriture complète interrompue est reconnu comme déjà inclus
+ * ({@link Log#isStale()}) au lieu d'être rejoué deux fois. La lecture s'arrête au premier enregistrement incomplet ou
+ * corrompu ({@link Log#isComplete()}), ce qui conserve tous les enregistrements précédents.
+ */
+public final class HighScoreCodec {
+    public static final int MAGIC = 0x504F4E47; // (EN) "PONG" in ASCII. (FR) « PONG » en ASCII.
+    public static final short VERSION = 1; // (EN) Current format version. (FR) Version actuelle du format.
+    public static final int LOG_MAGIC = 0x504C4F47; // (EN) "PLOG" in ASCII. (FR) « PLOG » en ASCII.
+    public static final int LOG_HEADER_BYTES = 18; // (EN) Magic, version, length and checksum of the high score file. (FR) Nombre magique, version, longueur et somme de contrôle du fichier des meilleurs scores.
+    private static final int RECORD_OVERHEAD_BYTES = 8; // (EN) Entry count and CRC-32 of a log record. (FR) Nombre d'entrées et CRC-32 d'un enregistrement du journal.
+    private static final int MAX_ENTRIES = 1 << 24; // (EN) Bound on the legacy array length. (FR) Borne de la longueur du tableau des anciens fichiers.
+    private static final int MAX_NAME_BYTES = 0xFFFF; // (EN) Largest name the 2-byte prefix can describe. (FR) Plus grand nom que le préfixe de 2 octets peut décrire.
+    private static final int HEADER_BYTES = 10; // (EN) Magic, version and count. (FR) Nombre magique, version et nombre d'entrées.
+    private static final int CHECKSUM_BYTES = 4; // (EN) Trailing CRC-32. (FR) CRC-32 final.
+    private static final int MIN_ENTRY_BYTES = 6; // (EN) Empty name and score: bounds the count before any allocation. (FR) Nom vide et score : borne le nombre d'entrées avant toute allocation.
+    private static final int TYPICAL_ENTRY_BYTES = 16; // (EN) A 10-character name and its score. (FR) Un nom de 10 caractères et son score.
+    private static final int BUFFER_SIZE = 64 * 1024; // (EN) Stream buffer, holds the longest name; small tables get a smaller write buffer. (FR) Tampon de flux, contient le nom le plus long ; les petites tables reçoivent un tampon d'écriture plus petit.
+    private static final short SERIALIZATION_MAGIC = (short) 0xACED; // (EN) First bytes of a Java serialization stream. (FR) Premiers octets d'un flux de sérialisation Java.
+    private static final long LEGACY_MAX_DEPTH = 5; // (EN) List, entries and their fields. (FR) Liste, entrées et leurs champs.
+    private static final long LEGACY_MAX_BYTES = 64L << 20; // (EN) Largest legacy file accepted. (FR) Plus grand ancien fichier accepté.
+
+    private HighScoreCodec() {
+        // Static methods and nested codecs only / Méthodes statiques et codecs imbriqués uniquement
+    }
+
+    /**
+     * Streaming writer of one file whose entry count is known up front; memory use does not depend on the count.
+     * <p>
+     * Écrivain en flux d'un fichier dont le nombre d'entrées est connu d'avance ; la mémoire utilisée ne dépend pas du nombre.
+     */
+    public static final class Writer {
+        private final CRC32 crc = new CRC32(); // (EN) Checksum of the bytes written so far. (FR) Somme de contrôle des octets écrits jusqu'ici.
+        private final DataOutputStream data; // (EN) Buffered, above the checksum. (FR) Avec tampon, au-dessus de la somme de contrôle.
+        private final int count; // (EN) Entries announced in the header. (FR) Entrées annoncées dans l'en-tête.
+        private int written; // (EN) Entries written so far. (FR) Entrées écrites jusqu'ici.
+
+        /**
+         * Writes the header.
+         * <p>
+         * Écrit l'en-tête.
+         *
+         * @param out   (EN) The destination, flushed but not closed by {@link #finish()}. (FR) La destination, vidée mais pas fermée par {@link #finish()}.
+         * @param count (EN) Number of entries that will be written. (FR) Nombre d'entrées qui seront écrites.
+         */
+        public Writer(OutputStream out, int count) throws IOException {
+            this(out, count, BUFFER_SIZE);
+        }
+
+        private Writer(OutputStream out, int count, int bufferSize) throws IOException {
+            // Checksum below the buffer: updated once per buffer flush, not once per byte
+            // Somme de contrôle sous le tampon : mise à jour une fois par vidage du tampon, pas une fois par octet
+            this.data = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(out, crc), bufferSize));
+            this.count = count;
+            data.writeInt(MAGIC);
+            data.writeShort(VERSION);
+            data.writeInt(count);
+        }
+
+        /**
+         * Writes one entry.
+         * <p>
+         * Écrit une entrée.
+         *
+         * @throws IOException (EN) If the stream fails, a name is too long or more entries than announced are written. (FR) Si le flux échoue, si un nom est trop long ou si plus d'entrées qu'annoncé sont écrites.
+         */
+        public void write(PongGame.HighScoreEntry entry) throws IOException {
+            if (written == count) {
+                throw new IOException("More entries than the " + count + " announced");
+            }
+            byte[] name = entry.getPlayerName().getBytes(StandardCharsets.UTF_8);
+            if (name.length > MAX_NAME_BYTES) {
+                throw new IOException("Player name too long: " + name.length + " bytes");
+            }
+            data.writeShort(name.length);
+            data.write(name);
+            data.writeInt(entry.getScore());
+            written++;
+        }
+
+        /**
+         * Writes the checksum and flushes.
+         * <p>
+         * Écrit la somme de contrôle et vide le tampon.
+         *
+         * @throws IOException (EN) If fewer entries than announced were written. (FR) Si moins d'entrées qu'annoncé ont été écrites.
+         */
+        public void finish() throws IOException {
+            if (written != count) {
+                throw new IOException(written + " entries written, " + count + " announced");
+            }
+            data.flush(); // Every byte above is in the checksum / Chaque octet ci-dessus est dans la somme de contrôle
+            data.writeInt((int) crc.getValue());
+            data.flush();
+        }
+    }
+
+    /**
+     * Streaming reader of one file: entries are decoded one at a time from a fixed buffer, and the checksum is
+     * verified when the last one has been read, so files larger than the heap can be read.
+     * <p>
+     * Lecteur en flux d'un fichier : les entrées sont décodées une à une depuis un tampon fixe, et la somme de contrôle
+     * est vérifiée après la lecture de la dernière, de sorte que des fichiers plus gros que le tas peuvent être lus.
+     */
+    public static final class Reader implements Closeable {
+        private final InputStream in; // (EN) The source, closed by {@link #close()}. (FR) La source, fermée par {@link #close()}.
+        private final CRC32 crc = new CRC32(); // (EN) Checksum of the bytes consumed so far. (FR) Somme de contrôle des octets consommés jusqu'ici.
+        private final byte[] buffer = new byte[BUFFER_SIZE]; // (EN) Holds at least one whole entry. (FR) Contient au moins une entrée entière.
+        private int position; // (EN) Next byte to decode. (FR) Prochain octet à décoder.
+        private int limit; // (EN) End of the bytes read. (FR) Fin des octets lus.
+        private int checked; // (EN) Start of the bytes not yet in the checksum. (FR) Début des octets pas encore dans la somme de contrôle.
+        private final int count; // (EN) Entries announced in the header. (FR) Entrées annoncées dans l'en-tête.
+        private int remaining; // (EN) Entries not read yet. (FR) Entrées pas encore lues.
+        private boolean verified; // (EN) Whether the checksum was verified. (FR) Si la somme de contrôle a été vérifiée.
+
+        /**
+         * Reads and checks the header.
+         * <p>
+         * Lit et vérifie l'en-tête.
+         *
+         * @param in (EN) The source, positioned at the magic number. (FR) La source, positionnée sur le nombre magique.
+         * @throws IOException (EN) If the header is not the one of this format. (FR) Si l'en-tête n'est pas celui de ce format.
+         */
+        public Reader(InputStream in) throws IOException {
+            this.in = in;
+            if (readInt() != MAGIC) {
+                throw new StreamCorruptedException("Not a high score file");
+            }
+            short version = (short) readUnsignedShort();
+            if (version != VERSION) {
+                throw new StreamCorruptedException("Unsupported high score file version " + version);
+            }
+            count = readInt();
+            if (count < 0) {
+                throw new StreamCorruptedException("Invalid high score count " + count);
+            }
+            remaining = count;
+        }
+
+        /** (EN) Entries announced in the header. (FR) Entrées annoncées dans l'en-tête. */
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * Reads the next entry.
+         * <p>
+         * Lit l'entrée suivante.
+         *
+         * @return (EN) The entry, or null after the last one (once the checksum is verified). (FR) L'entrée, ou null après la dernière (une fois la somme de contrôle vérifiée).
+         * @throws IOException (EN) If the file is truncated or corrupted. (FR) Si le fichier est tronqué ou corrompu.
+         */
+        public PongGame.HighScoreEntry next() throws IOException {
+            if (remaining == 0) {
+                if (!verified) verifyChecksum();
+                return null;
+            }
+            int nameLength = readUnsignedShort();
+            require(nameLength);
+            String playerName = new String(buffer, position, nameLength, StandardCharsets.UTF_8);
+            position += nameLength;
+            int score = readInt();
+            remaining--;
+            return new PongGame.HighScoreEntry(playerName, score);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        private void verifyChecksum() throws IOException {
+            require(CHECKSUM_BYTES);
+            crc.update(buffer, checked, position - checked); // Everything before the stored checksum / Tout ce qui précède la somme stockée
+            checked = position;
+            if (readInt() != (int) crc.getValue()) {
+                throw new StreamCorruptedException("High score file checksum mismatch");
+            }
+            verified = true;
+        }
+
+        private int readInt() throws IOException {
+            require(4);
+            int value = ((buffer[position] & 0xFF) << 24) | ((buffer[position + 1] & 0xFF) << 16)
+                    | ((buffer[position + 2] & 0xFF) << 8) | (buffer[position + 3] & 0xFF);
+            position += 4;
+            return value;
+        }
+
+        private int readUnsignedShort() throws IOException {
+            require(2);
+            int value = ((buffer[position] & 0xFF) << 8) | (buffer[position + 1] & 0xFF);
+            position += 2;
+            return value;
+        }
+
+        /**
+         * Makes sure {@code bytes} bytes are buffered, compacting and refilling the buffer if needed.
+         * The consumed bytes go into the checksum just before they are discarded.
+         * <p>
+         * S'assure que {@code bytes} octets sont dans le tampon, en le compactant et le remplissant si nécessaire.
+         * Les octets consommés entrent dans la somme de contrôle juste avant d'être abandonnés.
+         */
+        private void require(int bytes) throws IOException {
+            if (limit - position >= bytes) return;
+            crc.update(buffer, checked, position - checked);
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            position = 0;
+            checked = 0;
+            while (limit < bytes) {
+                int read = in.read(buffer, limit, buffer.length - limit);
+                if (read < 0) throw new EOFException("High score file truncated");
+                limit += read;
+            }
+        }
+    }
+
+    /**
+     * Writes the entries in the binary format. The stream is flushed, not closed.
+     * <p>
+     * Écrit les entrées dans le format binaire. Le flux est vidé, pas fermé.
+     *
+     * @param entries (EN) The entries to write. (FR) Les entrées à écrire.
+     * @param out     (EN) The destination. (FR) La destination.
+     * @throws IOException (EN) If the stream fails or a name is too long. (FR) Si le flux échoue ou si un nom est trop long.
+     */
+    public static void write(List<PongGame.HighScoreEntry> entries, OutputStream out) throws IOException {
+        int bufferSize = (int) Math.min(BUFFER_SIZE, HEADER_BYTES + CHECKSUM_BYTES + (long) entries.size() * TYPICAL_ENTRY_BYTES);
+        Writer writer = new Writer(out, entries.size(), bufferSize);
+        for (int i = 0; i < entries.size(); i++) {
+            writer.write(entries.get(i));
+        }
+        writer.finish();
+    }
+
+    /**
+     * Reads entries written by {@link #write(List, OutputStream)}.
+     * The whole file is read at once, checked, then decoded from memory.
+     * <p>
+     * Lit des entrées écrites par {@link #write(List, OutputStream)}.
+     * Le fichier entier est lu d'un coup, vérifié, puis décodé depuis la mémoire.
+     *
+     * @param in (EN) The source, positioned at the magic number. (FR) La source, positionnée sur le nombre magique.
+     * @return (EN) The entries, in file order. (FR) Les entrées, dans l'ordre du fichier.
+     * @throws IOException (EN) If the file is truncated, corrupted or of an unknown version. (FR) Si le fichier est tronqué, corrompu ou d'une version inconnue.
+     */
+    public static List<PongGame.HighScoreEntry> read(InputStream in) throws IOException {
+        byte[] bytes = in.readAllBytes();
+        if (bytes.length < HEADER_BYTES + CHECKSUM_BYTES) {
+            throw new EOFException("High score file too short");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes); // Big-endian, as DataOutputStream / Gros-boutiste, comme DataOutputStream
+        if (buffer.getInt() != MAGIC) {
+            throw new StreamCorruptedException("Not a high score file");
+        }
+        short version = buffer.getShort();
+        if (version != VERSION) {
+            throw new StreamCorruptedException("Unsupported high score file version " + version);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - CHECKSUM_BYTES);
+        if (buffer.getInt(bytes.length - CHECKSUM_BYTES) != (int) crc.getValue()) {
+            throw new StreamCorruptedException("High score file checksum mismatch");
+        }
+        int count = buffer.getInt();
+        int end = bytes.length - CHECKSUM_BYTES;
+        if (count < 0 || count > (end - buffer.position()) / MIN_ENTRY_BYTES) {
+            throw new StreamCorruptedException("Invalid high score count " + count);
+        }
+        List<PongGame.HighScoreEntry> entries = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                int nameLength = Short.toUnsignedInt(buffer.getShort());
+                String playerName = new String(bytes, buffer.position(), nameLength, StandardCharsets.UTF_8);
+                buffer.position(buffer.position() + nameLength);
+                entries.add(new PongGame.HighScoreEntry(playerName, buffer.getInt()));
+            }
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new StreamCorruptedException("Truncated high score entry");
+        }
+        if (buffer.position() != end) {
+            throw new StreamCorruptedException("Trailing bytes in high score file");
+        }
+        return entries;
+    }
+
+    /**
+     * Entries read from a log by {@link #readLog(InputStream, long, int)}.
+     * <p>
+     * Entrées lues dans un journal par {@link #readLog(InputStream, long, int)}.
+     */
+    public static final class Log {
+        private final List<PongGame.HighScoreEntry> entries; // (EN) Entries of the valid records, in posting order. (FR) Entrées des enregistrements valides, dans l'ordre de publication.
+        private final boolean stale; // (EN) The log extends another high score file. (FR) Le journal prolonge un autre fichier des meilleurs scores.
+        private final boolean complete; // (EN) Every byte belonged to a valid record. (FR) Chaque octet appartenait à un enregistrement valide.
+
+        private Log(List<PongGame.HighScoreEntry> entries, boolean stale, boolean complete) {
+            this.entries = entries;
+            this.stale = stale;
+            this.complete = complete;
+        }
+
+        /** (EN) Entries of the valid records, in posting order; empty if stale. (FR) Entrées des enregistrements valides, dans l'ordre de publication ; vide si périmé. */
+        public List<PongGame.HighScoreEntry> getEntries() { return entries; }
+
+        /** (EN) Whether the log was written for another high score file (already included in it). (FR) Si le journal a été écrit pour un autre fichier des meilleurs scores (déjà inclus dans celui-ci). */
+        public boolean isStale() { return stale; }
+
+        /** (EN) Whether the log ends with a valid record. (FR) Si le journal se termine par un enregistrement valide. */
+        public boolean isComplete() { return complete; }
+    }
+
+    /**
+     * Encodes the header of a log extending a high score file.
+     * <p>
+     * Encode l'en-tête d'un journal prolongeant un fichier des meilleurs scores.
+     *
+     * @param fileLength   (EN) Length of the high score file, 0 if there is none. (FR) Longueur du fichier des meilleurs scores, 0 s'il n'y en a pas.
+     * @param fileChecksum (EN) Its last four bytes (its stored CRC-32), 0 if there is none. (FR) Ses quatre derniers octets (son CRC-32 stocké), 0 s'il n'y en a pas.
+     * @return (EN) The {@code LOG_HEADER_BYTES} bytes. (FR) Les {@code LOG_HEADER_BYTES} octets.
+     */
+    public static byte[] encodeLogHeader(long fileLength, int fileChecksum) {
+        ByteBuffer header = ByteBuffer.allocate(LOG_HEADER_BYTES);
+        header.putInt(LOG_MAGIC).putShort(VERSION).putLong(fileLength).putInt(fileChecksum);
+        return header.array();
+    }
+
+    /**
+     * Encodes one log record holding a batch of entries.
+     * <p>
+     * Encode un enregistrement du journal contenant un lot d'entrées.
+     *
+     * @param batch (EN) The entries, in posting order. (FR) Les entrées, dans l'ordre de publication.
+     * @return (EN) The record, checksum included. (FR) L'enregistrement, somme de contrôle comprise.
+     * @throws IOException (EN) If a name is too long. (FR) Si un nom est trop long.
+     */
+    public static byte[] encodeLogRecord(List<PongGame.HighScoreEntry> batch) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(RECORD_OVERHEAD_BYTES + batch.size() * TYPICAL_ENTRY_BYTES);
+        CRC32 crc = new CRC32();
+        DataOutputStream data = new DataOutputStream(new CheckedOutputStream(bytes, crc));
+        data.writeInt(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            byte[] name = batch.get(i).getPlayerName().getBytes(StandardCharsets.UTF_8);
+            if (name.length > MAX_NAME_BYTES) {
+                throw new IOException("Player name too long: " + name.length + " bytes");
+            }
+            data.writeShort(name.length);
+            data.write(name);
+            data.writeInt(batch.get(i).getScore());
+        }
+        data.flush();
+        new DataOutputStream(bytes).writeInt((int) crc.getValue()); // Not part of its own checksum / Hors de sa propre somme de contrôle
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads a log written with {@link #encodeLogHeader(long, int)} and {@link #encodeLogRecord(List)}.
+     * A log shorter than its header (interrupted creation) or naming another high score file is stale.
+     * <p>
+     * Lit un journal écrit avec {@link #encodeLogHeader(long, int)} et {@link #encodeLogRecord(List)}.
+     * Un journal plus court que son en-tête (création interrompue) ou désignant un autre fichier des meilleurs scores est périmé.
+     *
+     * @param in           (EN) The source, positioned at the start of the log. (FR) La source, positionnée au début du journal.
+     * @param fileLength   (EN) Length of the current high score file, 0 if there is none. (FR) Longueur du fichier actuel des meilleurs scores, 0 s'il n'y en a pas.
+     * @param fileChecksum (EN) Its last four bytes, 0 if there is none. (FR) Ses quatre derniers octets, 0 s'il n'y en a pas.
+     * @return (EN) The entries of the valid records. (FR) Les entrées des enregistrements valides.
+     * @throws IOException (EN) If the stream fails or the header is not the one of a log. (FR) Si le flux échoue ou si l'en-tête n'est pas celui d'un journal.
+     */
+    public static Log readLog(InputStream in, long fileLength, int fileChecksum) throws IOException {
+        byte[] bytes = in.readAllBytes();
+        List<PongGame.HighScoreEntry> entries = new ArrayList<>();
+        if (bytes.length < LOG_HEADER_BYTES) {
+            return new Log(entries, true, true);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (buffer.getInt() != LOG_MAGIC) {
+            throw new StreamCorruptedException("Not a high score log");
+        }
+        short version = buffer.getShort();
+        if (version != VERSION) {
+            throw new StreamCorruptedException("Unsupported high score log version " + version);
+        }
+        if (buffer.getLong() != fileLength || buffer.getInt() != fileChecksum) {
+            return new Log(entries, true, true);
+        }
+        CRC32 crc = new CRC32();
+        while (buffer.remaining() >= RECORD_OVERHEAD_BYTES) {
+            int start = buffer.position();
+            int count = buffer.getInt();
+            if (count < 0 || count > (buffer.remaining() - CHECKSUM_BYTES) / MIN_ENTRY_BYTES) {
+                return new Log(entries, false, false);
+            }
+            List<PongGame.HighScoreEntry> record = new ArrayList<>(count);
+            try {
+                for (int i = 0; i < count; i++) {
+                    int nameLength = Short.toUnsignedInt(buffer.getShort());
+                    String playerName = new String(bytes, buffer.position(), nameLength, StandardCharsets.UTF_8);
+                    buffer.position(buffer.position() + nameLength);
+                    record.add(new PongGame.HighScoreEntry(playerName, buffer.getInt()));
+                }
+                crc.reset();
+                crc.update(bytes, start, buffer.position() - start);
+                if (buffer.getInt() != (int) crc.getValue()) {
+                    return new Log(entries, false, false);
+                }
+            } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+                return new Log(entries, false, false); // Torn record / Enregistrement déchiré
+            }
+            entries.addAll(record);
+        }
+        return new Log(entries, false, !buffer.hasRemaining());
+    }
+
+    /**
+     * Tells whether a file starts like a legacy serialized file rather than the binary format.
+     * <p>
+     * Indique si un fichier commence comme un ancien fichier sérialisé plutôt que comme le format binaire.
+     *
+     * @param header (EN) The first two bytes of the file, big-endian. (FR) Les deux premiers octets du fichier, en gros-boutiste.
+     */
+    public static boolean isLegacyHeader(short header) {
+        return header == SERIALIZATION_MAGIC;
+    }
+
+    /**
+     * Reads a legacy file, a serialized {@code List} of {@code HighScoreEntry}, accepting no other class.
+     * Items of an unexpected type are skipped.
+     * <p>
+     * Lit un ancien fichier, une {@code List} sérialisée de {@code HighScoreEntry}, sans accepter d'autre classe.
+     * Les éléments d'un type inattendu sont ignorés.
+     *
+     * @param in (EN) The source, positioned at the start of the file. (FR) La source, positionnée au début du fichier.
+     * @return (EN) The entries, in file order. (FR) Les entrées, dans l'ordre du fichier.
+     * @throws IOException (EN) If the file is unreadable or contains a rejected class. (FR) Si le fichier est illisible ou contient une classe refusée.
+     */
+    public static List<PongGame.HighScoreEntry> readLegacy(InputStream in) throws IOException {
+        ObjectInputStream ois = new ObjectInputStream(in);
+        ois.setObjectInputFilter(HighScoreCodec::filterLegacy);
+        Object rawObject;
+        try {
+            rawObject = ois.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new InvalidClassException(e.getMessage());
+        }
+        if (!(rawObject instanceof List<?>)) {
+            throw new StreamCorruptedException("Expected List, found " + rawObject.getClass().getName());
+        }
+        List<PongGame.HighScoreEntry> entries = new ArrayList<>();
+        for (Object item : (List<?>) rawObject) {
+            if (item instanceof PongGame.HighScoreEntry) {
+                entries.add((PongGame.HighScoreEntry) item);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Deserialization filter of legacy files: only the list, its entries and strings, within small bounds.
+     * <p>
+     * Filtre de désérialisation des anciens fichiers : uniquement la liste, ses entrées et des chaînes, dans de petites bornes.
+     */
+    private static ObjectInputFilter.Status filterLegacy(ObjectInputFilter.FilterInfo info) {
+        if (info.depth() > LEGACY_MAX_DEPTH || info.streamBytes() > LEGACY_MAX_BYTES || info.arrayLength() > MAX_ENTRIES) {
+            return ObjectInputFilter.Status.REJECTED;
+        }
+        Class<?> type = info.serialClass();
+        if (type == null) {
+            return ObjectInputFilter.Status.UNDECIDED; // Back-references and limits only / Références arrière et limites uniquement
+        }
+        if (type == ArrayList.class || type == PongGame.HighScoreEntry.class || type == String.class
+                || type == Object[].class) { // ArrayList checks its backing array through the filter / ArrayList vérifie son tableau interne via le filtre
+            return ObjectInputFilter.Status.ALLOWED;
+        }
+        return ObjectInputFilter.Status.REJECTED;
+    }
+
+    /**
+     * Reads the two bytes at the start of a file without consuming them from a mark-supporting stream.
+     * <p>
+     * Lit les deux octets au début d'un fichier sans les consommer, depuis un flux supportant les marques.
+     *
+     * @param in (EN) A stream supporting {@code mark}. (FR) Un flux supportant {@code mark}.
+     * @return (EN) The two bytes, big-endian. (FR) Les deux octets, en gros-boutiste.
+     * @throws IOException (EN) If fewer than two bytes remain. (FR) S'il reste moins de deux octets.
+     */
+    public static short peekHeader(InputStream in) throws IOException {
+        in.mark(2);
+        int b0 = in.read();
+        int b1 = in.read();
+        in.reset();
+        if (b1 < 0) throw new EOFException("High score file too short");
+        return (short) ((b0 << 8) | b1);
+    }
+}
@@ -0,0 +1,420 @@
+// HighScoreMergeTool.java
+// This file contains the command-line tool merging the high score files of many cabinets into one leaderboard file.
+
+import java.io.BufferedInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Merges the high score files of a fleet of cabinets into one leaderboard file, keeping the best score of each player.
+ * It is an external merge sort, so inputs far larger than the heap are handled with bounded memory:
+ * <ol>
+ * <li>Input files are read in parallel with {@link HighScoreCodec.Reader} (legacy files are migrated on the fly);
+ *     each one is cut into runs of at most {@code --run-entries} entries, sorted by player then score and
+ *     written to a temporary directory.</li>
+ * <li>The runs are merged by player with a k-way merge (in several passes when there are more than
+ *     {@code MAX_FAN_IN} of them), which keeps only the first, i.e. best, entry of each player; the
+ *     survivors are cut again into runs sorted by score.</li>
+ * <li>Those runs are merged by score into the output, written to a temporary file, forced to the disk and atomically
+ *     renamed.</li>
+ * </ol>
+ * Memory is about {@code threads x run-entries} entries plus {@code MAX_FAN_IN} stream buffers.
+ * Usage: {@code java -cp PongGame HighScoreMergeTool -o merged.dat [--run-entries N] [--threads N] cabinet1.dat cabinet2.dat ...}
+ * <p>
+ * Fusionne les fichiers de meilleurs scores d'une flotte de bornes en un seul fichier de classement, en gardant le meilleur
+ * score de chaque joueur. C'est un tri-fusion externe, de sorte que des entrées bien plus grandes que le tas sont traitées
+ * avec une mémoire bornée :
+ * <ol>
+ * <li>Les fichiers d'entrée sont lus en parallèle avec {@link HighScoreCodec.Reader} (les anciens fichiers sont migrés à
+ *     la volée) ; chacun est découpé en séquences d'au plus {@code --run-entries} entrées, triées par joueur puis score et
+ *     écrites dans un répertoire temporaire.</li>
+ * <li>Les séquences sont fusionnées par joueur par une fusion à k voies (en plusieurs passes lorsqu'il y en a plus de
+ *     {@code MAX_FAN_IN}), qui ne garde que la première, c'est-à-dire la meilleure, entrée de chaque joueur ; les
+ *     survivantes sont à nouveau découpées en séquences triées par score.</li>
+ * <li>Ces séquences sont fusionnées par score dans la sortie, écrite dans un fichier temporaire, forcée sur le disque puis
+ *     renommée atomiquement.</li>
+ * </ol>
+ * La mémoire est d'environ {@code threads x run-entries} entrées plus {@code MAX_FAN_IN} tampons de flux.
+ */
+public class HighScoreMergeTool {
+    private static final int DEFAULT_RUN_ENTRIES = 500_000; // (EN) Entries sorted in memory per run. (FR) Entrées triées en mémoire par séquence.
+    private static final int MAX_FAN_IN = 64; // (EN) Runs open at once in one merge. (FR) Séquences ouvertes en même temps dans une fusion.
+    private static final long SHUTDOWN_MILLIS = 10_000; // (EN) Longest wait for cancelled tasks to stop. (FR) Attente maximale de l'arrêt des tâches annulées.
+
+    // By player, then score descending: the first entry of each player is its best
+    // Par joueur, puis score décroissant : la première entrée de chaque joueur est sa meilleure
+    private static final Comparator<PongGame.HighScoreEntry> BY_PLAYER =
+            Comparator.comparing(PongGame.HighScoreEntry::getPlayerName).thenComparing(Comparator.naturalOrder());
+    // Leaderboard order, by name among equal scores so that the output is deterministic
+    // Ordre du classement, par nom à score égal afin que la sortie soit déterministe
+    private static final Comparator<PongGame.HighScoreEntry> BY_RANK =
+            Comparator.<PongGame.HighScoreEntry>naturalOrder().thenComparing(PongGame.HighScoreEntry::getPlayerName);
+
+    private final Path tempDirectory; // (EN) Holds the runs. (FR) Contient les séquences.
+    private final int runEntries; // (EN) Entries per run. (FR) Entrées par séquence.
+    private final ExecutorService pool; // (EN) Reads inputs and merges groups of runs in parallel. (FR) Lit les entrées et fusionne les groupes de séquences en parallèle.
+    private final AtomicInteger runNumber = new AtomicInteger(); // (EN) Names the run files. (FR) Nomme les fichiers de séquence.
+    private final LongAdder entriesRead = new LongAdder(); // (EN) Entries read from the inputs. (FR) Entrées lues depuis les fichiers d'entrée.
+
+    /**
+     * A consumer of entries that may fail with an I/O error.
+     * <p>
+     * Un consommateur d'entrées pouvant échouer avec une erreur d'E/S.
+     */
+    private interface EntrySink {
+        void accept(PongGame.HighScoreEntry entry) throws IOException;
+    }
+
+    /**
+     * Collects entries in memory and spills them as a sorted run file whenever {@code runEntries} are held; runs
+     * sorted by player keep only the best entry of each player.
+     * <p>
+     * Collecte des entrées en mémoire et les déverse dans un fichier de séquence trié dès que {@code runEntries} sont
+     * retenues ; les séquences triées par joueur ne gardent que la meilleure entrée de chaque joueur.
+     */
+    private final class RunWriter implements EntrySink {
+        private final Comparator<PongGame.HighScoreEntry> order; // (EN) Order of the runs. (FR) Ordre des séquences.
+        private final List<PongGame.HighScoreEntry> pending = new ArrayList<>(); // (EN) Entries of the next run. (FR) Entrées de la prochaine séquence.
+        private final List<Path> runs = new ArrayList<>(); // (EN) Runs written. (FR) Séquences écrites.
+        private long written; // (EN) Entries written to the runs. (FR) Entrées écrites dans les séquences.
+
+        RunWriter(Comparator<PongGame.HighScoreEntry> order) {
+            this.order = order;
+        }
+
+        @Override
+        public void accept(PongGame.HighScoreEntry entry) throws IOException {
+            pending.add(entry);
+            if (pending.size() >= runEntries) spill();
+        }
+
+        private void spill() throws IOException {
+            if (pending.isEmpty()) return;
+            pending.sort(order);
+            if (order == BY_PLAYER) {
+                // Only the first entry of each player, its best, can reach the output / Seule la première entrée de chaque joueur, sa meilleure, peut atteindre la sortie
+                int kept = 0;
+                for (int i = 0; i < pending.size(); i++) {
+                    PongGame.HighScoreEntry entry = pending.get(i);
+                    if (kept == 0 || !pending.get(kept - 1).getPlayerName().equals(entry.getPlayerName())) {
+                        pending.set(kept++, entry);
+                    }
+                }
+                pending.subList(kept, pending.size()).clear();
+            }
+            Path run = newRunFile();
+            try (OutputStream out = Files.newOutputStream(run)) {
+                HighScoreCodec.Writer writer = new HighScoreCodec.Writer(out, pending.size());
+                for (PongGame.HighScoreEntry entry : pending) {
+                    writer.write(entry);
+                }
+                writer.finish();
+            }
+            runs.add(run);
+            written += pending.size();
+            pending.clear();
+        }
+
+        /**
+         * Spills the last entries and returns every run written.
+         * <p>
+         * Déverse les dernières entrées et retourne toutes les séquences écrites.
+         */
+        List<Path> finish() throws IOException {
+            spill();
+            return runs;
+        }
+    }
+
+    /**
+     * Constructs a tool using a temporary directory for its runs.
+     * <p>
+     * Construit un outil utilisant un répertoire temporaire pour ses séquences.
+     *
+     * @param runEntries (EN) Entries sorted in memory per run. (FR) Entrées triées en mémoire par séquence.
+     * @param threads    (EN) Inputs read at once. (FR) Fichiers d'entrée lus en même temps.
+     */
+    public HighScoreMergeTool(int runEntries, int threads) throws IOException {
+        if (runEntries <= 0 || threads <= 0) {
+            throw new IllegalArgumentException("Run entries and threads must be positive: " + runEntries + ", " + threads);
+        }
+        this.tempDirectory = Files.createTempDirectory("pong-merge");
+        this.runEntries = runEntries;
+        this.pool = Executors.newFixedThreadPool(threads);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path output = null;
+        int runEntries = DEFAULT_RUN_ENTRIES;
+        int threads = Runtime.getRuntime().availableProcessors();
+        List<Path> inputs = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "-o": output = Paths.get(args[++i]); break;
+                    case "--run-entries": runEntries = Integer.parseInt(args[++i]); break;
+                    case "--threads": threads = Integer.parseInt(args[++i]); break;
+                    default: inputs.add(Paths.get(args[i]));
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            output = null; // Reported as a usage error below / Signalé comme erreur d'utilisation ci-dessous
+        }
+        if (output == null || inputs.isEmpty() || runEntries <= 0 || threads <= 0) {
+            System.err.println("Usage: java -cp PongGame HighScoreMergeTool -o merged.dat [--run-entries N] [--threads N] input.dat...");
+            System.exit(2);
+        }
+
+        long start = System.nanoTime();
+        HighScoreMergeTool tool = new HighScoreMergeTool(runEntries, threads);
+        long players = tool.merge(inputs, output);
+        System.out.println(String.format(Locale.ROOT, "Merged %d files: %d entries, %d players, %d runs, in %d ms -> %s",
+                inputs.size(), tool.entriesRead.sum(), players, tool.runNumber.get(),
+                (System.nanoTime() - start) / 1_000_000, output));
+    }
+
+    /**
+     * Merges the inputs into the output, keeping the best entry of each player, best score first.
+     * The output is replaced only once it is complete and on the disk; a failed merge leaves neither a partial output
+     * nor temporary runs behind. The tool cannot be reused afterwards.
+     * <p>
+     * Fusionne les fichiers d'entrée dans la sortie, en gardant la meilleure entrée de chaque joueur, meilleur score d'abord.
+     * La sortie n'est remplacée qu'une fois complète et sur le disque ; une fusion échouée ne laisse ni sortie partielle ni
+     * séquences temporaires. L'outil ne peut plus être utilisé ensuite.
+     *
+     * @param inputs (EN) High score files, binary or legacy format. (FR) Fichiers de meilleurs scores, format binaire ou ancien.
+     * @param output (EN) The merged file. (FR) Le fichier fusionné.
+     * @return (EN) Number of players in the output. (FR) Nombre de joueurs dans la sortie.
+     */
+    public long merge(List<Path> inputs, Path output) throws IOException, InterruptedException {
+        Path temp = output.resolveSibling(output.getFileName() + ".tmp");
+        Throwable failure = null;
+        try {
+            // 1. Sorted runs by player, one input per thread / Séquences triées par joueur, un fichier d'entrée par thread
+            List<Future<List<Path>>> sorting = new ArrayList<>();
+            for (Path input : inputs) {
+                sorting.add(pool.submit(() -> sortInput(input)));
+            }
+            List<Path> playerRuns = new ArrayList<>();
+            for (Future<List<Path>> future : sorting) {
+                playerRuns.addAll(await(future));
+            }
+
+            // 2. Best entry of each player, cut into runs by score / Meilleure entrée de chaque joueur, découpée en séquences par score
+            playerRuns = reduce(playerRuns, BY_PLAYER);
+            RunWriter rankRuns = new RunWriter(BY_RANK);
+            String[] lastPlayer = {null};
+            mergeRuns(playerRuns, BY_PLAYER, entry -> {
+                if (!entry.getPlayerName().equals(lastPlayer[0])) { // The first entry of a player is the best / La première entrée d'un joueur est la meilleure
+                    lastPlayer[0] = entry.getPlayerName();
+                    rankRuns.accept(entry);
+                }
+            });
+            List<Path> scoreRuns = reduce(rankRuns.finish(), BY_RANK);
+
+            // 3. Final merge by score into the output / Fusion finale par score dans la sortie
+            long players = rankRuns.written;
+            try (FileOutputStream out = new FileOutputStream(temp.toFile())) {
+                HighScoreCodec.Writer writer = new HighScoreCodec.Writer(out, (int) players);
+                mergeRuns(scoreRuns, BY_RANK, writer::write);
+                writer.finish();
+                out.getFD().sync(); // On the disk before the rename / Sur le disque avant le renommage
+            }
+            try {
+                Files.move(temp, output, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, output, StandardCopyOption.REPLACE_EXISTING); // Best effort / Au mieux
+            }
+            return players;
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            cleanUp(temp, failure);
+        }
+    }
+
+    /**
+     * Stops the pool, waits for its cancelled tasks to stop writing runs, then deletes the unfinished output and the
+     * temporary directory. A cleanup failure is added to the merge failure as suppressed, so it never hides it.
+     * <p>
+     * Arrête le pool, attend que ses tâches annulées cessent d'écrire des séquences, puis supprime la sortie inachevée et
+     * le répertoire temporaire. Un échec du nettoyage est ajouté à l'échec de la fusion comme supprimé, afin de ne jamais le masquer.
+     *
+     * @param temp    (EN) The unfinished output, already renamed on success. (FR) La sortie inachevée, déjà renommée en cas de succès.
+     * @param failure (EN) Why the merge failed, or null if it succeeded. (FR) Pourquoi la fusion a échoué, ou null si elle a réussi.
+     * @throws IOException (EN) If the cleanup of a successful merge failed. (FR) Si le nettoyage d'une fusion réussie a échoué.
+     */
+    private void cleanUp(Path temp, Throwable failure) throws IOException {
+        List<Exception> problems = new ArrayList<>();
+        pool.shutdownNow();
+        try {
+            if (!pool.awaitTermination(SHUTDOWN_MILLIS, TimeUnit.MILLISECONDS)) {
+                problems.add(new IOException("Merge tasks still running after " + SHUTDOWN_MILLIS + " ms"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Preserve interrupt status / Préserver l'état d'interruption
+            problems.add(e);
+        }
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException e) {
+            problems.add(e);
+        }
+        try {
+            deleteTempDirectory();
+        } catch (IOException e) {
+            problems.add(e);
+        }
+        if (failure != null) {
+            problems.forEach(failure::addSuppressed);
+        } else if (!problems.isEmpty()) {
+            IOException cleanup = new IOException("Merge cleanup failed");
+            problems.forEach(cleanup::addSuppressed);
+            throw cleanup;
+        }
+    }
+
+    /**
+     * Reads one input and writes it as runs sorted by player, each without duplicate players.
+     * <p>
+     * Lit un fichier d'entrée et l'écrit en séquences triées par joueur, chacune sans joueur en double.
+     */
+    private List<Path> sortInput(Path input) throws IOException {
+        RunWriter runs = new RunWriter(BY_PLAYER);
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(input))) {
+            if (HighScoreCodec.isLegacyHeader(HighScoreCodec.peekHeader(in))) {
+                for (PongGame.HighScoreEntry entry : HighScoreCodec.readLegacy(in)) { // Legacy files are small / Les anciens fichiers sont petits
+                    runs.accept(entry);
+                    entriesRead.increment();
+                }
+            } else {
+                HighScoreCodec.Reader reader = new HighScoreCodec.Reader(in);
+                PongGame.HighScoreEntry entry;
+                while ((entry = reader.next()) != null) {
+                    runs.accept(entry);
+                    entriesRead.increment();
+                }
+            }
+        } catch (IOException e) {
+            throw new IOException("Cannot read " + input + ": " + e.getMessage(), e);
+        }
+        return runs.finish();
+    }
+
+    /**
+     * Merges groups of {@code MAX_FAN_IN} runs in parallel, pass after pass, until at most {@code MAX_FAN_IN} remain.
+     * <p>
+     * Fusionne des groupes de {@code MAX_FAN_IN} séquences en parallèle, passe après passe, jusqu'à en avoir au plus {@code MAX_FAN_IN}.
+     */
+    private List<Path> reduce(List<Path> runs, Comparator<PongGame.HighScoreEntry> order) throws IOException, InterruptedException {
+        while (runs.size() > MAX_FAN_IN) {
+            List<Future<Path>> merging = new ArrayList<>();
+            for (int from = 0; from < runs.size(); from += MAX_FAN_IN) {
+                List<Path> group = runs.subList(from, Math.min(runs.size(), from + MAX_FAN_IN));
+                merging.add(pool.submit(() -> mergeGroup(group, order)));
+            }
+            List<Path> merged = new ArrayList<>();
+            for (Future<Path> future : merging) {
+                merged.add(await(future));
+            }
+            runs = merged;
+        }
+        return runs;
+    }
+
+    private Path mergeGroup(List<Path> group, Comparator<PongGame.HighScoreEntry> order) throws IOException {
+        long count = 0;
+        for (Path run : group) {
+            try (InputStream in = Files.newInputStream(run)) {
+                count += new HighScoreCodec.Reader(in).getCount();
+            }
+        }
+        Path merged = newRunFile();
+        try (OutputStream out = Files.newOutputStream(merged)) {
+            HighScoreCodec.Writer writer = new HighScoreCodec.Writer(out, (int) count);
+            mergeRuns(group, order, writer::write);
+            writer.finish();
+        }
+        return merged;
+    }
+
+    /**
+     * K-way merge of sorted runs through a priority queue of their heads; each run is deleted once merged.
+     * <p>
+     * Fusion à k voies de séquences triées via une file de priorité de leurs têtes ; chaque séquence est supprimée une fois fusionnée.
+     */
+    private static void mergeRuns(List<Path> runs, Comparator<PongGame.HighScoreEntry> order, EntrySink sink) throws IOException {
+        List<HighScoreCodec.Reader> readers = new ArrayList<>(runs.size());
+        try {
+            PriorityQueue<Object[]> heads = new PriorityQueue<>(Math.max(1, runs.size()),
+                    (a, b) -> order.compare((PongGame.HighScoreEntry) a[0], (PongGame.HighScoreEntry) b[0]));
+            for (Path run : runs) {
+                HighScoreCodec.Reader reader = new HighScoreCodec.Reader(Files.newInputStream(run));
+                readers.add(reader);
+                PongGame.HighScoreEntry first = reader.next();
+                if (first != null) heads.add(new Object[] {first, reader});
+            }
+            while (!heads.isEmpty()) {
+                Object[] head = heads.poll();
+                sink.accept((PongGame.HighScoreEntry) head[0]);
+                PongGame.HighScoreEntry next = ((HighScoreCodec.Reader) head[1]).next();
+                if (next != null) {
+                    head[0] = next;
+                    heads.add(head); // Same holder, next entry of the same run / Même conteneur, entrée suivante de la même séquence
+                }
+            }
+        } finally {
+            for (HighScoreCodec.Reader reader : readers) {
+                reader.close();
+            }
+        }
+        for (Path run : runs) {
+            Files.deleteIfExists(run);
+        }
+    }
+
+    private Path newRunFile() {
+        return tempDirectory.resolve("run-" + runNumber.incrementAndGet() + ".dat");
+    }
+
+    private static <T> T await(Future<T> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw new IOException(cause);
+        }
+    }
+
+    private void deleteTempDirectory() throws IOException {
+        try (Stream<Path> files = Files.list(tempDirectory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(tempDirectory);
+    }
+}
@@ -0,0 +1,201 @@
+// HighScoreRecoveryCheck.java
+// This file contains the regression check proving that unreadable high score files are kept and that the score log survives crashes.
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Regression check proving that a high score file which cannot be read is never overwritten by the next save.
+ * For each kind of damage (one flipped bit, a truncated tail, an unknown version, an out-of-range score) it
+ * writes a large high score file, damages it, opens a {@link LeaderboardService} over it, submits one score and
+ * flushes, then requires that:
+ * <ul>
+ * <li>the damaged bytes were moved, unchanged, to a single {@code <file>.corrupt-<millis>} sibling;</li>
+ * <li>the store now loads the submitted score only.</li>
+ * </ul>
+ * It then checks the log of new scores: a log whose last record is torn (a crash during an append) keeps the
+ * records before it, and a log naming an earlier high score file (a crash right after a compaction) is not replayed.
+ * Exits with status 1 otherwise, so it can gate a build script:
+ * {@code java -cp PongGame HighScoreRecoveryCheck}.
+ * <p>
+ * Vérification de non-régression prouvant qu'un fichier de meilleurs scores illisible n'est jamais écrasé par la
+ * sauvegarde suivante. Pour chaque type de dégât (un bit inversé, une fin tronquée, une version inconnue, un score
+ * hors limites), elle écrit un gros fichier de meilleurs scores, l'endommage, ouvre un {@link LeaderboardService}
+ * dessus, soumet un score et vide, puis exige que :
+ * <ul>
+ * <li>les octets endommagés aient été déplacés, inchangés, vers un unique voisin {@code <fichier>.corrupt-<millis>} ;</li>
+ * <li>le stockage ne charge plus que le score soumis.</li>
+ * </ul>
+ * Elle vérifie ensuite le journal des nouveaux scores : un journal dont le dernier enregistrement est déchiré (un
+ * plantage pendant un ajout) conserve les enregistrements qui le précèdent, et un journal désignant un ancien fichier
+ * des meilleurs scores (un plantage juste après un compactage) n'est pas rejoué.
+ * Se termine avec le code 1 sinon, afin de pouvoir bloquer un script de construction.
+ */
+public class HighScoreRecoveryCheck {
+    private static final int ENTRIES = 100_000; // (EN) Entries in the damaged file (about 1 MB). (FR) Entrées du fichier endommagé (environ 1 Mo).
+    private static final long FLUSH_MILLIS = 10_000; // (EN) Longest wait for the service to write. (FR) Attente maximale de l'écriture par le service.
+    private static final String FILE_NAME = "pong_highscores.dat"; // (EN) Name of the checked file. (FR) Nom du fichier vérifié.
+
+    public static void main(String[] args) throws IOException {
+        Path directory = Files.createTempDirectory("pong-recovery");
+        boolean passed = true;
+        try {
+            byte[] valid = encode(entries(ENTRIES, 0));
+
+            byte[] flipped = valid.clone();
+            flipped[flipped.length / 2] ^= 0x10; // One bit in the middle of the entries / Un bit au milieu des entrées
+            passed &= check(directory.resolve("checksum"), "flipped bit", flipped);
+
+            passed &= check(directory.resolve("truncated"), "truncated", Arrays.copyOf(valid, valid.length - 100));
+
+            byte[] version = valid.clone();
+            version[5] = 99; // Low byte of the version, after the magic number / Octet bas de la version, après le nombre magique
+            passed &= check(directory.resolve("version"), "unknown version", version);
+
+            passed &= check(directory.resolve("score"), "out-of-range score", encode(entries(ENTRIES, Leaderboard.MAX_SCORE + 1)));
+
+            passed &= checkTornLog(directory.resolve("torn"), valid);
+            passed &= checkStaleLog(directory.resolve("stale"), valid);
+        } finally {
+            deleteRecursively(directory);
+        }
+        if (!passed) {
+            System.err.println("FAIL: a high score file or log was not recovered.");
+            System.exit(1);
+        }
+        System.out.println("OK: unreadable high score files are kept and the log survives crashes.");
+    }
+
+    /**
+     * Runs one scenario in its own directory.
+     * <p>
+     * Exécute un scénario dans son propre répertoire.
+     *
+     * @param directory (EN) Empty directory for the scenario. (FR) Répertoire vide pour le scénario.
+     * @param label     (EN) Name printed with the result. (FR) Nom affiché avec le résultat.
+     * @param damaged   (EN) Bytes of the unreadable file. (FR) Octets du fichier illisible.
+     * @return (EN) true if the damaged bytes were kept and the new score saved. (FR) true si les octets endommagés ont été conservés et le nouveau score sauvegardé.
+     */
+    private static boolean check(Path directory, String label, byte[] damaged) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(FILE_NAME);
+        Files.write(file, damaged);
+
+        LeaderboardService service = new LeaderboardService(new HighScoreStore(file.toString(), null));
+        service.submit(new PongGame.HighScoreEntry("CHECK", 7));
+        boolean flushed = service.flush(FLUSH_MILLIS);
+
+        List<Path> kept = new ArrayList<>();
+        try (DirectoryStream<Path> siblings = Files.newDirectoryStream(directory, FILE_NAME + ".corrupt-*")) {
+            siblings.forEach(kept::add);
+        }
+        boolean keptIntact = kept.size() == 1 && Arrays.equals(Files.readAllBytes(kept.get(0)), damaged);
+        List<PongGame.HighScoreEntry> saved = new HighScoreStore(file.toString(), null).load();
+        boolean savedNew = saved.size() == 1 && saved.get(0).getScore() == 7;
+
+        boolean passed = flushed && keptIntact && savedNew;
+        System.out.printf("%-20s %d bytes, kept %s, reloaded %s entries: %s%n", label + ":", damaged.length,
+                kept.isEmpty() ? "nowhere" : kept.get(0).getFileName() + (keptIntact ? " (intact)" : " (CHANGED)"),
+                saved.size(), passed ? "ok" : "FAIL");
+        return passed;
+    }
+
+    /**
+     * Posts three batches of one score over a valid file, tears the last record of the log, and requires the reload
+     * to keep the file and the first two scores, then to fold them into a new file.
+     * <p>
+     * Publie trois lots d'un score sur un fichier valide, déchire le dernier enregistrement du journal, et exige que le
+     * rechargement conserve le fichier et les deux premiers scores, puis les replie dans un nouveau fichier.
+     */
+    private static boolean checkTornLog(Path directory, byte[] valid) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(FILE_NAME);
+        Path logFile = directory.resolve(FILE_NAME + ".log");
+        Files.write(file, valid);
+        HighScoreStore store = new HighScoreStore(file.toString(), null);
+        store.load();
+        for (int i = 1; i <= 3; i++) {
+            store.append(List.of(new PongGame.HighScoreEntry("LOG" + i, 5000 + i)));
+        }
+        byte[] logged = Files.readAllBytes(logFile);
+        Files.write(logFile, Arrays.copyOf(logged, logged.length - 3)); // Crash during the third append / Plantage pendant le troisième ajout
+
+        HighScoreStore reloaded = new HighScoreStore(file.toString(), null);
+        List<PongGame.HighScoreEntry> entries = reloaded.load();
+        boolean flushed = reloaded.flush(FLUSH_MILLIS);
+        boolean kept = entries.size() == ENTRIES + 2 && entries.get(0).getScore() == 5002 && entries.get(1).getScore() == 5001;
+        boolean folded = flushed && !Files.exists(logFile) && read(file).size() == ENTRIES + 2;
+        boolean passed = kept && folded;
+        System.out.printf("%-20s reloaded %d entries, folded into the file: %s: %s%n", "torn log:", entries.size(),
+                folded ? "yes" : "no", passed ? "ok" : "FAIL");
+        return passed;
+    }
+
+    /**
+     * Leaves a log naming another high score file next to a valid file, as a crash right after a compaction would,
+     * and requires the reload to ignore it.
+     * <p>
+     * Laisse un journal désignant un autre fichier des meilleurs scores à côté d'un fichier valide, comme le ferait un
+     * plantage juste après un compactage, et exige que le rechargement l'ignore.
+     */
+    private static boolean checkStaleLog(Path directory, byte[] valid) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(FILE_NAME);
+        Path logFile = directory.resolve(FILE_NAME + ".log");
+        Files.write(file, valid);
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        log.write(HighScoreCodec.encodeLogHeader(valid.length - 1, 0)); // The file before the compaction / Le fichier avant le compactage
+        log.write(HighScoreCodec.encodeLogRecord(List.of(new PongGame.HighScoreEntry("STALE", 9999))));
+        Files.write(logFile, log.toByteArray());
+
+        List<PongGame.HighScoreEntry> entries = new HighScoreStore(file.toString(), null).load();
+        boolean passed = entries.size() == ENTRIES && !Files.exists(logFile);
+        System.out.printf("%-20s reloaded %d entries, log discarded: %s: %s%n", "stale log:", entries.size(),
+                Files.exists(logFile) ? "no" : "yes", passed ? "ok" : "FAIL");
+        return passed;
+    }
+
+    /**
+     * Builds entries with distinct names and random scores; the first one gets a chosen score if it is positive.
+     * <p>
+     * Construit des entrées aux noms distincts et aux scores aléatoires ; la première reçoit un score choisi s'il est positif.
+     */
+    private static List<PongGame.HighScoreEntry> entries(int count, int firstScore) {
+        Random random = new Random(12);
+        List<PongGame.HighScoreEntry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entries.add(new PongGame.HighScoreEntry("Player" + i, i == 0 && firstScore > 0 ? firstScore : random.nextInt(1000)));
+        }
+        return entries;
+    }
+
+    private static byte[] encode(List<PongGame.HighScoreEntry> entries) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        HighScoreCodec.write(entries, out);
+        return out.toByteArray();
+    }
+
+    private static List<PongGame.HighScoreEntry> read(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return HighScoreCodec.read(in);
+        }
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,489 @@
+// HighScoreStore.java
+// This file contains the high score persistence: background loading, a checksummed log of new scores, and crash-safe full writes of the high score file.
+
+import java.io.BufferedInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Reads and writes the high score file on a dedicated background thread.
+ * <ul>
+ * <li>Loading can run off the startup path ({@link #loadAsync()}), so the window appears immediately.</li>
+ * <li>New scores are appended ({@link #appendAsync(List)}) to a sibling log, {@code <file>.log}, one checksummed
+ *     record per batch, so posting a score costs the batch and never the size of the table.</li>
+ * <li>Once the log holds more than the high score file, the I/O thread compacts it: it reads both, writes them as
+ *     one new high score file and starts an empty log. Compaction costs as much as the log it folds, so the
+ *     amortized cost per score stays constant however large the table grows.</li>
+ * <li>Every full write goes to a temporary file in the same directory, is forced to the disk, and then atomically
+ *     renamed over the real file, so a crash or power cut leaves either the old or the new file, never a
+ *     truncated one. A log left behind by a crash right after the rename names the previous file and is discarded,
+ *     never replayed twice.</li>
+ * </ul>
+ * A file that cannot be read is never overwritten: {@link #load()} first moves it aside to
+ * {@code <file>.corrupt-<millis>}, and if that fails every later save is refused, so the scores it holds can still
+ * be recovered by hand. A log is set aside the same way; a log ending with a torn record (a crash during an append)
+ * keeps the records before it.
+ * Pending writes are flushed by a shutdown hook when the JVM exits.
+ * <p>
+ * Lit et écrit le fichier des meilleurs scores sur un thread d'arrière-plan dédié.
+ * <ul>
+ * <li>Le chargement peut se faire hors du chemin de démarrage ({@link #loadAsync()}), afin que la fenêtre apparaisse
+ *     immédiatement.</li>
+ * <li>Les nouveaux scores sont ajoutés ({@link #appendAsync(List)}) à un journal voisin, {@code <fichier>.log}, un
+ *     enregistrement avec somme de contrôle par lot, de sorte que publier un score coûte le lot et jamais la taille de
+ *     la table.</li>
+ * <li>Dès que le journal contient plus que le fichier des meilleurs scores, le thread d'E/S le compacte : il lit les
+ *     deux, les écrit comme un nouveau fichier des meilleurs scores et démarre un journal vide. Le compactage coûte
+ *     autant que le journal qu'il replie, donc le coût amorti par score reste constant quelle que soit la taille de la
+ *     table.</li>
+ * <li>Chaque écriture complète va dans un fichier temporaire du même répertoire, est forcée sur le disque, puis renommée
+ *     atomiquement à la place du vrai fichier, de sorte qu'un plantage ou une coupure de courant laisse soit l'ancien
+ *     soit le nouveau fichier, jamais un fichier tronqué. Un journal laissé par un plantage juste après le renommage
+ *     désigne le fichier précédent et est abandonné, jamais rejoué deux fois.</li>
+ * </ul>
+ * Un fichier illisible n'est jamais écrasé : {@link #load()} le déplace d'abord en {@code <fichier>.corrupt-<millis>},
+ * et si cela échoue toute sauvegarde ultérieure est refusée, de sorte que les scores qu'il contient peuvent encore
+ * être récupérés à la main. Un journal est mis de côté de la même façon ; un journal se terminant par un enregistrement
+ * déchiré (un plantage pendant un ajout) conserve les enregistrements qui le précèdent.
+ * Les écritures en attente sont vidées par un crochet d'arrêt à la sortie de la JVM.
+ */
+public class HighScoreStore {
+    private static final Logger LOGGER = Logger.getLogger(HighScoreStore.class.getName());
+    private static final long SHUTDOWN_FLUSH_MILLIS = 2000; // (EN) Longest wait for pending writes at exit. (FR) Attente maximale des écritures en attente à la sortie.
+    private static final long MIN_COMPACTION_BYTES = 64 * 1024; // (EN) Log size below which small tables are never compacted. (FR) Taille du journal en dessous de laquelle les petites tables ne sont jamais compactées.
+
+    private final Path file; // (EN) The high score file. (FR) Le fichier des meilleurs scores.
+    private final Path tempFile; // (EN) Sibling file each full write goes through. (FR) Fichier voisin par lequel passe chaque écriture complète.
+    private final Path logFile; // (EN) Sibling log of the scores posted since the last full write. (FR) Journal voisin des scores publiés depuis la dernière écriture complète.
+    private final GameMetrics metrics; // (EN) Receives the I/O latencies, may be null. (FR) Reçoit les latences d'E/S, peut être null.
+    private final ExecutorService ioThread; // (EN) Single background thread, tasks run in order. (FR) Thread d'arrière-plan unique, tâches exécutées dans l'ordre.
+    private volatile boolean savesBlocked; // (EN) An unreadable file could not be moved aside. (FR) Un fichier illisible n'a pas pu être mis de côté.
+    // (EN) Set by load(), then used by the thread that writes (the I/O thread for the asynchronous methods).
+    // (FR) Définis par load(), puis utilisés par le thread qui écrit (le thread d'E/S pour les méthodes asynchrones).
+    private long fileLength; // (EN) Length of the high score file, 0 if there is none. (FR) Longueur du fichier des meilleurs scores, 0 s'il n'y en a pas.
+    private int fileChecksum; // (EN) Its stored CRC-32, named by the log header. (FR) Son CRC-32 stocké, désigné par l'en-tête du journal.
+    private FileChannel log; // (EN) Open log, null until the first append after a full write. (FR) Journal ouvert, null jusqu'au premier ajout après une écriture complète.
+    private long compactionBytes = MIN_COMPACTION_BYTES; // (EN) Log size that triggers a compaction. (FR) Taille du journal qui déclenche un compactage.
+
+    /**
+     * Constructs the store; nothing is read until {@link #load()} or {@link #loadAsync()}.
+     * <p>
+     * Construit le stockage ; rien n'est lu avant {@link #load()} ou {@link #loadAsync()}.
+     *
+     * @param filename (EN) The high score file. (FR) Le fichier des meilleurs scores.
+     * @param metrics  (EN) Metrics receiving the I/O latencies, or null. (FR) Métriques recevant les latences d'E/S, ou null.
+     */
+    public HighScoreStore(String filename, GameMetrics metrics) {
+        this.file = Paths.get(filename).toAbsolutePath();
+        this.tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        this.logFile = file.resolveSibling(file.getFileName() + ".log");
+        this.metrics = metrics;
+        this.ioThread = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "highscore-io");
+            thread.setDaemon(true); // Never keeps the JVM alive / Ne maintient jamais la JVM en vie
+            return thread;
+        });
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(SHUTDOWN_FLUSH_MILLIS), "highscore-flush"));
+    }
+
+    /**
+     * Reads the file and replays its log on the calling thread; call it before any write.
+     * A missing or empty file gives an empty list; an unreadable or corrupted one (bad header, checksum or length,
+     * score out of {@code [0, Leaderboard.MAX_SCORE]}) is logged, moved aside so that the next save cannot overwrite
+     * it, and also gives an empty list.
+     * A file in the legacy serialized format is read once and rewritten in the binary format in the background,
+     * as is a log ending with a torn record.
+     * A leftover temporary file (interrupted write) is ignored.
+     * <p>
+     * Lit le fichier et rejoue son journal sur le thread appelant ; à appeler avant toute écriture.
+     * Un fichier absent ou vide donne une liste vide ; un fichier illisible ou corrompu (en-tête, somme de contrôle ou
+     * longueur invalide, score hors de {@code [0, Leaderboard.MAX_SCORE]}) est journalisé, mis de côté afin que la
+     * prochaine sauvegarde ne puisse pas l'écraser, et donne aussi une liste vide.
+     * Un fichier dans l'ancien format sérialisé est lu une fois puis réécrit dans le format binaire en arrière-plan,
+     * de même qu'un journal se terminant par un enregistrement déchiré.
+     * Un fichier temporaire restant (écriture interrompue) est ignoré.
+     *
+     * @return (EN) The entries, sorted by score descending. (FR) Les entrées, triées par score décroissant.
+     */
+    public List<PongGame.HighScoreEntry> load() {
+        GameEvents.HighScoreIoEvent event = GameEvents.beginHighScoreIo();
+        long start = System.nanoTime();
+        List<PongGame.HighScoreEntry> entries = new ArrayList<>();
+        boolean success = true;
+        boolean rewrite = false;
+        closeLog();
+        try {
+            // If file doesn't exist or is empty, start with an empty list
+            // Si le fichier n'existe pas ou est vide, commencer avec une liste vide
+            if (Files.exists(file) && Files.size(file) > 0) {
+                try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+                    rewrite = HighScoreCodec.isLegacyHeader(HighScoreCodec.peekHeader(in));
+                    entries = rewrite ? HighScoreCodec.readLegacy(in) : HighScoreCodec.read(in);
+                }
+                checkScores(entries);
+            }
+            readFileIdentity();
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Error loading high scores", e); // Never half a file / Jamais la moitié d'un fichier
+            entries = new ArrayList<>();
+            success = false;
+            rewrite = false;
+            setAside(file);
+            setAside(logFile); // Its records extend the unreadable file / Ses enregistrements prolongent le fichier illisible
+            fileLength = 0;
+            fileChecksum = 0;
+        }
+        if (success && !replayLog(entries)) {
+            rewrite = true; // Keeps the records before the torn one / Conserve les enregistrements avant celui déchiré
+        }
+        Collections.sort(entries); // Sorts by score descending, posting order among ties / Trie par score décroissant, ordre de publication à égalité
+        if (metrics != null) metrics.recordHighScoreLoad(System.nanoTime() - start);
+        GameEvents.commitHighScoreIo(event, GameEvents.LOAD, file.toString(), entries.size(), success);
+        if (rewrite) {
+            LOGGER.info("Rewriting the high score file in the binary format");
+            saveAsync(new ArrayList<>(entries)); // One-time rewrite / Réécriture unique
+        }
+        return entries;
+    }
+
+    /**
+     * Reads the file on the background thread.
+     * <p>
+     * Lit le fichier sur le thread d'arrière-plan.
+     *
+     * @return (EN) Completes with the sorted entries. (FR) Se termine avec les entrées triées.
+     */
+    public CompletableFuture<List<PongGame.HighScoreEntry>> loadAsync() {
+        return CompletableFuture.supplyAsync(this::load, ioThread);
+    }
+
+    /**
+     * Writes the whole table on the calling thread, through the temporary file and an atomic rename, then starts an
+     * empty log.
+     * <p>
+     * Écrit la table entière sur le thread appelant, via le fichier temporaire et un renommage atomique, puis démarre un
+     * journal vide.
+     *
+     * @param entries (EN) The entries to persist, the log's included. (FR) Les entrées à persister, celles du journal comprises.
+     * @return (EN) false if the write failed or saves are blocked (the previous file is then untouched). (FR) false si l'écriture a échoué ou si les sauvegardes sont bloquées (le fichier précédent est alors intact).
+     */
+    public boolean save(List<PongGame.HighScoreEntry> entries) {
+        if (savesBlocked) {
+            LOGGER.warning("High score save refused: the unreadable file " + file + " is kept for recovery");
+            return false;
+        }
+        GameEvents.HighScoreIoEvent event = GameEvents.beginHighScoreIo();
+        long start = System.nanoTime();
+        boolean success = true;
+        try {
+            try (FileOutputStream fos = new FileOutputStream(tempFile.toFile())) {
+                HighScoreCodec.write(entries, fos);
+                fos.getFD().sync(); // On the disk before the rename / Sur le disque avant le renommage
+            }
+            replaceFile();
+            closeLog();
+            readFileIdentity(); // The old log now names another file / L'ancien journal désigne maintenant un autre fichier
+            Files.deleteIfExists(logFile);
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "I/O error saving high scores", e); // Log error / Journaliser l'erreur
+            success = false;
+        }
+        compactionBytes = Math.max(MIN_COMPACTION_BYTES, fileLength);
+        if (metrics != null) metrics.recordHighScoreSave(System.nanoTime() - start);
+        GameEvents.commitHighScoreIo(event, GameEvents.SAVE, file.toString(), entries.size(), success);
+        return success;
+    }
+
+    /**
+     * Schedules a write of the whole table on the background thread and returns immediately.
+     * Writes and appends run in the order they were scheduled. The list must not be modified afterwards.
+     * <p>
+     * Planifie une écriture de la table entière sur le thread d'arrière-plan et retourne immédiatement.
+     * Les écritures et les ajouts s'exécutent dans l'ordre où ils ont été planifiés. La liste ne doit plus être modifiée ensuite.
+     *
+     * @param entries (EN) Snapshot of the entries to persist. (FR) Instantané des entrées à persister.
+     */
+    public void saveAsync(List<PongGame.HighScoreEntry> entries) {
+        ioThread.execute(() -> save(entries));
+    }
+
+    /**
+     * Appends a batch of new scores to the log on the calling thread, forced to the disk, and compacts the log once
+     * it holds more than the high score file.
+     * <p>
+     * Ajoute un lot de nouveaux scores au journal sur le thread appelant, forcé sur le disque, et compacte le journal
+     * dès qu'il contient plus que le fichier des meilleurs scores.
+     *
+     * @param batch (EN) The new entries, in posting order. (FR) Les nouvelles entrées, dans l'ordre de publication.
+     * @return (EN) false if the append failed or saves are blocked (the log then ends with its previous record). (FR) false si l'ajout a échoué ou si les sauvegardes sont bloquées (le journal se termine alors par son enregistrement précédent).
+     */
+    public boolean append(List<PongGame.HighScoreEntry> batch) {
+        if (savesBlocked) {
+            LOGGER.warning("High score append refused: the unreadable file " + file + " is kept for recovery");
+            return false;
+        }
+        GameEvents.HighScoreIoEvent event = GameEvents.beginHighScoreIo();
+        long start = System.nanoTime();
+        boolean success = true;
+        long logLength = 0;
+        try {
+            ByteBuffer record = ByteBuffer.wrap(HighScoreCodec.encodeLogRecord(batch));
+            if (log == null) log = openLog();
+            long end = log.size();
+            try {
+                while (record.hasRemaining()) {
+                    log.write(record, end + record.position());
+                }
+                log.force(false);
+            } catch (IOException e) {
+                log.truncate(end); // Never leaves a torn record before the next one / Ne laisse jamais un enregistrement déchiré avant le suivant
+                throw e;
+            }
+            logLength = log.size();
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "I/O error appending high scores", e);
+            success = false;
+            closeLog();
+        }
+        if (metrics != null) metrics.recordHighScoreSave(System.nanoTime() - start);
+        GameEvents.commitHighScoreIo(event, GameEvents.APPEND, logFile.toString(), batch.size(), success);
+        if (logLength > compactionBytes) {
+            compact();
+        }
+        return success;
+    }
+
+    /**
+     * Schedules an append of new scores on the background thread and returns immediately.
+     * The list must not be modified afterwards.
+     * <p>
+     * Planifie un ajout de nouveaux scores sur le thread d'arrière-plan et retourne immédiatement.
+     * La liste ne doit plus être modifiée ensuite.
+     *
+     * @param batch (EN) The new entries, in posting order. (FR) Les nouvelles entrées, dans l'ordre de publication.
+     */
+    public void appendAsync(List<PongGame.HighScoreEntry> batch) {
+        ioThread.execute(() -> append(batch));
+    }
+
+    /**
+     * Waits until every load and write scheduled so far is done.
+     * <p>
+     * Attend que tous les chargements et écritures planifiés jusqu'ici soient terminés.
+     *
+     * @param timeoutMillis (EN) Longest wait. (FR) Attente maximale.
+     * @return (EN) true if everything was written in time. (FR) true si tout a été écrit à temps.
+     */
+    public boolean flush(long timeoutMillis) {
+        try {
+            ioThread.submit(() -> { }).get(timeoutMillis, TimeUnit.MILLISECONDS); // Runs after the earlier tasks / S'exécute après les tâches précédentes
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Preserve interrupt status / Préserver l'état d'interruption
+        } catch (ExecutionException | TimeoutException e) {
+            LOGGER.log(Level.WARNING, "High score writes not flushed", e);
+        }
+        return false;
+    }
+
+    /**
+     * Tells whether saves are refused because an unreadable file could not be moved aside.
+     * <p>
+     * Indique si les sauvegardes sont refusées parce qu'un fichier illisible n'a pas pu être mis de côté.
+     */
+    public boolean isSavesBlocked() {
+        return savesBlocked;
+    }
+
+    /**
+     * Folds the log into a new high score file, reading both back from the disk so that the caller's copy of the
+     * table is never needed. A failure leaves both files as they are and doubles the log size that triggers the next
+     * attempt.
+     * <p>
+     * Replie le journal dans un nouveau fichier des meilleurs scores, en relisant les deux depuis le disque afin que la
+     * copie de la table de l'appelant ne soit jamais nécessaire. Un échec laisse les deux fichiers tels quels et double la
+     * taille du journal qui déclenche la tentative suivante.
+     */
+    private void compact() {
+        List<PongGame.HighScoreEntry> entries = new ArrayList<>();
+        try {
+            if (fileLength > 0) {
+                try (InputStream in = Files.newInputStream(file)) {
+                    entries = HighScoreCodec.read(in);
+                }
+            }
+            HighScoreCodec.Log logged;
+            try (InputStream in = Files.newInputStream(logFile)) {
+                logged = HighScoreCodec.readLog(in, fileLength, fileChecksum);
+            }
+            if (logged.isStale() || !logged.isComplete()) {
+                throw new StreamCorruptedException("High score log changed on the disk");
+            }
+            entries.addAll(logged.getEntries());
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "High score log not compacted", e);
+            compactionBytes *= 2;
+            return;
+        }
+        Collections.sort(entries); // Same order as a load / Même ordre qu'un chargement
+        if (!save(entries)) {
+            compactionBytes *= 2;
+        }
+    }
+
+    /**
+     * Replays the log of the current high score file, if any: a stale log (already folded into the file) is deleted,
+     * an unreadable one is set aside, and a torn one is set aside after its valid records are kept.
+     * <p>
+     * Rejoue le journal du fichier actuel des meilleurs scores, s'il existe : un journal périmé (déjà replié dans le
+     * fichier) est supprimé, un journal illisible est mis de côté, et un journal déchiré est mis de côté après conservation
+     * de ses enregistrements valides.
+     *
+     * @param entries (EN) Receives the logged entries. (FR) Reçoit les entrées journalisées.
+     * @return (EN) false if the kept entries are no longer in any log and must be rewritten. (FR) false si les entrées conservées ne sont plus dans aucun journal et doivent être réécrites.
+     */
+    private boolean replayLog(List<PongGame.HighScoreEntry> entries) {
+        compactionBytes = Math.max(MIN_COMPACTION_BYTES, fileLength);
+        if (!Files.exists(logFile)) return true;
+        try {
+            HighScoreCodec.Log logged;
+            try (InputStream in = Files.newInputStream(logFile)) {
+                logged = HighScoreCodec.readLog(in, fileLength, fileChecksum);
+            }
+            if (logged.isStale()) {
+                Files.delete(logFile); // Already in the high score file / Déjà dans le fichier des meilleurs scores
+                return true;
+            }
+            checkScores(logged.getEntries());
+            entries.addAll(logged.getEntries());
+            if (logged.isComplete()) return true;
+            LOGGER.warning("High score log ends with a torn record, keeping the " + logged.getEntries().size() + " entries before it");
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Error replaying the high score log", e);
+        }
+        setAside(logFile);
+        return false;
+    }
+
+    /**
+     * Opens the log for appending, starting it with a header naming the current high score file unless it already does.
+     * <p>
+     * Ouvre le journal en ajout, en le commençant par un en-tête désignant le fichier actuel des meilleurs scores s'il ne
+     * le fait pas déjà.
+     */
+    private FileChannel openLog() throws IOException {
+        FileChannel channel = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            byte[] header = HighScoreCodec.encodeLogHeader(fileLength, fileChecksum);
+            ByteBuffer existing = ByteBuffer.allocate(header.length);
+            while (existing.hasRemaining() && channel.read(existing, existing.position()) > 0) {
+                // Reads the whole header / Lit tout l'en-tête
+            }
+            if (!Arrays.equals(existing.array(), header)) {
+                channel.truncate(0); // A stale log, already folded into the file / Un journal périmé, déjà replié dans le fichier
+                ByteBuffer buffer = ByteBuffer.wrap(header);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer, buffer.position());
+                }
+                channel.force(true);
+            }
+            return channel;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void closeLog() {
+        if (log == null) return;
+        try {
+            log.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "High score log not closed", e);
+        }
+        log = null;
+    }
+
+    /**
+     * Records the length and stored checksum of the high score file, which the log header names.
+     * <p>
+     * Enregistre la longueur et la somme de contrôle stockée du fichier des meilleurs scores, que l'en-tête du journal désigne.
+     */
+    private void readFileIdentity() throws IOException {
+        fileLength = 0;
+        fileChecksum = 0;
+        if (!Files.exists(file)) return;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length >= Integer.BYTES) {
+                ByteBuffer trailer = ByteBuffer.allocate(Integer.BYTES);
+                while (trailer.hasRemaining() && channel.read(trailer, length - Integer.BYTES + trailer.position()) > 0) {
+                    // Reads the last four bytes / Lit les quatre derniers octets
+                }
+                fileChecksum = trailer.getInt(0);
+            }
+            fileLength = length;
+        }
+    }
+
+    private static void checkScores(List<PongGame.HighScoreEntry> entries) throws IOException {
+        for (PongGame.HighScoreEntry entry : entries) {
+            if (entry.getScore() < 0 || entry.getScore() > Leaderboard.MAX_SCORE) {
+                throw new StreamCorruptedException("High score out of range: " + entry.getScore());
+            }
+        }
+    }
+
+    /**
+     * Moves an unreadable file to {@code <file>.corrupt-<millis>}; if the move fails, blocks every later save instead.
+     * <p>
+     * Déplace un fichier illisible en {@code <fichier>.corrupt-<millis>} ; si le déplacement échoue, bloque plutôt
+     * toute sauvegarde ultérieure.
+     */
+    private void setAside(Path unreadable) {
+        if (!Files.exists(unreadable)) return; // Nothing to protect / Rien à protéger
+        Path corrupt = unreadable.resolveSibling(unreadable.getFileName() + ".corrupt-" + System.currentTimeMillis());
+        try {
+            Files.move(unreadable, corrupt); // Never replaces an earlier copy / Ne remplace jamais une copie antérieure
+            LOGGER.severe("Unreadable high score file moved to " + corrupt);
+        } catch (IOException e) {
+            savesBlocked = true;
+            LOGGER.log(Level.SEVERE, "Unreadable high score file could not be moved aside, high score saves are disabled", e);
+        }
+    }
+
+    /**
+     * Renames the temporary file over the real one, atomically when the file system allows it.
+     * <p>
+     * Renomme le fichier temporaire à la place du vrai, atomiquement lorsque le système de fichiers le permet.
+     */
+    private void replaceFile() throws IOException {
+        try {
+            Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING); // Best effort / Au mieux
+        }
+    }
+}
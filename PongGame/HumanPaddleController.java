@@ -0,0 +1,65 @@
+// HumanPaddleController.java
+// This file contains the controller that turns up/down input flags into paddle movement.
+
+/**
+ * Paddle controller driven by two "up" and "down" input flags, typically set by keyboard events.
+ * Inputs are applied as press / release edges on the thread running the engine (see {@link InputEventQueue}):
+ * a press is latched until the next tick, so a tap released before the tick still moves the paddle once.
+ * <p>
+ * Contrôleur de raquette piloté par deux drapeaux d'entrée "haut" et "bas", généralement définis par les événements clavier.
+ * Les entrées sont appliquées comme fronts d'appui / de relâchement sur le thread qui fait tourner le moteur (voir
+ * {@link InputEventQueue}) : un appui est mémorisé jusqu'au tick suivant, de sorte qu'une frappe relâchée avant le tick
+ * déplace quand même la raquette une fois.
+ */
+public class HumanPaddleController implements PaddleController {
+    private boolean upPressed; // (EN) True while the "up" input is held. (FR) Vrai tant que l'entrée "haut" est maintenue.
+    private boolean downPressed; // (EN) True while the "down" input is held. (FR) Vrai tant que l'entrée "bas" est maintenue.
+    private boolean upTapped; // (EN) "Up" pressed since the last tick. (FR) "Haut" appuyée depuis le dernier tick.
+    private boolean downTapped; // (EN) "Down" pressed since the last tick. (FR) "Bas" appuyée depuis le dernier tick.
+
+    /**
+     * Sets the state of the "up" input.
+     * <p>
+     * Définit l'état de l'entrée "haut".
+     *
+     * @param pressed (EN) True if held. (FR) Vrai si maintenue.
+     */
+    public void setUpPressed(boolean pressed) {
+        this.upPressed = pressed;
+        if (pressed) upTapped = true;
+    }
+
+    /**
+     * Sets the state of the "down" input.
+     * <p>
+     * Définit l'état de l'entrée "bas".
+     *
+     * @param pressed (EN) True if held. (FR) Vrai si maintenue.
+     */
+    public void setDownPressed(boolean pressed) {
+        this.downPressed = pressed;
+        if (pressed) downTapped = true;
+    }
+
+    /**
+     * Releases both inputs, e.g. when a new game starts.
+     * <p>
+     * Relâche les deux entrées, par exemple au début d'une nouvelle partie.
+     */
+    public void reset() {
+        upPressed = false;
+        downPressed = false;
+        upTapped = false;
+        downTapped = false;
+    }
+
+    @Override
+    public int computeMove(MatchEngine engine, int player) {
+        int move = 0;
+        if (upPressed || upTapped) move -= MatchEngine.PADDLE_SPEED;
+        if (downPressed || downTapped) move += MatchEngine.PADDLE_SPEED;
+        upTapped = false; // Each press counts for one tick at least / Chaque appui compte pour un tick au moins
+        downTapped = false;
+        return move;
+    }
+}
@@ -0,0 +1,108 @@
+// InputEventQueue.java
+// This file contains the lock-free queue carrying timestamped input events from the event dispatch thread to the game thread.
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded single-producer / single-consumer ring buffer of timestamped input events.
+ * The producer (the event dispatch thread) writes an event in its slot and then publishes the new tail with a
+ * release store; the consumer (the game thread) reads the tail, handles every event up to it and publishes the
+ * new head the same way. Neither side takes a lock or allocates, and no event can be lost between two ticks:
+ * a press and its release both reach the game thread, in order. When the queue is full (the game thread has
+ * stalled), new events are refused and the caller decides what to do.
+ * <p>
+ * Tampon circulaire borné à un seul producteur et un seul consommateur d'événements d'entrée horodatés.
+ * Le producteur (le thread de distribution des événements) écrit un événement dans son emplacement puis publie la
+ * nouvelle queue par une écriture de libération ; le consommateur (le thread de jeu) lit la queue, traite tous les
+ * événements jusqu'à elle et publie la nouvelle tête de la même façon. Aucun côté ne prend de verrou ni n'alloue, et
+ * aucun événement ne peut être perdu entre deux ticks : un appui et son relâchement atteignent tous deux le thread
+ * de jeu, dans l'ordre. Lorsque la file est pleine (le thread de jeu est bloqué), les nouveaux événements sont
+ * refusés et l'appelant décide de la suite.
+ */
+public final class InputEventQueue {
+
+    /**
+     * Receives the events drained by the consumer.
+     * <p>
+     * Reçoit les événements vidés par le consommateur.
+     */
+    public interface Handler {
+        /**
+         * Handles one event.
+         * <p>
+         * Traite un événement.
+         *
+         * @param code            (EN) What the event applies to, chosen by the producer. (FR) Ce à quoi l'événement s'applique, choisi par le producteur.
+         * @param pressed         (EN) true for a press, false for a release. (FR) true pour un appui, false pour un relâchement.
+         * @param timestampNanos  (EN) {@code System.nanoTime()} when the event was offered. (FR) {@code System.nanoTime()} lors de l'offre de l'événement.
+         */
+        void onInput(int code, boolean pressed, long timestampNanos);
+    }
+
+    private final int[] events; // (EN) Code shifted left by one, plus 1 if pressed. (FR) Code décalé d'un bit à gauche, plus 1 si appui.
+    private final long[] timestamps; // (EN) Offer time of each event. (FR) Heure d'offre de chaque événement.
+    private final int mask; // (EN) Capacity - 1, capacity being a power of two. (FR) Capacité - 1, la capacité étant une puissance de deux.
+    private final AtomicLong head = new AtomicLong(); // (EN) Next event to read, written by the consumer. (FR) Prochain événement à lire, écrit par le consommateur.
+    private final AtomicLong tail = new AtomicLong(); // (EN) Next slot to write, written by the producer. (FR) Prochain emplacement à écrire, écrit par le producteur.
+    private long cachedHead; // (EN) Last head seen by the producer, producer only. (FR) Dernière tête vue par le producteur, producteur uniquement.
+
+    /**
+     * Constructs an empty queue.
+     * <p>
+     * Construit une file vide.
+     *
+     * @param capacity (EN) Maximum pending events, a power of two. (FR) Nombre maximal d'événements en attente, une puissance de deux.
+     */
+    public InputEventQueue(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a positive power of two: " + capacity);
+        }
+        events = new int[capacity];
+        timestamps = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Adds an event; producer thread only.
+     * <p>
+     * Ajoute un événement ; thread producteur uniquement.
+     *
+     * @param code           (EN) What the event applies to, a non-negative value below 2^30. (FR) Ce à quoi l'événement s'applique, une valeur positive inférieure à 2^30.
+     * @param pressed        (EN) true for a press, false for a release. (FR) true pour un appui, false pour un relâchement.
+     * @param timestampNanos (EN) {@code System.nanoTime()} of the event. (FR) {@code System.nanoTime()} de l'événement.
+     * @return (EN) false if the queue is full and the event was refused. (FR) false si la file est pleine et l'événement refusé.
+     */
+    public boolean offer(int code, boolean pressed, long timestampNanos) {
+        long t = tail.get();
+        if (t - cachedHead > mask) {
+            cachedHead = head.get(); // Re-read the consumer's progress only when the queue looks full / Relire la progression du consommateur seulement si la file semble pleine
+            if (t - cachedHead > mask) return false;
+        }
+        int slot = (int) t & mask;
+        events[slot] = code << 1 | (pressed ? 1 : 0);
+        timestamps[slot] = timestampNanos;
+        tail.lazySet(t + 1); // Release: the slot is visible before the new tail / Libération : l'emplacement est visible avant la nouvelle queue
+        return true;
+    }
+
+    /**
+     * Hands every pending event to the handler, oldest first; consumer thread only.
+     * <p>
+     * Transmet tous les événements en attente au gestionnaire, du plus ancien au plus récent ; thread consommateur uniquement.
+     *
+     * @param handler (EN) Receives the events. (FR) Reçoit les événements.
+     * @return (EN) Number of events handled. (FR) Nombre d'événements traités.
+     */
+    public int drain(Handler handler) {
+        long h = head.get();
+        long t = tail.get(); // Acquire: the slots before t are fully written / Acquisition : les emplacements avant t sont entièrement écrits
+        for (long i = h; i < t; i++) {
+            int slot = (int) i & mask;
+            handler.onInput(events[slot] >>> 1, (events[slot] & 1) != 0, timestamps[slot]);
+        }
+        head.lazySet(t); // The slots may now be reused / Les emplacements peuvent maintenant être réutilisés
+        return (int) (t - h);
+    }
+
+    public int capacity() { return mask + 1; }
+}
@@ -0,0 +1,186 @@
+// InputLatencyTracker.java
+// This file contains the input-to-photon latency instrumentation (enabled with -Dpong.latency=true).
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Follows each paddle key press from the moment the event dispatch thread received it, through the tick that
+ * applied it, to the first frame presented with the resulting paddle movement, and keeps the distribution of both delays.
+ * <ul>
+ * <li>Game thread: {@link #onPressApplied} notes the presses drained by a tick; {@link #afterTick} keeps those that
+ *     actually moved their paddle in a small ring indexed by a sequence number, and returns that number so the
+ *     tick's {@link RenderSnapshot} carries it.</li>
+ * <li>Rendering thread: {@link #framePresented} is called once a frame is on its way to the screen with the
+ *     sequence number of the snapshot it drew; every input it shows for the first time is measured then.</li>
+ * </ul>
+ * The ring is written before the snapshot is published and read after it is acquired, so the triple buffer
+ * orders the two threads. "Presented" means after {@code BufferStrategy.show()} in active mode and after
+ * {@code paintComponent} in passive mode, where Swing still has to copy its back buffer to the screen.
+ * <p>
+ * Suit chaque appui sur une touche de raquette depuis sa réception par le thread de distribution des événements, en
+ * passant par le tick qui l'a appliqué, jusqu'à la première image présentée avec le mouvement de raquette qui en
+ * résulte, et conserve la distribution des deux délais.
+ * <ul>
+ * <li>Thread de jeu : {@link #onPressApplied} note les appuis vidés par un tick ; {@link #afterTick} garde ceux qui
+ *     ont réellement déplacé leur raquette dans un petit anneau indexé par un numéro de séquence, et retourne ce
+ *     numéro afin que le {@link RenderSnapshot} du tick le porte.</li>
+ * <li>Thread de rendu : {@link #framePresented} est appelée une fois qu'une image part vers l'écran, avec le numéro
+ *     de séquence de l'instantané qu'elle a dessiné ; chaque entrée qu'elle montre pour la première fois est alors mesurée.</li>
+ * </ul>
+ * L'anneau est écrit avant la publication de l'instantané et lu après son acquisition, le triple tampon ordonne
+ * donc les deux threads. « Présentée » signifie après {@code BufferStrategy.show()} en mode actif et après
+ * {@code paintComponent} en mode passif, où Swing doit encore copier son tampon arrière à l'écran.
+ */
+public final class InputLatencyTracker {
+    private static final int RING_SIZE = 64; // (EN) Inputs awaiting their frame at most, a power of two. (FR) Entrées en attente de leur image au plus, une puissance de deux.
+    private static final long WINDOW_NANOS = 1_000_000_000L; // (EN) Length of an overlay window. (FR) Durée d'une fenêtre de l'overlay.
+
+    // --- Game thread ---
+    // --- Thread de jeu ---
+    private final long[] keyNanos = new long[RING_SIZE]; // (EN) Key event time of each input, by sequence. (FR) Heure de l'événement clavier de chaque entrée, par séquence.
+    private final long[] tickNanos = new long[RING_SIZE]; // (EN) Time of the tick applying it. (FR) Heure du tick qui l'applique.
+    private final long[] pendingPress = new long[2]; // (EN) Oldest press of each player in the current tick, 0 if none. (FR) Plus ancien appui de chaque joueur dans le tick courant, 0 si aucun.
+    private final int[] paddleYBefore = new int[2]; // (EN) Paddle positions before the tick. (FR) Positions des raquettes avant le tick.
+    private long sequence; // (EN) Inputs that moved a paddle so far. (FR) Entrées ayant déplacé une raquette jusqu'ici.
+
+    // --- Rendering thread (guarded by this, shared with the report) ---
+    // --- Thread de rendu (gardé par this, partagé avec le rapport) ---
+    private long presentedSequence; // (EN) Inputs already measured. (FR) Entrées déjà mesurées.
+    private final LatencyHistogram keyToTick = new LatencyHistogram(); // (EN) Whole session. (FR) Toute la session.
+    private final LatencyHistogram keyToPhoton = new LatencyHistogram(); // (EN) Whole session. (FR) Toute la session.
+    private final LatencyHistogram window = new LatencyHistogram(); // (EN) Key-to-photon, current overlay window. (FR) Touche-photon, fenêtre courante de l'overlay.
+    private long windowStart; // (EN) Start of the current window, 0 before the first sample. (FR) Début de la fenêtre courante, 0 avant la première mesure.
+
+    // --- Published once per window ---
+    // --- Publiés une fois par fenêtre ---
+    private volatile long p50Nanos; // (EN) Key-to-photon median of the last window. (FR) Médiane touche-photon de la dernière fenêtre.
+    private volatile long p95Nanos; // (EN) 95th percentile of the last window. (FR) 95e centile de la dernière fenêtre.
+    private volatile long p99Nanos; // (EN) 99th percentile of the last window. (FR) 99e centile de la dernière fenêtre.
+    private volatile int publications; // (EN) Number of windows published so far. (FR) Nombre de fenêtres publiées jusqu'ici.
+
+    /**
+     * Notes a paddle press applied by the current tick; game thread only, before {@link #afterTick}.
+     * <p>
+     * Note un appui de raquette appliqué par le tick courant ; thread de jeu uniquement, avant {@link #afterTick}.
+     *
+     * @param player     (EN) 1 or 2. (FR) 1 ou 2.
+     * @param eventNanos (EN) {@code System.nanoTime()} when the key event was received. (FR) {@code System.nanoTime()} à la réception de l'événement clavier.
+     */
+    public void onPressApplied(int player, long eventNanos) {
+        if (pendingPress[player - 1] == 0) pendingPress[player - 1] = eventNanos;
+    }
+
+    /**
+     * Remembers the paddle positions before the engine steps; game thread only.
+     * <p>
+     * Mémorise les positions des raquettes avant le pas du moteur ; thread de jeu uniquement.
+     */
+    public void beforeTick(MatchEngine engine) {
+        paddleYBefore[0] = engine.getPaddleY(1);
+        paddleYBefore[1] = engine.getPaddleY(2);
+    }
+
+    /**
+     * Keeps the presses of this tick that moved their paddle; game thread only.
+     * A press that moved nothing (paddle against a wall) has no frame to wait for and is forgotten.
+     * <p>
+     * Garde les appuis de ce tick qui ont déplacé leur raquette ; thread de jeu uniquement.
+     * Un appui qui n'a rien déplacé (raquette contre un bord) n'a aucune image à attendre et est oublié.
+     *
+     * @param engine    (EN) The match after its step. (FR) La partie après son pas.
+     * @param tickStart (EN) {@code System.nanoTime()} at the start of the tick. (FR) {@code System.nanoTime()} au début du tick.
+     * @return (EN) The sequence number to store in the tick's snapshot. (FR) Le numéro de séquence à stocker dans l'instantané du tick.
+     */
+    public long afterTick(MatchEngine engine, long tickStart) {
+        for (int player = 1; player <= 2; player++) {
+            long press = pendingPress[player - 1];
+            if (press == 0) continue;
+            pendingPress[player - 1] = 0;
+            if (engine.getPaddleY(player) != paddleYBefore[player - 1]) {
+                int slot = (int) sequence & (RING_SIZE - 1);
+                keyNanos[slot] = press;
+                tickNanos[slot] = tickStart;
+                sequence++;
+            }
+        }
+        return sequence;
+    }
+
+    /**
+     * Measures the inputs shown for the first time by a presented frame; rendering thread only.
+     * <p>
+     * Mesure les entrées montrées pour la première fois par une image présentée ; thread de rendu uniquement.
+     *
+     * @param inputSequence (EN) Sequence number of the snapshot drawn. (FR) Numéro de séquence de l'instantané dessiné.
+     * @param presentNanos  (EN) {@code System.nanoTime()} after presenting the frame. (FR) {@code System.nanoTime()} après la présentation de l'image.
+     */
+    public synchronized void framePresented(long inputSequence, long presentNanos) {
+        if (inputSequence <= presentedSequence) return; // Nothing new on screen / Rien de nouveau à l'écran
+        // Older inputs than the ring holds were overwritten and are skipped / Les entrées plus anciennes que l'anneau ont été écrasées et sont ignorées
+        for (long s = Math.max(presentedSequence, inputSequence - RING_SIZE); s < inputSequence; s++) {
+            int slot = (int) s & (RING_SIZE - 1);
+            long latency = presentNanos - keyNanos[slot];
+            keyToTick.record(tickNanos[slot] - keyNanos[slot]);
+            keyToPhoton.record(latency);
+            window.record(latency);
+        }
+        presentedSequence = inputSequence;
+
+        if (windowStart == 0) windowStart = presentNanos;
+        if (presentNanos - windowStart >= WINDOW_NANOS) {
+            p50Nanos = window.valueAtPercentile(50);
+            p95Nanos = window.valueAtPercentile(95);
+            p99Nanos = window.valueAtPercentile(99);
+            window.reset();
+            windowStart = presentNanos;
+            publications++;
+        }
+    }
+
+    public long getP50Nanos() { return p50Nanos; }
+    public long getP95Nanos() { return p95Nanos; }
+    public long getP99Nanos() { return p99Nanos; }
+    public int getPublications() { return publications; }
+
+    /**
+     * Formats the distributions of the whole session.
+     * <p>
+     * Met en forme les distributions de toute la session.
+     *
+     * @param renderMode (EN) Description of the rendering path measured. (FR) Description du chemin de rendu mesuré.
+     * @return (EN) A plain-text report. (FR) Un rapport en texte brut.
+     */
+    public synchronized String report(String renderMode) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Pong input-to-photon latency report, ").append(LocalDateTime.now().withNano(0)).append('\n');
+        sb.append("Rendering: ").append(renderMode).append('\n');
+        sb.append("Inputs measured: ").append(keyToPhoton.getTotalCount()).append("\n\n");
+        sb.append(String.format(Locale.ROOT, "%-14s %9s %9s %9s %9s %9s%n", "stage (ms)", "mean", "p50", "p95", "p99", "max"));
+        appendRow(sb, "key -> tick", keyToTick);
+        appendRow(sb, "key -> photon", keyToPhoton);
+        return sb.toString();
+    }
+
+    private static void appendRow(StringBuilder sb, String name, LatencyHistogram histogram) {
+        sb.append(String.format(Locale.ROOT, "%-14s %9.3f %9.3f %9.3f %9.3f %9.3f%n", name, histogram.getMean() / 1e6,
+                histogram.valueAtPercentile(50) / 1e6, histogram.valueAtPercentile(95) / 1e6,
+                histogram.valueAtPercentile(99) / 1e6, histogram.getMax() / 1e6));
+    }
+
+    /**
+     * Writes the session report to a file, replacing it.
+     * <p>
+     * Écrit le rapport de la session dans un fichier, en le remplaçant.
+     *
+     * @param file       (EN) Destination. (FR) Destination.
+     * @param renderMode (EN) Description of the rendering path measured. (FR) Description du chemin de rendu mesuré.
+     */
+    public void writeReport(Path file, String renderMode) throws IOException {
+        Files.write(file, report(renderMode).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,123 @@
+// LatencyHistogram.java
+// This file contains the fixed-size, allocation-free histogram of durations used by the performance statistics.
+
+import java.util.Arrays;
+
+/**
+ * Histogram of durations (in nanoseconds) backed by a single primitive array, in the spirit of HdrHistogram:
+ * values below {@code SUB_BUCKETS} get one bucket each, and every higher power of two is split into
+ * {@code SUB_BUCKETS} equal buckets, so any value is stored with a relative error below 1 / {@code SUB_BUCKETS}
+ * (about 3 %). Recording is a few shifts and an increment, never allocates, and the whole range of
+ * {@code long} fits in about 15 KB. The maximum and the mean are kept exactly. Not thread-safe: one writer at a time.
+ * <p>
+ * Histogramme de durées (en nanosecondes) reposant sur un seul tableau primitif, dans l'esprit d'HdrHistogram :
+ * les valeurs inférieures à {@code SUB_BUCKETS} ont chacune leur case, et chaque puissance de deux supérieure est
+ * découpée en {@code SUB_BUCKETS} cases égales, de sorte que toute valeur est stockée avec une erreur relative
+ * inférieure à 1 / {@code SUB_BUCKETS} (environ 3 %). L'enregistrement se résume à quelques décalages et un
+ * incrément, n'alloue jamais, et toute la plage des {@code long} tient dans environ 15 Ko. Le maximum et la moyenne
+ * sont conservés exactement. Non thread-safe : un seul écrivain à la fois.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5; // (EN) log2 of the buckets per power of two. (FR) log2 des cases par puissance de deux.
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS; // (EN) Buckets per power of two. (FR) Cases par puissance de deux.
+
+    private final long[] counts = new long[(Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS]; // (EN) Count of each bucket. (FR) Effectif de chaque case.
+    private long totalCount; // (EN) Number of recorded values. (FR) Nombre de valeurs enregistrées.
+    private long max; // (EN) Largest recorded value. (FR) Plus grande valeur enregistrée.
+    private long sum; // (EN) Sum of the recorded values. (FR) Somme des valeurs enregistrées.
+
+    /**
+     * Records one duration; negative values count as 0.
+     * <p>
+     * Enregistre une durée ; les valeurs négatives comptent comme 0.
+     *
+     * @param nanos (EN) The duration in nanoseconds. (FR) La durée en nanosecondes.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[indexOf(value)]++;
+        totalCount++;
+        sum += value;
+        if (value > max) max = value;
+    }
+
+    /**
+     * Returns the value below which the given percentage of recorded values fall, rounded up to the
+     * end of its bucket (never more than the exact maximum).
+     * <p>
+     * Retourne la valeur sous laquelle se trouve le pourcentage donné des valeurs enregistrées, arrondie à la
+     * fin de sa case (jamais plus que le maximum exact).
+     *
+     * @param percentile (EN) Percentage between 0 and 100. (FR) Pourcentage entre 0 et 100.
+     * @return (EN) The value in nanoseconds, 0 if the histogram is empty. (FR) La valeur en nanosecondes, 0 si l'histogramme est vide.
+     */
+    public long valueAtPercentile(double percentile) {
+        if (totalCount == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(max, highestValueOf(i));
+            }
+        }
+        return max;
+    }
+
+    public long getMax() { return max; }
+    public double getMean() { return totalCount == 0 ? 0 : (double) sum / totalCount; }
+    public long getTotalCount() { return totalCount; }
+
+    /**
+     * Adds the values recorded by another histogram, e.g. to combine the histograms of several threads.
+     * <p>
+     * Ajoute les valeurs enregistrées par un autre histogramme, par exemple pour combiner les histogrammes de plusieurs threads.
+     *
+     * @param other (EN) The histogram to add, unchanged. (FR) L'histogramme à ajouter, inchangé.
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        sum += other.sum;
+        if (other.max > max) max = other.max;
+    }
+
+    /**
+     * Empties the histogram for a new measurement window.
+     * <p>
+     * Vide l'histogramme pour une nouvelle fenêtre de mesure.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0L);
+        totalCount = 0;
+        sum = 0;
+        max = 0;
+    }
+
+    /**
+     * Bucket of a value: linear below {@code SUB_BUCKETS}, then {@code SUB_BUCKETS} per power of two.
+     * <p>
+     * Case d'une valeur : linéaire sous {@code SUB_BUCKETS}, puis {@code SUB_BUCKETS} par puissance de deux.
+     */
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value); // >= SUB_BUCKET_BITS
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS; // 0 .. SUB_BUCKETS-1
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Highest value stored in a bucket (inverse of {@link #indexOf}).
+     * <p>
+     * Plus grande valeur stockée dans une case (inverse de {@link #indexOf}).
+     */
+    private static long highestValueOf(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int shift = index / SUB_BUCKETS - 1;
+        long lowest = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
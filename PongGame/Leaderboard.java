@@ -0,0 +1,314 @@
+// Leaderboard.java
+// This file contains the order-statistic index of every high score ever posted (rank, top-K and page queries).
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of all the high scores, answering rank, top-K and page queries without sorting.
+ * Entries are grouped in one bucket per score value, and a Fenwick tree (binary indexed tree) over the bucket
+ * sizes gives the number of entries up to any score in O(log S), where S is the highest score seen:
+ * <ul>
+ * <li>{@link #add} is O(log S) (amortized when the score range grows);</li>
+ * <li>{@link #rankOf} and {@link #countAtLeast} are O(log S);</li>
+ * <li>{@link #page} is O(log S) per distinct score on the page, plus the entries copied;</li>
+ * <li>{@link #bestOf} / {@link #rankOfPlayer} use a per-player index of the best entry.</li>
+ * </ul>
+ * The order is the one of the old sorted list: score descending, then oldest entry first among equal scores.
+ * Not thread-safe: {@link LeaderboardService} confines it to its single indexer thread.
+ * <p>
+ * Index de tous les meilleurs scores, répondant aux requêtes de rang, de top-K et de page sans trier.
+ * Les entrées sont regroupées dans un compartiment par valeur de score, et un arbre de Fenwick (arbre binaire indexé)
+ * sur la taille des compartiments donne le nombre d'entrées jusqu'à n'importe quel score en O(log S), où S est le plus
+ * haut score vu :
+ * <ul>
+ * <li>{@link #add} est en O(log S) (amorti lorsque la plage de scores s'agrandit) ;</li>
+ * <li>{@link #rankOf} et {@link #countAtLeast} sont en O(log S) ;</li>
+ * <li>{@link #page} est en O(log S) par score distinct de la page, plus les entrées copiées ;</li>
+ * <li>{@link #bestOf} / {@link #rankOfPlayer} utilisent un index par joueur de sa meilleure entrée.</li>
+ * </ul>
+ * L'ordre est celui de l'ancienne liste triée : score décroissant, puis l'entrée la plus ancienne d'abord à score égal.
+ * Non thread-safe : {@link LeaderboardService} le confine à son unique thread d'indexation.
+ */
+public class Leaderboard {
+    public static final int MAX_SCORE = (1 << 20) - 1; // (EN) Highest score accepted (scores are goal counts). (FR) Plus haut score accepté (les scores sont des nombres de buts).
+    private static final int INITIAL_CAPACITY = 64; // (EN) Score values covered at first, doubled on demand. (FR) Valeurs de score couvertes au départ, doublées à la demande.
+    private static final int BULK_THRESHOLD_SHIFT = 4; // (EN) addAll rebuilds the tree when adding more than capacity / 16 entries. (FR) addAll reconstruit l'arbre au-delà de capacité / 16 entrées.
+
+    private List<PongGame.HighScoreEntry>[] buckets; // (EN) Entries by score, oldest first; null when empty. (FR) Entrées par score, la plus ancienne d'abord ; null si vide.
+    private int[] tree; // (EN) Fenwick tree over the bucket sizes, 1-based. (FR) Arbre de Fenwick sur la taille des compartiments, indexé à partir de 1.
+    private int size; // (EN) Number of entries. (FR) Nombre d'entrées.
+    private final Map<String, PongGame.HighScoreEntry> bestByPlayer = new HashMap<>(); // (EN) Best entry of each player. (FR) Meilleure entrée de chaque joueur.
+
+    /**
+     * Constructs an empty leaderboard.
+     * <p>
+     * Construit un classement vide.
+     */
+    public Leaderboard() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a leaderboard holding the given entries, in bulk.
+     * <p>
+     * Construit un classement contenant les entrées données, en bloc.
+     *
+     * @param entries (EN) Entries in posting order. (FR) Entrées dans l'ordre de publication.
+     */
+    public Leaderboard(Collection<PongGame.HighScoreEntry> entries) {
+        this();
+        addAll(entries);
+    }
+
+    /**
+     * Adds one entry.
+     * <p>
+     * Ajoute une entrée.
+     *
+     * @param entry (EN) The entry, with a score in {@code [0, MAX_SCORE]}. (FR) L'entrée, avec un score dans {@code [0, MAX_SCORE]}.
+     */
+    public void add(PongGame.HighScoreEntry entry) {
+        int score = checkScore(entry.getScore());
+        ensureCapacity(score);
+        bucket(score).add(entry);
+        for (int i = score + 1; i < tree.length; i += i & -i) {
+            tree[i]++;
+        }
+        size++;
+        updateBest(entry);
+    }
+
+    /**
+     * Adds entries in posting order. A large batch fills the buckets and rebuilds the tree in one linear pass.
+     * <p>
+     * Ajoute des entrées dans l'ordre de publication. Un gros lot remplit les compartiments et reconstruit l'arbre en une passe linéaire.
+     *
+     * @param entries (EN) Entries with scores in {@code [0, MAX_SCORE]}. (FR) Entrées avec des scores dans {@code [0, MAX_SCORE]}.
+     */
+    public void addAll(Collection<PongGame.HighScoreEntry> entries) {
+        int maxScore = 0;
+        for (PongGame.HighScoreEntry entry : entries) {
+            maxScore = Math.max(maxScore, checkScore(entry.getScore())); // Validate everything first / Tout valider d'abord
+        }
+        ensureCapacity(maxScore);
+        if (entries.size() < buckets.length >>> BULK_THRESHOLD_SHIFT) {
+            for (PongGame.HighScoreEntry entry : entries) {
+                add(entry);
+            }
+            return;
+        }
+        for (PongGame.HighScoreEntry entry : entries) {
+            bucket(entry.getScore()).add(entry);
+            updateBest(entry);
+        }
+        size += entries.size();
+        rebuildTree();
+    }
+
+    /**
+     * Returns the number of entries.
+     * <p>
+     * Retourne le nombre d'entrées.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of entries scoring strictly more than {@code score}.
+     * <p>
+     * Retourne le nombre d'entrées ayant un score strictement supérieur à {@code score}.
+     */
+    public int countAbove(int score) {
+        return size - countAtMost(score);
+    }
+
+    /**
+     * Returns the number of entries scoring {@code score} or more.
+     * <p>
+     * Retourne le nombre d'entrées ayant un score supérieur ou égal à {@code score}.
+     */
+    public int countAtLeast(int score) {
+        return score <= 0 ? size : size - countAtMost(score - 1);
+    }
+
+    /**
+     * Returns the rank a score has or would have: 1 + the number of strictly better entries (equal scores share a rank).
+     * <p>
+     * Retourne le rang qu'a ou qu'aurait un score : 1 + le nombre d'entrées strictement meilleures (les scores égaux partagent un rang).
+     *
+     * @param score (EN) The score. (FR) Le score.
+     * @return (EN) The rank, from 1. (FR) Le rang, à partir de 1.
+     */
+    public int rankOf(int score) {
+        return countAbove(score) + 1;
+    }
+
+    /**
+     * Returns the best entry of a player.
+     * <p>
+     * Retourne la meilleure entrée d'un joueur.
+     *
+     * @param playerName (EN) The player's name. (FR) Le nom du joueur.
+     * @return (EN) The entry, or null if the player has none. (FR) L'entrée, ou null si le joueur n'en a aucune.
+     */
+    public PongGame.HighScoreEntry bestOf(String playerName) {
+        return bestByPlayer.get(playerName);
+    }
+
+    /**
+     * Returns the rank of a player's best score.
+     * <p>
+     * Retourne le rang du meilleur score d'un joueur.
+     *
+     * @param playerName (EN) The player's name. (FR) Le nom du joueur.
+     * @return (EN) The rank, from 1, or -1 if the player has no entry. (FR) Le rang, à partir de 1, ou -1 si le joueur n'a aucune entrée.
+     */
+    public int rankOfPlayer(String playerName) {
+        PongGame.HighScoreEntry best = bestByPlayer.get(playerName);
+        return best == null ? -1 : rankOf(best.getScore());
+    }
+
+    /**
+     * Returns the best {@code count} entries.
+     * <p>
+     * Retourne les {@code count} meilleures entrées.
+     */
+    public List<PongGame.HighScoreEntry> top(int count) {
+        return page(0, count);
+    }
+
+    /**
+     * Returns all the entries, best first.
+     * <p>
+     * Retourne toutes les entrées, la meilleure d'abord.
+     */
+    public List<PongGame.HighScoreEntry> entries() {
+        return page(0, size);
+    }
+
+    /**
+     * Returns a page of the leaderboard, best first.
+     * <p>
+     * Retourne une page du classement, la meilleure entrée d'abord.
+     *
+     * @param offset (EN) Entries to skip (0 for the first page). (FR) Entrées à sauter (0 pour la première page).
+     * @param limit  (EN) Maximum entries returned. (FR) Nombre maximal d'entrées retournées.
+     * @return (EN) A new list, shorter at the end of the leaderboard. (FR) Une nouvelle liste, plus courte à la fin du classement.
+     */
+    public List<PongGame.HighScoreEntry> page(int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Negative page bounds: " + offset + ", " + limit);
+        }
+        int end = offset + Math.min(limit, Math.max(0, size - offset));
+        List<PongGame.HighScoreEntry> page = new ArrayList<>(Math.max(0, end - offset));
+        int position = offset; // Descending position, from 0 / Position décroissante, à partir de 0
+        while (position < end) {
+            int score = scoreAt(size - 1 - position); // Same entry, counted in ascending order / Même entrée, comptée dans l'ordre croissant
+            List<PongGame.HighScoreEntry> bucket = buckets[score];
+            int from = position - countAbove(score);
+            int taken = Math.min(bucket.size() - from, end - position);
+            page.addAll(bucket.subList(from, from + taken));
+            position += taken;
+        }
+        return page;
+    }
+
+    /**
+     * Finds the score of the entry at an ascending position by descending the Fenwick tree.
+     * <p>
+     * Trouve le score de l'entrée à une position croissante en descendant l'arbre de Fenwick.
+     *
+     * @param ascending (EN) Position in ascending order, in {@code [0, size)}. (FR) Position dans l'ordre croissant, dans {@code [0, size)}.
+     */
+    private int scoreAt(int ascending) {
+        int index = 0;
+        int remaining = ascending;
+        for (int step = Integer.highestOneBit(tree.length - 1); step > 0; step >>= 1) {
+            int next = index + step;
+            if (next < tree.length && tree[next] <= remaining) {
+                index = next;
+                remaining -= tree[next];
+            }
+        }
+        return index; // Tree index + 1 is the bucket, so the bucket is index / L'indice de l'arbre + 1 est le compartiment, donc le compartiment est index
+    }
+
+    /**
+     * Returns the number of entries scoring {@code score} or less.
+     * <p>
+     * Retourne le nombre d'entrées ayant un score inférieur ou égal à {@code score}.
+     */
+    private int countAtMost(int score) {
+        if (score < 0) return 0;
+        int count = 0;
+        for (int i = Math.min(score, buckets.length - 1) + 1; i > 0; i -= i & -i) {
+            count += tree[i];
+        }
+        return count;
+    }
+
+    private List<PongGame.HighScoreEntry> bucket(int score) {
+        List<PongGame.HighScoreEntry> bucket = buckets[score];
+        if (bucket == null) {
+            bucket = new ArrayList<>(2);
+            buckets[score] = bucket;
+        }
+        return bucket;
+    }
+
+    private void updateBest(PongGame.HighScoreEntry entry) {
+        PongGame.HighScoreEntry best = bestByPlayer.get(entry.getPlayerName());
+        if (best == null || entry.getScore() > best.getScore()) {
+            bestByPlayer.put(entry.getPlayerName(), entry); // The oldest wins ties, as in the ranking / La plus ancienne gagne à égalité, comme dans le classement
+        }
+    }
+
+    private static int checkScore(int score) {
+        if (score < 0 || score > MAX_SCORE) {
+            throw new IllegalArgumentException("Score out of range [0, " + MAX_SCORE + "]: " + score);
+        }
+        return score;
+    }
+
+    /**
+     * Grows the score range by doubling until it covers {@code score}, then rebuilds the tree.
+     * <p>
+     * Agrandit la plage de scores en la doublant jusqu'à couvrir {@code score}, puis reconstruit l'arbre.
+     */
+    private void ensureCapacity(int score) {
+        if (score < buckets.length) return;
+        int capacity = buckets.length;
+        while (capacity <= score) capacity <<= 1;
+        List<PongGame.HighScoreEntry>[] old = buckets;
+        allocate(capacity);
+        System.arraycopy(old, 0, buckets, 0, old.length);
+        rebuildTree();
+    }
+
+    @SuppressWarnings("unchecked") // Generic array creation / Création d'un tableau générique
+    private void allocate(int capacity) {
+        buckets = (List<PongGame.HighScoreEntry>[]) new List<?>[capacity];
+        tree = new int[capacity + 1];
+    }
+
+    /**
+     * Rebuilds the Fenwick tree from the bucket sizes in O(S).
+     * <p>
+     * Reconstruit l'arbre de Fenwick à partir de la taille des compartiments en O(S).
+     */
+    private void rebuildTree() {
+        for (int i = 1; i < tree.length; i++) {
+            List<PongGame.HighScoreEntry> bucket = buckets[i - 1];
+            tree[i] = bucket == null ? 0 : bucket.size();
+        }
+        for (int i = 1; i < tree.length; i++) {
+            int parent = i + (i & -i);
+            if (parent < tree.length) tree[parent] += tree[i];
+        }
+    }
+}
@@ -0,0 +1,240 @@
+// LeaderboardService.java
+// This file contains the leaderboard shared by every match of the JVM: concurrent score submission, batched indexing and snapshots.
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * One {@link Leaderboard} per high score file, shared by all the matches (game panels) of the JVM.
+ * <ul>
+ * <li>Game threads {@link #submit} scores concurrently into lock-free queues, one stripe per group of threads,
+ *     so submitters never wait for each other or for the index.</li>
+ * <li>A single indexer thread owns the {@link Leaderboard}: every {@code BATCH_MILLIS} it drains the stripes,
+ *     adds the batch to the index, and publishes an immutable {@link Snapshot} of the top entries.</li>
+ * <li>Renderers read the latest snapshot through a volatile field: no lock, always a consistent top-N.</li>
+ * <li>Each batch, and only the batch, is handed to the {@link HighScoreStore}, which appends it to its log and
+ *     compacts the log on its own thread: the indexer never copies the whole leaderboard, however large.</li>
+ * </ul>
+ * A submitted score appears in the snapshot within one batch.
+ * <p>
+ * Un {@link Leaderboard} par fichier de meilleurs scores, partagé par toutes les parties (panneaux de jeu) de la JVM.
+ * <ul>
+ * <li>Les threads de jeu soumettent ({@link #submit}) des scores en parallèle dans des files sans verrou, une bande par
+ *     groupe de threads, de sorte que les soumetteurs n'attendent jamais ni les uns les autres ni l'index.</li>
+ * <li>Un unique thread d'indexation possède le {@link Leaderboard} : toutes les {@code BATCH_MILLIS} il vide les bandes,
+ *     ajoute le lot à l'index, et publie un {@link Snapshot} immuable des meilleures entrées.</li>
+ * <li>Les rendus lisent le dernier instantané via un champ volatil : aucun verrou, toujours un top-N cohérent.</li>
+ * <li>Chaque lot, et seulement le lot, est confié au {@link HighScoreStore}, qui l'ajoute à son journal et compacte le
+ *     journal sur son propre thread : l'indexeur ne copie jamais le classement entier, quelle que soit sa taille.</li>
+ * </ul>
+ * Un score soumis apparaît dans l'instantané en moins d'un lot.
+ */
+public class LeaderboardService {
+    private static final Logger LOGGER = Logger.getLogger(LeaderboardService.class.getName());
+    private static final long BATCH_MILLIS = 20; // (EN) Period of the indexer. (FR) Période de l'indexeur.
+    private static final long SHUTDOWN_FLUSH_MILLIS = 2000; // (EN) Longest wait for the last batch at exit. (FR) Attente maximale du dernier lot à la sortie.
+    public static final int SNAPSHOT_SIZE = 100; // (EN) Entries kept in a snapshot. (FR) Entrées conservées dans un instantané.
+
+    private static final Map<Path, LeaderboardService> SERVICES = new ConcurrentHashMap<>(); // (EN) One service per file. (FR) Un service par fichier.
+
+    /**
+     * Immutable view of the top of the leaderboard at the end of a batch.
+     * <p>
+     * Vue immuable du haut du classement à la fin d'un lot.
+     */
+    public static final class Snapshot {
+        private final List<PongGame.HighScoreEntry> top; // (EN) Best entries, best first, unmodifiable. (FR) Meilleures entrées, la meilleure d'abord, non modifiable.
+        private final int size; // (EN) Entries in the whole leaderboard. (FR) Entrées dans tout le classement.
+        private final long version; // (EN) Increases with each publication. (FR) Augmente à chaque publication.
+
+        private Snapshot(List<PongGame.HighScoreEntry> top, int size, long version) {
+            this.top = top;
+            this.size = size;
+            this.version = version;
+        }
+
+        public List<PongGame.HighScoreEntry> getTop() { return top; }
+        public int getSize() { return size; }
+        public long getVersion() { return version; }
+    }
+
+    private final HighScoreStore store; // (EN) Persistence of the leaderboard. (FR) Persistance du classement.
+    private final ConcurrentLinkedQueue<PongGame.HighScoreEntry>[] stripes; // (EN) Submitted, not yet indexed. (FR) Soumises, pas encore indexées.
+    private final ScheduledExecutorService indexer; // (EN) The only thread touching the leaderboard. (FR) Le seul thread accédant au classement.
+    private Leaderboard leaderboard = new Leaderboard(); // (EN) Indexer thread only. (FR) Thread d'indexation uniquement.
+    private volatile Snapshot snapshot = new Snapshot(Collections.emptyList(), 0, 0); // (EN) Latest publication. (FR) Dernière publication.
+
+    /**
+     * Returns the service of a high score file, creating and loading it on first use.
+     * <p>
+     * Retourne le service d'un fichier de meilleurs scores, en le créant et le chargeant à la première utilisation.
+     *
+     * @param filename (EN) The high score file. (FR) Le fichier des meilleurs scores.
+     * @param metrics  (EN) Receives the I/O latencies if the service is created now, may be null. (FR) Reçoit les latences d'E/S si le service est créé maintenant, peut être null.
+     * @return (EN) The shared service. (FR) Le service partagé.
+     */
+    public static LeaderboardService forFile(String filename, GameMetrics metrics) {
+        Path key = Paths.get(filename).toAbsolutePath().normalize();
+        return SERVICES.computeIfAbsent(key, path -> new LeaderboardService(new HighScoreStore(filename, metrics)));
+    }
+
+    /**
+     * Constructs a service over a store and starts loading it on the indexer thread.
+     * <p>
+     * Construit un service sur un stockage et commence à le charger sur le thread d'indexation.
+     *
+     * @param store (EN) The persistence of the leaderboard. (FR) La persistance du classement.
+     */
+    @SuppressWarnings("unchecked") // Generic array creation / Création d'un tableau générique
+    public LeaderboardService(HighScoreStore store) {
+        this.store = store;
+        int stripeCount = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1); // Power of two >= CPUs / Puissance de deux >= CPU
+        this.stripes = (ConcurrentLinkedQueue<PongGame.HighScoreEntry>[]) new ConcurrentLinkedQueue<?>[stripeCount];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.indexer = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "leaderboard-indexer");
+            thread.setDaemon(true); // Never keeps the JVM alive / Ne maintient jamais la JVM en vie
+            return thread;
+        });
+        // The load runs first: the scores submitted meanwhile wait in the stripes and are indexed after the file's
+        // Le chargement s'exécute d'abord : les scores soumis entre-temps attendent dans les bandes et sont indexés après ceux du fichier
+        // An unreadable file, out-of-range scores included, is set aside by the store and loads as an empty list
+        // Un fichier illisible, scores hors limites compris, est mis de côté par le stockage et se charge comme une liste vide
+        indexer.execute(() -> {
+            leaderboard = new Leaderboard(store.load());
+            publish();
+        });
+        indexer.scheduleWithFixedDelay(this::runBatch, BATCH_MILLIS, BATCH_MILLIS, TimeUnit.MILLISECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flushAtExit, "leaderboard-flush"));
+    }
+
+    /**
+     * Submits a score; never blocks. It is indexed and published with the next batch.
+     * <p>
+     * Soumet un score ; ne bloque jamais. Il est indexé et publié avec le prochain lot.
+     *
+     * @param entry (EN) The entry, with a score in {@code [0, Leaderboard.MAX_SCORE]}. (FR) L'entrée, avec un score dans {@code [0, Leaderboard.MAX_SCORE]}.
+     */
+    public void submit(PongGame.HighScoreEntry entry) {
+        if (entry.getScore() < 0 || entry.getScore() > Leaderboard.MAX_SCORE) {
+            // Rejected here, on the submitter's thread, so that a bad entry never reaches the indexer
+            // Refusée ici, sur le thread du soumetteur, afin qu'une mauvaise entrée n'atteigne jamais l'indexeur
+            throw new IllegalArgumentException("Score out of range [0, " + Leaderboard.MAX_SCORE + "]: " + entry.getScore());
+        }
+        stripes[(int) Thread.currentThread().getId() & (stripes.length - 1)].offer(entry);
+    }
+
+    /**
+     * Returns the latest snapshot; never blocks.
+     * <p>
+     * Retourne le dernier instantané ; ne bloque jamais.
+     */
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Returns the rank a score would have, counting every score submitted so far.
+     * Runs on the indexer thread, so it waits for the current batch.
+     * <p>
+     * Retourne le rang qu'aurait un score, en comptant chaque score soumis jusqu'ici.
+     * S'exécute sur le thread d'indexation, donc attend le lot en cours.
+     *
+     * @param score         (EN) The score. (FR) Le score.
+     * @param timeoutMillis (EN) Longest wait. (FR) Attente maximale.
+     * @return (EN) The rank, from 1, or -1 if the indexer did not answer in time. (FR) Le rang, à partir de 1, ou -1 si l'indexeur n'a pas répondu à temps.
+     */
+    public int rankOf(int score, long timeoutMillis) {
+        try {
+            return indexer.submit(() -> {
+                drain();
+                return leaderboard.rankOf(score);
+            }).get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Preserve interrupt status / Préserver l'état d'interruption
+        } catch (ExecutionException | TimeoutException e) {
+            LOGGER.log(Level.FINE, "Rank not available", e);
+        }
+        return -1;
+    }
+
+    /**
+     * Indexes everything submitted so far and publishes it, then waits for the file to be written.
+     * <p>
+     * Indexe tout ce qui a été soumis jusqu'ici et le publie, puis attend que le fichier soit écrit.
+     *
+     * @param timeoutMillis (EN) Longest wait for each of the two steps. (FR) Attente maximale pour chacune des deux étapes.
+     * @return (EN) true if everything was indexed and written in time. (FR) true si tout a été indexé et écrit à temps.
+     */
+    public boolean flush(long timeoutMillis) {
+        try {
+            indexer.submit(this::drain).get(timeoutMillis, TimeUnit.MILLISECONDS);
+            return store.flush(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Preserve interrupt status / Préserver l'état d'interruption
+        } catch (ExecutionException | TimeoutException e) {
+            LOGGER.log(Level.WARNING, "Leaderboard not flushed", e);
+        }
+        return false;
+    }
+
+    private void flushAtExit() {
+        flush(SHUTDOWN_FLUSH_MILLIS);
+    }
+
+    /**
+     * One scheduled pass of the indexer: index and persist the pending batch.
+     * An exception is logged, never thrown, since it would cancel the schedule.
+     * <p>
+     * Un passage planifié de l'indexeur : indexer et persister le lot en attente.
+     * Une exception est journalisée, jamais levée, car elle annulerait la planification.
+     */
+    private void runBatch() {
+        try {
+            drain();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Leaderboard batch failed", e);
+        }
+    }
+
+    /**
+     * Moves every submitted entry into the leaderboard in one batch, hands the batch to the store's log, and publishes if
+     * anything changed; indexer thread only.
+     * <p>
+     * Déplace chaque entrée soumise dans le classement en un seul lot, confie le lot au journal du stockage, et publie si
+     * quelque chose a changé ; thread d'indexation uniquement.
+     */
+    private void drain() {
+        List<PongGame.HighScoreEntry> batch = null;
+        for (ConcurrentLinkedQueue<PongGame.HighScoreEntry> stripe : stripes) {
+            PongGame.HighScoreEntry entry;
+            while ((entry = stripe.poll()) != null) {
+                if (batch == null) batch = new ArrayList<>();
+                batch.add(entry);
+            }
+        }
+        if (batch == null) return;
+        leaderboard.addAll(batch);
+        store.appendAsync(batch); // Written on the store's own thread / Écrit sur le thread du stockage
+        publish();
+    }
+
+    private void publish() {
+        snapshot = new Snapshot(Collections.unmodifiableList(leaderboard.top(SNAPSHOT_SIZE)), leaderboard.size(), snapshot.version + 1);
+    }
+}
@@ -0,0 +1,809 @@
+// MatchEngine.java
+// This file contains the headless simulation core of the game: paddles, balls, power-ups and scoring.
+// It has no dependency on AWT/Swing so matches can be stepped tick-by-tick on machines without a display.
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Headless, deterministic simulation of a single Pong match.
+ * The engine is advanced one fixed tick at a time through {@link #step()}; paddles are driven by
+ * {@link PaddleController}s and notable events are reported to a {@link MatchListener}.
+ * All durations are counted in ticks ({@link #TICKS_PER_SECOND} per second of game time),
+ * which makes a seeded match fully reproducible and lets it run far faster than real time.
+ * <p>
+ * Simulation déterministe et sans affichage d'une partie de Pong.
+ * Le moteur avance d'un tick fixe à la fois via {@link #step()} ; les raquettes sont pilotées par des
+ * {@link PaddleController} et les événements notables sont signalés à un {@link MatchListener}.
+ * Toutes les durées sont comptées en ticks ({@link #TICKS_PER_SECOND} par seconde de jeu),
+ * ce qui rend une partie avec graine entièrement reproductible et lui permet de tourner bien plus vite que le temps réel.
+ * <p>
+ * In steady state a tick allocates nothing: balls and power-ups are recycled through free lists, and
+ * the per-tick scratch lists are reused (checked by {@link TickAllocationCheck}).
+ * <p>
+ * En régime établi, un tick n'alloue rien : les balles et les power-ups sont recyclés via des listes libres,
+ * et les listes temporaires par tick sont réutilisées (vérifié par {@link TickAllocationCheck}).
+ */
+public class MatchEngine {
+
+    // --- Game Logic Constants ---
+    // --- Constantes de Logique de Jeu ---
+    public static final int TICKS_PER_SECOND = 60; // (EN) Simulation rate. (FR) Fréquence de simulation.
+    public static final int BALL_RADIUS = 10; // (EN) Radius of the ball. (FR) Rayon de la balle.
+    public static final int PADDLE_WIDTH = 15; // (EN) Fixed width of the paddles. (FR) Largeur fixe des raquettes.
+    public static final int PADDLE_HEIGHT = 100; // (EN) Fixed initial height of the paddles. (FR) Hauteur initiale fixe des raquettes.
+    public static final int PADDLE_SPEED = 7; // (EN) Movement speed of the paddles. (FR) Vitesse de déplacement des raquettes.
+    public static final int MAX_SCORE_TO_WIN = 5; // (EN) Score needed to win the game. (FR) Score nécessaire pour gagner la partie.
+    public static final int DEFAULT_BALL_SPEED = 3; // (EN) Default initial ball speed. (FR) Vitesse initiale par défaut de la balle.
+
+    private static final long POWER_UP_SPAWN_INTERVAL_MIN_TICKS = 15L * TICKS_PER_SECOND; // (EN) Min time between power-up spawns. (FR) Temps min entre les apparitions de power-ups.
+    private static final long POWER_UP_SPAWN_INTERVAL_MAX_TICKS = 30L * TICKS_PER_SECOND; // (EN) Max time between power-up spawns. (FR) Temps max entre les apparitions de power-ups.
+    private static final long POWER_UP_EFFECT_DURATION_TICKS = 10L * TICKS_PER_SECOND; // (EN) Duration of a power-up effect. (FR) Durée d'un effet de power-up.
+    private static final long STICKY_HOLD_TICKS = TICKS_PER_SECOND; // (EN) How long a ball stays stuck to a paddle. (FR) Durée pendant laquelle une balle reste collée à une raquette.
+    private static final PowerUp.PowerUpType[] POWER_UP_TYPES = PowerUp.PowerUpType.values(); // (EN) Cached, values() copies the array. (FR) En cache, values() copie le tableau.
+    private static final int INITIAL_BALL_CAPACITY = 16; // (EN) Pre-sized ball lists, avoids growth during multi-ball. (FR) Listes de balles pré-dimensionnées, évite l'agrandissement en multi-balles.
+
+    /**
+     * Represents a single ball in the game.
+     * Balls have position, velocity, and properties for specific power-up effects.
+     * <p>
+     * Représente une seule balle dans le jeu.
+     * Les balles ont une position, une vitesse et des propriétés pour des effets de power-up spécifiques.
+     */
+    public static class Ball {
+        private int x, y; // (EN) Current position of the ball. (FR) Position actuelle de la balle.
+        private int vx, vy; // (EN) Velocity components of the ball. (FR) Composantes de la vitesse de la balle.
+        private boolean isSticky = false; // (EN) True if ball is currently sticky to a paddle. (FR) Vrai si la balle est actuellement collante à une raquette.
+        private long stickyReleaseTick = 0; // (EN) Tick when the ball is released from the paddle. (FR) Tick auquel la balle est relâchée de la raquette.
+        private boolean scored; // (EN) Set when the ball left the field during the current tick. (FR) Positionné lorsque la balle a quitté le terrain pendant le tick courant.
+        private boolean inPlay; // (EN) False once the ball has been recycled. (FR) Faux une fois la balle recyclée.
+        private int version; // (EN) Incremented whenever the motion changes or the ball enters or leaves play, never reset. (FR) Incrémenté à chaque changement de mouvement ou entrée ou sortie de jeu, jamais remis à zéro.
+        private long changeGeneration; // (EN) Change log the ball was last added to. (FR) Journal des changements auquel la balle a été ajoutée en dernier.
+
+        /**
+         * Constructs a new Ball with specified position and velocity.
+         * <p>
+         * Construit une nouvelle balle avec une position et une vitesse spécifiées.
+         *
+         * @param x  (EN) Initial X coordinate. (FR) Coordonnée X initiale.
+         * @param y  (EN) Initial Y coordinate. (FR) Coordonnée Y initiale.
+         * @param vx (EN) Initial velocity in X direction. (FR) Vitesse initiale dans la direction X.
+         * @param vy (EN) Initial velocity in Y direction. (FR) Vitesse initiale dans la direction Y.
+         */
+        public Ball(int x, int y, int vx, int vy) {
+            reset(x, y, vx, vy);
+        }
+
+        /**
+         * Reinitializes a recycled ball.
+         * <p>
+         * Réinitialise une balle recyclée.
+         */
+        private void reset(int x, int y, int vx, int vy) {
+            this.x = x;
+            this.y = y;
+            this.vx = vx;
+            this.vy = vy;
+            this.isSticky = false;
+            this.stickyReleaseTick = 0;
+            this.scored = false;
+            this.inPlay = true;
+        }
+
+        public int getX() { return x; }
+        public int getY() { return y; }
+        public int getVx() { return vx; }
+        public int getVy() { return vy; }
+        public boolean isSticky() { return isSticky; }
+        public boolean isInPlay() { return inPlay; }
+
+        /**
+         * Returns a number that changes whenever the ball's velocity or sticky state changes, or the ball enters or
+         * leaves play, so that a prediction made from a given version stays valid as long as the version is the same.
+         * <p>
+         * Retourne un nombre qui change dès que la vitesse ou l'état collant de la balle change, ou que la balle entre
+         * en jeu ou en sort, de sorte qu'une prédiction faite à partir d'une version reste valide tant que la version est la même.
+         */
+        public int getVersion() { return version; }
+    }
+
+    // --- Field and Configuration ---
+    // --- Terrain et Configuration ---
+    private final int width; // (EN) Width of the playing field. (FR) Largeur du terrain.
+    private final int height; // (EN) Height of the playing field. (FR) Hauteur du terrain.
+    private final Random random; // (EN) Random number generator for game elements. (FR) Générateur de nombres aléatoires pour les éléments du jeu.
+    private int initialBallSpeed = DEFAULT_BALL_SPEED; // (EN) Initial speed of the ball, adjustable. (FR) Vitesse initiale de la balle, ajustable.
+    private PaddleController leftController; // (EN) Controller of paddle 1. (FR) Contrôleur de la raquette 1.
+    private PaddleController rightController; // (EN) Controller of paddle 2. (FR) Contrôleur de la raquette 2.
+    private MatchListener listener = new MatchListener() { }; // (EN) Event sink, no-op by default. (FR) Récepteur d'événements, inactif par défaut.
+
+    // --- Match State ---
+    // --- État de la Partie ---
+    private long tick; // (EN) Number of ticks simulated since construction. (FR) Nombre de ticks simulés depuis la construction.
+    private int paddle1Y, paddle2Y; // (EN) Y-coordinates of paddle 1 and paddle 2. (FR) Coordonnées Y des raquettes 1 et 2.
+    private final int originalPaddleHeight = PADDLE_HEIGHT; // (EN) Paddle height without power-ups. (FR) Hauteur de raquette sans power-up.
+    private int paddle1Height = PADDLE_HEIGHT; // (EN) Current height of paddle 1 (can change with power-ups). (FR) Hauteur actuelle de la raquette 1 (peut changer avec les power-ups).
+    private int paddle2Height = PADDLE_HEIGHT; // (EN) Current height of paddle 2 (can change with power-ups). (FR) Hauteur actuelle de la raquette 2 (peut changer avec les power-ups).
+    private int player1Score = 0; // (EN) Score for player 1. (FR) Score du joueur 1.
+    private int player2Score = 0; // (EN) Score for player 2. (FR) Score du joueur 2.
+    private int winner = 0; // (EN) Winning player, 0 while the match is running. (FR) Joueur gagnant, 0 tant que la partie est en cours.
+
+    // --- Power-Ups and Balls ---
+    // --- Power-Ups et Balles ---
+    private final List<PowerUp> activePowerUps = new ArrayList<>(); // (EN) Power-ups currently on screen. (FR) Power-ups actuellement à l'écran.
+    private final List<PowerUp> activePowerUpsView = Collections.unmodifiableList(activePowerUps);
+    private long nextPowerUpSpawnTick; // (EN) Tick of the next power-up spawn. (FR) Tick de la prochaine apparition de power-up.
+    private long p1PaddleEnlargeEndTick = 0; // (EN) Tick when P1 paddle enlarge effect ends. (FR) Tick de fin de l'effet d'agrandissement P1.
+    private long p2PaddleEnlargeEndTick = 0; // (EN) Tick when P2 paddle enlarge effect ends. (FR) Tick de fin de l'effet d'agrandissement P2.
+    private long p1StickyPaddleEndTick = 0; // (EN) Tick when P1 sticky paddle effect ends. (FR) Tick de fin de l'effet collant P1.
+    private long p2StickyPaddleEndTick = 0; // (EN) Tick when P2 sticky paddle effect ends. (FR) Tick de fin de l'effet collant P2.
+    private final List<Ball> balls = new ArrayList<>(INITIAL_BALL_CAPACITY); // (EN) All active balls. (FR) Toutes les balles actives.
+    private final List<Ball> ballsView = Collections.unmodifiableList(balls);
+
+    // --- Reusable Scratch Storage (no allocation per tick) ---
+    // --- Stockage Temporaire Réutilisable (aucune allocation par tick) ---
+    private final List<Ball> pendingBalls = new ArrayList<>(INITIAL_BALL_CAPACITY); // (EN) Balls spawned by multi-ball during the current tick. (FR) Balles créées par le multi-balles pendant le tick courant.
+    private final List<Ball> freeBalls = new ArrayList<>(INITIAL_BALL_CAPACITY); // (EN) Recycled balls. (FR) Balles recyclées.
+    private final List<PowerUp> freePowerUps = new ArrayList<>(); // (EN) Recycled power-ups. (FR) Power-ups recyclés.
+    private final List<Ball> changedBalls = new ArrayList<>(INITIAL_BALL_CAPACITY); // (EN) Balls whose motion changed since the controllers last ran. (FR) Balles dont le mouvement a changé depuis le dernier passage des contrôleurs.
+    private final List<Ball> changedBallsView = Collections.unmodifiableList(changedBalls);
+    private long changeGeneration = 1; // (EN) Current change log, to add each ball once. (FR) Journal des changements courant, pour ajouter chaque balle une seule fois.
+
+    /**
+     * Constructs an engine with a non-deterministic random source.
+     * <p>
+     * Construit un moteur avec une source aléatoire non déterministe.
+     *
+     * @param width  (EN) Width of the playing field. (FR) Largeur du terrain.
+     * @param height (EN) Height of the playing field. (FR) Hauteur du terrain.
+     */
+    public MatchEngine(int width, int height) {
+        this(width, height, new Random());
+    }
+
+    /**
+     * Constructs an engine whose matches are reproducible for a given seed.
+     * <p>
+     * Construit un moteur dont les parties sont reproductibles pour une graine donnée.
+     *
+     * @param width  (EN) Width of the playing field. (FR) Largeur du terrain.
+     * @param height (EN) Height of the playing field. (FR) Hauteur du terrain.
+     * @param seed   (EN) Seed of the random source. (FR) Graine de la source aléatoire.
+     */
+    public MatchEngine(int width, int height, long seed) {
+        this(width, height, new Random(seed));
+    }
+
+    private MatchEngine(int width, int height, Random random) {
+        this.width = width;
+        this.height = height;
+        this.random = random;
+        this.paddle1Y = height / 2 - paddle1Height / 2;
+        this.paddle2Y = height / 2 - paddle2Height / 2;
+        setNextPowerUpSpawnTick(); // Initialize power-up spawn timer / Initialiser le minuteur d'apparition des power-ups
+    }
+
+    /**
+     * Sets the controllers of both paddles. A null controller leaves the paddle still.
+     * <p>
+     * Définit les contrôleurs des deux raquettes. Un contrôleur nul laisse la raquette immobile.
+     *
+     * @param left  (EN) Controller of paddle 1. (FR) Contrôleur de la raquette 1.
+     * @param right (EN) Controller of paddle 2. (FR) Contrôleur de la raquette 2.
+     */
+    public void setControllers(PaddleController left, PaddleController right) {
+        this.leftController = left;
+        this.rightController = right;
+    }
+
+    /**
+     * Sets the listener notified of match events.
+     * <p>
+     * Définit l'écouteur notifié des événements de la partie.
+     *
+     * @param listener (EN) The listener, or null for none. (FR) L'écouteur, ou null pour aucun.
+     */
+    public void setListener(MatchListener listener) {
+        this.listener = listener != null ? listener : new MatchListener() { };
+    }
+
+    /**
+     * Resets scores and initializes the first round. Called when starting a new game.
+     * <p>
+     * Réinitialise les scores et initialise la première manche. Appelée au début d'une nouvelle partie.
+     */
+    public void startNewMatch() {
+        player1Score = 0;
+        player2Score = 0;
+        winner = 0;
+        initializeRound();
+        // Clear power-ups for new game / Effacer les power-ups pour une nouvelle partie
+        for (int i = 0; i < activePowerUps.size(); i++) {
+            freePowerUps.add(activePowerUps.get(i));
+        }
+        activePowerUps.clear();
+        setNextPowerUpSpawnTick(); // Reset power-up spawn timer / Réinitialiser le minuteur d'apparition des power-ups
+    }
+
+    /**
+     * Advances the match by one tick: power-up timers, paddles, power-up spawns, balls and scoring.
+     * Does nothing once the match has a winner.
+     * <p>
+     * Fait avancer la partie d'un tick : minuteurs de power-ups, raquettes, apparitions de power-ups, balles et score.
+     * Ne fait rien une fois que la partie a un gagnant.
+     */
+    public void step() {
+        if (winner != 0) {
+            return; // Match is over / La partie est terminée
+        }
+        tick++;
+
+        // --- Update Paddle Heights and Sticky Effects if power-up expired ---
+        // --- Mettre à jour les hauteurs des raquettes et les effets collants si le power-up a expiré ---
+        handlePowerUpDurationEnd();
+
+        // --- Move Paddles ---
+        // --- Déplacer les Raquettes ---
+        if (leftController != null) paddle1Y += clampMove(leftController.computeMove(this, 1));
+        if (rightController != null) paddle2Y += clampMove(rightController.computeMove(this, 2));
+
+        // Clamp paddles to screen bounds / Limiter les raquettes aux bords de l'écran
+        paddle1Y = Math.max(0, Math.min(paddle1Y, height - paddle1Height));
+        paddle2Y = Math.max(0, Math.min(paddle2Y, height - paddle2Height));
+
+        // The controllers have seen the changes since their last call / Les contrôleurs ont vu les changements depuis leur dernier appel
+        changedBalls.clear();
+        changeGeneration++;
+
+        // --- Power-Up Spawning and Expiration ---
+        // --- Apparition et Expiration des Power-Ups ---
+        managePowerUpSpawnsAndExpiration();
+
+        // --- Move Balls and Check Collisions ---
+        // --- Déplacer les Balles et Vérifier les Collisions ---
+        handleBallMovementAndCollisions();
+
+        // If all balls are gone and game not over, start new round (e.g., after all multi-balls score)
+        // Si toutes les balles sont parties et que le jeu n'est pas terminé, démarrer une nouvelle manche
+        if (balls.isEmpty() && winner == 0) {
+            initializeRound();
+        }
+    }
+
+    /**
+     * Puts an extra ball in play, e.g. to load the engine with many balls in {@link PongBenchmark}.
+     * <p>
+     * Met une balle supplémentaire en jeu, par exemple pour charger le moteur avec de nombreuses balles dans {@link PongBenchmark}.
+     *
+     * @param x  (EN) X coordinate of the ball center. (FR) Coordonnée X du centre de la balle.
+     * @param y  (EN) Y coordinate of the ball center. (FR) Coordonnée Y du centre de la balle.
+     * @param vx (EN) Horizontal velocity. (FR) Vitesse horizontale.
+     * @param vy (EN) Vertical velocity. (FR) Vitesse verticale.
+     */
+    public void addBall(int x, int y, int vx, int vy) {
+        balls.add(obtainBall(x, y, vx, vy));
+    }
+
+    /**
+     * Limits a controller's requested move to the paddle speed.
+     * <p>
+     * Limite le déplacement demandé par un contrôleur à la vitesse des raquettes.
+     */
+    private static int clampMove(int move) {
+        return Math.max(-PADDLE_SPEED, Math.min(PADDLE_SPEED, move));
+    }
+
+    /**
+     * Initializes or resets game elements to their starting positions and states for a new round.
+     * Scores are not reset here.
+     * <p>
+     * Initialise ou réinitialise les éléments de jeu à leurs positions et états de départ pour une nouvelle manche.
+     * Les scores ne sont pas réinitialisés ici.
+     */
+    private void initializeRound() {
+        // Clear existing balls / Effacer les balles existantes
+        for (int i = 0; i < balls.size(); i++) {
+            recycleBall(balls.get(i));
+        }
+        balls.clear();
+        balls.add(obtainBall(width / 2, height / 2, 0, 0)); // Add a single new ball at center / Ajouter une seule nouvelle balle au centre
+
+        // Reset paddle heights (in case of power-up effects)
+        // Réinitialiser les hauteurs des raquettes (en cas d'effets de power-up)
+        paddle1Height = originalPaddleHeight;
+        paddle2Height = originalPaddleHeight;
+        p1PaddleEnlargeEndTick = 0;
+        p2PaddleEnlargeEndTick = 0;
+        p1StickyPaddleEndTick = 0;
+        p2StickyPaddleEndTick = 0;
+
+        // Randomize initial ball direction for the first ball
+        // Randomiser la direction initiale de la première balle
+        Ball mainBall = balls.get(0);
+        double angle = random.nextDouble() * Math.PI / 2 - Math.PI / 4; // -45 to +45 degrees / -45 à +45 degrés
+        if (random.nextBoolean()) angle += Math.PI; // Add 180 degrees for other side / Ajouter 180 degrés pour l'autre côté
+
+        mainBall.vx = (int) (initialBallSpeed * Math.cos(angle));
+        mainBall.vy = (int) (initialBallSpeed * Math.sin(angle));
+
+        // Ensure ball is moving (prevent zero velocity at start)
+        // S'assurer que la balle bouge (éviter une vitesse nulle au début)
+        if (mainBall.vx == 0) mainBall.vx = (random.nextBoolean()) ? initialBallSpeed : -initialBallSpeed;
+        if (mainBall.vy == 0) mainBall.vy = (random.nextBoolean()) ? initialBallSpeed : -initialBallSpeed;
+
+        // Set paddles to center / Placer les raquettes au centre
+        paddle1Y = height / 2 - paddle1Height / 2;
+        paddle2Y = height / 2 - paddle2Height / 2;
+    }
+
+    /**
+     * Handles the expiration of power-up effects for paddles.
+     * <p>
+     * Gère l'expiration des effets de power-up pour les raquettes.
+     */
+    private void handlePowerUpDurationEnd() {
+        // Player 1 Paddle Enlarge effect / Effet d'agrandissement de la raquette du joueur 1
+        if (p1PaddleEnlargeEndTick > 0 && tick >= p1PaddleEnlargeEndTick) {
+            paddle1Height = originalPaddleHeight;
+            p1PaddleEnlargeEndTick = 0;
+            GameEvents.powerUp(GameEvents.EFFECT_ENDED, PowerUp.PowerUpType.PADDLE_ENLARGE, 1, tick);
+        }
+        // Player 2 Paddle Enlarge effect / Effet d'agrandissement de la raquette du joueur 2
+        if (p2PaddleEnlargeEndTick > 0 && tick >= p2PaddleEnlargeEndTick) {
+            paddle2Height = originalPaddleHeight;
+            p2PaddleEnlargeEndTick = 0;
+            GameEvents.powerUp(GameEvents.EFFECT_ENDED, PowerUp.PowerUpType.PADDLE_ENLARGE, 2, tick);
+        }
+        // Player 1 Sticky Paddle effect / Effet de raquette collante du joueur 1
+        if (p1StickyPaddleEndTick > 0 && tick >= p1StickyPaddleEndTick) {
+            // If a ball is still sticky, un-stick it and give it a push
+            // Si une balle est toujours collante, la décoller et lui donner une poussée
+            for (int i = 0; i < balls.size(); i++) {
+                Ball ball = balls.get(i);
+                if (ball.isSticky) {
+                    ball.isSticky = false;
+                    ball.vx = initialBallSpeed; // Push away from paddle / Pousser loin de la raquette
+                    if (ball.vy == 0) ball.vy = random.nextBoolean() ? initialBallSpeed : -initialBallSpeed; // Ensure vertical movement / Assurer un mouvement vertical
+                    motionChanged(ball);
+                }
+            }
+            p1StickyPaddleEndTick = 0;
+            GameEvents.powerUp(GameEvents.EFFECT_ENDED, PowerUp.PowerUpType.STICKY_PADDLE, 1, tick);
+        }
+        // Player 2 Sticky Paddle effect / Effet de raquette collante du joueur 2
+        if (p2StickyPaddleEndTick > 0 && tick >= p2StickyPaddleEndTick) {
+            for (int i = 0; i < balls.size(); i++) {
+                Ball ball = balls.get(i);
+                if (ball.isSticky) {
+                    ball.isSticky = false;
+                    ball.vx = -initialBallSpeed; // Push away from paddle / Pousser loin de la raquette
+                    if (ball.vy == 0) ball.vy = random.nextBoolean() ? initialBallSpeed : -initialBallSpeed;
+                    motionChanged(ball);
+                }
+            }
+            p2StickyPaddleEndTick = 0;
+            GameEvents.powerUp(GameEvents.EFFECT_ENDED, PowerUp.PowerUpType.STICKY_PADDLE, 2, tick);
+        }
+    }
+
+    /**
+     * Manages the spawning and expiration of power-ups on the screen.
+     * <p>
+     * Gère l'apparition et l'expiration des power-ups à l'écran.
+     */
+    private void managePowerUpSpawnsAndExpiration() {
+        // Spawn Power-Up if conditions met (time and no active power-ups)
+        // Faire apparaître un Power-Up si les conditions sont remplies (temps et aucun power-up actif)
+        if (tick >= nextPowerUpSpawnTick && activePowerUps.isEmpty()) {
+            spawnPowerUp();
+            setNextPowerUpSpawnTick(); // Schedule next spawn / Planifier la prochaine apparition
+        }
+
+        // Update & Check Power-Ups for on-screen expiration
+        // Mettre à jour et vérifier les Power-Ups pour l'expiration à l'écran
+        for (int i = 0; i < activePowerUps.size(); i++) {
+            PowerUp pu = activePowerUps.get(i);
+            if (pu.isExpired(tick)) { // If power-up on screen has expired / Si le power-up à l'écran a expiré
+                if (pu.isActive()) {
+                    GameEvents.powerUp(GameEvents.EXPIRED, pu.getType(), 0, tick); // Never collected / Jamais collecté
+                }
+                activePowerUps.remove(i);
+                freePowerUps.add(pu); // Recycle it / Le recycler
+                i--;
+            }
+        }
+    }
+
+    /**
+     * Handles movement, collisions (walls, paddles, power-ups), and scoring for all active balls.
+     * <p>
+     * Gère le mouvement, les collisions (murs, raquettes, power-ups) et le score pour toutes les balles actives.
+     */
+    private void handleBallMovementAndCollisions() {
+        pendingBalls.clear(); // New balls from multi-ball power-up / Nouvelles balles du power-up multi-balles
+        int scoredCount = 0; // Balls that scored this tick / Balles qui ont marqué pendant ce tick
+
+        // Indexed loops: no iterator, and the list is not modified until the end of the tick
+        // Boucles indexées : aucun itérateur, et la liste n'est pas modifiée avant la fin du tick
+        int ballCount = balls.size();
+        for (int b = 0; b < ballCount; b++) {
+            Ball ball = balls.get(b);
+            // Handle sticky ball logic / Gérer la logique de la balle collante
+            if (ball.isSticky) {
+                // Position ball on paddle / Positionner la balle sur la raquette
+                if (ball.x < width / 2) { // Sticky to P1 / Collante à P1
+                    ball.x = PADDLE_WIDTH + BALL_RADIUS;
+                    ball.y = paddle1Y + paddle1Height / 2;
+                } else { // Sticky to P2 / Collante à P2
+                    ball.x = width - PADDLE_WIDTH - BALL_RADIUS;
+                    ball.y = paddle2Y + paddle2Height / 2;
+                }
+                // Check if sticky effect duration has passed / Vérifier si la durée de l'effet collant est passée
+                if (ball.stickyReleaseTick > 0 && tick >= ball.stickyReleaseTick) {
+                    ball.isSticky = false;
+                    // Give it an initial push away from the paddle / Lui donner une poussée initiale loin de la raquette
+                    if (ball.x < width / 2) ball.vx = initialBallSpeed;
+                    else ball.vx = -initialBallSpeed;
+                    // Ensure it moves vertically if it was previously still (e.g. at collision point)
+                    // S'assurer qu'elle bouge verticalement si elle était auparavant immobile (par exemple, au point de collision)
+                    if (ball.vy == 0) ball.vy = random.nextBoolean() ? initialBallSpeed : -initialBallSpeed;
+                    ball.stickyReleaseTick = 0;
+                    motionChanged(ball);
+                }
+            } else {
+                // Move ball based on velocity / Déplacer la balle en fonction de la vitesse
+                ball.x += ball.vx;
+                ball.y += ball.vy;
+            }
+
+            // Ball collision with top/bottom walls / Collision de la balle avec les murs supérieurs/inférieurs
+            if (ball.y - BALL_RADIUS < 0) {
+                ball.vy *= -1;
+                ball.y = BALL_RADIUS; // Correct position to prevent sticking / Corriger la position pour éviter de coller
+                motionChanged(ball);
+                listener.onWallBounce(ball.x, ball.y);
+                GameEvents.collision(GameEvents.WALL, 0, ball.x, ball.y, tick);
+            } else if (ball.y + BALL_RADIUS > height) {
+                ball.vy *= -1;
+                ball.y = height - BALL_RADIUS; // Correct position / Corriger la position
+                motionChanged(ball);
+                listener.onWallBounce(ball.x, ball.y);
+                GameEvents.collision(GameEvents.WALL, 0, ball.x, ball.y, tick);
+            }
+
+            // Ball collision with left paddle (Player 1)
+            // Collision de la balle avec la raquette gauche (Joueur 1)
+            if (ball.vx < 0 && // Ball moving left / Balle se déplaçant à gauche
+                    ball.x - BALL_RADIUS <= PADDLE_WIDTH && // Ball x is at or behind paddle front / La position x de la balle est au niveau ou derrière le devant de la raquette
+                    ball.x - BALL_RADIUS > 0 && // Ball is not beyond the paddle's back edge (prevent sticking)
+                                                // La balle n'est pas au-delà du bord arrière de la raquette (pour éviter de coller)
+                    ball.y + BALL_RADIUS >= paddle1Y &&
+                    ball.y - BALL_RADIUS <= paddle1Y + paddle1Height) {
+
+                if (p1StickyPaddleEndTick > 0) { // If sticky power-up active for P1 / Si le power-up collant est actif pour P1
+                    ball.isSticky = true;
+                    ball.stickyReleaseTick = tick + STICKY_HOLD_TICKS; // Stick for 1 second / Coller pendant 1 seconde
+                } else {
+                    ball.vx *= -1; // Reverse horizontal velocity / Inverser la vitesse horizontale
+                    // Add slight angle based on where it hits the paddle (center hit -> less angle, edge hit -> more angle)
+                    // Ajouter un léger angle en fonction de l'endroit où elle touche la raquette (centre -> moins d'angle, bord -> plus d'angle)
+                    double hitFactor = (ball.y - paddle1Y) / (double) paddle1Height; // 0.0 top, 1.0 bottom / 0.0 haut, 1.0 bas
+                    ball.vy = (int) (initialBallSpeed * 1.5 * (hitFactor - 0.5)); // Adjust vertical velocity / Ajuster la vitesse verticale
+                }
+                ball.x = PADDLE_WIDTH + BALL_RADIUS; // Correct position to avoid sticking / Corriger la position pour éviter de coller
+                motionChanged(ball);
+                listener.onPaddleHit(1, ball.x - BALL_RADIUS, ball.y);
+                GameEvents.collision(GameEvents.PADDLE, 1, ball.x - BALL_RADIUS, ball.y, tick);
+            }
+
+            // Ball collision with right paddle (Player 2)
+            // Collision de la balle avec la raquette droite (Joueur 2)
+            if (ball.vx > 0 && // Ball moving right / Balle se déplaçant à droite
+                    ball.x + BALL_RADIUS >= width - PADDLE_WIDTH && // Ball x is at or beyond paddle front / La position x de la balle est au niveau ou au-delà du devant de la raquette
+                    ball.x + BALL_RADIUS < width && // Ball is not beyond the paddle's back edge / La balle n'est pas au-delà du bord arrière de la raquette
+                    ball.y + BALL_RADIUS >= paddle2Y &&
+                    ball.y - BALL_RADIUS <= paddle2Y + paddle2Height) {
+
+                if (p2StickyPaddleEndTick > 0) { // If sticky power-up active for P2 / Si le power-up collant est actif pour P2
+                    ball.isSticky = true;
+                    ball.stickyReleaseTick = tick + STICKY_HOLD_TICKS;
+                } else {
+                    ball.vx *= -1; // Reverse horizontal velocity / Inverser la vitesse horizontale
+                    double hitFactor = (ball.y - paddle2Y) / (double) paddle2Height;
+                    ball.vy = (int) (initialBallSpeed * 1.5 * (hitFactor - 0.5));
+                }
+                ball.x = width - PADDLE_WIDTH - BALL_RADIUS; // Correct position / Corriger la position
+                motionChanged(ball);
+                listener.onPaddleHit(2, ball.x + BALL_RADIUS, ball.y);
+                GameEvents.collision(GameEvents.PADDLE, 2, ball.x + BALL_RADIUS, ball.y, tick);
+            }
+
+            // Ball collision with power-ups (collected ones are only deactivated, never removed here)
+            // Collision de la balle avec les power-ups (ceux collectés sont seulement désactivés, jamais supprimés ici)
+            for (int p = 0; p < activePowerUps.size(); p++) {
+                PowerUp pu = activePowerUps.get(p);
+                // Check for collision with power-up bounding box
+                // Vérifier la collision avec la boîte englobante du power-up
+                if (pu.isActive() && ball.x + BALL_RADIUS > pu.getX() && ball.x - BALL_RADIUS < pu.getX() + PowerUp.SIZE &&
+                        ball.y + BALL_RADIUS > pu.getY() && ball.y - BALL_RADIUS < pu.getY() + PowerUp.SIZE) {
+                    int player = ball.vx < 0 ? 1 : 2; // Player credited with the pickup / Joueur crédité de la collecte
+                    applyPowerUpEffect(pu.getType(), ball); // Apply effect / Appliquer l'effet
+                    pu.activate(tick, POWER_UP_EFFECT_DURATION_TICKS); // Power-up collected / Power-up collecté
+                    listener.onPowerUpCollected(pu.getType(), player, pu.getX() + PowerUp.SIZE / 2, pu.getY() + PowerUp.SIZE / 2);
+                    GameEvents.collision(GameEvents.POWER_UP, player, pu.getX() + PowerUp.SIZE / 2, pu.getY() + PowerUp.SIZE / 2, tick);
+                    GameEvents.powerUp(GameEvents.COLLECTED, pu.getType(), player, tick);
+                }
+            }
+
+            // Scoring logic / Logique de score
+            if (ball.x < 0) { // Player 2 scores / Le joueur 2 marque
+                player2Score++;
+                listener.onGoal(2);
+                ball.scored = true; // Mark ball for removal / Marquer la balle pour suppression
+                scoredCount++;
+                // Only check game end if this was the last ball, or if only one ball left after scoring
+                // Vérifier la fin du jeu uniquement si c'était la dernière balle, ou s'il ne reste qu'une seule balle après avoir marqué
+                if (ballCount - scoredCount == 0) checkGameEnd();
+            } else if (ball.x > width) { // Player 1 scores / Le joueur 1 marque
+                player1Score++;
+                listener.onGoal(1);
+                ball.scored = true;
+                scoredCount++;
+                if (ballCount - scoredCount == 0) checkGameEnd();
+            }
+        }
+
+        // Remove and add balls after iterating: compact the survivors in place, recycling the others
+        // Supprimer et ajouter des balles après l'itération : compacter les survivantes sur place, en recyclant les autres
+        if (scoredCount > 0) {
+            int kept = 0;
+            for (int b = 0; b < ballCount; b++) {
+                Ball ball = balls.get(b);
+                if (ball.scored) {
+                    recycleBall(ball);
+                } else {
+                    balls.set(kept++, ball);
+                }
+            }
+            for (int b = ballCount - 1; b >= kept; b--) {
+                balls.remove(b); // Removing from the end shifts nothing / Supprimer depuis la fin ne décale rien
+            }
+        }
+        for (int b = 0; b < pendingBalls.size(); b++) {
+            balls.add(pendingBalls.get(b));
+        }
+    }
+
+    /**
+     * Returns a recycled ball if one is available, or a new one.
+     * <p>
+     * Retourne une balle recyclée si disponible, ou une nouvelle.
+     */
+    private Ball obtainBall(int x, int y, int vx, int vy) {
+        Ball ball;
+        if (freeBalls.isEmpty()) {
+            ball = new Ball(x, y, vx, vy);
+        } else {
+            ball = freeBalls.remove(freeBalls.size() - 1);
+            ball.reset(x, y, vx, vy);
+        }
+        motionChanged(ball);
+        return ball;
+    }
+
+    /**
+     * Takes a ball out of play and keeps it for reuse.
+     * <p>
+     * Retire une balle du jeu et la garde pour réutilisation.
+     */
+    private void recycleBall(Ball ball) {
+        ball.inPlay = false;
+        ball.version++; // Invalidates the predictions made for it / Invalide les prédictions faites pour elle
+        freeBalls.add(ball);
+    }
+
+    /**
+     * Records that a ball's velocity or sticky state changed, or that it entered play: bumps its version and adds
+     * it once to the change log read by the controllers.
+     * <p>
+     * Enregistre que la vitesse ou l'état collant d'une balle a changé, ou qu'elle est entrée en jeu : incrémente
+     * sa version et l'ajoute une seule fois au journal des changements lu par les contrôleurs.
+     */
+    private void motionChanged(Ball ball) {
+        ball.version++;
+        if (ball.changeGeneration != changeGeneration) {
+            ball.changeGeneration = changeGeneration;
+            changedBalls.add(ball);
+        }
+    }
+
+    /**
+     * Sets the tick for the next power-up to spawn based on a random interval.
+     * <p>
+     * Définit le tick de la prochaine apparition de power-up en fonction d'un intervalle aléatoire.
+     */
+    private void setNextPowerUpSpawnTick() {
+        nextPowerUpSpawnTick = tick + POWER_UP_SPAWN_INTERVAL_MIN_TICKS +
+                               random.nextInt((int) (POWER_UP_SPAWN_INTERVAL_MAX_TICKS - POWER_UP_SPAWN_INTERVAL_MIN_TICKS));
+    }
+
+    /**
+     * Spawns a new power-up at a random, easy-to-reach central location.
+     * <p>
+     * Fait apparaître un nouveau power-up à un emplacement central aléatoire et facile d'accès.
+     */
+    private void spawnPowerUp() {
+        // MODIFICATION: Place power-ups horizontally at the center for easier access
+        // MODIFICATION: Placer les power-ups horizontalement au centre pour un accès plus facile
+        int puX = width / 2 - PowerUp.SIZE / 2; // Center of the screen, adjusted for power-up width
+                                                // Centre de l'écran, ajusté pour la largeur du power-up
+        int puY = random.nextInt(height - 40) + 20; // Vertical range remains broad / La plage verticale reste large
+
+        PowerUp.PowerUpType type = POWER_UP_TYPES[random.nextInt(POWER_UP_TYPES.length)]; // Select a random type / Sélectionner un type aléatoire
+
+        // Add to active power-ups, reusing a recycled one if possible / Ajouter aux power-ups actifs, en réutilisant un power-up recyclé si possible
+        PowerUp pu;
+        if (freePowerUps.isEmpty()) {
+            pu = new PowerUp(type, puX, puY, tick);
+        } else {
+            pu = freePowerUps.remove(freePowerUps.size() - 1);
+            pu.reset(type, puX, puY, tick);
+        }
+        activePowerUps.add(pu);
+        GameEvents.powerUp(GameEvents.SPAWNED, type, 0, tick);
+    }
+
+    /**
+     * Applies the effect of a collected power-up to the game state.
+     * <p>
+     * Applique l'effet d'un power-up collecté à l'état du jeu.
+     *
+     * @param type (EN) The type of power-up collected. (FR) Le type de power-up collecté.
+     * @param ball (EN) The ball that collected the power-up. (FR) La balle qui a collecté le power-up.
+     */
+    private void applyPowerUpEffect(PowerUp.PowerUpType type, Ball ball) {
+        long duration = POWER_UP_EFFECT_DURATION_TICKS; // Use constant for duration / Utiliser la constante pour la durée
+
+        switch (type) {
+            case PADDLE_ENLARGE:
+                if (ball.vx < 0) { // Player 1 collected it / Le joueur 1 l'a collecté
+                    paddle1Height = originalPaddleHeight * 2;
+                    p1PaddleEnlargeEndTick = tick + duration;
+                } else { // Player 2 collected it / Le joueur 2 l'a collecté
+                    paddle2Height = originalPaddleHeight * 2;
+                    p2PaddleEnlargeEndTick = tick + duration;
+                }
+                break;
+            case MULTI_BALL:
+                // Create 2 new balls with slight variations in velocity
+                // Créer 2 nouvelles balles avec de légères variations de vitesse
+                // (added to the field at the end of the tick / ajoutées au terrain à la fin du tick)
+                pendingBalls.add(obtainBall(ball.x, ball.y, -ball.vx, ball.vy + (random.nextInt(3) - 1)));
+                pendingBalls.add(obtainBall(ball.x, ball.y, ball.vx, -ball.vy + (random.nextInt(3) - 1)));
+                break;
+            case BALL_SPEED_UP:
+                for (int i = 0; i < balls.size(); i++) { // Affect all active balls / Affecter toutes les balles actives
+                    Ball b = balls.get(i);
+                    b.vx = (int) (b.vx * 1.2); // Increase speed by 20% / Augmenter la vitesse de 20%
+                    b.vy = (int) (b.vy * 1.2);
+                    motionChanged(b);
+                }
+                break;
+            case STICKY_PADDLE:
+                if (ball.vx < 0) { // Player 1 collected / Le joueur 1 l'a collecté
+                    p1StickyPaddleEndTick = tick + duration;
+                } else { // Player 2 collected / Le joueur 2 l'a collecté
+                    p2StickyPaddleEndTick = tick + duration;
+                }
+                break;
+        }
+    }
+
+    /**
+     * Checks if the match has ended based on scores, and records the winner.
+     * The next round is started by {@link #step()} once the scoring balls have been removed,
+     * so that the ball list is never cleared while it is being iterated.
+     * <p>
+     * Vérifie si la partie est terminée en fonction des scores, et enregistre le gagnant.
+     * La manche suivante est démarrée par {@link #step()} une fois les balles ayant marqué supprimées,
+     * afin que la liste des balles ne soit jamais vidée pendant son parcours.
+     */
+    private void checkGameEnd() {
+        if (player1Score >= MAX_SCORE_TO_WIN) {
+            winner = 1;
+            listener.onMatchOver(1);
+        } else if (player2Score >= MAX_SCORE_TO_WIN) {
+            winner = 2;
+            listener.onMatchOver(2);
+        }
+    }
+
+    // --- Accessors ---
+    // --- Accesseurs ---
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public long getTick() { return tick; }
+    public int getWinner() { return winner; }
+    public boolean isMatchOver() { return winner != 0; }
+
+    /**
+     * Returns a read-only view of the active balls.
+     * <p>
+     * Retourne une vue en lecture seule des balles actives.
+     *
+     * @return (EN) The balls in play. (FR) Les balles en jeu.
+     */
+    public List<Ball> getBalls() {
+        return ballsView;
+    }
+
+    /**
+     * Returns the balls whose velocity or sticky state changed, or which entered play, since the controllers were
+     * last called, for controllers that keep per-ball predictions up to date incrementally instead of rescanning
+     * every ball each tick. Valid during {@link PaddleController#computeMove}; a ball listed there may since have
+     * left play (see {@link Ball#isInPlay()}).
+     * <p>
+     * Retourne les balles dont la vitesse ou l'état collant a changé, ou qui sont entrées en jeu, depuis le dernier
+     * appel des contrôleurs, pour les contrôleurs qui tiennent des prédictions par balle à jour de façon incrémentale
+     * au lieu de parcourir toutes les balles à chaque tick. Valide pendant {@link PaddleController#computeMove} ; une
+     * balle qui y figure peut depuis avoir quitté le jeu (voir {@link Ball#isInPlay()}).
+     *
+     * @return (EN) The balls changed since the last controller call. (FR) Les balles modifiées depuis le dernier appel des contrôleurs.
+     */
+    public List<Ball> getChangedBalls() {
+        return changedBallsView;
+    }
+
+    /**
+     * Returns a read-only view of the power-ups currently on screen.
+     * <p>
+     * Retourne une vue en lecture seule des power-ups actuellement à l'écran.
+     *
+     * @return (EN) The power-ups on screen. (FR) Les power-ups à l'écran.
+     */
+    public List<PowerUp> getPowerUps() {
+        return activePowerUpsView;
+    }
+
+    public int getPaddleY(int player) {
+        return player == 1 ? paddle1Y : paddle2Y;
+    }
+
+    public int getPaddleHeight(int player) {
+        return player == 1 ? paddle1Height : paddle2Height;
+    }
+
+    public int getScore(int player) {
+        return player == 1 ? player1Score : player2Score;
+    }
+
+    /**
+     * Returns the X coordinate a ball's center has when it touches the given player's paddle.
+     * <p>
+     * Retourne la coordonnée X du centre d'une balle lorsqu'elle touche la raquette du joueur donné.
+     *
+     * @param player (EN) 1 for left, 2 for right. (FR) 1 pour gauche, 2 pour droite.
+     * @return (EN) The contact X coordinate. (FR) La coordonnée X de contact.
+     */
+    public int getPaddleContactX(int player) {
+        return player == 1 ? PADDLE_WIDTH + BALL_RADIUS : width - PADDLE_WIDTH - BALL_RADIUS;
+    }
+
+    public int getInitialBallSpeed() {
+        return initialBallSpeed;
+    }
+
+    /**
+     * Sets the initial ball speed used for the next rounds.
+     * <p>
+     * Définit la vitesse initiale de la balle utilisée pour les prochaines manches.
+     *
+     * @param speed (EN) The new initial speed. (FR) La nouvelle vitesse initiale.
+     */
+    public void setInitialBallSpeed(int speed) {
+        this.initialBallSpeed = speed;
+    }
+}
@@ -0,0 +1,65 @@
+// MatchListener.java
+// This file contains the callback interface through which the match engine reports game events.
+
+/**
+ * Receives notifications about notable events happening inside a {@link MatchEngine} tick.
+ * Used by renderers to spawn visual effects without the engine knowing about graphics.
+ * All methods are invoked on the thread that calls {@link MatchEngine#step()}.
+ * <p>
+ * Reçoit les notifications des événements notables survenant pendant un tick de {@link MatchEngine}.
+ * Utilisé par les moteurs de rendu pour générer des effets visuels sans que le moteur ne connaisse les graphismes.
+ * Toutes les méthodes sont appelées sur le thread qui exécute {@link MatchEngine#step()}.
+ */
+public interface MatchListener {
+
+    /**
+     * Called when a ball bounces on the top or bottom wall.
+     * <p>
+     * Appelée lorsqu'une balle rebondit sur le mur supérieur ou inférieur.
+     *
+     * @param x (EN) X coordinate of the bounce. (FR) Coordonnée X du rebond.
+     * @param y (EN) Y coordinate of the bounce. (FR) Coordonnée Y du rebond.
+     */
+    default void onWallBounce(int x, int y) { }
+
+    /**
+     * Called when a ball hits a paddle.
+     * <p>
+     * Appelée lorsqu'une balle touche une raquette.
+     *
+     * @param player (EN) The player whose paddle was hit. (FR) Le joueur dont la raquette a été touchée.
+     * @param x      (EN) X coordinate of the contact point. (FR) Coordonnée X du point de contact.
+     * @param y      (EN) Y coordinate of the contact point. (FR) Coordonnée Y du point de contact.
+     */
+    default void onPaddleHit(int player, int x, int y) { }
+
+    /**
+     * Called when a ball collects a power-up.
+     * <p>
+     * Appelée lorsqu'une balle collecte un power-up.
+     *
+     * @param type   (EN) The collected power-up type. (FR) Le type de power-up collecté.
+     * @param player (EN) The player credited with the pickup. (FR) Le joueur crédité de la collecte.
+     * @param x      (EN) X coordinate of the power-up center. (FR) Coordonnée X du centre du power-up.
+     * @param y      (EN) Y coordinate of the power-up center. (FR) Coordonnée Y du centre du power-up.
+     */
+    default void onPowerUpCollected(PowerUp.PowerUpType type, int player, int x, int y) { }
+
+    /**
+     * Called when a player scores a point.
+     * <p>
+     * Appelée lorsqu'un joueur marque un point.
+     *
+     * @param scoringPlayer (EN) The player who scored. (FR) Le joueur qui a marqué.
+     */
+    default void onGoal(int scoringPlayer) { }
+
+    /**
+     * Called once when a player reaches the winning score.
+     * <p>
+     * Appelée une seule fois lorsqu'un joueur atteint le score gagnant.
+     *
+     * @param winningPlayer (EN) The player who won the match. (FR) Le joueur qui a gagné la partie.
+     */
+    default void onMatchOver(int winningPlayer) { }
+}
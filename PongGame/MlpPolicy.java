@@ -0,0 +1,258 @@
+// MlpPolicy.java
+// This file contains the weights of a small multilayer perceptron, their binary file format and the allocation-free forward pass.
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Immutable weights of a fully connected network: ReLU hidden layers and a linear output layer, evaluated on flat
+ * float arrays by {@link #forward} without allocating, so it can run on every game tick. Weights are stored in
+ * a versioned binary file, written by the training side:
+ * <pre>
+ *   int    MAGIC ('PMLP')
+ *   short  VERSION
+ *   short  layer count L
+ *   int    (L + 1) layer widths, input first
+ *   L x { out x in floats, row-major (one row per output), out floats of bias }
+ *   int    CRC-32 of all the bytes above
+ * </pre>
+ * All numbers are big-endian ({@link DataOutputStream}); a truncated or corrupted file is rejected as a whole.
+ * <p>
+ * Poids immuables d'un réseau entièrement connecté : couches cachées ReLU et couche de sortie linéaire, évalué sur
+ * des tableaux de flottants plats par {@link #forward} sans allocation, afin de pouvoir tourner à chaque tick de
+ * jeu. Les poids sont stockés dans un fichier binaire versionné, écrit par le côté entraînement.
+ * Tous les nombres sont en gros-boutiste ({@link DataOutputStream}) ; un fichier tronqué ou corrompu est rejeté en entier.
+ */
+public final class MlpPolicy {
+    public static final int MAGIC = 0x504D4C50; // (EN) "PMLP" in ASCII. (FR) « PMLP » en ASCII.
+    public static final short VERSION = 1; // (EN) Current format version. (FR) Version actuelle du format.
+    private static final int MAX_LAYERS = 16; // (EN) Bound on the layer count read from a file. (FR) Borne du nombre de couches lu dans un fichier.
+    private static final int MAX_WIDTH = 4096; // (EN) Bound on a layer width read from a file. (FR) Borne de la largeur d'une couche lue dans un fichier.
+
+    private final int[] widths; // (EN) Layer widths, input first. (FR) Largeurs des couches, entrée en premier.
+    private final float[][] weights; // (EN) Per layer, in x out: transposed from the file, one column per input. (FR) Par couche, entrée x sortie : transposés depuis le fichier, une colonne par entrée.
+    private final float[][] biases; // (EN) Per layer, one per output. (FR) Par couche, un par sortie.
+    private final int maxWidth; // (EN) Widest layer, sizes the scratch buffer. (FR) Couche la plus large, dimensionne le tampon de travail.
+
+    /**
+     * Constructs a network from its weights, which are copied.
+     * <p>
+     * Construit un réseau à partir de ses poids, qui sont copiés.
+     *
+     * @param widths  (EN) Layer widths, input first, at least two. (FR) Largeurs des couches, entrée en premier, au moins deux.
+     * @param weights (EN) Per layer, {@code widths[l+1] * widths[l]} floats, row-major. (FR) Par couche, {@code widths[l+1] * widths[l]} flottants, par lignes.
+     * @param biases  (EN) Per layer, {@code widths[l+1]} floats. (FR) Par couche, {@code widths[l+1]} flottants.
+     * @throws IllegalArgumentException (EN) If the shapes do not match. (FR) Si les formes ne correspondent pas.
+     */
+    public MlpPolicy(int[] widths, float[][] weights, float[][] biases) {
+        int layers = widths.length - 1;
+        if (layers < 1 || weights.length != layers || biases.length != layers) {
+            throw new IllegalArgumentException("Expected " + layers + " layers of weights and biases");
+        }
+        int max = 0;
+        for (int width : widths) {
+            if (width <= 0 || width > MAX_WIDTH) throw new IllegalArgumentException("Invalid layer width: " + width);
+            max = Math.max(max, width);
+        }
+        this.widths = widths.clone();
+        this.weights = new float[layers][];
+        this.biases = new float[layers][];
+        for (int l = 0; l < layers; l++) {
+            if (weights[l].length != widths[l + 1] * widths[l] || biases[l].length != widths[l + 1]) {
+                throw new IllegalArgumentException("Layer " + l + " does not match widths " + widths[l] + " -> " + widths[l + 1]);
+            }
+            this.weights[l] = transpose(weights[l], widths[l + 1], widths[l]);
+            this.biases[l] = biases[l].clone();
+        }
+        this.maxWidth = max;
+    }
+
+    /**
+     * Returns a network with random weights (He initialization), e.g. to benchmark or to start a training.
+     * <p>
+     * Retourne un réseau aux poids aléatoires (initialisation de He), par exemple pour un benchmark ou pour démarrer un entraînement.
+     *
+     * @param widths (EN) Layer widths, input first. (FR) Largeurs des couches, entrée en premier.
+     * @param random (EN) Source of the weights. (FR) Source des poids.
+     */
+    public static MlpPolicy random(int[] widths, Random random) {
+        int layers = widths.length - 1;
+        float[][] weights = new float[Math.max(layers, 0)][];
+        float[][] biases = new float[Math.max(layers, 0)][];
+        for (int l = 0; l < layers; l++) {
+            float scale = (float) Math.sqrt(2.0 / widths[l]);
+            weights[l] = new float[widths[l + 1] * widths[l]];
+            for (int i = 0; i < weights[l].length; i++) {
+                weights[l][i] = (float) random.nextGaussian() * scale;
+            }
+            biases[l] = new float[widths[l + 1]];
+        }
+        return new MlpPolicy(widths, weights, biases);
+    }
+
+    /**
+     * Reads a network from a weights file.
+     * <p>
+     * Lit un réseau depuis un fichier de poids.
+     *
+     * @param file (EN) The file. (FR) Le fichier.
+     * @return (EN) The network. (FR) Le réseau.
+     * @throws IOException (EN) If the file cannot be read or is not a valid weights file. (FR) Si le fichier ne peut être lu ou n'est pas un fichier de poids valide.
+     */
+    public static MlpPolicy load(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return read(in);
+        }
+    }
+
+    /**
+     * Reads a network in the format described above; the stream is not closed.
+     * <p>
+     * Lit un réseau au format décrit ci-dessus ; le flux n'est pas fermé.
+     *
+     * @param in (EN) The source. (FR) La source.
+     * @return (EN) The network. (FR) Le réseau.
+     * @throws IOException (EN) If the stream fails or does not hold a valid network. (FR) Si le flux échoue ou ne contient pas de réseau valide.
+     */
+    public static MlpPolicy read(InputStream in) throws IOException {
+        CRC32 crc = new CRC32();
+        DataInputStream data = new DataInputStream(new CheckedInputStream(new BufferedInputStream(in), crc));
+        if (data.readInt() != MAGIC) throw new StreamCorruptedException("Not a policy weights file");
+        short version = data.readShort();
+        if (version != VERSION) throw new StreamCorruptedException("Unsupported policy weights version " + version);
+        int layers = data.readShort();
+        if (layers < 1 || layers > MAX_LAYERS) throw new StreamCorruptedException("Invalid layer count " + layers);
+        int[] widths = new int[layers + 1];
+        for (int l = 0; l <= layers; l++) {
+            widths[l] = data.readInt();
+            // Bounded before any allocation / Bornée avant toute allocation
+            if (widths[l] <= 0 || widths[l] > MAX_WIDTH) throw new StreamCorruptedException("Invalid layer width " + widths[l]);
+        }
+        float[][] weights = new float[layers][];
+        float[][] biases = new float[layers][];
+        for (int l = 0; l < layers; l++) {
+            weights[l] = readFloats(data, widths[l + 1] * widths[l]);
+            biases[l] = readFloats(data, widths[l + 1]);
+        }
+        long expected = crc.getValue();
+        if ((data.readInt() & 0xFFFFFFFFL) != expected) throw new StreamCorruptedException("Policy weights checksum mismatch");
+        return new MlpPolicy(widths, weights, biases);
+    }
+
+    private static float[] readFloats(DataInputStream data, int count) throws IOException {
+        float[] values = new float[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = data.readFloat();
+        }
+        return values;
+    }
+
+    /**
+     * Writes the network in the format described above; the stream is flushed but not closed.
+     * <p>
+     * Écrit le réseau au format décrit ci-dessus ; le flux est vidé mais pas fermé.
+     *
+     * @param out (EN) The destination. (FR) La destination.
+     * @throws IOException (EN) If the stream fails. (FR) Si le flux échoue.
+     */
+    public void write(OutputStream out) throws IOException {
+        CRC32 crc = new CRC32();
+        DataOutputStream data = new DataOutputStream(new CheckedOutputStream(new BufferedOutputStream(out), crc));
+        data.writeInt(MAGIC);
+        data.writeShort(VERSION);
+        data.writeShort(weights.length);
+        for (int width : widths) data.writeInt(width);
+        for (int l = 0; l < weights.length; l++) {
+            for (float w : transpose(weights[l], widths[l], widths[l + 1])) data.writeFloat(w); // Back to row-major / Retour par lignes
+            for (float b : biases[l]) data.writeFloat(b);
+        }
+        data.flush();
+        data.writeInt((int) crc.getValue()); // Not part of its own checksum / Ne fait pas partie de sa propre somme de contrôle
+        data.flush();
+    }
+
+    /**
+     * Returns the transpose of a row-major {@code rows x columns} matrix.
+     * <p>
+     * Retourne la transposée d'une matrice {@code lignes x colonnes} rangée par lignes.
+     */
+    private static float[] transpose(float[] matrix, int rows, int columns) {
+        float[] transposed = new float[matrix.length];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++) {
+                transposed[c * rows + r] = matrix[r * columns + c];
+            }
+        }
+        return transposed;
+    }
+
+    public int getInputSize() { return widths[0]; }
+    public int getOutputSize() { return widths[widths.length - 1]; }
+
+    /**
+     * Returns the length of the scratch buffer needed by {@link #forward}.
+     * <p>
+     * Retourne la longueur du tampon de travail nécessaire à {@link #forward}.
+     */
+    public int getScratchSize() {
+        return 2 * maxWidth;
+    }
+
+    /**
+     * Evaluates the network. Hidden activations alternate between the two halves of the scratch buffer, so nothing
+     * is allocated. The weights are kept transposed, so each input adds its column to all the outputs at once, a
+     * loop the JIT turns into SIMD instructions, where a row-by-row dot product would be one sequential sum; and the
+     * inputs zeroed by a ReLU are skipped. Thread-safe as long as each thread has its own buffers.
+     * <p>
+     * Évalue le réseau. Les activations cachées alternent entre les deux moitiés du tampon de travail, donc rien
+     * n'est alloué. Les poids sont gardés transposés, de sorte que chaque entrée ajoute sa colonne à toutes les
+     * sorties à la fois, une boucle que le JIT traduit en instructions SIMD, là où un produit scalaire ligne par ligne
+     * serait une somme séquentielle ; et les entrées annulées par un ReLU sont sautées. Utilisable depuis plusieurs
+     * threads tant que chacun a ses propres tampons.
+     *
+     * @param input   (EN) {@link #getInputSize()} floats. (FR) {@link #getInputSize()} flottants.
+     * @param output  (EN) Receives {@link #getOutputSize()} floats. (FR) Reçoit {@link #getOutputSize()} flottants.
+     * @param scratch (EN) At least {@link #getScratchSize()} floats. (FR) Au moins {@link #getScratchSize()} flottants.
+     */
+    public void forward(float[] input, float[] output, float[] scratch) {
+        float[] source = input;
+        int sourceOffset = 0;
+        int last = weights.length - 1;
+        for (int l = 0; l <= last; l++) {
+            float[] target = l == last ? output : scratch;
+            int targetOffset = l == last ? 0 : (l & 1) * maxWidth;
+            dense(weights[l], biases[l], widths[l], widths[l + 1], source, sourceOffset, target, targetOffset, l != last);
+            source = target;
+            sourceOffset = targetOffset;
+        }
+    }
+
+    private static void dense(float[] wT, float[] b, int in, int out, float[] x, int xOffset, float[] y, int yOffset, boolean relu) {
+        System.arraycopy(b, 0, y, yOffset, out);
+        for (int i = 0; i < in; i++) {
+            float xi = x[xOffset + i];
+            if (xi == 0) continue; // Inputs zeroed by the ReLU cost nothing / Les entrées annulées par le ReLU ne coûtent rien
+            int column = i * out;
+            for (int o = 0; o < out; o++) { // No loop-carried sum: vectorized by the JIT / Pas de somme portée par la boucle : vectorisée par le JIT
+                y[yOffset + o] += wT[column + o] * xi;
+            }
+        }
+        if (relu) {
+            for (int o = 0; o < out; o++) {
+                if (y[yOffset + o] < 0) y[yOffset + o] = 0;
+            }
+        }
+    }
+}
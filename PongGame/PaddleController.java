@@ -0,0 +1,27 @@
+// PaddleController.java
+// This file contains the input/controller contract used by the headless match engine.
+
+/**
+ * Supplies the paddle movement for one player on each simulation tick.
+ * Implementations can be driven by a keyboard, an AI or any other source,
+ * and must not depend on AWT/Swing so that matches can run headless.
+ * <p>
+ * Fournit le mouvement de la raquette d'un joueur à chaque tick de simulation.
+ * Les implémentations peuvent être pilotées par un clavier, une IA ou toute autre source,
+ * et ne doivent pas dépendre d'AWT/Swing afin que les parties puissent tourner sans affichage.
+ */
+public interface PaddleController {
+
+    /**
+     * Computes the paddle displacement for the current tick.
+     * The engine clamps the result to {@link MatchEngine#PADDLE_SPEED} and to the field bounds.
+     * <p>
+     * Calcule le déplacement de la raquette pour le tick actuel.
+     * Le moteur limite le résultat à {@link MatchEngine#PADDLE_SPEED} et aux bords du terrain.
+     *
+     * @param engine (EN) The match being simulated. (FR) La partie en cours de simulation.
+     * @param player (EN) The controlled player (1 = left, 2 = right). (FR) Le joueur contrôlé (1 = gauche, 2 = droite).
+     * @return (EN) Vertical displacement in pixels (negative = up). (FR) Déplacement vertical en pixels (négatif = haut).
+     */
+    int computeMove(MatchEngine engine, int player);
+}
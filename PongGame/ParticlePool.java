@@ -0,0 +1,136 @@
+// ParticlePool.java
+// This file contains the fixed-capacity particle system used for visual effects (sparks, explosions).
+// Particles are stored as parallel primitive arrays so that emitting, updating and drawing never allocate.
+
+import java.util.Random;
+
+/**
+ * Fixed-capacity, struct-of-arrays pool of particles.
+ * Live particles are kept densely packed in slots {@code [0, size())}; a dying particle is replaced by
+ * the last live one (swap-remove), so the dense range itself acts as the free list and removal is O(1).
+ * When the budget is exhausted, new particles are silently dropped instead of growing the pool,
+ * which bounds the per-frame cost of large multi-ball goals.
+ * <p>
+ * Pool de particules à capacité fixe, organisé en tableaux parallèles.
+ * Les particules vivantes sont rangées de façon contiguë dans les emplacements {@code [0, size())} ; une particule
+ * qui meurt est remplacée par la dernière particule vivante (suppression par échange), la plage contiguë servant
+ * elle-même de liste libre et la suppression étant en O(1).
+ * Lorsque le budget est épuisé, les nouvelles particules sont ignorées au lieu d'agrandir le pool,
+ * ce qui borne le coût par image des buts multi-balles.
+ */
+public class ParticlePool {
+    private final float[] x, y; // (EN) Current positions. (FR) Positions actuelles.
+    private final float[] vx, vy; // (EN) Velocity components. (FR) Composantes de la vitesse.
+    private final int[] life; // (EN) Remaining life (in updates). (FR) Durée de vie restante (en mises à jour).
+    private final int[] originalLife; // (EN) Initial life for calculating fade. (FR) Durée de vie initiale pour le calcul du fondu.
+    private final int[] colorIndex; // (EN) Index of the particle color in the renderer's palette. (FR) Index de la couleur de la particule dans la palette du rendu.
+    private int size; // (EN) Number of live particles. (FR) Nombre de particules vivantes.
+
+    /**
+     * Constructs a pool with a hard particle budget.
+     * <p>
+     * Construit un pool avec un budget de particules strict.
+     *
+     * @param capacity (EN) Maximum number of simultaneous particles. (FR) Nombre maximal de particules simultanées.
+     */
+    public ParticlePool(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Particle capacity must be positive: " + capacity);
+        }
+        x = new float[capacity];
+        y = new float[capacity];
+        vx = new float[capacity];
+        vy = new float[capacity];
+        life = new int[capacity];
+        originalLife = new int[capacity];
+        colorIndex = new int[capacity];
+    }
+
+    /**
+     * Emits a burst of particles at a given location, with random directions, speeds and lifespans.
+     * Particles beyond the remaining budget are dropped.
+     * <p>
+     * Émet une gerbe de particules à un endroit donné, avec des directions, vitesses et durées de vie aléatoires.
+     * Les particules au-delà du budget restant sont ignorées.
+     *
+     * @param px     (EN) X coordinate for particle spawn. (FR) Coordonnée X pour l'apparition des particules.
+     * @param py     (EN) Y coordinate for particle spawn. (FR) Coordonnée Y pour l'apparition des particules.
+     * @param count  (EN) Number of particles requested. (FR) Nombre de particules demandées.
+     * @param color  (EN) Palette index of the particles' color. (FR) Index dans la palette de la couleur des particules.
+     * @param random (EN) Random source for the burst. (FR) Source aléatoire pour la gerbe.
+     * @return (EN) Number of particles actually emitted. (FR) Nombre de particules réellement émises.
+     */
+    public int emit(float px, float py, int count, int color, Random random) {
+        int emitted = Math.min(count, x.length - size);
+        for (int i = 0; i < emitted; i++) {
+            float angle = (float) (random.nextDouble() * 2 * Math.PI); // Random direction / Direction aléatoire
+            float speed = 0.5f + random.nextFloat() * 2; // Random speed / Vitesse aléatoire
+            int particleLife = 20 + random.nextInt(30); // Random lifespan / Durée de vie aléatoire
+            int slot = size++;
+            x[slot] = px;
+            y[slot] = py;
+            vx[slot] = (float) (speed * Math.cos(angle));
+            vy[slot] = (float) (speed * Math.sin(angle));
+            life[slot] = particleLife;
+            originalLife[slot] = particleLife;
+            colorIndex[slot] = color;
+        }
+        return emitted;
+    }
+
+    /**
+     * Updates the position and life of every particle, removing expired ones by swap-remove.
+     * <p>
+     * Met à jour la position et la durée de vie de chaque particule, en supprimant celles qui ont expiré par échange.
+     */
+    public void update() {
+        int i = 0;
+        while (i < size) {
+            x[i] += vx[i];
+            y[i] += vy[i];
+            if (--life[i] > 0) {
+                i++; // Still alive / Toujours vivante
+            } else {
+                // Move the last live particle into this slot; it is updated on the next loop iteration
+                // Déplacer la dernière particule vivante dans cet emplacement ; elle est mise à jour à l'itération suivante
+                int last = --size;
+                x[i] = x[last];
+                y[i] = y[last];
+                vx[i] = vx[last];
+                vy[i] = vy[last];
+                life[i] = life[last];
+                originalLife[i] = originalLife[last];
+                colorIndex[i] = colorIndex[last];
+            }
+        }
+    }
+
+    /**
+     * Removes all particles.
+     * <p>
+     * Supprime toutes les particules.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() { return size; }
+    public int capacity() { return x.length; }
+    public float getX(int i) { return x[i]; }
+    public float getY(int i) { return y[i]; }
+    public int getColorIndex(int i) { return colorIndex[i]; }
+
+    /**
+     * Returns the remaining life of a particle as a fraction of its initial life, used for fading.
+     * <p>
+     * Retourne la durée de vie restante d'une particule en fraction de sa durée initiale, utilisée pour le fondu.
+     *
+     * @param i (EN) Slot of the particle. (FR) Emplacement de la particule.
+     * @return (EN) A value in [0, 1]. (FR) Une valeur dans [0, 1].
+     */
+    public float getLifeFraction(int i) {
+        float fraction = life[i] / (float) originalLife[i];
+        if (fraction < 0) return 0; // Ensure alpha doesn't go negative / Assurer que l'alpha ne devient pas négatif
+        return fraction > 1 ? 1 : fraction;
+    }
+}
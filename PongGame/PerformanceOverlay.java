@@ -0,0 +1,108 @@
+// PerformanceOverlay.java
+// This file contains the in-game performance overlay, toggled with F3.
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.util.Locale;
+
+/**
+ * Draws the figures of {@link PerformanceStats} in the bottom-left corner of the screen, clear of the scores.
+ * The lines are formatted and laid out again only when a new window has been published (once per second),
+ * so showing the overlay adds a few cached glyph blits per frame and no allocation.
+ * <p>
+ * Dessine les chiffres de {@link PerformanceStats} dans le coin inférieur gauche de l'écran, à l'écart des scores.
+ * Les lignes ne sont formatées et remises en forme que lorsqu'une nouvelle fenêtre a été publiée (une fois par
+ * seconde), de sorte qu'afficher l'overlay ajoute quelques copies de glyphes en cache par image et aucune allocation.
+ */
+public class PerformanceOverlay {
+    private static final Font FONT = new Font("Monospaced", Font.PLAIN, 14); // (EN) Aligned columns. (FR) Colonnes alignées.
+    private static final Color BACKGROUND = new Color(0, 0, 0, 170); // (EN) Translucent panel behind the text. (FR) Panneau translucide derrière le texte.
+    private static final Color TEXT_COLOR = Color.GREEN; // (EN) Color of the figures. (FR) Couleur des chiffres.
+    private static final int MARGIN = 8; // (EN) Distance to the screen corner. (FR) Distance au coin de l'écran.
+    private static final int PADDING = 6; // (EN) Space around the text. (FR) Espace autour du texte.
+    private static final int LINE_HEIGHT = 17; // (EN) Baseline to baseline. (FR) D'une ligne de base à l'autre.
+    private static final int LINES = 6; // (EN) Number of lines shown. (FR) Nombre de lignes affichées.
+
+    private final TextCache.Label[] lines = new TextCache.Label[LINES + 1]; // (EN) Cached lines, the last one for input latency. (FR) Lignes en cache, la dernière pour la latence des entrées.
+    private int lineCount = LINES; // (EN) Lines shown. (FR) Lignes affichées.
+    private InputLatencyTracker inputLatency; // (EN) Shown on an extra line when set. (FR) Affichée sur une ligne supplémentaire si définie.
+    private int shownPublications = -1; // (EN) Publications the lines were built from. (FR) Publications à partir desquelles les lignes ont été construites.
+    private int panelWidth; // (EN) Width of the background panel. (FR) Largeur du panneau de fond.
+
+    /**
+     * Constructs the overlay; the figures appear after the first one-second window.
+     * <p>
+     * Construit l'overlay ; les chiffres apparaissent après la première fenêtre d'une seconde.
+     */
+    public PerformanceOverlay() {
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = new TextCache.Label(FONT, i == 0 ? "Mesure en cours..." : " "); // UI Text
+        }
+    }
+
+    /**
+     * Adds a line with the input-to-photon latency percentiles.
+     * <p>
+     * Ajoute une ligne avec les centiles de la latence entrée-photon.
+     *
+     * @param tracker (EN) The latency instrumentation. (FR) L'instrumentation de latence.
+     */
+    public void setInputLatency(InputLatencyTracker tracker) {
+        this.inputLatency = tracker;
+        this.lineCount = LINES + 1;
+        this.panelWidth = 0;
+    }
+
+    /**
+     * Draws the overlay.
+     * <p>
+     * Dessine l'overlay.
+     *
+     * @param g2d          (EN) The Graphics2D context to draw on. (FR) Le contexte Graphics2D sur lequel dessiner.
+     * @param stats        (EN) The statistics to show. (FR) Les statistiques à afficher.
+     * @param screenHeight (EN) Height of the drawing surface. (FR) Hauteur de la surface de dessin.
+     */
+    public void draw(Graphics2D g2d, PerformanceStats stats, int screenHeight) {
+        PerformanceStats.Window ticks = stats.getTicks();
+        PerformanceStats.Window frames = stats.getFrames();
+        PerformanceStats.Window inputs = stats.getInputs();
+        int publications = ticks.getPublications() + frames.getPublications() + inputs.getPublications()
+                + (inputLatency != null ? inputLatency.getPublications() : 0);
+        if (publications != shownPublications) {
+            shownPublications = publications;
+            lines[0].setText(String.format(Locale.ROOT, "TPS %3d   FPS %3d", ticks.getPerSecond(), frames.getPerSecond()));
+            lines[1].setText(timings("Tick ", ticks));
+            lines[2].setText(timings("Frame", frames));
+            lines[5].setText(timings("Input", inputs));
+            if (inputLatency != null) {
+                lines[LINES].setText(String.format(Locale.ROOT, "Photon p50 %6.3f  p95 %6.3f  p99 %6.3f ms",
+                        inputLatency.getP50Nanos() / 1e6, inputLatency.getP95Nanos() / 1e6, inputLatency.getP99Nanos() / 1e6));
+            }
+            lines[3].setText(String.format(Locale.ROOT, "Balls %d   Particles %d", stats.getBallCount(), stats.getParticleCount()));
+            lines[4].setText(String.format(Locale.ROOT, "GC %d/s (%d ms)", stats.getGcCount(), stats.getGcMillis()));
+            panelWidth = 0;
+        }
+        if (panelWidth == 0) {
+            for (int i = 0; i < lineCount; i++) {
+                panelWidth = Math.max(panelWidth, lines[i].getWidth(g2d));
+            }
+        }
+
+        int panelHeight = lineCount * LINE_HEIGHT + 2 * PADDING;
+        int top = screenHeight - MARGIN - panelHeight;
+        g2d.setColor(BACKGROUND);
+        g2d.fillRect(MARGIN, top, panelWidth + 2 * PADDING, panelHeight);
+        g2d.setColor(TEXT_COLOR);
+        int y = top + PADDING + LINE_HEIGHT - 4; // Baseline of the first line / Ligne de base de la première ligne
+        for (int i = 0; i < lineCount; i++) {
+            lines[i].draw(g2d, MARGIN + PADDING, y);
+            y += LINE_HEIGHT;
+        }
+    }
+
+    private static String timings(String name, PerformanceStats.Window window) {
+        return String.format(Locale.ROOT, "%s p50 %6.3f  p99 %6.3f  max %6.3f ms", name,
+                window.getP50Nanos() / 1e6, window.getP99Nanos() / 1e6, window.getMaxNanos() / 1e6);
+    }
+}
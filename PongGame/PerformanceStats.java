@@ -0,0 +1,154 @@
+// PerformanceStats.java
+// This file contains the live performance statistics of the game loop (rates, latency percentiles, counts, GC).
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Live performance statistics of the game: ticks and frames per second, p50 / p99 / max durations of the
+ * tick and of the frame rendering, ball and particle counts, and garbage collector activity.
+ * Samples go into {@link LatencyHistogram}s owned by their writer thread (the game loop for ticks, the
+ * rendering thread for frames); once per second each writer publishes the figures of the elapsed window in
+ * volatile fields and starts a new window, so recording takes no lock and allocates nothing, and readers
+ * (the overlay, monitoring) only ever see complete windows.
+ * <p>
+ * Statistiques de performance en direct du jeu : ticks et images par seconde, durées p50 / p99 / max du tick et
+ * du rendu d'une image, nombres de balles et de particules, et activité du ramasse-miettes.
+ * Les mesures vont dans des {@link LatencyHistogram} appartenant à leur thread écrivain (la boucle de jeu pour les
+ * ticks, le thread de rendu pour les images) ; une fois par seconde, chaque écrivain publie les chiffres de la
+ * fenêtre écoulée dans des champs volatils et commence une nouvelle fenêtre, de sorte que l'enregistrement ne prend
+ * aucun verrou et n'alloue rien, et que les lecteurs (l'overlay, la supervision) ne voient que des fenêtres complètes.
+ */
+public class PerformanceStats {
+    private static final long WINDOW_NANOS = 1_000_000_000L; // (EN) Length of a measurement window. (FR) Durée d'une fenêtre de mesure.
+
+    /**
+     * Durations of one activity (ticks or frames), recorded by a single thread and published once per window.
+     * <p>
+     * Durées d'une activité (ticks ou images), enregistrées par un seul thread et publiées une fois par fenêtre.
+     */
+    public static final class Window {
+        private final LatencyHistogram histogram = new LatencyHistogram(); // (EN) Samples of the current window. (FR) Mesures de la fenêtre courante.
+        private long windowStart; // (EN) Start of the current window, 0 before the first sample. (FR) Début de la fenêtre courante, 0 avant la première mesure.
+        private volatile int perSecond; // (EN) Samples per second in the last window. (FR) Mesures par seconde dans la dernière fenêtre.
+        private volatile long meanNanos; // (EN) Average of the last window. (FR) Moyenne de la dernière fenêtre.
+        private volatile long p50Nanos; // (EN) Median of the last window. (FR) Médiane de la dernière fenêtre.
+        private volatile long p99Nanos; // (EN) 99th percentile of the last window. (FR) 99e centile de la dernière fenêtre.
+        private volatile long maxNanos; // (EN) Maximum of the last window. (FR) Maximum de la dernière fenêtre.
+        private volatile int publications; // (EN) Number of windows published so far. (FR) Nombre de fenêtres publiées jusqu'ici.
+
+        /**
+         * Records one sample and publishes the window if it is over.
+         * <p>
+         * Enregistre une mesure et publie la fenêtre si elle est terminée.
+         *
+         * @return (EN) true if a window was just published. (FR) true si une fenêtre vient d'être publiée.
+         */
+        private boolean record(long startNanos, long endNanos) {
+            if (windowStart == 0) windowStart = startNanos;
+            histogram.record(endNanos - startNanos);
+            long elapsed = endNanos - windowStart;
+            if (elapsed < WINDOW_NANOS) return false;
+
+            perSecond = (int) Math.round(histogram.getTotalCount() * 1e9 / elapsed);
+            meanNanos = Math.round(histogram.getMean());
+            p50Nanos = histogram.valueAtPercentile(50);
+            p99Nanos = histogram.valueAtPercentile(99);
+            maxNanos = histogram.getMax();
+            histogram.reset();
+            windowStart = endNanos;
+            publications++; // Single writer / Un seul écrivain
+            return true;
+        }
+
+        public int getPerSecond() { return perSecond; }
+        public long getMeanNanos() { return meanNanos; }
+        public long getP50Nanos() { return p50Nanos; }
+        public long getP99Nanos() { return p99Nanos; }
+        public long getMaxNanos() { return maxNanos; }
+        public int getPublications() { return publications; }
+    }
+
+    private final Window ticks = new Window(); // (EN) Game ticks, written by the game loop. (FR) Ticks de jeu, écrits par la boucle de jeu.
+    private final Window frames = new Window(); // (EN) Rendered frames, written by the rendering thread. (FR) Images rendues, écrites par le thread de rendu.
+    private final Window inputs = new Window(); // (EN) Input-to-tick latencies, written by the game loop. (FR) Latences entrée-tick, écrites par la boucle de jeu.
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans(); // (EN) Sampled once per window. (FR) Échantillonnés une fois par fenêtre.
+    private long lastGcCount; // (EN) Cumulated collections at the last window. (FR) Collections cumulées à la dernière fenêtre.
+    private long lastGcMillis; // (EN) Cumulated collection time at the last window. (FR) Temps de collection cumulé à la dernière fenêtre.
+    private volatile long gcCount; // (EN) Collections during the last window. (FR) Collections pendant la dernière fenêtre.
+    private volatile long gcMillis; // (EN) Collection time during the last window. (FR) Temps de collection pendant la dernière fenêtre.
+    private volatile int ballCount; // (EN) Balls in play at the end of the last window. (FR) Balles en jeu à la fin de la dernière fenêtre.
+    private volatile int particleCount; // (EN) Live particles at the end of the last window. (FR) Particules vivantes à la fin de la dernière fenêtre.
+
+    /**
+     * Records one game tick; must always be called from the game loop thread.
+     * <p>
+     * Enregistre un tick de jeu ; doit toujours être appelée depuis le thread de la boucle de jeu.
+     *
+     * @param startNanos    (EN) {@code System.nanoTime()} before the tick. (FR) {@code System.nanoTime()} avant le tick.
+     * @param endNanos      (EN) {@code System.nanoTime()} after the tick. (FR) {@code System.nanoTime()} après le tick.
+     * @param balls         (EN) Balls in play after the tick. (FR) Balles en jeu après le tick.
+     * @param particles     (EN) Live particles after the tick. (FR) Particules vivantes après le tick.
+     */
+    public void recordTick(long startNanos, long endNanos, int balls, int particles) {
+        if (ticks.record(startNanos, endNanos)) {
+            ballCount = balls;
+            particleCount = particles;
+            sampleGarbageCollectors();
+        }
+    }
+
+    /**
+     * Records one rendered frame; must always be called from the same rendering thread.
+     * <p>
+     * Enregistre une image rendue ; doit toujours être appelée depuis le même thread de rendu.
+     *
+     * @param startNanos (EN) {@code System.nanoTime()} before drawing. (FR) {@code System.nanoTime()} avant le dessin.
+     * @param endNanos   (EN) {@code System.nanoTime()} after drawing. (FR) {@code System.nanoTime()} après le dessin.
+     */
+    public void recordFrame(long startNanos, long endNanos) {
+        frames.record(startNanos, endNanos);
+    }
+
+    /**
+     * Records the delay between an input event and the tick applying it; game loop thread only.
+     * The input window is published on the first input after a second, so its figures stay unchanged while no key is pressed.
+     * <p>
+     * Enregistre le délai entre un événement d'entrée et le tick qui l'applique ; thread de la boucle de jeu uniquement.
+     * La fenêtre des entrées est publiée à la première entrée après une seconde, ses chiffres restent donc inchangés tant qu'aucune touche n'est appuyée.
+     *
+     * @param eventNanos   (EN) {@code System.nanoTime()} when the event was received. (FR) {@code System.nanoTime()} à la réception de l'événement.
+     * @param appliedNanos (EN) {@code System.nanoTime()} when the tick applied it. (FR) {@code System.nanoTime()} lorsque le tick l'a appliqué.
+     */
+    public void recordInput(long eventNanos, long appliedNanos) {
+        inputs.record(eventNanos, appliedNanos);
+    }
+
+    /**
+     * Computes the collections and collection time of the elapsed window, over all collectors.
+     * <p>
+     * Calcule les collections et le temps de collection de la fenêtre écoulée, sur tous les collecteurs.
+     */
+    private void sampleGarbageCollectors() {
+        long count = 0;
+        long millis = 0;
+        for (int i = 0; i < collectors.size(); i++) {
+            GarbageCollectorMXBean collector = collectors.get(i);
+            count += Math.max(0, collector.getCollectionCount()); // -1 when undefined / -1 si non défini
+            millis += Math.max(0, collector.getCollectionTime());
+        }
+        gcCount = count - lastGcCount;
+        gcMillis = millis - lastGcMillis;
+        lastGcCount = count;
+        lastGcMillis = millis;
+    }
+
+    public Window getTicks() { return ticks; }
+    public Window getFrames() { return frames; }
+    public Window getInputs() { return inputs; }
+    public long getGcCount() { return gcCount; }
+    public long getGcMillis() { return gcMillis; }
+    public int getBallCount() { return ballCount; }
+    public int getParticleCount() { return particleCount; }
+}
@@ -0,0 +1,57 @@
+// PolicyPaddleController.java
+// This file contains the paddle controller driven by a trained neural network policy.
+
+/**
+ * Paddle controller playing a policy trained in {@link VectorPongEnv}: each tick it encodes the match with
+ * {@link VectorPongEnv#observe} (mirrored when it plays paddle 2), evaluates the {@link MlpPolicy} and plays the
+ * action of the largest of its three outputs (up, still, down, as the -1, 0 and 1 actions of the environment).
+ * All buffers are allocated once, so a decision allocates nothing; it takes a few microseconds for a network of
+ * two hidden layers of 64 (see {@link PongBenchmark}). Enabled in the game with {@code -Dpong.policy=weights.bin}.
+ * <p>
+ * Contrôleur de raquette jouant une politique entraînée dans {@link VectorPongEnv} : à chaque tick, il encode la
+ * partie avec {@link VectorPongEnv#observe} (en miroir quand il joue la raquette 2), évalue le {@link MlpPolicy} et
+ * joue l'action de la plus grande de ses trois sorties (haut, immobile, bas, comme les actions -1, 0 et 1 de
+ * l'environnement). Tous les tampons sont alloués une fois, une décision n'alloue donc rien ; elle prend quelques
+ * microsecondes pour un réseau de deux couches cachées de 64 (voir {@link PongBenchmark}). Activé dans le jeu avec
+ * {@code -Dpong.policy=poids.bin}.
+ */
+public class PolicyPaddleController implements PaddleController {
+    public static final int ACTIONS = 3; // (EN) Outputs of the policy: up, still, down. (FR) Sorties de la politique : haut, immobile, bas.
+
+    private final MlpPolicy policy; // (EN) The trained network. (FR) Le réseau entraîné.
+    private final float[] observation = new float[VectorPongEnv.OBSERVATION_SIZE]; // (EN) Input of the current tick. (FR) Entrée du tick courant.
+    private final float[] output = new float[ACTIONS]; // (EN) Score of each action. (FR) Score de chaque action.
+    private final float[] scratch; // (EN) Hidden activations. (FR) Activations cachées.
+
+    /**
+     * Constructs a controller playing a policy.
+     * <p>
+     * Construit un contrôleur jouant une politique.
+     *
+     * @param policy (EN) A network with {@link VectorPongEnv#OBSERVATION_SIZE} inputs and {@link #ACTIONS} outputs. (FR) Un réseau à {@link VectorPongEnv#OBSERVATION_SIZE} entrées et {@link #ACTIONS} sorties.
+     * @throws IllegalArgumentException (EN) If the network has other sizes. (FR) Si le réseau a d'autres tailles.
+     */
+    public PolicyPaddleController(MlpPolicy policy) {
+        if (policy.getInputSize() != VectorPongEnv.OBSERVATION_SIZE || policy.getOutputSize() != ACTIONS) {
+            throw new IllegalArgumentException("Expected a policy with " + VectorPongEnv.OBSERVATION_SIZE + " inputs and "
+                    + ACTIONS + " outputs, got " + policy.getInputSize() + " and " + policy.getOutputSize());
+        }
+        this.policy = policy;
+        this.scratch = new float[policy.getScratchSize()];
+    }
+
+    public MlpPolicy getPolicy() {
+        return policy;
+    }
+
+    @Override
+    public int computeMove(MatchEngine engine, int player) {
+        VectorPongEnv.observe(engine, player, observation, 0);
+        policy.forward(observation, output, scratch);
+        int best = 0;
+        for (int a = 1; a < ACTIONS; a++) {
+            if (output[a] > output[best]) best = a;
+        }
+        return (best - 1) * MatchEngine.PADDLE_SPEED;
+    }
+}
@@ -0,0 +1,487 @@
+// PongBenchmark.java
+// This file contains the micro-benchmark harness of the tick, AI, render and high score hot paths.
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Micro-benchmarks of the hot paths, so that every performance change can be backed by numbers:
+ * <ul>
+ * <li>{@code GamePanel.updateGameLogic} (particles, listener and engine);</li>
+ * <li>{@code MatchEngine.step} with 1, 10 and 1000 balls in play, dominated by the ball movement and collision loop;</li>
+ * <li>{@code AIPaddleController.computeMove} for each difficulty, and with 1000 balls in play;</li>
+ * <li>{@link PolicyPaddleController#computeMove} with two hidden layers of 64 and of 256 (random weights);</li>
+ * <li>{@link VectorPongEnv#step} of 1024 matches against a random policy, reported per match;</li>
+ * <li>{@code GamePanel.paintComponent} of a match in progress into an offscreen {@link BufferedImage};</li>
+ * <li>{@code HighScoreStore.load} / {@code save} on a full table in a scratch file, and {@code append} of one new
+ *     score to its log (compactions included);</li>
+ * <li>{@link HighScoreCodec} against the legacy Java serialization, in memory, for 10, 10k and 1M entries;</li>
+ * <li>{@link Leaderboard} insert, rank and page queries on 1M entries, against the old re-sorted list.</li>
+ * </ul>
+ * Each benchmark runs warmup iterations (JIT) then measured iterations of about {@code ITERATION_MILLIS}
+ * each, and reports the average time per operation with its standard deviation across iterations.
+ * Per-batch setup (refilling balls, advancing the match before a frame) is excluded from the timing and
+ * every result is folded into a sink so that the JIT cannot drop the measured code.
+ * Run with {@code java -Djava.awt.headless=true -cp PongGame PongBenchmark [filter]}, where the optional
+ * filter keeps only the benchmarks whose name contains it.
+ * <p>
+ * Micro-benchmarks des chemins critiques, afin que chaque changement de performance puisse être appuyé par des chiffres :
+ * <ul>
+ * <li>{@code GamePanel.updateGameLogic} (particules, écouteur et moteur) ;</li>
+ * <li>{@code MatchEngine.step} avec 1, 10 et 1000 balles en jeu, dominé par la boucle de déplacement et de collision des balles ;</li>
+ * <li>{@code AIPaddleController.computeMove} pour chaque difficulté, et avec 1000 balles en jeu ;</li>
+ * <li>{@link PolicyPaddleController#computeMove} avec deux couches cachées de 64 et de 256 (poids aléatoires) ;</li>
+ * <li>{@link VectorPongEnv#step} de 1024 parties contre une politique aléatoire, rapporté par partie ;</li>
+ * <li>{@code GamePanel.paintComponent} d'une partie en cours dans une {@link BufferedImage} hors écran ;</li>
+ * <li>{@code HighScoreStore.load} / {@code save} sur une table pleine dans un fichier de travail, et {@code append} d'un
+ *     nouveau score à son journal (compactages compris) ;</li>
+ * <li>{@link HighScoreCodec} face à l'ancienne sérialisation Java, en mémoire, pour 10, 10k et 1M entrées ;</li>
+ * <li>insertion, requêtes de rang et de page du {@link Leaderboard} sur 1M entrées, face à l'ancienne liste triée à nouveau.</li>
+ * </ul>
+ * Chaque benchmark exécute des itérations de préchauffage (JIT) puis des itérations mesurées d'environ
+ * {@code ITERATION_MILLIS} chacune, et rapporte le temps moyen par opération avec son écart type entre itérations.
+ * La préparation de chaque lot (remplissage des balles, avance de la partie avant une image) est exclue de la mesure
+ * et chaque résultat est accumulé dans un puits afin que le JIT ne puisse pas supprimer le code mesuré.
+ * Lancer avec {@code java -Djava.awt.headless=true -cp PongGame PongBenchmark [filtre]}, où le filtre optionnel
+ * ne garde que les benchmarks dont le nom le contient.
+ */
+public class PongBenchmark {
+    private static final int WARMUP_ITERATIONS = 5; // (EN) Iterations discarded for JIT warmup. (FR) Itérations ignorées pour le préchauffage du JIT.
+    private static final int MEASURED_ITERATIONS = 10; // (EN) Iterations reported. (FR) Itérations rapportées.
+    private static final long ITERATION_MILLIS = 200; // (EN) Minimum duration of one iteration. (FR) Durée minimale d'une itération.
+    private static final int TICKS_PER_BATCH = 32; // (EN) Engine ticks timed after each ball refill, before any ball can reach a goal. (FR) Ticks du moteur mesurés après chaque remplissage de balles, avant qu'une balle puisse atteindre un but.
+    private static final int AI_CALLS_PER_BATCH = 1000; // (EN) AI decisions timed per batch. (FR) Décisions de l'IA mesurées par lot.
+    private static final int[] POLICY_HIDDEN_WIDTHS = {64, 256}; // (EN) Width of the two hidden layers of the benchmarked policies. (FR) Largeur des deux couches cachées des politiques mesurées.
+    private static final int VECTOR_ENV_MATCHES = 1024; // (EN) Matches stepped per call of the training environment. (FR) Parties avancées par appel de l'environnement d'entraînement.
+    private static final int HIGH_SCORE_TABLE_SIZE = 7; // (EN) Entries of a full table (GamePanel.MAX_HIGHSCORES_TO_DISPLAY). (FR) Entrées d'une table pleine (GamePanel.MAX_HIGHSCORES_TO_DISPLAY).
+    private static final int[] CODEC_ENTRY_COUNTS = {10, 10_000, 1_000_000}; // (EN) Sizes of the high score files compared. (FR) Tailles des fichiers de meilleurs scores comparés.
+    private static final int LEADERBOARD_SIZE = 1_000_000; // (EN) Entries of the leaderboard queried. (FR) Entrées du classement interrogé.
+    private static final int LEADERBOARD_MAX_SCORE = 100_000; // (EN) Scores drawn in [0, this). (FR) Scores tirés dans [0, cette valeur).
+    private static final int LEADERBOARD_CALLS_PER_BATCH = 1000; // (EN) Inserts or rank queries timed per batch. (FR) Insertions ou requêtes de rang mesurées par lot.
+    private static final int LEADERBOARD_PAGE_SIZE = 20; // (EN) Entries of one leaderboard page. (FR) Entrées d'une page du classement.
+    private static final int WIDTH = 800; // (EN) Field width, as in the game window. (FR) Largeur du terrain, comme dans la fenêtre du jeu.
+    private static final int HEIGHT = 600; // (EN) Field height, as in the game window. (FR) Hauteur du terrain, comme dans la fenêtre du jeu.
+
+    private static volatile long sink; // (EN) Consumes results so the JIT keeps the measured code. (FR) Consomme les résultats pour que le JIT conserve le code mesuré.
+
+    /**
+     * One benchmark: an untimed setup before each batch, and a timed batch of operations.
+     * <p>
+     * Un benchmark : une préparation non mesurée avant chaque lot, et un lot d'opérations mesuré.
+     */
+    private abstract static class Benchmark {
+        final String name; // (EN) Name shown in the report and matched by the filter. (FR) Nom affiché dans le rapport et comparé au filtre.
+        final int opsPerBatch; // (EN) Operations performed by one batch. (FR) Opérations effectuées par un lot.
+
+        Benchmark(String name, int opsPerBatch) {
+            this.name = name;
+            this.opsPerBatch = opsPerBatch;
+        }
+
+        /**
+         * Prepares the next batch; not timed.
+         * <p>
+         * Prépare le prochain lot ; non mesuré.
+         */
+        void setUp() throws Exception { }
+
+        /**
+         * Runs one timed batch and returns a value for the sink.
+         * <p>
+         * Exécute un lot mesuré et retourne une valeur pour le puits.
+         */
+        abstract long batch() throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String filter = args.length > 0 ? args[0] : "";
+        List<Benchmark> benchmarks = createBenchmarks();
+
+        System.out.println(String.format(Locale.ROOT, "%-26s %14s %12s", "Benchmark", "ns/op", "stddev"));
+        for (Benchmark benchmark : benchmarks) {
+            if (!benchmark.name.contains(filter)) continue;
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                runIteration(benchmark);
+            }
+            double[] samples = new double[MEASURED_ITERATIONS];
+            for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+                samples[i] = runIteration(benchmark);
+            }
+            double mean = 0;
+            for (double s : samples) mean += s;
+            mean /= samples.length;
+            double variance = 0;
+            for (double s : samples) variance += (s - mean) * (s - mean);
+            double stddev = Math.sqrt(variance / (samples.length - 1));
+            System.out.println(String.format(Locale.ROOT, "%-26s %14.1f %12.1f", benchmark.name, mean, stddev));
+        }
+        if (sink == 42) System.out.println(); // Keeps the sink observable / Garde le puits observable
+    }
+
+    /**
+     * Runs batches for at least {@code ITERATION_MILLIS} of timed work.
+     * <p>
+     * Exécute des lots pendant au moins {@code ITERATION_MILLIS} de travail mesuré.
+     *
+     * @return (EN) Average nanoseconds per operation. (FR) Nanosecondes moyennes par opération.
+     */
+    private static double runIteration(Benchmark benchmark) throws Exception {
+        long target = ITERATION_MILLIS * 1_000_000L;
+        long timed = 0;
+        long ops = 0;
+        long result = 0;
+        while (timed < target) {
+            benchmark.setUp();
+            long start = System.nanoTime();
+            result += benchmark.batch();
+            timed += System.nanoTime() - start;
+            ops += benchmark.opsPerBatch;
+        }
+        sink += result;
+        return (double) timed / ops;
+    }
+
+    private static List<Benchmark> createBenchmarks() throws IOException {
+        List<Benchmark> benchmarks = new ArrayList<>();
+
+        // --- Game tick / Tick de jeu ---
+        PongGame.GamePanel tickPanel = new PongGame.GamePanel(WIDTH, HEIGHT, scratchFile("pong_bench_tick.dat"));
+        benchmarks.add(new Benchmark("updateGameLogic", 1) {
+            @Override void setUp() {
+                if (!tickPanel.isPlaying()) tickPanel.startNewGame(); // Player 1 idle against the AI / Joueur 1 immobile contre l'IA
+            }
+            @Override long batch() {
+                tickPanel.updateGameLogic();
+                return 0;
+            }
+        });
+
+        for (int ballCount : new int[] {1, 10, 1000}) {
+            benchmarks.add(stepBenchmark(ballCount));
+        }
+
+        // --- AI decisions / Décisions de l'IA ---
+        for (AIDifficulty difficulty : AIDifficulty.values()) {
+            MatchEngine engine = new MatchEngine(WIDTH, HEIGHT, 7L);
+            AIPaddleController ai = new AIPaddleController(difficulty, new Random(3));
+            engine.startNewMatch();
+            benchmarks.add(new Benchmark("computeMove/" + difficulty, AI_CALLS_PER_BATCH) {
+                @Override void setUp() {
+                    if (engine.isMatchOver()) engine.startNewMatch();
+                    engine.step(); // Moves the ball between batches / Déplace la balle entre les lots
+                }
+                @Override long batch() {
+                    long total = 0;
+                    for (int i = 0; i < AI_CALLS_PER_BATCH; i++) {
+                        total += ai.computeMove(engine, 2);
+                    }
+                    return total;
+                }
+            });
+        }
+        benchmarks.add(crowdedComputeMoveBenchmark(1000));
+        for (int hidden : POLICY_HIDDEN_WIDTHS) {
+            benchmarks.add(policyComputeMoveBenchmark(hidden));
+        }
+
+        // --- Training environment / Environnement d'entraînement ---
+        VectorPongEnv env = new VectorPongEnv(VECTOR_ENV_MATCHES, AIProfile.MEDIUM, 36_000, 17L);
+        int[] actions = new int[VECTOR_ENV_MATCHES];
+        Random actionSource = new Random(18);
+        env.reset();
+        benchmarks.add(new Benchmark("vectorEnv/step/matches=" + VECTOR_ENV_MATCHES, VECTOR_ENV_MATCHES) {
+            @Override void setUp() {
+                for (int i = 0; i < actions.length; i++) {
+                    actions[i] = actionSource.nextInt(3) - 1; // A random policy / Une politique aléatoire
+                }
+            }
+            @Override long batch() {
+                return (long) env.step(actions)[0];
+            }
+        });
+
+        // --- Rendering / Rendu ---
+        PongGame.GamePanel paintPanel = new PongGame.GamePanel(WIDTH, HEIGHT, scratchFile("pong_bench_paint.dat"));
+        paintPanel.setSize(WIDTH, HEIGHT);
+        BufferedImage frame = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D frameGraphics = frame.createGraphics();
+        paintPanel.startNewGame();
+        benchmarks.add(new Benchmark("paintComponent/PLAYING", 1) {
+            @Override void setUp() {
+                if (!paintPanel.isPlaying()) paintPanel.startNewGame();
+                paintPanel.updateGameLogic(); // A new frame each time, as in the game / Une nouvelle image à chaque fois, comme en jeu
+            }
+            @Override long batch() {
+                paintPanel.paint(frameGraphics);
+                return frame.getRGB(WIDTH / 2, HEIGHT / 2);
+            }
+        });
+
+        // --- High scores / Meilleurs scores ---
+        String highScoreFile = scratchFile("pong_bench_highscores.dat");
+        scratchFile("pong_bench_highscores.dat.log"); // Log of the append benchmark / Journal du benchmark d'ajout
+        writeFullHighScoreTable(highScoreFile);
+        HighScoreStore highScoreStore = new HighScoreStore(highScoreFile, null);
+        List<PongGame.HighScoreEntry> fullTable = highScoreStore.load();
+        benchmarks.add(new Benchmark("loadHighScores", 1) {
+            @Override long batch() {
+                return highScoreStore.load().size();
+            }
+        });
+        benchmarks.add(new Benchmark("saveHighScores", 1) {
+            @Override long batch() {
+                return highScoreStore.save(fullTable) ? 1 : 0;
+            }
+        });
+        List<PongGame.HighScoreEntry> newScore = List.of(new PongGame.HighScoreEntry("BENCH", 1));
+        benchmarks.add(new Benchmark("appendHighScore", 1) {
+            @Override long batch() {
+                return highScoreStore.append(newScore) ? 1 : 0;
+            }
+        });
+
+        // --- High score file formats / Formats du fichier des meilleurs scores ---
+        for (int entryCount : CODEC_ENTRY_COUNTS) {
+            addCodecBenchmarks(benchmarks, entryCount);
+        }
+
+        // --- Leaderboard / Classement ---
+        addLeaderboardBenchmarks(benchmarks);
+        return benchmarks;
+    }
+
+    /**
+     * Leaderboard queries on {@code LEADERBOARD_SIZE} entries, and one insert into the old sorted list for comparison.
+     * <p>
+     * Requêtes sur un classement de {@code LEADERBOARD_SIZE} entrées, et une insertion dans l'ancienne liste triée pour comparaison.
+     */
+    private static void addLeaderboardBenchmarks(List<Benchmark> benchmarks) {
+        Random scores = new Random(9);
+        List<PongGame.HighScoreEntry> entries = new ArrayList<>(LEADERBOARD_SIZE);
+        for (int i = 0; i < LEADERBOARD_SIZE; i++) {
+            entries.add(new PongGame.HighScoreEntry("Joueur" + scores.nextInt(100_000), scores.nextInt(LEADERBOARD_MAX_SCORE)));
+        }
+        Leaderboard[] leaderboard = {new Leaderboard(entries)}; // Replaced when inserts made it too large / Remplacé quand les insertions l'ont trop agrandi
+        PongGame.HighScoreEntry[] newEntries = new PongGame.HighScoreEntry[LEADERBOARD_CALLS_PER_BATCH];
+        for (int i = 0; i < newEntries.length; i++) {
+            newEntries[i] = new PongGame.HighScoreEntry("Nouveau" + i, scores.nextInt(LEADERBOARD_MAX_SCORE));
+        }
+
+        benchmarks.add(new Benchmark("leaderboard/add", LEADERBOARD_CALLS_PER_BATCH) {
+            @Override void setUp() {
+                if (leaderboard[0].size() > 2 * LEADERBOARD_SIZE) leaderboard[0] = new Leaderboard(entries);
+            }
+            @Override long batch() {
+                for (PongGame.HighScoreEntry entry : newEntries) {
+                    leaderboard[0].add(entry);
+                }
+                return leaderboard[0].size();
+            }
+        });
+        benchmarks.add(new Benchmark("leaderboard/rankOf", LEADERBOARD_CALLS_PER_BATCH) {
+            @Override long batch() {
+                long total = 0;
+                for (PongGame.HighScoreEntry entry : newEntries) {
+                    total += leaderboard[0].rankOf(entry.getScore());
+                }
+                return total;
+            }
+        });
+        benchmarks.add(new Benchmark("leaderboard/page", 1) {
+            int offset;
+            @Override void setUp() { offset = (offset + 7919) % LEADERBOARD_SIZE; }
+            @Override long batch() {
+                return leaderboard[0].page(offset, LEADERBOARD_PAGE_SIZE).size();
+            }
+        });
+        List<PongGame.HighScoreEntry> sortedList = new ArrayList<>(entries);
+        Collections.sort(sortedList);
+        benchmarks.add(new Benchmark("sortedList/add", 1) {
+            int next;
+            @Override long batch() {
+                sortedList.add(newEntries[next++ % newEntries.length]); // As the old addHighScore / Comme l'ancien addHighScore
+                Collections.sort(sortedList);
+                sortedList.remove(sortedList.size() - 1); // Keeps the size constant / Garde la taille constante
+                return sortedList.size();
+            }
+        });
+    }
+
+    /**
+     * Writes and reads {@code entryCount} entries with the binary format and with the legacy serialization,
+     * to and from memory so that the disk does not hide the cost of the format itself.
+     * <p>
+     * Écrit et lit {@code entryCount} entrées avec le format binaire et avec l'ancienne sérialisation,
+     * vers et depuis la mémoire afin que le disque ne masque pas le coût du format lui-même.
+     */
+    private static void addCodecBenchmarks(List<Benchmark> benchmarks, int entryCount) throws IOException {
+        ArrayList<PongGame.HighScoreEntry> entries = new ArrayList<>(entryCount);
+        Random names = new Random(8);
+        for (int i = 0; i < entryCount; i++) {
+            entries.add(new PongGame.HighScoreEntry("Joueur" + names.nextInt(100_000), entryCount - i));
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        HighScoreCodec.write(entries, buffer);
+        byte[] binary = buffer.toByteArray();
+        buffer.reset();
+        try (ObjectOutputStream oos = new ObjectOutputStream(buffer)) {
+            oos.writeObject(entries);
+        }
+        byte[] legacy = buffer.toByteArray();
+
+        benchmarks.add(new Benchmark("codec/write/" + entryCount, 1) {
+            @Override void setUp() { buffer.reset(); }
+            @Override long batch() throws IOException {
+                HighScoreCodec.write(entries, buffer);
+                return buffer.size();
+            }
+        });
+        benchmarks.add(new Benchmark("codec/read/" + entryCount, 1) {
+            @Override long batch() throws IOException {
+                return HighScoreCodec.read(new ByteArrayInputStream(binary)).size();
+            }
+        });
+        benchmarks.add(new Benchmark("legacy/write/" + entryCount, 1) {
+            @Override void setUp() { buffer.reset(); }
+            @Override long batch() throws IOException {
+                try (ObjectOutputStream oos = new ObjectOutputStream(buffer)) {
+                    oos.writeObject(entries);
+                }
+                return buffer.size();
+            }
+        });
+        benchmarks.add(new Benchmark("legacy/read/" + entryCount, 1) {
+            @Override long batch() throws IOException {
+                return HighScoreCodec.readLegacy(new ByteArrayInputStream(legacy)).size();
+            }
+        });
+    }
+
+    /**
+     * AI decision with many balls in play: the engine steps between batches, so the first call of each batch
+     * applies one tick of ball changes to the AI's queue and the others pick the target from it.
+     * <p>
+     * Décision de l'IA avec de nombreuses balles en jeu : le moteur avance entre les lots, donc le premier appel de
+     * chaque lot applique un tick de changements de balles à la file de l'IA et les suivants y choisissent la cible.
+     */
+    private static Benchmark crowdedComputeMoveBenchmark(int ballCount) {
+        MatchEngine engine = new MatchEngine(WIDTH, HEIGHT, 13L);
+        AIPaddleController ai = new AIPaddleController(AIDifficulty.HARD, new Random(8));
+        Random velocities = new Random(9);
+        return new Benchmark("computeMove/balls=" + ballCount, AI_CALLS_PER_BATCH) {
+            @Override void setUp() {
+                if (engine.isMatchOver() || engine.getBalls().size() < ballCount / 2) {
+                    engine.startNewMatch();
+                    for (int b = 1; b < ballCount; b++) {
+                        int vx = (velocities.nextBoolean() ? 1 : -1) * (3 + velocities.nextInt(4));
+                        int vy = velocities.nextInt(13) - 6;
+                        engine.addBall(WIDTH / 2, HEIGHT / 2, vx, vy);
+                    }
+                }
+                engine.step(); // Balls bounce and change between batches / Les balles rebondissent et changent entre les lots
+            }
+            @Override long batch() {
+                long total = 0;
+                for (int i = 0; i < AI_CALLS_PER_BATCH; i++) {
+                    total += ai.computeMove(engine, 2);
+                }
+                return total;
+            }
+        };
+    }
+
+    /**
+     * Decision of a trained policy, a network with two hidden layers of a given width; the weights are random, which
+     * costs the same as trained ones.
+     * <p>
+     * Décision d'une politique entraînée, un réseau à deux couches cachées d'une largeur donnée ; les poids sont
+     * aléatoires, ce qui coûte autant que des poids entraînés.
+     */
+    private static Benchmark policyComputeMoveBenchmark(int hidden) {
+        MatchEngine engine = new MatchEngine(WIDTH, HEIGHT, 7L);
+        PolicyPaddleController policy = new PolicyPaddleController(MlpPolicy.random(
+                new int[] {VectorPongEnv.OBSERVATION_SIZE, hidden, hidden, PolicyPaddleController.ACTIONS}, new Random(19)));
+        engine.startNewMatch();
+        return new Benchmark("computeMove/policy=" + hidden + "x" + hidden, AI_CALLS_PER_BATCH) {
+            @Override void setUp() {
+                if (engine.isMatchOver()) engine.startNewMatch();
+                engine.step(); // Moves the ball between batches / Déplace la balle entre les lots
+            }
+            @Override long batch() {
+                long total = 0;
+                for (int i = 0; i < AI_CALLS_PER_BATCH; i++) {
+                    total += policy.computeMove(engine, 2);
+                }
+                return total;
+            }
+        };
+    }
+
+    /**
+     * Engine tick with a fixed number of balls: each batch restarts the match with the balls at the center
+     * and times {@code TICKS_PER_BATCH} ticks, so the ball count stays constant during the measure.
+     * <p>
+     * Tick du moteur avec un nombre fixe de balles : chaque lot relance la partie avec les balles au centre
+     * et mesure {@code TICKS_PER_BATCH} ticks, afin que le nombre de balles reste constant pendant la mesure.
+     */
+    private static Benchmark stepBenchmark(int ballCount) {
+        MatchEngine engine = new MatchEngine(WIDTH, HEIGHT, 11L);
+        engine.setControllers(new AIPaddleController(AIDifficulty.MEDIUM, new Random(4)),
+                              new AIPaddleController(AIDifficulty.MEDIUM, new Random(5)));
+        Random velocities = new Random(6);
+        return new Benchmark("step/balls=" + ballCount, TICKS_PER_BATCH) {
+            @Override void setUp() {
+                engine.startNewMatch(); // One ball in play / Une balle en jeu
+                for (int b = 1; b < ballCount; b++) {
+                    int vx = (velocities.nextBoolean() ? 1 : -1) * (3 + velocities.nextInt(4));
+                    int vy = velocities.nextInt(13) - 6;
+                    engine.addBall(WIDTH / 2, HEIGHT / 2, vx, vy);
+                }
+            }
+            @Override long batch() {
+                for (int t = 0; t < TICKS_PER_BATCH; t++) {
+                    engine.step();
+                }
+                return engine.getBalls().size();
+            }
+        };
+    }
+
+    /**
+     * Writes a full table of high scores in the binary format.
+     * <p>
+     * Écrit une table complète de meilleurs scores dans le format binaire.
+     */
+    private static void writeFullHighScoreTable(String filename) throws IOException {
+        ArrayList<PongGame.HighScoreEntry> entries = new ArrayList<>();
+        for (int i = 0; i < HIGH_SCORE_TABLE_SIZE; i++) {
+            entries.add(new PongGame.HighScoreEntry("Joueur" + i, 100 - i * 7));
+        }
+        try (FileOutputStream fos = new FileOutputStream(filename)) {
+            HighScoreCodec.write(entries, fos);
+        }
+    }
+
+    /**
+     * Returns a file in the temporary directory, deleted on exit (never the player's file).
+     * <p>
+     * Retourne un fichier dans le répertoire temporaire, supprimé à la sortie (jamais le fichier du joueur).
+     */
+    private static String scratchFile(String name) {
+        File file = new File(System.getProperty("java.io.tmpdir"), name);
+        file.delete();
+        file.deleteOnExit();
+        return file.getPath();
+    }
+}
@@ -14,26 +14,21 @@ import java.awt.Graphics2D; // For more advanced 2D drawing operations / Pour le
 import java.awt.RenderingHints; // To improve rendering quality (anti-aliasing) / Pour améliorer la qualité du rendu (anti-aliasing)
 import java.awt.event.KeyEvent; // For handling keyboard events / Pour gérer les événements clavier
 import java.awt.event.KeyListener; // Interface for listening to keyboard events / Interface pour écouter les événements clavier
-import java.awt.RadialGradientPaint; // For radial gradients / Pour les dégradés radiaux
-import java.awt.MultipleGradientPaint.CycleMethod; // For gradient cycle methods / Pour les méthodes de cycle de dégradé
-import java.awt.geom.Point2D; // For 2D points / Pour les points 2D
-import java.awt.GradientPaint; // For linear gradients / Pour les dégradés linéaires
 import java.awt.AlphaComposite; // For fading effects / Pour les effets de fondu
+import java.awt.BorderLayout; // For hosting the active-rendering canvas / Pour accueillir le canevas de rendu actif
 
 // Imports for high score persistence / Importations pour la persistance des meilleurs scores
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
-import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.Collections;
+import java.io.Serializable; // Legacy high score files only / Anciens fichiers de meilleurs scores uniquement
+import java.lang.management.ManagementFactory;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.ObjectName;
 
 
 /**
@@ -86,6 +81,13 @@ public class PongGame {
         int y = (screenSize.height - WINDOW_HEIGHT) / 2;
         frame.setLocation(x, y);
 
+        // Expose live metrics to local JMX clients (jconsole) / Exposer les métriques en direct aux clients JMX locaux (jconsole)
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(gamePanel.getMetrics(), new ObjectName(GameMetrics.OBJECT_NAME));
+        } catch (JMException e) {
+            LOGGER.log(Level.WARNING, "Could not register the game metrics MBean", e); // The game runs without it / Le jeu fonctionne sans
+        }
+
         frame.setVisible(true); // Make the frame visible / Rendre le cadre visible
         gamePanel.startGameLoop(); // Start the game loop after the panel is visible and added
                                    // Démarrer la boucle de jeu après que le panneau soit visible et ajouté
@@ -93,10 +95,12 @@ public class PongGame {
 
     /**
      * Represents an entry in the high score table.
-     * Implements Serializable for persistence and Comparable for sorting by score in descending order.
+     * Implements Comparable for sorting by score in descending order; it is stored by {@link HighScoreCodec},
+     * and stays Serializable (and nested here) only so that files of older versions can still be migrated.
      * <p>
      * Représente une entrée dans la table des meilleurs scores.
-     * Implémente Serializable pour la persistance et Comparable pour le tri par score décroissant.
+     * Implémente Comparable pour le tri par score décroissant ; elle est stockée par {@link HighScoreCodec},
+     * et reste Serializable (et imbriquée ici) uniquement pour que les fichiers des anciennes versions puissent encore être migrés.
      */
     static class HighScoreEntry implements Serializable, Comparable<HighScoreEntry> {
         private static final long serialVersionUID = 1L; // For serialization compatibility / Pour la compatibilité de sérialisation
@@ -166,198 +170,13 @@ public class PongGame {
         }
     }
 
-    /**
-     * Represents a single particle for visual effects (e.g., sparks, explosions).
-     * Particles have position, velocity, life, and a color, fading out as they die.
-     * <p>
-     * Représente une seule particule pour les effets visuels (par exemple, étincelles, explosions).
-     * Les particules ont une position, une vitesse, une durée de vie et une couleur, s'estompant à mesure qu'elles disparaissent.
-     */
-    static class Particle {
-        private float x, y; // (EN) Current position of the particle. (FR) Position actuelle de la particule.
-        private float vx, vy; // (EN) Velocity components of the particle. (FR) Composantes de la vitesse de la particule.
-        private int life; // (EN) Remaining life of the particle (in updates). (FR) Durée de vie restante de la particule (en mises à jour).
-        private Color color; // (EN) Color of the particle. (FR) Couleur de la particule.
-        private float originalLife; // (EN) Initial life for calculating fade. (FR) Durée de vie initiale pour le calcul du fondu.
-
-        /**
-         * Constructs a new Particle.
-         * <p>
-         * Construit une nouvelle particule.
-         *
-         * @param x     (EN) Initial X coordinate. (FR) Coordonnée X initiale.
-         * @param y     (EN) Initial Y coordinate. (FR) Coordonnée Y initiale.
-         * @param vx    (EN) Initial velocity in X direction. (FR) Vitesse initiale dans la direction X.
-         * @param vy    (EN) Initial velocity in Y direction. (FR) Vitesse initiale dans la direction Y.
-         * @param life  (EN) Initial life duration of the particle. (FR) Durée de vie initiale de la particule.
-         * @param color (EN) Color of the particle. (FR) Couleur de la particule.
-         */
-        public Particle(float x, float y, float vx, float vy, int life, Color color) {
-            this.x = x;
-            this.y = y;
-            this.vx = vx;
-            this.vy = vy;
-            this.life = life;
-            this.originalLife = life;
-            this.color = color;
-        }
-
-        /**
-         * Updates the particle's position and reduces its life.
-         * <p>
-         * Met à jour la position de la particule et réduit sa durée de vie.
-         *
-         * @return (EN) True if the particle is still alive, false otherwise. (FR) Vrai si la particule est toujours vivante, faux sinon.
-         */
-        public boolean update() {
-            x += vx;
-            y += vy;
-            life--;
-            return life > 0; // Return true if still alive / Retourne vrai si toujours vivante
-        }
-
-        /**
-         * Draws the particle on the screen, fading it out as its life diminishes.
-         * <p>
-         * Dessine la particule à l'écran, en la faisant s'estomper à mesure que sa durée de vie diminue.
-         *
-         * @param g2d (EN) The Graphics2D context to draw on. (FR) Le contexte Graphics2D sur lequel dessiner.
-         */
-        public void draw(Graphics2D g2d) {
-            float alpha = life / originalLife; // Calculate alpha for fade effect / Calculer l'alpha pour l'effet de fondu
-            if (alpha < 0) alpha = 0; // Ensure alpha doesn't go negative / Assurer que l'alpha ne devient pas négatif
-            g2d.setColor(new Color(color.getRed(), color.getGreen(), color.getBlue(), (int) (255 * alpha)));
-            g2d.fillOval((int) (x - 2), (int) (y - 2), 4, 4); // Draw a small circle / Dessiner un petit cercle
-        }
-    }
-
-    /**
-     * Represents a temporary power-up object that can appear in the game.
-     * Power-ups have a type, position, and duration for their effects.
-     * <p>
-     * Représente un objet de power-up temporaire qui peut apparaître dans le jeu.
-     * Les power-ups ont un type, une position et une durée pour leurs effets.
-     */
-    static class PowerUp {
-        /**
-         * Defines the different types of power-ups available in the game.
-         * <p>
-         * Définit les différents types de power-ups disponibles dans le jeu.
-         */
-        enum PowerUpType {
-            PADDLE_ENLARGE, // (EN) Increases paddle size. (FR) Augmente la taille de la raquette.
-            MULTI_BALL,     // (EN) Spawns additional balls. (FR) Fait apparaître des balles supplémentaires.
-            BALL_SPEED_UP,  // (EN) Increases ball speed. (FR) Augmente la vitesse de la balle.
-            STICKY_PADDLE   // (EN) Ball sticks to paddle for a moment. (FR) La balle adhère à la raquette un instant.
-        }
-
-        private PowerUpType type; // (EN) The type of this power-up. (FR) Le type de ce power-up.
-        private int x, y; // (EN) Position of the power-up on the screen. (FR) Position du power-up à l'écran.
-        private boolean active; // (EN) True if the power-up is still active on screen. (FR) Vrai si le power-up est toujours actif à l'écran.
-        private long durationEndTime; // (EN) System time when the power-up effect ends. (FR) Heure système à laquelle l'effet du power-up se termine.
-        private long spawnTime; // (EN) System time when the power-up was spawned. (FR) Heure système à laquelle le power-up a été généré.
-        // MODIFICATION: Increased displayDuration for power-ups to stay longer
-        // MODIFICATION: Augmentation de la displayDuration pour que les power-ups restent plus longtemps
-        private static final int DISPLAY_DURATION_MS = 15000; // (EN) How long it stays on screen if not collected (ms). (FR) Combien de temps il reste à l'écran s'il n'est pas collecté (ms).
-
-
-        /**
-         * Constructs a new PowerUp at a specified position with a given type.
-         * <p>
-         * Construit un nouveau PowerUp à une position spécifiée avec un type donné.
-         *
-         * @param type (EN) The type of power-up. (FR) Le type de power-up.
-         * @param x    (EN) X coordinate for spawning. (FR) Coordonnée X pour l'apparition.
-         * @param y    (EN) Y coordinate for spawning. (FR) Coordonnée Y pour l'apparition.
-         */
-        public PowerUp(PowerUpType type, int x, int y) {
-            this.type = type;
-            this.x = x;
-            this.y = y;
-            this.active = true;
-            this.spawnTime = System.currentTimeMillis();
-        }
-
-        /**
-         * Checks if the power-up has expired (either collected or timed out on screen).
-         * <p>
-         * Vérifie si le power-up a expiré (soit collecté, soit le temps écoulé à l'écran).
-         *
-         * @return (EN) True if expired, false otherwise. (FR) Vrai si expiré, faux sinon.
-         */
-        public boolean isExpired() {
-            return !active || (System.currentTimeMillis() - spawnTime > DISPLAY_DURATION_MS && durationEndTime == 0);
-        }
-
-        /**
-         * Activates the power-up effect, setting its duration.
-         * Once activated, the power-up is no longer visible on screen.
-         * <p>
-         * Active l'effet du power-up, en définissant sa durée.
-         * Une fois activé, le power-up n'est plus visible à l'écran.
-         *
-         * @param durationMs (EN) The duration of the effect in milliseconds. (FR) La durée de l'effet en millisecondes.
-         */
-        public void activate(long durationMs) {
-            this.active = false; // It's collected, no longer on screen / Il est collecté, plus à l'écran
-            this.durationEndTime = System.currentTimeMillis() + durationMs;
-        }
-
-        /**
-         * Checks if the power-up's effect is currently active.
-         * <p>
-         * Vérifie si l'effet du power-up est actuellement actif.
-         *
-         * @return (EN) True if the effect is active, false otherwise. (FR) Vrai si l'effet est actif, faux sinon.
-         */
-        public boolean isEffectActive() {
-            return durationEndTime > 0 && System.currentTimeMillis() < durationEndTime;
-        }
-
-        /**
-         * Draws the power-up on the screen if it is active.
-         * <p>
-         * Dessine le power-up à l'écran s'il est actif.
-         *
-         * @param g2d (EN) The Graphics2D context to draw on. (FR) Le contexte Graphics2D sur lequel dessiner.
-         */
-        public void draw(Graphics2D g2d) {
-            if (!active) return; // Only draw if active on screen / Dessiner uniquement si actif à l'écran
-
-            // (EN) Simple rendering for now, could be an image or more complex shape.
-            // (FR) Rendu simple pour l'instant, pourrait être une image ou une forme plus complexe.
-            g2d.setColor(Color.YELLOW);
-            g2d.fillRect(x, y, 20, 20); // Placeholder square / Carré de remplacement
-
-            g2d.setColor(Color.BLACK);
-            String text = "";
-            switch (type) {
-                case PADDLE_ENLARGE:
-                    text = "L";
-                    break;
-                case MULTI_BALL:
-                    text = "M";
-                    break;
-                case BALL_SPEED_UP:
-                    text = "S";
-                    break;
-                case STICKY_PADDLE:
-                    text = "T";
-                    break;
-            }
-            g2d.setFont(new Font("Arial", Font.BOLD, 14));
-            g2d.drawString(text, x + 5, y + 15);
-        }
-    }
-
-
     /**
      * Main game panel for Pong.
-     * Manages game logic, graphics rendering, and user interactions.
+     * Drives the headless {@link MatchEngine}, and manages graphics rendering, menus, and user interactions.
      * Implements Runnable for the game loop and KeyListener for input.
      * <p>
      * Panneau de jeu principal pour Pong.
-     * Gère la logique du jeu, le rendu graphique et les interactions utilisateur.
+     * Pilote le {@link MatchEngine} sans affichage, et gère le rendu graphique, les menus et les interactions utilisateur.
      * Implémente Runnable pour la boucle de jeu et KeyListener pour l'entrée.
      */
     static class GamePanel extends JPanel implements Runnable, KeyListener {
@@ -388,30 +207,32 @@ public class PongGame {
         private final int panelWidth; // (EN) Width of the game panel. (FR) Largeur du panneau de jeu.
         private final int panelHeight; // (EN) Height of the game panel. (FR) Hauteur du panneau de jeu.
         private Thread gameThread; // (EN) Thread for the game loop. (FR) Thread pour la boucle de jeu.
+        private final ActiveRenderCanvas activeCanvas; // (EN) Active-rendering surface, null in passive (repaint) mode. (FR) Surface de rendu actif, null en mode passif (repaint).
+        private static final int DEFAULT_RENDER_BUFFERS = 2; // (EN) Default buffer count, overridable with -Dpong.buffers. (FR) Nombre de tampons par défaut, modifiable avec -Dpong.buffers.
         private volatile boolean isRunning; // (EN) Flag to control game loop execution. (FR) Drapeau pour contrôler l'exécution de la boucle de jeu.
         private Random random; // (EN) Random number generator for game elements. (FR) Générateur de nombres aléatoires pour les éléments du jeu.
 
-        // --- Game Logic Constants and Variables ---
-        // --- Constantes et Variables de Logique de Jeu ---
-        private static final int BALL_RADIUS = 10; // (EN) Radius of the ball. (FR) Rayon de la balle.
-        private int initialBallSpeed = 3; // (EN) Initial speed of the ball, adjustable. (FR) Vitesse initiale de la balle, ajustable.
-
-        // Paddle properties / Propriétés des raquettes
-        private int paddle1Y, paddle2Y; // (EN) Y-coordinates of paddle 1 and paddle 2. (FR) Coordonnées Y des raquettes 1 et 2.
-        private static final int PADDLE_WIDTH = 15; // (EN) Fixed width of the paddles. (FR) Largeur fixe des raquettes.
-        private static final int PADDLE_HEIGHT = 100; // (EN) Fixed initial height of the paddles. (FR) Hauteur initiale fixe des raquettes.
-        private int paddle1Height = PADDLE_HEIGHT; // (EN) Current height of paddle 1 (can change with power-ups). (FR) Hauteur actuelle de la raquette 1 (peut changer avec les power-ups).
-        private int paddle2Height = PADDLE_HEIGHT; // (EN) Current height of paddle 2 (can change with power-ups). (FR) Hauteur actuelle de la raquette 2 (peut changer avec les power-ups).
-        private static final int PADDLE_SPEED = 7; // (EN) Movement speed of the paddles. (FR) Vitesse de déplacement des raquettes.
-
-        // Score / Score
-        private int player1Score = 0; // (EN) Score for player 1. (FR) Score du joueur 1.
-        private int player2Score = 0; // (EN) Score for player 2. (FR) Score du joueur 2.
-        private static final int MAX_SCORE_TO_WIN = 5; // (EN) Score needed to win the game. (FR) Score nécessaire pour gagner la partie.
-
-        // Input flags / Drapeaux d'entrée
-        private boolean p1UpPressed, p1DownPressed; // (EN) Flags for player 1 paddle movement. (FR) Drapeaux pour le mouvement de la raquette du joueur 1.
-        private boolean p2UpPressed, p2DownPressed; // (EN) Flags for player 2 paddle movement. (FR) Drapeaux pour le mouvement de la raquette du joueur 2.
+        // --- Match Simulation ---
+        // --- Simulation de la Partie ---
+        private final MatchEngine engine; // (EN) Headless simulation core driven by this panel. (FR) Cœur de simulation sans affichage piloté par ce panneau.
+        private final HumanPaddleController player1Input; // (EN) Keyboard controller of paddle 1. (FR) Contrôleur clavier de la raquette 1.
+        private final HumanPaddleController player2Input; // (EN) Keyboard controller of paddle 2 (PvP mode). (FR) Contrôleur clavier de la raquette 2 (mode JcJ).
+        private final AIPaddleController aiController; // (EN) AI controller of paddle 2 (PvAI mode). (FR) Contrôleur IA de la raquette 2 (mode JcIA).
+        private final PaddleController opponentController; // (EN) Paddle 2 in PvAI mode: the AI, or a trained policy with -Dpong.policy. (FR) Raquette 2 en mode JcIA : l'IA, ou une politique entraînée avec -Dpong.policy.
+        private static final int INPUT_QUEUE_CAPACITY = 256; // (EN) Paddle key events pending at most. (FR) Événements de touches de raquette en attente au plus.
+        // Codes of the paddle key events in the input queue / Codes des événements de touches de raquette dans la file d'entrée
+        private static final int INPUT_P1_UP = 0;
+        private static final int INPUT_P1_DOWN = 1;
+        private static final int INPUT_P2_UP = 2;
+        private static final int INPUT_P2_DOWN = 3;
+        private static final int INPUT_RESET = 4; // (EN) Releases every key, queued by startNewGame. (FR) Relâche toutes les touches, mis en file par startNewGame.
+        private final InputEventQueue inputQueue = new InputEventQueue(INPUT_QUEUE_CAPACITY); // (EN) Paddle key edges, from the EDT to the game thread. (FR) Fronts des touches de raquette, de l'EDT vers le thread de jeu.
+        private final InputApplier inputApplier = new InputApplier(); // (EN) Applies drained events to the controllers. (FR) Applique les événements vidés aux contrôleurs.
+        private static final String LATENCY_REPORT_FILENAME = "pong_latency_report.txt"; // (EN) Written with F4 and at exit. (FR) Écrit avec F4 et à la sortie.
+        private final InputLatencyTracker latencyTracker; // (EN) Input-to-photon instrumentation, null unless -Dpong.latency=true. (FR) Instrumentation entrée-photon, null sauf avec -Dpong.latency=true.
+        private long drawnInputSequence; // (EN) Input sequence of the last frame drawn, rendering thread only. (FR) Séquence d'entrées de la dernière image dessinée, thread de rendu uniquement.
+        private static final int BALL_RADIUS = MatchEngine.BALL_RADIUS; // (EN) Radius of the ball. (FR) Rayon de la balle.
+        private static final int PADDLE_WIDTH = MatchEngine.PADDLE_WIDTH; // (EN) Fixed width of the paddles. (FR) Largeur fixe des raquettes.
 
         // Menu and UI variables / Variables de menu et d'interface utilisateur
         private int mainMenuSelection = 0; // (EN) Current selected option in main menu. (FR) Option actuellement sélectionnée dans le menu principal.
@@ -447,81 +268,78 @@ public class PongGame {
                 "Vitesse Balle: ", "Couleur Raquette 1: ", "Couleur Raquette 2: ",
                 "Difficulte IA: "
         };
+        // Main and pause menu entries / Entrées des menus principal et pause
+        private static final String[] MAIN_MENU_OPTIONS = {"Jouer (1 vs 1)", "Jouer (vs IA)", "Highscores", "Options", "Quitter"}; // UI Text in French / Texte UI en français
+        private static final String[] PAUSE_MENU_OPTIONS = {"Reprendre", "Options", "Menu Principal", "Quitter"}; // UI Text
         private static final int MIN_BALL_SPEED = 1; // (EN) Minimum ball speed. (FR) Vitesse minimale de la balle.
         private static final int MAX_BALL_SPEED = 10; // (EN) Maximum ball speed. (FR) Vitesse maximale de la balle.
 
-        // AI Difficulty Levels / Niveaux de Difficulté de l'IA
-        private enum AIDifficulty {
-            EASY,     // (EN) Easy difficulty. (FR) Difficulté facile.
-            MEDIUM,   // (EN) Medium difficulty. (FR) Difficulté moyenne.
-            HARD,     // (EN) Hard difficulty. (FR) Difficulté difficile.
-            IMPOSSIBLE // (EN) Impossible difficulty (perfect AI). (FR) Difficulté impossible (IA parfaite).
-        }
-        private AIDifficulty aiDifficulty = AIDifficulty.MEDIUM; // (EN) Default AI difficulty. (FR) Difficulté de l'IA par défaut.
-
         // --- High Score Variables ---
         // --- Variables de Meilleurs Scores ---
-        private List<HighScoreEntry> highScores; // (EN) List of high score entries. (FR) Liste des entrées de meilleurs scores.
+        private final LeaderboardService leaderboardService; // (EN) Leaderboard of the high score file, shared with other panels. (FR) Classement du fichier des meilleurs scores, partagé avec les autres panneaux.
         private static final int MAX_HIGHSCORES_TO_DISPLAY = 7; // (EN) Max number of high scores to show. (FR) Nombre max de meilleurs scores à afficher.
-        private final String highScoreFilename; // (EN) Filename for high score persistence. (FR) Nom de fichier pour la persistance des meilleurs scores.
+        private static final long RANK_TIMEOUT_MILLIS = 200; // (EN) Longest wait for the rank shown in the new-record dialog. (FR) Attente maximale du rang affiché dans la boîte de dialogue d'un nouveau record.
         private boolean highScorePendingCheck = false; // (EN) Flag if a new high score needs checking. (FR) Drapeau si un nouveau meilleur score doit être vérifié.
         private int scoreToPotentiallyRecord = 0; // (EN) Score to record if it's a high score. (FR) Score à enregistrer si c'est un meilleur score.
         private int winningPlayerForHighScore = 0; // (EN) Player who won for high score context. (FR) Joueur qui a gagné pour le contexte du meilleur score.
 
         // --- Particle System Variables ---
         // --- Variables du Système de Particules ---
-        private List<Particle> particles; // (EN) List of active particles. (FR) Liste des particules actives.
-
-        // --- Power-Up System Variables ---
-        // --- Variables du Système de Power-Up ---
-        private List<PowerUp> activePowerUps; // (EN) List of power-ups currently on screen. (FR) Liste des power-ups actuellement à l'écran.
-        private static final long POWER_UP_SPAWN_INTERVAL_MIN = 15000; // (EN) Min time between power-up spawns (ms). (FR) Temps min entre les apparitions de power-ups (ms).
-        private static final long POWER_UP_SPAWN_INTERVAL_MAX = 30000; // (EN) Max time between power-up spawns (ms). (FR) Temps max entre les apparitions de power-ups (ms).
-        private long nextPowerUpSpawnTime; // (EN) System time for the next power-up spawn. (FR) Heure système pour la prochaine apparition de power-up.
-
-        // --- Active Power-Up Effects (for players) ---
-        // --- Effets de Power-Up Actifs (pour les joueurs) ---
-        private static final long POWER_UP_EFFECT_DURATION_MS = 10000; // (EN) Duration of a power-up effect in milliseconds. (FR) Durée d'un effet de power-up en millisecondes.
-        private long p1PaddleEnlargeEndTime = 0; // (EN) Time when P1 paddle enlarge effect ends. (FR) Heure de fin de l'effet d'agrandissement de la raquette P1.
-        private long p2PaddleEnlargeEndTime = 0; // (EN) Time when P2 paddle enlarge effect ends. (FR) Heure de fin de l'effet d'agrandissement de la raquette P2.
-        private long p1StickyPaddleEndTime = 0; // (EN) Time when P1 sticky paddle effect ends. (FR) Heure de fin de l'effet de raquette collante P1.
-        private long p2StickyPaddleEndTime = 0; // (EN) Time when P2 sticky paddle effect ends. (FR) Heure de fin de l'effet de raquette collante P2.
-        private int originalPaddleHeight; // (EN) Stores the original paddle height for power-up reset. (FR) Stocke la hauteur originale de la raquette pour la réinitialisation après power-up.
-
-        // --- Multi-Ball System ---
-        // --- Système Multi-Balles ---
-        private List<Ball> balls; // (EN) List of all active balls in the game. (FR) Liste de toutes les balles actives dans le jeu.
-
-        /**
-         * Represents a single ball in the game.
-         * Balls have position, velocity, and properties for specific power-up effects.
-         * <p>
-         * Représente une seule balle dans le jeu.
-         * Les balles ont une position, une vitesse et des propriétés pour des effets de power-up spécifiques.
-         */
-        private class Ball {
-            private int x, y; // (EN) Current position of the ball. (FR) Position actuelle de la balle.
-            private int vx, vy; // (EN) Velocity components of the ball. (FR) Composantes de la vitesse de la balle.
-            private boolean isSticky = false; // (EN) True if ball is currently sticky to a paddle. (FR) Vrai si la balle est actuellement collante à une raquette.
-            private long stickyReleaseTime = 0; // (EN) Time when sticky effect wears off or ball released. (FR) Heure à laquelle l'effet collant se dissipe ou la balle est relâchée.
-
-            /**
-             * Constructs a new Ball with specified position and velocity.
-             * <p>
-             * Construit une nouvelle balle avec une position et une vitesse spécifiées.
-             *
-             * @param x  (EN) Initial X coordinate. (FR) Coordonnée X initiale.
-             * @param y  (EN) Initial Y coordinate. (FR) Coordonnée Y initiale.
-             * @param vx (EN) Initial velocity in X direction. (FR) Vitesse initiale dans la direction X.
-             * @param vy (EN) Initial velocity in Y direction. (FR) Vitesse initiale dans la direction Y.
-             */
-            public Ball(int x, int y, int vx, int vy) {
-                this.x = x;
-                this.y = y;
-                this.vx = vx;
-                this.vy = vy;
-            }
-        }
+        private final ParticlePool particles; // (EN) Pool of active particles. (FR) Pool des particules actives.
+        private final StarfieldLayer starfield; // (EN) Cached background layer. (FR) Calque de fond en cache.
+        private final SpriteCache sprites; // (EN) Pre-rendered ball and paddle sprites. (FR) Sprites pré-rendus des balles et des raquettes.
+        private final RenderSnapshot.TripleBuffer renderBuffer; // (EN) Match state handed from the game thread to the renderer. (FR) État de la partie transmis du thread de jeu au rendu.
+
+        // --- Performance Statistics ---
+        // --- Statistiques de Performance ---
+        private final PerformanceStats stats = new PerformanceStats(); // (EN) Tick/frame rates and timings. (FR) Fréquences et durées des ticks/images.
+        private final PerformanceOverlay statsOverlay = new PerformanceOverlay(); // (EN) On-screen view of the stats. (FR) Vue à l'écran des statistiques.
+        private volatile boolean statsOverlayVisible = Boolean.getBoolean("pong.stats"); // (EN) Toggled with F3, shown at startup with -Dpong.stats=true. (FR) Basculé avec F3, affiché au démarrage avec -Dpong.stats=true.
+        private final GameMetrics metrics = new GameMetrics(stats); // (EN) Metrics exposed through JMX. (FR) Métriques exposées via JMX.
+        private static final int MAX_CATCH_UP_TICKS = 5; // (EN) Ticks run back to back at most after a stall; the rest is dropped. (FR) Ticks exécutés à la suite au plus après un blocage ; le reste est abandonné.
+
+        // --- Fonts and Text Cache (resolved and laid out once) ---
+        // --- Polices et Cache de Texte (résolues et mises en forme une seule fois) ---
+        private static final Font TITLE_FONT = new Font("Impact", Font.BOLD, 90); // (EN) Large, impactful font for title. (FR) Grande police percutante pour le titre.
+        private static final Font MAIN_MENU_FONT = new Font("Arial", Font.PLAIN, 36); // (EN) Main menu options. (FR) Options du menu principal.
+        private static final Font HEADING_FONT = new Font("Arial", Font.BOLD, 50); // (EN) Screen titles and game over message. (FR) Titres d'écran et message de fin de partie.
+        private static final Font SCORE_FONT = new Font("Arial", Font.BOLD, 40); // (EN) Large, bold font for scores. (FR) Grande police grasse pour les scores.
+        private static final Font PAUSE_MENU_FONT = new Font("Arial", Font.PLAIN, 30); // (EN) Pause menu options. (FR) Options du menu pause.
+        private static final Font BODY_FONT = new Font("Arial", Font.PLAIN, 25); // (EN) Option lines and game over instructions. (FR) Lignes d'options et instructions de fin de partie.
+        private static final Font HINT_FONT = new Font("Arial", Font.PLAIN, 20); // (EN) Navigation hints. (FR) Aides à la navigation.
+        private static final Font TABLE_FONT = new Font("Monospaced", Font.PLAIN, 28); // (EN) Monospaced font for alignment. (FR) Police monospace pour l'alignement.
+        private static final Font POWER_UP_FONT = new Font("Arial", Font.BOLD, 14); // (EN) Power-up letters. (FR) Lettres des power-ups.
+        private static final String HIGH_SCORE_HEADER = String.format("%-4s %-12s %5s", "RANG", "PSEUDO", "SCORE"); // UI Text
+
+        private final TextCache.DigitAtlas scoreDigits = new TextCache.DigitAtlas(SCORE_FONT); // (EN) Score digits 0-9. (FR) Chiffres des scores 0-9.
+        private final TextCache.Label titleLabel = new TextCache.Label(TITLE_FONT, "PONG"); // UI Text
+        private final TextCache.Label[] mainMenuLabels = labels(MAIN_MENU_FONT, MAIN_MENU_OPTIONS);
+        private final TextCache.Label pauseTitleLabel = new TextCache.Label(HEADING_FONT, "PAUSE"); // UI Text
+        private final TextCache.Label[] pauseMenuLabels = labels(PAUSE_MENU_FONT, PAUSE_MENU_OPTIONS);
+        private final TextCache.Label optionsTitleLabel = new TextCache.Label(HEADING_FONT, "OPTIONS"); // UI Text
+        private final TextCache.Label[] optionLines = labels(BODY_FONT, OPTION_LABELS); // (EN) Label + value of each option. (FR) Étiquette + valeur de chaque option.
+        private final TextCache.Label optionsHintLabel = new TextCache.Label(HINT_FONT,
+                "Appuyez sur ESC pour revenir. Utilisez GAUCHE/DROITE pour changer les valeurs."); // UI Text
+        private final TextCache.Label highScoresTitleLabel = new TextCache.Label(HEADING_FONT, "MEILLEURS SCORES"); // UI Text
+        private final TextCache.Label noScoresLabel = new TextCache.Label(TABLE_FONT, "Aucun score enregistré."); // UI Text
+        private final TextCache.Label highScoreHeaderLabel = new TextCache.Label(TABLE_FONT, HIGH_SCORE_HEADER);
+        private final TextCache.Label[] highScoreLines = new TextCache.Label[MAX_HIGHSCORES_TO_DISPLAY]; // (EN) One line per displayed entry. (FR) Une ligne par entrée affichée.
+        private final TextCache.Label highScoresHintLabel = new TextCache.Label(HINT_FONT, "Appuyez sur ESC pour revenir au menu principal"); // UI Text
+        private final TextCache.Label gameOverLabel = new TextCache.Label(HEADING_FONT, ""); // (EN) Winner message, set at game over. (FR) Message du gagnant, défini en fin de partie.
+        private final TextCache.Label restartLabel = new TextCache.Label(BODY_FONT, "Appuyez sur ENTREE pour rejouer"); // UI Text
+        private final TextCache.Label backToMenuLabel = new TextCache.Label(BODY_FONT, "Appuyez sur ESC pour le menu principal"); // UI Text
+        private final TextCache.Label[] powerUpLabels = labels(POWER_UP_FONT, new String[] {"L", "M", "S", "T"}); // (EN) Indexed by PowerUpType ordinal. (FR) Indexé par l'ordinal de PowerUpType.
+        private volatile boolean optionTextsDirty = true; // (EN) Option values changed since last layout. (FR) Valeurs des options modifiées depuis la dernière mise en forme.
+        private long displayedHighScoreVersion = -1; // (EN) Leaderboard snapshot laid out last, rendering thread only. (FR) Instantané du classement mis en forme en dernier, thread de rendu uniquement.
+        private static final int DEFAULT_MAX_PARTICLES = 1024; // (EN) Default particle budget, overridable with -Dpong.maxParticles. (FR) Budget de particules par défaut, modifiable avec -Dpong.maxParticles.
+        // Palette of particle colors, indexed by the pool's color index / Palette des couleurs de particules, indexée par l'index de couleur du pool
+        private static final int PARTICLE_BLUE = 0;
+        private static final int PARTICLE_WHITE = 1;
+        private static final int PARTICLE_GREEN = 2;
+        private static final Color[] PARTICLE_PALETTE = {Color.BLUE, Color.WHITE, Color.GREEN};
+        // Pre-built faded variants of each palette color, indexed by alpha (0-255), so drawing never allocates
+        // Variantes estompées pré-construites de chaque couleur de la palette, indexées par alpha (0-255), pour que le dessin n'alloue jamais
+        private static final Color[][] PARTICLE_FADE_COLORS = buildParticleFadeColors();
 
         /**
          * Constructs the GamePanel.
@@ -537,12 +355,17 @@ public class PongGame {
         public GamePanel(int width, int height, String highScoreFile) {
             this.panelWidth = width;
             this.panelHeight = height;
-            this.highScoreFilename = highScoreFile;
             this.random = new Random();
-            this.particles = new ArrayList<>();
-            this.activePowerUps = new ArrayList<>();
-            this.originalPaddleHeight = PADDLE_HEIGHT; // Assign the constant value / Assigner la valeur de la constante
-            this.balls = new ArrayList<>();
+            this.particles = new ParticlePool(Integer.getInteger("pong.maxParticles", DEFAULT_MAX_PARTICLES));
+            this.starfield = new StarfieldLayer(width, height);
+            this.sprites = new SpriteCache(BALL_RADIUS, PADDLE_WIDTH);
+            this.renderBuffer = new RenderSnapshot.TripleBuffer(particles.capacity());
+            this.engine = new MatchEngine(width, height);
+            this.player1Input = new HumanPaddleController();
+            this.player2Input = new HumanPaddleController();
+            this.aiController = new AIPaddleController(AIDifficulty.MEDIUM, random); // Default AI difficulty / Difficulté de l'IA par défaut
+            this.opponentController = loadOpponent(aiController);
+            this.engine.setListener(new EffectsListener());
             this.currentGameMode = GameMode.PLAYER_VS_AI; // Default mode on startup / Mode par défaut au démarrage
 
             setPreferredSize(new Dimension(panelWidth, panelHeight));
@@ -550,65 +373,74 @@ public class PongGame {
             setFocusable(true); // Crucial for KeyListener to work / Crucial pour que KeyListener fonctionne
             addKeyListener(this); // Register key listener / Enregistrer l'écouteur de touches
 
-            loadHighScores(); // Load high scores from file / Charger les meilleurs scores depuis le fichier
-            this.currentGameState = GameState.MAIN_MENU; // Start in main menu / Commencer dans le menu principal
+            // -Dpong.render=active draws on the game thread through a BufferStrategy instead of repaint()
+            // -Dpong.render=active dessine sur le thread de jeu via une BufferStrategy au lieu de repaint()
+            if ("active".equalsIgnoreCase(System.getProperty("pong.render", "passive"))) {
+                activeCanvas = new ActiveRenderCanvas(width, height,
+                        Integer.getInteger("pong.buffers", DEFAULT_RENDER_BUFFERS), this::renderFrame);
+                activeCanvas.addKeyListener(this); // The canvas holds the focus in this mode / Le canevas détient le focus dans ce mode
+                setLayout(new BorderLayout());
+                add(activeCanvas, BorderLayout.CENTER);
+            } else {
+                activeCanvas = null;
+            }
 
-            setNextPowerUpSpawnTime(); // Initialize power-up spawn timer / Initialiser le minuteur d'apparition des power-ups
+            // -Dpong.latency=true measures input-to-photon latency, shown with F3 and dumped with F4
+            // -Dpong.latency=true mesure la latence entrée-photon, affichée avec F3 et exportée avec F4
+            if (Boolean.getBoolean("pong.latency")) {
+                latencyTracker = new InputLatencyTracker();
+                statsOverlay.setInputLatency(latencyTracker);
+                Runtime.getRuntime().addShutdownHook(new Thread(this::writeLatencyReport, "latency-report"));
+            } else {
+                latencyTracker = null;
+            }
+
+            // High scores load off the startup path; the table fills in when the read completes
+            // Les meilleurs scores se chargent hors du chemin de démarrage ; la table se remplit à la fin de la lecture
+            this.leaderboardService = LeaderboardService.forFile(highScoreFile, metrics);
+            this.currentGameState = GameState.MAIN_MENU; // Start in main menu / Commencer dans le menu principal
         }
 
         /**
-         * Initializes or resets game elements to their starting positions and states for a new round.
-         * Scores are not reset here.
+         * Returns the paddle 2 controller of the PvAI mode: the trained policy named by {@code -Dpong.policy}, or the
+         * built-in AI when the property is unset or the weights cannot be used.
          * <p>
-         * Initialise ou réinitialise les éléments de jeu à leurs positions et états de départ pour une nouvelle manche.
-         * Les scores ne sont pas réinitialisés ici.
+         * Retourne le contrôleur de la raquette 2 du mode JcIA : la politique entraînée désignée par
+         * {@code -Dpong.policy}, ou l'IA intégrée quand la propriété est absente ou que les poids sont inutilisables.
          */
-        private void initializeRound() {
-            balls.clear(); // Clear existing balls / Effacer les balles existantes
-            balls.add(new Ball(panelWidth / 2, panelHeight / 2, 0, 0)); // Add a single new ball at center / Ajouter une seule nouvelle balle au centre
-
-            // Reset paddle heights (in case of power-up effects)
-            // Réinitialiser les hauteurs des raquettes (en cas d'effets de power-up)
-            paddle1Height = originalPaddleHeight;
-            paddle2Height = originalPaddleHeight;
-            p1PaddleEnlargeEndTime = 0;
-            p2PaddleEnlargeEndTime = 0;
-            p1StickyPaddleEndTime = 0;
-            p2StickyPaddleEndTime = 0;
-
-            // Randomize initial ball direction for the first ball
-            // Randomiser la direction initiale de la première balle
-            Ball mainBall = balls.get(0);
-            double angle = random.nextDouble() * Math.PI / 2 - Math.PI / 4; // -45 to +45 degrees / -45 à +45 degrés
-            if (random.nextBoolean()) angle += Math.PI; // Add 180 degrees for other side / Ajouter 180 degrés pour l'autre côté
-
-            mainBall.vx = (int) (initialBallSpeed * Math.cos(angle));
-            mainBall.vy = (int) (initialBallSpeed * Math.sin(angle));
-
-            // Ensure ball is moving (prevent zero velocity at start)
-            // S'assurer que la balle bouge (éviter une vitesse nulle au début)
-            if (mainBall.vx == 0) mainBall.vx = (random.nextBoolean()) ? initialBallSpeed : -initialBallSpeed;
-            if (mainBall.vy == 0) mainBall.vy = (random.nextBoolean()) ? initialBallSpeed : -initialBallSpeed;
-
-            // Set paddles to center / Placer les raquettes au centre
-            paddle1Y = panelHeight / 2 - paddle1Height / 2;
-            paddle2Y = panelHeight / 2 - paddle2Height / 2;
+        private static PaddleController loadOpponent(AIPaddleController ai) {
+            String policyFile = System.getProperty("pong.policy");
+            if (policyFile == null) {
+                return ai;
+            }
+            try {
+                PaddleController policy = new PolicyPaddleController(MlpPolicy.load(Paths.get(policyFile)));
+                LOGGER.info("Paddle 2 plays the policy " + policyFile);
+                return policy;
+            } catch (IOException | IllegalArgumentException e) {
+                LOGGER.log(Level.WARNING, "Could not load the policy " + policyFile + ", playing the built-in AI", e); // The game runs without it / Le jeu fonctionne sans
+                return ai;
+            }
         }
 
         /**
          * Resets scores and initializes the first round. Called when starting a new game.
          * <p>
          * Réinitialise les scores et initialise la première manche. Appelée au début d'une nouvelle partie.
+         * Package-private so that {@link TickAllocationCheck} can drive the panel without a window.
+         * <p>
+         * Visibilité paquet afin que {@link TickAllocationCheck} puisse piloter le panneau sans fenêtre.
          */
-        private void startNewGame() {
-            player1Score = 0;
-            player2Score = 0;
-            initializeRound();
+        void startNewGame() {
+            // The controllers belong to the game thread: the reset is applied in queue order, after any stale key edge
+            // Les contrôleurs appartiennent au thread de jeu : la réinitialisation est appliquée dans l'ordre de la file, après tout front de touche périmé
+            queueInput(INPUT_RESET, false);
+            // Paddle 2 follows the keyboard or the AI depending on the selected mode
+            // La raquette 2 suit le clavier ou l'IA selon le mode sélectionné
+            engine.setControllers(player1Input,
+                    currentGameMode == GameMode.PLAYER_VS_AI ? opponentController : player2Input);
+            engine.startNewMatch(); // Resets scores, round and power-ups / Réinitialise les scores, la manche et les power-ups
             currentGameState = GameState.PLAYING;
-            activePowerUps.clear(); // Clear power-ups for new game / Effacer les power-ups pour une nouvelle partie
-            // lastPowerUpSpawnTime was removed as redundant, no need to set it here.
-            // lastPowerUpSpawnTime a été supprimé car redondant, pas besoin de le définir ici.
-            setNextPowerUpSpawnTime(); // Reset power-up spawn timer / Réinitialiser le minuteur d'apparition des power-ups
         }
 
         /**
@@ -618,6 +450,9 @@ public class PongGame {
          */
         public void startGameLoop() {
             isRunning = true;
+            if (activeCanvas != null) {
+                activeCanvas.requestFocusInWindow(); // Keyboard input goes to the canvas / L'entrée clavier va au canevas
+            }
             gameThread = new Thread(this);
             gameThread.start();
         }
@@ -655,21 +490,34 @@ public class PongGame {
             double amountOfTicks = 60.0; // Target 60 FPS / UPS / Cible 60 FPS / UPS
             double nsPerTick = 1000000000 / amountOfTicks; // Nanoseconds per tick / Nanosecondes par tick
             double delta = 0; // Time accumulated for updates / Temps accumulé pour les mises à jour
-            long timer = System.currentTimeMillis(); // Timer for optional FPS/UPS display / Minuteur pour l'affichage optionnel FPS/UPS
 
             while (isRunning) {
                 long now = System.nanoTime();
                 delta += (now - lastTime) / nsPerTick;
                 lastTime = now;
 
+                // After a long stall (debugger, suspended window), drop the ticks that cannot be caught up
+                // Après un long blocage (débogueur, fenêtre suspendue), abandonner les ticks impossibles à rattraper
+                long droppedTicks = 0;
+                if (delta > MAX_CATCH_UP_TICKS) {
+                    droppedTicks = (long) delta - MAX_CATCH_UP_TICKS;
+                    delta -= droppedTicks;
+                }
+
                 boolean shouldRender = false;
+                int ticksRun = 0;
                 // Update game logic multiple times if necessary to catch up to target UPS
                 // Mettre à jour la logique du jeu plusieurs fois si nécessaire pour atteindre l'UPS cible
                 while (delta >= 1) {
+                    long tickStart = System.nanoTime();
                     updateGameLogic();
+                    stats.recordTick(tickStart, System.nanoTime(), engine.getBalls().size(), particles.size());
                     delta--;
+                    ticksRun++;
                     shouldRender = true; // Render only after an update / Rendre uniquement après une mise à jour
                 }
+                metrics.recordLoopPass(ticksRun, droppedTicks);
+                metrics.publishState(currentGameState.name(), engine.getScore(1), engine.getScore(2));
 
                 // Small sleep to free up CPU and prevent busy-waiting
                 // Petite pause pour libérer le CPU et éviter l'attente active
@@ -681,502 +529,250 @@ public class PongGame {
                     isRunning = false; // Stop if interrupted / Arrêter si interrompu
                 }
 
-                // Request a repaint if an update occurred
-                // Demander un rafraîchissement si une mise à jour a eu lieu
+                // Present a frame if an update occurred: directly in active mode, through the EDT otherwise
+                // Présenter une image si une mise à jour a eu lieu : directement en mode actif, via l'EDT sinon
                 if (shouldRender) {
-                    repaint(); // Calls paintComponent / Appelle paintComponent
-                }
-
-                // Optional: Print FPS and UPS once per second (for debugging)
-                // Optionnel : Afficher le FPS et l'UPS une fois par seconde (pour le débogage)
-                if (System.currentTimeMillis() - timer > 1000) {
-                    timer += 1000;
-                    // System.out.println("FPS: " + frames + " UPS: " + updates); // For debugging / Pour le débogage
-                    // frames = 0; // Reset for next second / Réinitialiser pour la seconde suivante
-                    // updates = 0; // Reset for next second / Réinitialiser pour la seconde suivante
+                    if (activeCanvas != null) {
+                        if (activeCanvas.renderAndShow()) { // Draws and shows on this thread / Dessine et affiche sur ce thread
+                            recordFramePresented();
+                        }
+                    } else {
+                        repaint(); // Calls paintComponent / Appelle paintComponent
+                    }
                 }
             }
         }
 
         /**
-         * Contains the core game logic updates per tick.
-         * Handles paddle movement, ball movement, collisions, power-ups, and scoring.
+         * Contains the per-tick updates of the panel: visual effects and one step of the match engine.
+         * Paddle movement, ball movement, collisions, power-ups, and scoring are handled by {@link MatchEngine}.
          * <p>
-         * Contient les mises à jour de la logique de jeu par tick.
-         * Gère le mouvement des raquettes, le mouvement de la balle, les collisions, les power-ups et le score.
+         * Contient les mises à jour par tick du panneau : effets visuels et un pas du moteur de partie.
+         * Le mouvement des raquettes et de la balle, les collisions, les power-ups et le score sont gérés par {@link MatchEngine}.
+         * Allocates nothing while a match is in progress; package-private for {@link TickAllocationCheck}.
+         * <p>
+         * N'alloue rien pendant qu'une partie est en cours ; visibilité paquet pour {@link TickAllocationCheck}.
          */
-        private void updateGameLogic() {
+        void updateGameLogic() {
             if (currentGameState != GameState.PLAYING) {
                 return; // Only update game logic when playing / Mettre à jour la logique de jeu uniquement en mode jeu
             }
 
-            // --- Update Paddle Heights and Sticky Effects if power-up expired ---
-            // --- Mettre à jour les hauteurs des raquettes et les effets collants si le power-up a expiré ---
-            handlePowerUpDurationEnd(System.currentTimeMillis());
-
-            // --- Move Paddles ---
-            // --- Déplacer les Raquettes ---
-            movePlayer1Paddle();
-            movePlayer2PaddleOrAI();
+            GameEvents.TickEvent event = GameEvents.beginTick(); // null unless recording / null hors enregistrement
 
-            // Clamp paddles to screen bounds / Limiter les raquettes aux bords de l'écran
-            paddle1Y = Math.max(0, Math.min(paddle1Y, panelHeight - paddle1Height));
-            paddle2Y = Math.max(0, Math.min(paddle2Y, panelHeight - paddle2Height));
+            // --- Apply the key presses and releases received since the last tick ---
+            // --- Appliquer les appuis et relâchements de touches reçus depuis le dernier tick ---
+            inputApplier.tickNanos = System.nanoTime();
+            inputQueue.drain(inputApplier);
+            if (latencyTracker != null) latencyTracker.beforeTick(engine);
 
             // --- Update Particles ---
             // --- Mettre à Jour les Particules ---
             updateParticles();
 
-            // --- Power-Up Spawning and Expiration ---
-            // --- Apparition et Expiration des Power-Ups ---
-            managePowerUpSpawnsAndExpiration();
+            // --- Advance the simulation by one tick ---
+            // --- Faire avancer la simulation d'un tick ---
+            engine.step();
 
-            // --- Move Balls and Check Collisions ---
-            // --- Déplacer les Balles et Vérifier les Collisions ---
-            handleBallMovementAndCollisions();
+            // --- Publish the state drawn by the next frame ---
+            // --- Publier l'état dessiné par la prochaine image ---
+            RenderSnapshot snapshot = renderBuffer.back();
+            snapshot.capture(engine, particles);
+            if (latencyTracker != null) snapshot.setInputSequence(latencyTracker.afterTick(engine, inputApplier.tickNanos));
+            renderBuffer.publish();
 
-            // If all balls are gone and game not over, start new round (e.g., after all multi-balls score)
-            // Si toutes les balles sont parties et que le jeu n'est pas terminé, démarrer une nouvelle manche
-            if (balls.isEmpty() && currentGameState == GameState.PLAYING) {
-                initializeRound();
-            }
+            GameEvents.commitTick(event, engine.getTick(), engine.getBalls().size(), particles.size());
         }
 
         /**
-         * Handles the expiration of power-up effects for paddles.
+         * Applies paddle key edges to the keyboard controllers on the game thread and measures their latency.
          * <p>
-         * Gère l'expiration des effets de power-up pour les raquettes.
-         *
-         * @param currentTime (EN) The current system time in milliseconds. (FR) L'heure système actuelle en millisecondes.
+         * Applique les fronts des touches de raquette aux contrôleurs clavier sur le thread de jeu et mesure leur latence.
          */
-        private void handlePowerUpDurationEnd(long currentTime) {
-            // Player 1 Paddle Enlarge effect / Effet d'agrandissement de la raquette du joueur 1
-            if (p1PaddleEnlargeEndTime > 0 && currentTime >= p1PaddleEnlargeEndTime) {
-                paddle1Height = originalPaddleHeight;
-                p1PaddleEnlargeEndTime = 0;
-            }
-            // Player 2 Paddle Enlarge effect / Effet d'agrandissement de la raquette du joueur 2
-            if (p2PaddleEnlargeEndTime > 0 && currentTime >= p2PaddleEnlargeEndTime) {
-                paddle2Height = originalPaddleHeight;
-                p2PaddleEnlargeEndTime = 0;
-            }
-            // Player 1 Sticky Paddle effect / Effet de raquette collante du joueur 1
-            if (p1StickyPaddleEndTime > 0 && currentTime >= p1StickyPaddleEndTime) {
-                // If a ball is still sticky, un-stick it and give it a push
-                // Si une balle est toujours collante, la décoller et lui donner une poussée
-                for (Ball ball : balls) {
-                    if (ball.isSticky) {
-                        ball.isSticky = false;
-                        ball.vx = initialBallSpeed; // Push away from paddle / Pousser loin de la raquette
-                        if (ball.vy == 0) ball.vy = random.nextBoolean() ? initialBallSpeed : -initialBallSpeed; // Ensure vertical movement / Assurer un mouvement vertical
-                    }
+        private final class InputApplier implements InputEventQueue.Handler {
+            long tickNanos; // (EN) Start of the tick draining the queue. (FR) Début du tick qui vide la file.
+
+            @Override
+            public void onInput(int code, boolean pressed, long timestampNanos) {
+                if (code == INPUT_RESET) {
+                    player1Input.reset();
+                    player2Input.reset();
+                    return; // Not a key, no latency to record / Pas une touche, aucune latence à enregistrer
                 }
-                p1StickyPaddleEndTime = 0;
-            }
-            // Player 2 Sticky Paddle effect / Effet de raquette collante du joueur 2
-            if (p2StickyPaddleEndTime > 0 && currentTime >= p2StickyPaddleEndTime) {
-                for (Ball ball : balls) {
-                    if (ball.isSticky) {
-                        ball.isSticky = false;
-                        ball.vx = -initialBallSpeed; // Push away from paddle / Pousser loin de la raquette
-                        if (ball.vy == 0) ball.vy = random.nextBoolean() ? initialBallSpeed : -initialBallSpeed;
-                    }
+                switch (code) {
+                    case INPUT_P1_UP: player1Input.setUpPressed(pressed); break;
+                    case INPUT_P1_DOWN: player1Input.setDownPressed(pressed); break;
+                    case INPUT_P2_UP: player2Input.setUpPressed(pressed); break;
+                    case INPUT_P2_DOWN: player2Input.setDownPressed(pressed); break;
+                }
+                stats.recordInput(timestampNanos, tickNanos);
+                if (pressed && latencyTracker != null) {
+                    latencyTracker.onPressApplied(code <= INPUT_P1_DOWN ? 1 : 2, timestampNanos);
                 }
-                p2StickyPaddleEndTime = 0;
             }
         }
 
         /**
-         * Handles Player 1 paddle movement based on input flags.
+         * Queues a paddle key edge for the next tick; event dispatch thread only (or the thread driving the panel).
          * <p>
-         * Gère le mouvement de la raquette du joueur 1 en fonction des drapeaux d'entrée.
-         */
-        private void movePlayer1Paddle() {
-            if (p1UpPressed) paddle1Y -= PADDLE_SPEED;
-            if (p1DownPressed) paddle1Y += PADDLE_SPEED;
-        }
-
-        /**
-         * Handles Player 2 paddle movement (human or AI) based on the current game mode.
-         * <p>
-         * Gère le mouvement de la raquette du joueur 2 (humain ou IA) en fonction du mode de jeu actuel.
+         * Met en file un front de touche de raquette pour le prochain tick ; thread de distribution des événements uniquement
+         * (ou le thread qui pilote le panneau).
+         *
+         * @param code    (EN) One of the INPUT_* codes. (FR) Un des codes INPUT_*.
+         * @param pressed (EN) true for a press, false for a release. (FR) true pour un appui, false pour un relâchement.
          */
-        private void movePlayer2PaddleOrAI() {
-            if (currentGameMode == GameMode.PLAYER_VS_AI) {
-                moveAIPaddle(); // AI controls paddle 2 / L'IA contrôle la raquette 2
-            } else { // GameMode.PLAYER_VS_PLAYER
-                if (p2UpPressed) paddle2Y -= PADDLE_SPEED;
-                if (p2DownPressed) paddle2Y += PADDLE_SPEED;
+        private void queueInput(int code, boolean pressed) {
+            if (!inputQueue.offer(code, pressed, System.nanoTime())) {
+                metrics.recordDroppedInputEvent(); // The game thread is stalled / Le thread de jeu est bloqué
             }
         }
 
         /**
-         * Updates the state of all active particles, removing expired ones.
+         * Measures the inputs first shown by the frame just presented, when the latency instrumentation is on.
          * <p>
-         * Met à jour l'état de toutes les particules actives, en supprimant celles qui ont expiré.
+         * Mesure les entrées montrées pour la première fois par l'image qui vient d'être présentée, si l'instrumentation de latence est active.
          */
-        private void updateParticles() {
-            for (int i = 0; i < particles.size(); i++) {
-                if (!particles.get(i).update()) { // If particle is dead / Si la particule est morte
-                    particles.remove(i); // Remove it / La supprimer
-                    i--; // Adjust index due to removal / Ajuster l'index en raison de la suppression
-                }
-            }
+        private void recordFramePresented() {
+            if (latencyTracker != null) latencyTracker.framePresented(drawnInputSequence, System.nanoTime());
         }
 
         /**
-         * Manages the spawning and expiration of power-ups on the screen.
+         * Writes the input-to-photon latency report of the session; does nothing unless the instrumentation is on.
          * <p>
-         * Gère l'apparition et l'expiration des power-ups à l'écran.
+         * Écrit le rapport de latence entrée-photon de la session ; ne fait rien si l'instrumentation est inactive.
          */
-        private void managePowerUpSpawnsAndExpiration() {
-            // Spawn Power-Up if conditions met (time and no active power-ups)
-            // Faire apparaître un Power-Up si les conditions sont remplies (temps et aucun power-up actif)
-            if (System.currentTimeMillis() >= nextPowerUpSpawnTime && activePowerUps.isEmpty()) {
-                spawnPowerUp();
-                setNextPowerUpSpawnTime(); // Schedule next spawn / Planifier la prochaine apparition
-            }
-
-            // Update & Check Power-Ups for on-screen expiration
-            // Mettre à jour et vérifier les Power-Ups pour l'expiration à l'écran
-            for (int i = 0; i < activePowerUps.size(); i++) {
-                PowerUp pu = activePowerUps.get(i);
-                if (pu.isExpired()) { // If power-up on screen has expired / Si le power-up à l'écran a expiré
-                    activePowerUps.remove(i);
-                    i--;
-                }
+        private void writeLatencyReport() {
+            if (latencyTracker == null) return;
+            String renderMode = activeCanvas != null
+                    ? "active, " + Integer.getInteger("pong.buffers", DEFAULT_RENDER_BUFFERS) + " buffers"
+                    : "passive (repaint)";
+            try {
+                latencyTracker.writeReport(Paths.get(LATENCY_REPORT_FILENAME), renderMode);
+                LOGGER.info("Latency report written to " + LATENCY_REPORT_FILENAME);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Could not write the latency report", e);
             }
         }
 
-
         /**
-         * Handles movement, collisions (walls, paddles, power-ups), and scoring for all active balls.
+         * Returns the metrics of this panel, registered as an MBean by {@link PongGame#main}.
          * <p>
-         * Gère le mouvement, les collisions (murs, raquettes, power-ups) et le score pour toutes les balles actives.
+         * Retourne les métriques de ce panneau, enregistrées comme MBean par {@link PongGame#main}.
+         *
+         * @return (EN) The live metrics. (FR) Les métriques en direct.
          */
-        private void handleBallMovementAndCollisions() {
-            List<Ball> ballsToRemove = new ArrayList<>(); // Balls that scored or need removal / Balles qui ont marqué ou doivent être supprimées
-            List<Ball> ballsToAdd = new ArrayList<>(); // New balls from multi-ball power-up / Nouvelles balles du power-up multi-balles
-
-            for (Ball ball : balls) {
-                // Handle sticky ball logic / Gérer la logique de la balle collante
-                if (ball.isSticky) {
-                    // Position ball on paddle / Positionner la balle sur la raquette
-                    if (ball.x < panelWidth / 2) { // Sticky to P1 / Collante à P1
-                        ball.x = PADDLE_WIDTH + BALL_RADIUS;
-                        ball.y = paddle1Y + paddle1Height / 2;
-                    } else { // Sticky to P2 / Collante à P2
-                        ball.x = panelWidth - PADDLE_WIDTH - BALL_RADIUS;
-                        ball.y = paddle2Y + paddle2Height / 2;
-                    }
-                    // Check if sticky effect duration has passed / Vérifier si la durée de l'effet collant est passée
-                    if (ball.stickyReleaseTime > 0 && System.currentTimeMillis() >= ball.stickyReleaseTime) {
-                        ball.isSticky = false;
-                        // Give it an initial push away from the paddle / Lui donner une poussée initiale loin de la raquette
-                        if (ball.x < panelWidth / 2) ball.vx = initialBallSpeed;
-                        else ball.vx = -initialBallSpeed;
-                        // Ensure it moves vertically if it was previously still (e.g. at collision point)
-                        // S'assurer qu'elle bouge verticalement si elle était auparavant immobile (par exemple, au point de collision)
-                        if (ball.vy == 0) ball.vy = random.nextBoolean() ? initialBallSpeed : -initialBallSpeed;
-                        ball.stickyReleaseTime = 0;
-                    }
-                } else {
-                    // Move ball based on velocity / Déplacer la balle en fonction de la vitesse
-                    ball.x += ball.vx;
-                    ball.y += ball.vy;
-                }
-
-                // Ball collision with top/bottom walls / Collision de la balle avec les murs supérieurs/inférieurs
-                if (ball.y - BALL_RADIUS < 0) {
-                    ball.vy *= -1;
-                    ball.y = BALL_RADIUS; // Correct position to prevent sticking / Corriger la position pour éviter de coller
-                    addParticles(ball.x, ball.y, 5, Color.BLUE); // Add particle effect / Ajouter un effet de particule
-                } else if (ball.y + BALL_RADIUS > panelHeight) {
-                    ball.vy *= -1;
-                    ball.y = panelHeight - BALL_RADIUS; // Correct position / Corriger la position
-                    addParticles(ball.x, ball.y, 5, Color.BLUE); // Add particle effect / Ajouter un effet de particule
-                }
-
-                // Ball collision with left paddle (Player 1)
-                // Collision de la balle avec la raquette gauche (Joueur 1)
-                if (ball.vx < 0 && // Ball moving left / Balle se déplaçant à gauche
-                        ball.x - BALL_RADIUS <= PADDLE_WIDTH && // Ball x is at or behind paddle front / La position x de la balle est au niveau ou derrière le devant de la raquette
-                        ball.x - BALL_RADIUS > 0 && // Ball is not beyond the paddle's back edge (prevent sticking)
-                                                    // La balle n'est pas au-delà du bord arrière de la raquette (pour éviter de coller)
-                        ball.y + BALL_RADIUS >= paddle1Y &&
-                        ball.y - BALL_RADIUS <= paddle1Y + paddle1Height) {
-
-                    if (p1StickyPaddleEndTime > 0) { // If sticky power-up active for P1 / Si le power-up collant est actif pour P1
-                        ball.isSticky = true;
-                        ball.stickyReleaseTime = System.currentTimeMillis() + 1000; // Stick for 1 second / Coller pendant 1 seconde
-                    } else {
-                        ball.vx *= -1; // Reverse horizontal velocity / Inverser la vitesse horizontale
-                        // Add slight angle based on where it hits the paddle (center hit -> less angle, edge hit -> more angle)
-                        // Ajouter un léger angle en fonction de l'endroit où elle touche la raquette (centre -> moins d'angle, bord -> plus d'angle)
-                        double hitFactor = (ball.y - paddle1Y) / (double) paddle1Height; // 0.0 top, 1.0 bottom / 0.0 haut, 1.0 bas
-                        ball.vy = (int) (initialBallSpeed * 1.5 * (hitFactor - 0.5)); // Adjust vertical velocity / Ajuster la vitesse verticale
-                    }
-                    ball.x = PADDLE_WIDTH + BALL_RADIUS; // Correct position to avoid sticking / Corriger la position pour éviter de coller
-                    addParticles(ball.x - BALL_RADIUS, ball.y, 10, Color.WHITE); // Add particle effect / Ajouter un effet de particule
-                }
-
-                // Ball collision with right paddle (Player 2)
-                // Collision de la balle avec la raquette droite (Joueur 2)
-                if (ball.vx > 0 && // Ball moving right / Balle se déplaçant à droite
-                        ball.x + BALL_RADIUS >= panelWidth - PADDLE_WIDTH && // Ball x is at or beyond paddle front / La position x de la balle est au niveau ou au-delà du devant de la raquette
-                        ball.x + BALL_RADIUS < panelWidth && // Ball is not beyond the paddle's back edge / La balle n'est pas au-delà du bord arrière de la raquette
-                        ball.y + BALL_RADIUS >= paddle2Y &&
-                        ball.y - BALL_RADIUS <= paddle2Y + paddle2Height) {
-
-                    if (p2StickyPaddleEndTime > 0) { // If sticky power-up active for P2 / Si le power-up collant est actif pour P2
-                        ball.isSticky = true;
-                        ball.stickyReleaseTime = System.currentTimeMillis() + 1000;
-                    } else {
-                        ball.vx *= -1; // Reverse horizontal velocity / Inverser la vitesse horizontale
-                        double hitFactor = (ball.y - paddle2Y) / (double) paddle2Height;
-                        ball.vy = (int) (initialBallSpeed * 1.5 * (hitFactor - 0.5));
-                    }
-                    ball.x = panelWidth - PADDLE_WIDTH - BALL_RADIUS; // Correct position / Corriger la position
-                    addParticles(ball.x + BALL_RADIUS, ball.y, 10, Color.WHITE); // Add particle effect / Ajouter un effet de particule
-                }
-
-                // Ball collision with power-ups / Collision de la balle avec les power-ups
-                // Iterate on a copy to avoid ConcurrentModificationException if power-ups are removed during iteration
-                // Itérer sur une copie pour éviter ConcurrentModificationException si les power-ups sont supprimés pendant l'itération
-                for (PowerUp pu : new ArrayList<>(activePowerUps)) {
-                    // Check for collision with power-up bounding box
-                    // Vérifier la collision avec la boîte englobante du power-up
-                    if (pu.active && ball.x + BALL_RADIUS > pu.x && ball.x - BALL_RADIUS < pu.x + 20 &&
-                            ball.y + BALL_RADIUS > pu.y && ball.y - BALL_RADIUS < pu.y + 20) {
-                        applyPowerUpEffect(pu.type, ball, ballsToAdd); // Apply effect / Appliquer l'effet
-                        pu.active = false; // Power-up collected / Power-up collecté
-                        addParticles(pu.x + 10, pu.y + 10, 20, Color.GREEN); // Explosion of particles / Explosion de particules
-                    }
-                }
-
-                // Scoring logic / Logique de score
-                if (ball.x < 0) { // Player 2 scores / Le joueur 2 marque
-                    player2Score++;
-                    addParticles(panelWidth / 2, panelHeight / 2, 50, Color.GREEN); // Large score particle effect / Grand effet de particule de score
-                    ballsToRemove.add(ball); // Mark ball for removal / Marquer la balle pour suppression
-                    // Only check game end if this was the last ball, or if only one ball left after scoring
-                    // Vérifier la fin du jeu uniquement si c'était la dernière balle, ou s'il ne reste qu'une seule balle après avoir marqué
-                    if (balls.size() - ballsToRemove.size() == 0) checkGameEndOrNextRound();
-                } else if (ball.x > panelWidth) { // Player 1 scores / Le joueur 1 marque
-                    player1Score++;
-                    addParticles(panelWidth / 2, panelHeight / 2, 50, Color.GREEN);
-                    ballsToRemove.add(ball);
-                    if (balls.size() - ballsToRemove.size() == 0) checkGameEndOrNextRound();
-                }
-            }
-
-            // Remove and add balls after iterating to avoid ConcurrentModificationException
-            // Supprimer et ajouter des balles après l'itération pour éviter ConcurrentModificationException
-            balls.removeAll(ballsToRemove);
-            balls.addAll(ballsToAdd);
+        GameMetrics getMetrics() {
+            return metrics;
         }
 
         /**
-         * Implements the AI logic for paddle 2.
-         * The AI predicts the ball's trajectory and adjusts its paddle position,
-         * with adjustable difficulty levels affecting reaction time and accuracy.
+         * Returns whether a match is currently being played (not paused, over, or in a menu).
          * <p>
-         * Implémente la logique de l'IA pour la raquette 2.
-         * L'IA prédit la trajectoire de la balle et ajuste la position de sa raquette,
-         * avec des niveaux de difficulté ajustables affectant le temps de réaction et la précision.
+         * Indique si une partie est en cours (ni en pause, ni terminée, ni dans un menu).
+         *
+         * @return (EN) true in the PLAYING state. (FR) true dans l'état PLAYING.
          */
-        private void moveAIPaddle() {
-            if (balls.isEmpty()) return; // No ball to track / Aucune balle à suivre
-
-            Ball mainBall = balls.get(0); // AI focuses on the first ball (can be improved for multiple balls)
-                                         // L'IA se concentre sur la première balle (peut être amélioré pour plusieurs balles)
-            int targetY = mainBall.y - paddle2Height / 2; // Default target: ball's current Y / Cible par défaut : Y actuel de la balle
-            int paddleCenter = paddle2Y + paddle2Height / 2; // Current center of AI paddle / Centre actuel de la raquette de l'IA
-
-            // AI Prediction - simple linear prediction
-            // Prédiction de l'IA - prédiction linéaire simple
-            // Predict where the ball will be when it reaches the paddle X position
-            // Prédire où sera la balle lorsqu'elle atteindra la position X de la raquette
-            double predictX = panelWidth - PADDLE_WIDTH - BALL_RADIUS; // Target X for collision / Cible X pour la collision
-            double timeToHitPaddle = (predictX - mainBall.x) / mainBall.vx; // Time steps until collision / Étapes de temps jusqu'à la collision
-
-            if (mainBall.vx > 0 && timeToHitPaddle > 0) { // Ball moving towards AI paddle and will reach it
-                                                          // Balle se déplaçant vers la raquette de l'IA et l'atteindra
-                // Adjust targetY based on anticipated ball Y position
-                // Ajuster targetY en fonction de la position Y anticipée de la balle
-                int predictedBallY = (int) (mainBall.y + mainBall.vy * timeToHitPaddle);
-                targetY = predictedBallY - paddle2Height / 2; // Target center of paddle to hit ball center / Cible le centre de la raquette pour frapper le centre de la balle
-
-                // Introduce "errors" and reaction time based on difficulty
-                // Introduire des "erreurs" et un temps de réaction basés sur la difficulté
-                double reactionDelayThreshold = 0; // Likelihood of skipping an update / Probabilité de sauter une mise à jour
-                double inaccuracyFactor = 0; // How much off-center the AI aims / Dans quelle mesure l'IA vise mal
-
-                switch (aiDifficulty) {
-                    case EASY:
-                        reactionDelayThreshold = 15 + random.nextInt(10); // Slower reaction (higher threshold) / Réaction plus lente (seuil plus élevé)
-                        inaccuracyFactor = 0.4 + random.nextDouble() * 0.4; // More off-target aiming / Ciblage plus imprécis
-                        break;
-                    case MEDIUM:
-                        reactionDelayThreshold = 5 + random.nextInt(5);
-                        inaccuracyFactor = 0.1 + random.nextDouble() * 0.2;
-                        break;
-                    case HARD:
-                        reactionDelayThreshold = 1 + random.nextInt(2);
-                        inaccuracyFactor = random.nextDouble() * 0.05; // Almost perfect / Presque parfait
-                        break;
-                    case IMPOSSIBLE:
-                        reactionDelayThreshold = 0; // Instant reaction / Réaction instantanée
-                        inaccuracyFactor = 0; // Perfect aiming / Visée parfaite
-                        break;
-                }
-
-                // Simulate reaction delay: AI might skip reacting in some frames
-                // Simuler un délai de réaction : l'IA pourrait sauter la réaction dans certaines images
-                if (random.nextInt(60) < reactionDelayThreshold) { // (EN) 60 updates per second, higher threshold means more skips.
-                                                                  // (FR) 60 mises à jour par seconde, un seuil plus élevé signifie plus de sauts.
-                    return; // AI doesn't react this tick / L'IA ne réagit pas à ce tick
-                }
-
-                // Apply inaccuracy: offset the target position slightly
-                // Appliquer l'imprécision : décaler légèrement la position cible
-                targetY += (random.nextBoolean() ? 1 : -1) * paddle2Height * inaccuracyFactor;
-                // Clamp targetY to prevent aiming outside screen bounds
-                // Limiter targetY pour éviter de viser en dehors des limites de l'écran
-                targetY = Math.max(0, Math.min(targetY, panelHeight - paddle2Height));
-
-            } else { // Ball moving away or no clear prediction, return to center
-                     // Balle s'éloignant ou pas de prédiction claire, revenir au centre
-                targetY = panelHeight / 2 - paddle2Height / 2;
-            }
-
-            // Move paddle towards target Y position
-            // Déplacer la raquette vers la position Y cible
-            if (paddleCenter < targetY) {
-                paddle2Y += Math.min(PADDLE_SPEED, targetY - paddle2Y); // Move at PADDLE_SPEED, but not past target
-                                                                       // Se déplacer à PADDLE_SPEED, mais pas au-delà de la cible
-            } else if (paddleCenter > targetY) {
-                paddle2Y -= Math.min(PADDLE_SPEED, paddle2Y - targetY);
-            }
+        boolean isPlaying() {
+            return currentGameState == GameState.PLAYING;
         }
 
         /**
-         * Adds a specified number of particles at a given location with a base color.
-         * Particles are given random velocities and limited lifespans.
+         * Updates the state of all active particles, removing expired ones.
          * <p>
-         * Ajoute un nombre spécifié de particules à un endroit donné avec une couleur de base.
-         * Les particules reçoivent des vitesses aléatoires et des durées de vie limitées.
-         *
-         * @param x         (EN) X coordinate for particle spawn. (FR) Coordonnée X pour l'apparition des particules.
-         * @param y         (EN) Y coordinate for particle spawn. (FR) Coordonnée Y pour l'apparition des particules.
-         * @param count     (EN) Number of particles to add. (FR) Nombre de particules à ajouter.
-         * @param baseColor (EN) The base color of the particles. (FR) La couleur de base des particules.
+         * Met à jour l'état de toutes les particules actives, en supprimant celles qui ont expiré.
          */
-        private void addParticles(int x, int y, int count, Color baseColor) {
-            for (int i = 0; i < count; i++) {
-                float angle = (float) (random.nextDouble() * 2 * Math.PI); // Random direction / Direction aléatoire
-                float speed = 0.5f + random.nextFloat() * 2; // Random speed / Vitesse aléatoire
-                int life = 20 + random.nextInt(30); // Random lifespan / Durée de vie aléatoire
-                particles.add(new Particle(x, y, (float) (speed * Math.cos(angle)), (float) (speed * Math.sin(angle)), life, baseColor));
-            }
+        private void updateParticles() {
+            particles.update();
         }
 
         /**
-         * Sets the time for the next power-up to spawn based on a random interval.
+         * Adds a specified number of particles at a given location with a palette color.
+         * Particles are given random velocities and limited lifespans; requests beyond the particle budget are dropped.
          * <p>
-         * Définit l'heure de la prochaine apparition de power-up en fonction d'un intervalle aléatoire.
+         * Ajoute un nombre spécifié de particules à un endroit donné avec une couleur de la palette.
+         * Les particules reçoivent des vitesses aléatoires et des durées de vie limitées ; les demandes au-delà du budget sont ignorées.
+         *
+         * @param x          (EN) X coordinate for particle spawn. (FR) Coordonnée X pour l'apparition des particules.
+         * @param y          (EN) Y coordinate for particle spawn. (FR) Coordonnée Y pour l'apparition des particules.
+         * @param count      (EN) Number of particles to add. (FR) Nombre de particules à ajouter.
+         * @param colorIndex (EN) Index of the color in {@code PARTICLE_PALETTE}. (FR) Index de la couleur dans {@code PARTICLE_PALETTE}.
          */
-        private void setNextPowerUpSpawnTime() {
-            nextPowerUpSpawnTime = System.currentTimeMillis() + POWER_UP_SPAWN_INTERVAL_MIN +
-                                   random.nextInt((int) (POWER_UP_SPAWN_INTERVAL_MAX - POWER_UP_SPAWN_INTERVAL_MIN));
+        private void addParticles(int x, int y, int count, int colorIndex) {
+            particles.emit(x, y, count, colorIndex, random);
         }
 
         /**
-         * Spawns a new power-up at a random, easy-to-reach central location.
+         * Builds the table of faded particle colors, one row per palette color and one column per alpha value.
          * <p>
-         * Fait apparaître un nouveau power-up à un emplacement central aléatoire et facile d'accès.
+         * Construit la table des couleurs de particules estompées, une ligne par couleur de la palette et une colonne par valeur alpha.
+         *
+         * @return (EN) The fade table. (FR) La table de fondu.
          */
-        private void spawnPowerUp() {
-            // MODIFICATION: Place power-ups horizontally at the center for easier access
-            // MODIFICATION: Placer les power-ups horizontalement au centre pour un accès plus facile
-            int puX = panelWidth / 2 - 10; // Center of the screen, adjusted for power-up width (20)
-                                           // Centre de l'écran, ajusté pour la largeur du power-up (20)
-            int puY = random.nextInt(panelHeight - 40) + 20; // Vertical range remains broad / La plage verticale reste large
-
-            PowerUp.PowerUpType[] types = PowerUp.PowerUpType.values(); // Get all power-up types / Obtenir tous les types de power-up
-            PowerUp.PowerUpType type = types[random.nextInt(types.length)]; // Select a random type / Sélectionner un type aléatoire
-
-            activePowerUps.add(new PowerUp(type, puX, puY)); // Add to active power-ups / Ajouter aux power-ups actifs
+        private static Color[][] buildParticleFadeColors() {
+            Color[][] table = new Color[PARTICLE_PALETTE.length][256];
+            for (int c = 0; c < PARTICLE_PALETTE.length; c++) {
+                Color base = PARTICLE_PALETTE[c];
+                for (int alpha = 0; alpha < 256; alpha++) {
+                    table[c][alpha] = new Color(base.getRed(), base.getGreen(), base.getBlue(), alpha);
+                }
+            }
+            return table;
         }
 
         /**
-         * Applies the effect of a collected power-up to the game state.
+         * Draws all live particles of a snapshot, fading them out as their life diminishes.
          * <p>
-         * Applique l'effet d'un power-up collecté à l'état du jeu.
+         * Dessine toutes les particules vivantes d'un instantané, en les estompant à mesure que leur durée de vie diminue.
          *
-         * @param type       (EN) The type of power-up collected. (FR) Le type de power-up collecté.
-         * @param ball       (EN) The ball that collected the power-up. (FR) La balle qui a collecté le power-up.
-         * @param ballsToAdd (EN) List to add new balls to for multi-ball effect. (FR) Liste pour ajouter de nouvelles balles pour l'effet multi-balles.
+         * @param g2d   (EN) The Graphics2D context to draw on. (FR) Le contexte Graphics2D sur lequel dessiner.
+         * @param state (EN) The match state to draw. (FR) L'état de la partie à dessiner.
          */
-        private void applyPowerUpEffect(PowerUp.PowerUpType type, Ball ball, List<Ball> ballsToAdd) {
-            // MODIFICATION: Increased power-up effect duration
-            // MODIFICATION: Augmentation de la durée de l'effet du power-up
-            long duration = POWER_UP_EFFECT_DURATION_MS; // Use constant for duration / Utiliser la constante pour la durée
-
-            switch (type) {
-                case PADDLE_ENLARGE:
-                    if (ball.vx < 0) { // Player 1 collected it / Le joueur 1 l'a collecté
-                        paddle1Height = originalPaddleHeight * 2;
-                        p1PaddleEnlargeEndTime = System.currentTimeMillis() + duration;
-                    } else { // Player 2 collected it / Le joueur 2 l'a collecté
-                        paddle2Height = originalPaddleHeight * 2;
-                        p2PaddleEnlargeEndTime = System.currentTimeMillis() + duration;
-                    }
-                    break;
-                case MULTI_BALL:
-                    // Create 2 new balls with slight variations in velocity
-                    // Créer 2 nouvelles balles avec de légères variations de vitesse
-                    ballsToAdd.add(new Ball(ball.x, ball.y, -ball.vx, ball.vy + (random.nextInt(3) - 1)));
-                    ballsToAdd.add(new Ball(ball.x, ball.y, ball.vx, -ball.vy + (random.nextInt(3) - 1)));
-                    break;
-                case BALL_SPEED_UP:
-                    for (Ball b : balls) { // Affect all active balls / Affecter toutes les balles actives
-                        b.vx = (int) (b.vx * 1.2); // Increase speed by 20% / Augmenter la vitesse de 20%
-                        b.vy = (int) (b.vy * 1.2);
-                    }
-                    break;
-                case STICKY_PADDLE:
-                    if (ball.vx < 0) { // Player 1 collected / Le joueur 1 l'a collecté
-                        p1StickyPaddleEndTime = System.currentTimeMillis() + duration;
-                    } else { // Player 2 collected / Le joueur 2 l'a collecté
-                        p2StickyPaddleEndTime = System.currentTimeMillis() + duration;
-                    }
-                    break;
+        private void drawParticles(Graphics2D g2d, RenderSnapshot state) {
+            int count = state.getParticleCount();
+            for (int i = 0; i < count; i++) {
+                int alpha = (int) (255 * state.getParticleLife(i)); // Calculate alpha for fade effect / Calculer l'alpha pour l'effet de fondu
+                g2d.setColor(PARTICLE_FADE_COLORS[state.getParticleColor(i)][alpha]);
+                g2d.fillOval((int) (state.getParticleX(i) - 2), (int) (state.getParticleY(i) - 2), 4, 4); // Draw a small circle / Dessiner un petit cercle
             }
         }
 
         /**
-         * Checks if the game has ended based on scores, and transitions to GAME_OVER state or starts a new round.
+         * Turns match engine events into particle effects and game-over transitions.
+         * Runs on the game thread, inside {@link MatchEngine#step()}.
          * <p>
-         * Vérifie si le jeu est terminé en fonction des scores, et passe à l'état GAME_OVER ou démarre une nouvelle manche.
+         * Transforme les événements du moteur de partie en effets de particules et en transitions de fin de jeu.
+         * S'exécute sur le thread de jeu, à l'intérieur de {@link MatchEngine#step()}.
          */
-        private void checkGameEndOrNextRound() {
-            if (player1Score >= MAX_SCORE_TO_WIN) {
-                gameOverMessage = "Joueur 1 GAGNE !"; // UI Text in French / Texte UI en français
-                winningPlayerForHighScore = 1;
-                scoreToPotentiallyRecord = player1Score;
-                highScorePendingCheck = true;
-                currentGameState = GameState.GAME_OVER;
-                gameOverTime = System.currentTimeMillis(); // Start timer for fade effect / Démarrer le minuteur pour l'effet de fondu
-            } else if (player2Score >= MAX_SCORE_TO_WIN) {
-                gameOverMessage = "Joueur 2 GAGNE !"; // UI Text in French / Texte UI en français
-                winningPlayerForHighScore = 2;
-                scoreToPotentiallyRecord = player2Score;
+        private class EffectsListener implements MatchListener {
+            @Override
+            public void onWallBounce(int x, int y) {
+                addParticles(x, y, 5, PARTICLE_BLUE); // Add particle effect / Ajouter un effet de particule
+            }
+
+            @Override
+            public void onPaddleHit(int player, int x, int y) {
+                addParticles(x, y, 10, PARTICLE_WHITE); // Add particle effect / Ajouter un effet de particule
+            }
+
+            @Override
+            public void onPowerUpCollected(PowerUp.PowerUpType type, int player, int x, int y) {
+                addParticles(x, y, 20, PARTICLE_GREEN); // Explosion of particles / Explosion de particules
+                metrics.recordPowerUpActivation(type);
+            }
+
+            @Override
+            public void onGoal(int scoringPlayer) {
+                addParticles(panelWidth / 2, panelHeight / 2, 50, PARTICLE_GREEN); // Large score particle effect / Grand effet de particule de score
+            }
+
+            @Override
+            public void onMatchOver(int winningPlayer) {
+                gameOverMessage = "Joueur " + winningPlayer + " GAGNE !"; // UI Text in French / Texte UI en français
+                winningPlayerForHighScore = winningPlayer;
+                scoreToPotentiallyRecord = engine.getScore(winningPlayer);
                 highScorePendingCheck = true;
                 currentGameState = GameState.GAME_OVER;
                 gameOverTime = System.currentTimeMillis(); // Start timer for fade effect / Démarrer le minuteur pour l'effet de fondu
-            } else {
-                initializeRound(); // Start next round if no winner / Démarrer la manche suivante si pas de gagnant
             }
         }
 
@@ -1201,17 +797,41 @@ public class PongGame {
         /**
          * Paints the component, directing drawing based on the current game state.
          * This method is called automatically by Swing when the component needs to be redrawn.
+         * In active mode the game thread is the only renderer, so Swing repaints (show, expose, resize, dialogs)
+         * only clear the panel: a second reader of the render buffer could get the slot being written.
          * <p>
          * Peint le composant, dirigeant le dessin en fonction de l'état de jeu actuel.
          * Cette méthode est appelée automatiquement par Swing lorsque le composant doit être redessiné.
+         * En mode actif, le thread de jeu est le seul à dessiner, donc les repeintures de Swing (affichage, exposition,
+         * redimensionnement, boîtes de dialogue) ne font qu'effacer le panneau : un second lecteur du tampon de rendu
+         * pourrait obtenir l'emplacement en cours d'écriture.
          *
          * @param g (EN) The Graphics object to protect graphics states. (FR) L'objet Graphics pour protéger les états graphiques.
          */
         @Override
         protected void paintComponent(Graphics g) {
             super.paintComponent(g); // Clears the panel (fills with background color) / Efface le panneau (remplit avec la couleur de fond)
-            Graphics2D g2d = (Graphics2D) g; // Cast to Graphics2D for advanced features / Caster en Graphics2D pour les fonctionnalités avancées
+            if (activeCanvas != null) {
+                return; // The canvas shows the frames of the game thread / Le canevas affiche les images du thread de jeu
+            }
+            renderFrame((Graphics2D) g); // Cast to Graphics2D for advanced features / Caster en Graphics2D pour les fonctionnalités avancées
+            recordFramePresented(); // Swing copies its back buffer right after / Swing copie son tampon arrière juste après
+        }
 
+        /**
+         * Draws a whole frame according to the current game state.
+         * Shared by the passive mode ({@link #paintComponent}) and the active mode ({@link ActiveRenderCanvas}).
+         * <p>
+         * Dessine une image entière selon l'état de jeu actuel.
+         * Partagée par le mode passif ({@link #paintComponent}) et le mode actif ({@link ActiveRenderCanvas}).
+         *
+         * @param g2d (EN) The Graphics2D context to draw on. (FR) Le contexte Graphics2D sur lequel dessiner.
+         */
+        private void renderFrame(Graphics2D g2d) {
+            long frameStart = System.nanoTime();
+            RenderSnapshot state = renderBuffer.acquire(); // Latest published tick, stable for this frame / Dernier tick publié, stable pour cette image
+            drawnInputSequence = state.getInputSequence();
+            GameEvents.PaintEvent paintEvent = GameEvents.beginPaint(); // null unless recording / null hors enregistrement
             // Enable anti-aliasing for smoother graphics and text rendering
             // Activer l'anti-aliasing pour un rendu graphique et textuel plus lisse
             g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
@@ -1229,17 +849,17 @@ public class PongGame {
                     drawMainMenu(g2d);
                     break;
                 case PLAYING:
-                    drawGameElements(g2d);
+                    drawGameElements(g2d, state);
                     break;
                 case OPTIONS:
                     drawOptionsMenu(g2d);
                     break;
                 case PAUSED:
-                    drawGameElements(g2d); // Draw game state underneath / Dessiner l'état du jeu en dessous
+                    drawGameElements(g2d, state); // Draw game state underneath / Dessiner l'état du jeu en dessous
                     drawPauseMenu(g2d);
                     break;
                 case GAME_OVER:
-                    drawGameElements(g2d); // Optionally draw final game state / Optionnellement dessiner l'état final du jeu
+                    drawGameElements(g2d, state); // Optionally draw final game state / Optionnellement dessiner l'état final du jeu
                     drawGameOverScreen(g2d);
                     break;
                 case SHOW_HIGHSCORES:
@@ -1248,9 +868,14 @@ public class PongGame {
             }
             // Draw Particles over everything else for visual effects
             // Dessiner les Particules par-dessus tout le reste pour les effets visuels
-            for (Particle p : new ArrayList<>(particles)) { // Iterate on copy to avoid ConcurrentModification issues
-                                                            // Itérer sur une copie pour éviter les problèmes de modification concurrente
-                p.draw(g2d);
+            drawParticles(g2d, state);
+            stats.recordFrame(frameStart, System.nanoTime());
+            GameEvents.commitPaint(paintEvent, currentGameState.name(), activeCanvas != null);
+
+            // Performance overlay on top, not counted in the frame time
+            // Overlay de performance par-dessus, non compté dans la durée de l'image
+            if (statsOverlayVisible) {
+                statsOverlay.draw(g2d, stats, panelHeight);
             }
             // g2d.dispose(); // Dispose of graphics context when done in a paint cycle - usually handled by Swing
         }
@@ -1263,67 +888,31 @@ public class PongGame {
          * @param g2d (EN) The Graphics2D context to draw on. (FR) Le contexte Graphics2D sur lequel dessiner.
          */
         private void drawBackground(Graphics2D g2d) {
-            // Fill background with a very dark gray / Remplir le fond avec un gris très foncé
-            g2d.setColor(Color.DARK_GRAY.darker().darker());
-            g2d.fillRect(0, 0, panelWidth, panelHeight);
-
-            // Draw subtle, fading stars for dynamic effect
-            // Dessiner des étoiles subtiles et s'estompant pour un effet dynamique
-            Random bgRand = new Random(12345L); // Seed for consistent star positions across repaints
-                                               // Graine pour des positions d'étoiles cohérentes entre les rafraîchissements
-            for (int i = 0; i < 100; i++) { // Draw 100 stars / Dessiner 100 étoiles
-                int starX = bgRand.nextInt(panelWidth);
-                int starY = bgRand.nextInt(panelHeight);
-                // Pulsating alpha effect based on current time
-                // Effet alpha pulsant basé sur l'heure actuelle
-                int alpha = 50 + (int) (100 * Math.abs(Math.sin(System.currentTimeMillis() / 1000.0 + i)));
-                g2d.setColor(new Color(255, 255, 255, alpha)); // White stars with varying opacity / Étoiles blanches avec une opacité variable
-                g2d.fillRect(starX, starY, 2, 2); // Small square for a star / Petit carré pour une étoile
-            }
+            // Blit the cached backdrop and stars / Copier le fond et les étoiles en cache
+            starfield.draw(g2d, System.currentTimeMillis());
         }
 
         /**
-         * Draws all main game elements: balls, paddles, center line, and scores.
+         * Draws all main game elements of a snapshot: balls, paddles, center line, and scores.
          * <p>
-         * Dessine tous les éléments principaux du jeu : balles, raquettes, ligne centrale et scores.
+         * Dessine tous les éléments principaux du jeu d'un instantané : balles, raquettes, ligne centrale et scores.
          *
-         * @param g2d (EN) The Graphics2D context to draw on. (FR) Le contexte Graphics2D sur lequel dessiner.
+         * @param g2d   (EN) The Graphics2D context to draw on. (FR) Le contexte Graphics2D sur lequel dessiner.
+         * @param state (EN) The match state to draw. (FR) L'état de la partie à dessiner.
          */
-        private void drawGameElements(Graphics2D g2d) {
+        private void drawGameElements(Graphics2D g2d, RenderSnapshot state) {
             // --- Draw balls ---
             // --- Dessiner les balles ---
-            for (Ball ball : balls) {
-                Point2D center = new Point2D.Float(ball.x, ball.y);
-                float radius = BALL_RADIUS;
-                float[] dist = {0.0f, 1.0f}; // Gradient distribution / Distribution du dégradé
-                Color[] colors = {Color.CYAN, Color.BLUE}; // Inner to outer color for ball / Couleur intérieure à extérieure pour la balle
-
-                // If ball is sticky, change its color to indicate effect
-                // Si la balle est collante, changer sa couleur pour indiquer l'effet
-                if (ball.isSticky) {
-                    colors[0] = Color.RED;
-                    colors[1] = Color.ORANGE;
-                }
-                // Apply radial gradient paint for a spherical look
-                // Appliquer un dégradé radial pour un aspect sphérique
-                RadialGradientPaint p = new RadialGradientPaint(center, radius, dist, colors, CycleMethod.NO_CYCLE);
-                g2d.setPaint(p);
-                g2d.fillOval(ball.x - BALL_RADIUS, ball.y - BALL_RADIUS, BALL_RADIUS * 2, BALL_RADIUS * 2);
+            for (int i = 0; i < state.getBallCount(); i++) {
+                // Pre-rendered radial gradient, red/orange when the ball is sticky
+                // Dégradé radial pré-rendu, rouge/orange lorsque la balle est collante
+                sprites.drawBall(g2d, state.getBallX(i), state.getBallY(i), state.isBallSticky(i));
             }
 
-            // --- Draw paddles with linear gradients for depth ---
-            // --- Dessiner les raquettes avec des dégradés linéaires pour la profondeur ---
-            // Paddle 1 (left) / Raquette 1 (gauche)
-            GradientPaint gp1 = new GradientPaint(0, paddle1Y, paddle1Color.darker().darker(),
-                                                  PADDLE_WIDTH, paddle1Y, paddle1Color.brighter().brighter());
-            g2d.setPaint(gp1);
-            g2d.fillRect(0, paddle1Y, PADDLE_WIDTH, paddle1Height);
-
-            // Paddle 2 (right) / Raquette 2 (droite)
-            GradientPaint gp2 = new GradientPaint(panelWidth - PADDLE_WIDTH, paddle2Y, paddle2Color.brighter().brighter(),
-                                                  panelWidth, paddle2Y, paddle2Color.darker().darker());
-            g2d.setPaint(gp2);
-            g2d.fillRect(panelWidth - PADDLE_WIDTH, paddle2Y, PADDLE_WIDTH, paddle2Height);
+            // --- Draw paddles (pre-rendered linear gradients for depth) ---
+            // --- Dessiner les raquettes (dégradés linéaires pré-rendus pour la profondeur) ---
+            sprites.drawPaddle(g2d, 1, 0, state.getPaddleY(1), state.getPaddleHeight(1), paddle1Color); // Paddle 1 (left) / Raquette 1 (gauche)
+            sprites.drawPaddle(g2d, 2, panelWidth - PADDLE_WIDTH, state.getPaddleY(2), state.getPaddleHeight(2), paddle2Color); // Paddle 2 (right) / Raquette 2 (droite)
 
             // --- Draw center line (dashed effect) ---
             // --- Dessiner la ligne centrale (effet pointillé) ---
@@ -1335,17 +924,37 @@ public class PongGame {
             // --- Draw scores ---
             // --- Dessiner les scores ---
             g2d.setColor(Color.WHITE);
-            g2d.setFont(new Font("Arial", Font.BOLD, 40)); // Large, bold font for scores / Grande police grasse pour les scores
-            g2d.drawString(String.valueOf(player1Score), panelWidth / 2 - 80, 50); // Player 1 score on left / Score joueur 1 à gauche
-            g2d.drawString(String.valueOf(player2Score), panelWidth / 2 + 40, 50); // Player 2 score on right / Score joueur 2 à droite
+            scoreDigits.drawNumber(g2d, state.getScore(1), panelWidth / 2 - 80, 50); // Player 1 score on left / Score joueur 1 à gauche
+            scoreDigits.drawNumber(g2d, state.getScore(2), panelWidth / 2 + 40, 50); // Player 2 score on right / Score joueur 2 à droite
 
             // --- Draw active Power-Ups on screen ---
             // --- Dessiner les Power-Ups actifs à l'écran ---
-            for (PowerUp pu : activePowerUps) {
-                pu.draw(g2d);
+            for (int i = 0; i < state.getPowerUpCount(); i++) {
+                drawPowerUp(g2d, state.getPowerUpX(i), state.getPowerUpY(i), state.getPowerUpType(i));
             }
         }
 
+        /**
+         * Draws a power-up waiting on the field.
+         * <p>
+         * Dessine un power-up en attente sur le terrain.
+         *
+         * @param g2d  (EN) The Graphics2D context to draw on. (FR) Le contexte Graphics2D sur lequel dessiner.
+         * @param x    (EN) Left edge of the power-up. (FR) Bord gauche du power-up.
+         * @param y    (EN) Top edge of the power-up. (FR) Bord supérieur du power-up.
+         * @param type (EN) Ordinal of its PowerUpType. (FR) Ordinal de son PowerUpType.
+         */
+        private void drawPowerUp(Graphics2D g2d, int x, int y, int type) {
+            // (EN) Simple rendering for now, could be an image or more complex shape.
+            // (FR) Rendu simple pour l'instant, pourrait être une image ou une forme plus complexe.
+            g2d.setColor(Color.YELLOW);
+            g2d.fillRect(x, y, PowerUp.SIZE, PowerUp.SIZE); // Placeholder square / Carré de remplacement
+
+            g2d.setColor(Color.BLACK);
+            // Letter of the type: L(arge), M(ulti), S(peed), T (sticky) / Lettre du type : L(arge), M(ulti), S(peed), T (collant)
+            powerUpLabels[type].draw(g2d, x + 5, y + 15);
+        }
+
         /**
          * Draws the main menu screen with game title and selectable options.
          * <p>
@@ -1355,160 +964,76 @@ public class PongGame {
          */
         private void drawMainMenu(Graphics2D g2d) {
             g2d.setColor(Color.WHITE);
-            g2d.setFont(new Font("Impact", Font.BOLD, 90)); // Large, impactful font for title / Grande police percutante pour le titre
-            String title = "PONG"; // UI Text
-            int titleWidth = g2d.getFontMetrics().stringWidth(title); // Get width for centering / Obtenir la largeur pour le centrage
-            g2d.drawString(title, (panelWidth - titleWidth) / 2, panelHeight / 4); // Draw title / Dessiner le titre
-
-            // Updated menu options for game modes (PvP and PvAI)
-            // Options de menu mises à jour pour les modes de jeu (PvP et PvAI)
-            String[] menuOptions = {"Jouer (1 vs 1)", "Jouer (vs IA)", "Highscores", "Options", "Quitter"}; // UI Text in French / Texte UI en français
-            g2d.setFont(new Font("Arial", Font.PLAIN, 36)); // Slightly larger font for options / Police légèrement plus grande pour les options
-
-            // Draw menu options, highlighting the currently selected one
-            // Dessiner les options du menu, en surlignant celle qui est actuellement sélectionnée
-            for (int i = 0; i < menuOptions.length; i++) {
-                String optionText = menuOptions[i];
-                int optionWidth = g2d.getFontMetrics().stringWidth(optionText);
+            titleLabel.drawCentered(g2d, panelWidth / 2, panelHeight / 4); // Draw title / Dessiner le titre
+
+            // Draw menu options (PvP, PvAI, ...), highlighting the currently selected one
+            // Dessiner les options du menu (JcJ, JcIA, ...), en surlignant celle qui est actuellement sélectionnée
+            for (int i = 0; i < mainMenuLabels.length; i++) {
                 int yPos = panelHeight / 2 + i * 60; // More spacing between options / Plus d'espacement entre les options
                 if (i == mainMenuSelection) {
                     g2d.setColor(Color.YELLOW); // Highlight selected option / Surligner l'option sélectionnée
                 } else {
                     g2d.setColor(Color.WHITE.darker()); // Subtle difference for unselected options / Différence subtile pour les options non sélectionnées
                 }
-                g2d.drawString(optionText, (panelWidth - optionWidth) / 2, yPos);
+                mainMenuLabels[i].drawCentered(g2d, panelWidth / 2, yPos);
             }
         }
 
-        // --- HIGHSCORE METHODS ---
-        // --- MÉTHODES DES MEILLEURS SCORES ---
-
         /**
-         * Loads high scores from a file.
-         * Handles file existence, empty files, and potential corruption.
-         * Uses try-with-resources for safe stream management.
+         * Creates one cached label per text.
          * <p>
-         * Charge les meilleurs scores depuis un fichier.
-         * Gère l'existence du fichier, les fichiers vides et la corruption potentielle.
-         * Utilise try-with-resources pour une gestion sécurisée des flux.
+         * Crée une étiquette en cache par texte.
+         *
+         * @param font  (EN) Font of the labels. (FR) Police des étiquettes.
+         * @param texts (EN) Initial texts. (FR) Textes initiaux.
+         * @return (EN) The labels. (FR) Les étiquettes.
          */
-        @SuppressWarnings("unchecked") // Suppress warning for unsafe cast of readObject()
-                                       // Supprimer l'avertissement pour le cast non sûr de readObject()
-        private void loadHighScores() {
-            File file = new File(highScoreFilename);
-            // If file doesn't exist or is empty, initialize an empty list
-            // Si le fichier n'existe pas ou est vide, initialiser une liste vide
-            if (!file.exists() || file.length() == 0) {
-                highScores = new ArrayList<>();
-                return;
-            }
-
-            try (FileInputStream fis = new FileInputStream(file);
-                 ObjectInputStream ois = new ObjectInputStream(fis)) {
-
-                Object rawObject = ois.readObject();
-                // Ensure the read object is a List and contains HighScoreEntry objects
-                // S'assurer que l'objet lu est une List et contient des objets HighScoreEntry
-                if (rawObject instanceof List<?>) {
-                    List<?> rawList = (List<?>) rawObject;
-                    highScores = new ArrayList<>();
-                    for (Object item : rawList) {
-                        if (item instanceof HighScoreEntry) {
-                            highScores.add((HighScoreEntry) item);
-                        } else {
-                            // Log warning if unexpected object type found
-                            // Journaliser l'avertissement si un type d'objet inattendu est trouvé
-                            LOGGER.log(Level.WARNING, "Non-HighScoreEntry item found in high scores file. Item: " + item);
-                            // Optionally, clear and start fresh if corruption is severe / Optionnellement, effacer et repartir à zéro si la corruption est grave
-                        }
-                    }
-                    // Trim high scores if too many are loaded (e.g., from an older file)
-                    // Tronquer les meilleurs scores si trop sont chargés (par exemple, depuis un ancien fichier)
-                    if (highScores.size() > MAX_HIGHSCORES_TO_DISPLAY) {
-                        Collections.sort(highScores); // Sort to remove lowest scores / Trier pour supprimer les scores les plus bas
-                        while (highScores.size() > MAX_HIGHSCORES_TO_DISPLAY) {
-                           highScores.remove(highScores.size() - 1); // Remove lowest / Supprimer le plus bas
-                        }
-                    }
-                } else {
-                    // Log error if file format is unexpected
-                    // Journaliser l'erreur si le format du fichier est inattendu
-                    LOGGER.log(Level.WARNING, "High score file format error: Expected List, found " + rawObject.getClass().getName());
-                    highScores = new ArrayList<>(); // Start with an empty list on format error / Commencer avec une liste vide en cas d'erreur de format
-                }
-            } catch (ClassNotFoundException e) {
-                LOGGER.log(Level.SEVERE, "Error loading high scores (class not found)", e);
-                highScores = new ArrayList<>(); // Fallback to empty list / Revenir à une liste vide
-            } catch (IOException e) {
-                LOGGER.log(Level.SEVERE, "I/O error loading high scores", e);
-                highScores = new ArrayList<>(); // Fallback to empty list / Revenir à une liste vide
-            } catch (ClassCastException e) {
-                LOGGER.log(Level.SEVERE, "Error loading high scores (incorrect object type in file)", e);
-                highScores = new ArrayList<>(); // Fallback to empty list / Revenir à une liste vide
+        private static TextCache.Label[] labels(Font font, String[] texts) {
+            TextCache.Label[] result = new TextCache.Label[texts.length];
+            for (int i = 0; i < texts.length; i++) {
+                result[i] = new TextCache.Label(font, texts[i]);
             }
-
-            // Ensure highScores is never null and is sorted
-            // S'assurer que highScores n'est jamais nul et est trié
-            if (highScores == null) {
-                highScores = new ArrayList<>();
-            }
-            Collections.sort(highScores); // Sorts by score descending (due to Comparable implementation)
-                                          // Trie par score décroissant (en raison de l'implémentation de Comparable)
+            return result;
         }
 
-        /**
-         * Saves the current list of high scores to a file.
-         * Uses try-with-resources for safe stream management.
-         * <p>
-         * Sauvegarde la liste actuelle des meilleurs scores dans un fichier.
-         * Utilise try-with-resources pour une gestion sécurisée des flux.
-         */
-        private void saveHighScores() {
-            try (FileOutputStream fos = new FileOutputStream(highScoreFilename);
-                 ObjectOutputStream oos = new ObjectOutputStream(fos)) {
-                oos.writeObject(highScores); // Write the entire list / Écrire toute la liste
-            } catch (IOException e) {
-                LOGGER.log(Level.SEVERE, "I/O error saving high scores", e); // Log error / Journaliser l'erreur
-            }
-        }
+        // --- HIGHSCORE METHODS ---
+        // --- MÉTHODES DES MEILLEURS SCORES ---
 
         /**
          * Checks if a given score qualifies as a high score.
-         * A score is a high score if there's space in the list or if it's better than the lowest existing high score.
+         * A score is a high score if there's space in the table or if it's better than the lowest displayed high score,
+         * as of the latest leaderboard snapshot.
          * <p>
          * Vérifie si un score donné est un meilleur score.
-         * Un score est un meilleur score s'il y a de la place dans la liste ou s'il est supérieur au plus bas score existant.
+         * Un score est un meilleur score s'il y a de la place dans la table ou s'il est supérieur au plus bas score affiché,
+         * d'après le dernier instantané du classement.
          *
          * @param score (EN) The score to check. (FR) Le score à vérifier.
          * @return (EN) True if it's a high score, false otherwise. (FR) Vrai si c'est un meilleur score, faux sinon.
          */
         private boolean isHighScore(int score) {
             if (score <= 0) return false; // Don't record zero or negative scores / Ne pas enregistrer les scores nuls ou négatifs
-            if (highScores.size() < MAX_HIGHSCORES_TO_DISPLAY) {
+            List<HighScoreEntry> top = leaderboardService.snapshot().getTop();
+            if (top.size() < MAX_HIGHSCORES_TO_DISPLAY) {
                 return true; // Always a high score if there's space / Toujours un meilleur score s'il y a de la place
             }
-            // Otherwise, check if better than the lowest current high score
-            // Sinon, vérifier s'il est meilleur que le plus bas score actuel
-            return score > highScores.get(highScores.size() - 1).getScore();
+            // Otherwise, check if better than the lowest displayed high score
+            // Sinon, vérifier s'il est meilleur que le plus bas score affiché
+            return score > top.get(MAX_HIGHSCORES_TO_DISPLAY - 1).getScore();
         }
 
         /**
-         * Adds a new high score entry to the list, maintaining sorting and max display count.
+         * Submits a new high score entry to the shared leaderboard, which keeps every score ever posted,
+         * indexes it and writes it in the background.
          * <p>
-         * Ajoute une nouvelle entrée de meilleur score à la liste, en maintenant le tri et le nombre maximal d'affichage.
+         * Soumet une nouvelle entrée de meilleur score au classement partagé, qui conserve chaque score jamais publié,
+         * l'indexe et l'écrit en arrière-plan.
          *
          * @param playerName (EN) The name of the player. (FR) Le nom du joueur.
          * @param score      (EN) The score achieved. (FR) Le score obtenu.
          */
         private void addHighScore(String playerName, int score) {
-            highScores.add(new HighScoreEntry(playerName, score)); // Add new entry / Ajouter une nouvelle entrée
-            Collections.sort(highScores); // Sorts by score descending / Trie par score décroissant
-            // Remove the lowest score if list is too long (beyond max display limit)
-            // Supprimer le score le plus bas si la liste est trop longue (au-delà de la limite d'affichage maximale)
-            while (highScores.size() > MAX_HIGHSCORES_TO_DISPLAY) {
-                highScores.remove(highScores.size() - 1);
-            }
-            saveHighScores(); // Persist changes to file / Persister les changements dans le fichier
+            leaderboardService.submit(new HighScoreEntry(playerName, score)); // Never blocks the EDT / Ne bloque jamais l'EDT
         }
 
         /**
@@ -1522,7 +1047,9 @@ public class PongGame {
          * @param playerNumber (EN) The player number who achieved the score (for messaging). (FR) Le numéro du joueur qui a obtenu le score (pour le message).
          */
         private void promptAndSaveHighScore(int scoreToSave, int playerNumber) {
+            int rank = leaderboardService.rankOf(scoreToSave, RANK_TIMEOUT_MILLIS);
             String promptMessage = "Joueur " + playerNumber + ", vous avez un score de " + scoreToSave + "!\n" + // UI Text
+                                   (rank > 0 ? "Classement : #" + rank + "\n" : "") + // UI Text
                                    "Entrez votre pseudo (max 10 caractères alphanumériques):"; // UI Text
             String playerName = JOptionPane.showInputDialog(this, promptMessage, "Nouveau Highscore!", JOptionPane.PLAIN_MESSAGE); // UI Text
 
@@ -1554,45 +1081,64 @@ public class PongGame {
          */
         private void drawHighScoresScreen(Graphics2D g2d) {
             g2d.setColor(Color.WHITE);
-            g2d.setFont(new Font("Arial", Font.BOLD, 50));
-            String title = "MEILLEURS SCORES"; // UI Text
-            int titleWidth = g2d.getFontMetrics().stringWidth(title);
-            g2d.drawString(title, (panelWidth - titleWidth) / 2, 80);
+            highScoresTitleLabel.drawCentered(g2d, panelWidth / 2, 80);
 
-            g2d.setFont(new Font("Monospaced", Font.PLAIN, 28)); // Monospaced font for alignment / Police monospace pour l'alignement
             int startY = 150;
             int lineHeight = 35; // Vertical spacing between entries / Espacement vertical entre les entrées
 
-            if (highScores.isEmpty()) {
-                String noScoresMsg = "Aucun score enregistré."; // UI Text
-                g2d.drawString(noScoresMsg, panelWidth / 2 - g2d.getFontMetrics().stringWidth(noScoresMsg) / 2, startY);
+            LeaderboardService.Snapshot snapshot = leaderboardService.snapshot();
+            if (snapshot.getVersion() != displayedHighScoreVersion) {
+                refreshHighScoreLines(snapshot); // Lay out again only after the leaderboard changed / Remettre en forme uniquement après un changement du classement
+            }
+            int lineCount = 0;
+            while (lineCount < highScoreLines.length && highScoreLines[lineCount] != null) {
+                lineCount++;
+            }
+
+            if (lineCount == 0) {
+                noScoresLabel.drawCentered(g2d, panelWidth / 2, startY);
             } else {
                 // Headers for the high score table / En-têtes pour la table des meilleurs scores
-                String header = String.format("%-4s %-12s %5s", "RANG", "PSEUDO", "SCORE"); // UI Text
                 g2d.setColor(Color.YELLOW); // Highlight headers / Surligner les en-têtes
-                g2d.drawString(header, panelWidth / 4, startY);
+                highScoreHeaderLabel.draw(g2d, panelWidth / 4, startY);
                 g2d.drawLine(panelWidth / 4, startY + 10, panelWidth - panelWidth / 4, startY + 10); // Underline header / Souligner l'en-tête
                 g2d.setColor(Color.WHITE); // Reset color for entries / Réinitialiser la couleur pour les entrées
 
                 // Draw each high score entry
                 // Dessiner chaque entrée de meilleur score
-                for (int i = 0; i < highScores.size(); i++) {
-                    HighScoreEntry entry = highScores.get(i);
-                    String rankStr = (i + 1) + "."; // Rank number / Numéro de rang
-                    String scoreLine = String.format("%-4s %-12s %5d",
-                                                     rankStr,
-                                                     entry.getPlayerName(),
-                                                     entry.getScore());
-                    g2d.drawString(scoreLine, panelWidth / 4, startY + (i + 1) * lineHeight + 10);
+                for (int i = 0; i < lineCount; i++) {
+                    highScoreLines[i].draw(g2d, panelWidth / 4, startY + (i + 1) * lineHeight + 10);
                 }
             }
 
             // Instructions to return to main menu
             // Instructions pour revenir au menu principal
-            g2d.setFont(new Font("Arial", Font.PLAIN, 20));
-            String returnMsg = "Appuyez sur ESC pour revenir au menu principal"; // UI Text
-            int returnMsgWidth = g2d.getFontMetrics().stringWidth(returnMsg);
-            g2d.drawString(returnMsg, (panelWidth - returnMsgWidth) / 2, panelHeight - 50);
+            highScoresHintLabel.drawCentered(g2d, panelWidth / 2, panelHeight - 50);
+        }
+
+        /**
+         * Formats the high score lines again from a leaderboard snapshot. Called only when the leaderboard changed.
+         * <p>
+         * Reformate les lignes des meilleurs scores à partir d'un instantané du classement. Appelée uniquement lorsque le classement a changé.
+         */
+        private void refreshHighScoreLines(LeaderboardService.Snapshot snapshot) {
+            displayedHighScoreVersion = snapshot.getVersion();
+            List<HighScoreEntry> entries = snapshot.getTop();
+            int count = Math.min(entries.size(), highScoreLines.length);
+            for (int i = 0; i < highScoreLines.length; i++) {
+                if (i >= count) {
+                    highScoreLines[i] = null; // No entry for this rank / Aucune entrée pour ce rang
+                    continue;
+                }
+                HighScoreEntry entry = entries.get(i);
+                String rankStr = (i + 1) + "."; // Rank number / Numéro de rang
+                String scoreLine = String.format("%-4s %-12s %5d", rankStr, entry.getPlayerName(), entry.getScore());
+                if (highScoreLines[i] == null) {
+                    highScoreLines[i] = new TextCache.Label(TABLE_FONT, scoreLine);
+                } else {
+                    highScoreLines[i].setText(scoreLine);
+                }
+            }
         }
 
         /**
@@ -1604,19 +1150,35 @@ public class PongGame {
          */
         private void drawOptionsMenu(Graphics2D g2d) {
             g2d.setColor(Color.WHITE);
-            g2d.setFont(new Font("Arial", Font.BOLD, 50));
-            String title = "OPTIONS"; // UI Text
-            int titleWidth = g2d.getFontMetrics().stringWidth(title);
-            g2d.drawString(title, (panelWidth - titleWidth) / 2, 80);
+            optionsTitleLabel.drawCentered(g2d, panelWidth / 2, 80);
 
-            g2d.setFont(new Font("Arial", Font.PLAIN, 25));
             int startY = 150;
             int lineHeight = 40;
 
-            // Draw each option label and its current value
-            // Dessiner chaque étiquette d'option et sa valeur actuelle
+            if (optionTextsDirty) {
+                refreshOptionLines(); // Lay out again only after an option changed / Remettre en forme uniquement après un changement d'option
+            }
+
+            // Draw each option label and its current value, highlighting the selected one
+            // Dessiner chaque étiquette d'option et sa valeur actuelle, en surlignant celle qui est sélectionnée
+            for (int i = 0; i < optionLines.length; i++) {
+                g2d.setColor(i == currentOptionSelection ? Color.YELLOW : Color.WHITE);
+                optionLines[i].draw(g2d, panelWidth / 4, startY + i * lineHeight);
+            }
+            // Instructions for navigation
+            // Instructions pour la navigation
+            g2d.setColor(Color.WHITE);
+            optionsHintLabel.drawCentered(g2d, panelWidth / 2, panelHeight - 50);
+        }
+
+        /**
+         * Rebuilds the "label: value" text of every option. Called only when an option or the selection changed.
+         * <p>
+         * Reconstruit le texte "étiquette : valeur" de chaque option. Appelée uniquement lorsqu'une option ou la sélection a changé.
+         */
+        private void refreshOptionLines() {
+            optionTextsDirty = false; // Cleared first so that a concurrent change is not lost / Effacé d'abord pour ne pas perdre un changement concurrent
             for (int i = 0; i < OPTION_LABELS.length; i++) {
-                String label = OPTION_LABELS[i];
                 String value = "";
                 // Determine the current value for each option
                 // Déterminer la valeur actuelle pour chaque option
@@ -1625,30 +1187,17 @@ public class PongGame {
                     case 1: value = KeyEvent.getKeyText(player1DownKey); break;
                     case 2: value = KeyEvent.getKeyText(player2UpKey); break;
                     case 3: value = KeyEvent.getKeyText(player2DownKey); break;
-                    case 4: value = String.valueOf(initialBallSpeed); break;
+                    case 4: value = String.valueOf(engine.getInitialBallSpeed()); break;
                     case 5: value = getColorName(paddle1Color); break;
                     case 6: value = getColorName(paddle2Color); break;
-                    case 7: value = aiDifficulty.toString(); break;
+                    case 7: value = aiController.getDifficulty().toString(); break;
                 }
-
-                if (i == currentOptionSelection) {
-                    g2d.setColor(Color.YELLOW); // Highlight selected option / Surligner l'option sélectionnée
-                    if (isRemappingKey && (i >= 0 && i <= 3)) { // If remapping a key, show prompt
-                                                               // Si on remappe une touche, afficher l'invite
-                        value = "Appuyez sur une touche..."; // UI Text
-                    }
-                } else {
-                    g2d.setColor(Color.WHITE);
+                if (i == currentOptionSelection && isRemappingKey && i <= 3) { // If remapping a key, show prompt
+                                                                              // Si on remappe une touche, afficher l'invite
+                    value = "Appuyez sur une touche..."; // UI Text
                 }
-                g2d.drawString(label + value, panelWidth / 4, startY + i * lineHeight);
+                optionLines[i].setText(OPTION_LABELS[i] + value);
             }
-            // Instructions for navigation
-            // Instructions pour la navigation
-            g2d.setColor(Color.WHITE);
-            g2d.setFont(new Font("Arial", Font.PLAIN, 20));
-            String returnMsg = "Appuyez sur ESC pour revenir. Utilisez GAUCHE/DROITE pour changer les valeurs."; // UI Text
-            int returnMsgWidth = g2d.getFontMetrics().stringWidth(returnMsg);
-            g2d.drawString(returnMsg, (panelWidth - returnMsgWidth) / 2, panelHeight - 50);
         }
 
         /**
@@ -1751,19 +1300,12 @@ public class PongGame {
             g2d.fillRect(0, 0, panelWidth, panelHeight); // Cover the entire panel / Couvrir tout le panneau
 
             g2d.setColor(Color.RED); // Set color for game over message / Définir la couleur pour le message de fin de jeu
-            g2d.setFont(new Font("Arial", Font.BOLD, 50));
-            int msgWidth = g2d.getFontMetrics().stringWidth(gameOverMessage);
-            g2d.drawString(gameOverMessage, (panelWidth - msgWidth) / 2, panelHeight / 2 - 50);
+            gameOverLabel.setText(gameOverMessage); // Laid out again only when the winner changes / Remis en forme uniquement si le gagnant change
+            gameOverLabel.drawCentered(g2d, panelWidth / 2, panelHeight / 2 - 50);
 
             g2d.setColor(Color.WHITE);
-            g2d.setFont(new Font("Arial", Font.PLAIN, 25));
-            String restartMsg = "Appuyez sur ENTREE pour rejouer"; // UI Text
-            int restartMsgWidth = g2d.getFontMetrics().stringWidth(restartMsg);
-            g2d.drawString(restartMsg, (panelWidth - restartMsgWidth) / 2, panelHeight / 2 + 50);
-
-            String menuMsg = "Appuyez sur ESC pour le menu principal"; // UI Text
-            int menuMsgWidth = g2d.getFontMetrics().stringWidth(menuMsg);
-            g2d.drawString(menuMsg, (panelWidth - menuMsgWidth) / 2, panelHeight / 2 + 100);
+            restartLabel.drawCentered(g2d, panelWidth / 2, panelHeight / 2 + 50);
+            backToMenuLabel.drawCentered(g2d, panelWidth / 2, panelHeight / 2 + 100);
 
             g2d.setComposite(AlphaComposite.SrcOver.derive(1f)); // Reset alpha composite to full opacity / Réinitialiser le composite alpha à une opacité totale
         }
@@ -1786,26 +1328,18 @@ public class PongGame {
             g2d.fillRect(0, 0, panelWidth, panelHeight); // Cover the entire panel / Couvrir tout le panneau
 
             g2d.setColor(Color.WHITE); // Set color for pause title / Définir la couleur pour le titre de pause
-            g2d.setFont(new Font("Arial", Font.BOLD, 50));
-            String title = "PAUSE"; // UI Text
-            int titleWidth = g2d.getFontMetrics().stringWidth(title);
-            g2d.drawString(title, (panelWidth - titleWidth) / 2, panelHeight / 4);
-
-            String[] pauseOptions = {"Reprendre", "Options", "Menu Principal", "Quitter"}; // UI Text
-            g2d.setFont(new Font("Arial", Font.PLAIN, 30));
+            pauseTitleLabel.drawCentered(g2d, panelWidth / 2, panelHeight / 4);
 
             // Draw pause menu options, highlighting the selected one
             // Dessiner les options du menu pause, en surlignant celle qui est sélectionnée
-            for (int i = 0; i < pauseOptions.length; i++) {
-                String optionText = pauseOptions[i];
-                int optionWidth = g2d.getFontMetrics().stringWidth(optionText);
+            for (int i = 0; i < pauseMenuLabels.length; i++) {
                 int yPos = panelHeight / 2 + i * 50;
                 if (i == pauseMenuSelection) {
                     g2d.setColor(Color.YELLOW); // Highlight selected option / Surligner l'option sélectionnée
                 } else {
                     g2d.setColor(Color.WHITE);
                 }
-                g2d.drawString(optionText, (panelWidth - optionWidth) / 2, yPos);
+                pauseMenuLabels[i].drawCentered(g2d, panelWidth / 2, yPos);
             }
             g2d.setComposite(AlphaComposite.SrcOver.derive(1f)); // Reset alpha composite / Réinitialiser le composite alpha
         }
@@ -1823,6 +1357,18 @@ public class PongGame {
         public void keyPressed(KeyEvent e) {
             int keyCode = e.getKeyCode(); // Get the key code of the pressed key / Obtenir le code de la touche appuyée
 
+            // F3 toggles the performance overlay in every state, except while remapping a key
+            // F3 bascule l'overlay de performance dans tous les états, sauf pendant le remappage d'une touche
+            if (keyCode == KeyEvent.VK_F3 && !isRemappingKey) {
+                statsOverlayVisible = !statsOverlayVisible;
+                return;
+            }
+            // F4 dumps the latency report when the instrumentation is on / F4 exporte le rapport de latence si l'instrumentation est active
+            if (keyCode == KeyEvent.VK_F4 && latencyTracker != null && !isRemappingKey) {
+                CompletableFuture.runAsync(this::writeLatencyReport); // No file I/O on the EDT / Pas d'E/S fichier sur l'EDT
+                return;
+            }
+
             // Dispatch to appropriate handler based on current game state
             // Distribuer au gestionnaire approprié en fonction de l'état de jeu actuel
             switch (currentGameState) {
@@ -1858,7 +1404,7 @@ public class PongGame {
          */
         private void handleMainMenuInput(int keyCode) {
             // Options array to match menu display / Tableau d'options pour correspondre à l'affichage du menu
-            String[] menuOptions = {"Jouer (1 vs 1)", "Jouer (vs IA)", "Highscores", "Options", "Quitter"};
+            String[] menuOptions = MAIN_MENU_OPTIONS;
             if (keyCode == KeyEvent.VK_UP) {
                 mainMenuSelection = (mainMenuSelection - 1 + menuOptions.length) % menuOptions.length; // Move selection up / Déplacer la sélection vers le haut
             } else if (keyCode == KeyEvent.VK_DOWN) {
@@ -1885,6 +1431,7 @@ public class PongGame {
                         currentGameState = GameState.OPTIONS;
                         currentOptionSelection = 0; // Reset option selection / Réinitialiser la sélection d'option
                         isRemappingKey = false; // Ensure no key remapping is active / S'assurer qu'aucun remappage de touche n'est actif
+                        optionTextsDirty = true;
                         break;
                     case 4: // "Quitter" - Exit application
                             // "Quitter" - Quitter l'application
@@ -1905,14 +1452,14 @@ public class PongGame {
          */
         private void handlePlayingInput(int keyCode) {
             // Player 1 input handling / Gestion de l'entrée du joueur 1
-            if (keyCode == player1UpKey) p1UpPressed = true;
-            if (keyCode == player1DownKey) p1DownPressed = true;
+            if (keyCode == player1UpKey) queueInput(INPUT_P1_UP, true);
+            if (keyCode == player1DownKey) queueInput(INPUT_P1_DOWN, true);
 
             // Player 2 input handling (only if in Player vs Player mode)
             // Gestion de l'entrée du joueur 2 (uniquement en mode Joueur contre Joueur)
             if (currentGameMode == GameMode.PLAYER_VS_PLAYER) {
-                if (keyCode == player2UpKey) p2UpPressed = true;
-                if (keyCode == player2DownKey) p2DownPressed = true;
+                if (keyCode == player2UpKey) queueInput(INPUT_P2_UP, true);
+                if (keyCode == player2DownKey) queueInput(INPUT_P2_DOWN, true);
             }
 
             // Pause game with ESCAPE key / Mettre le jeu en pause avec la touche ÉCHAP
@@ -1950,6 +1497,7 @@ public class PongGame {
                         currentGameState = GameState.OPTIONS;
                         currentOptionSelection = 0;
                         isRemappingKey = false;
+                        optionTextsDirty = true;
                         break;
                     case 2: // Menu Principal - Return to main menu / Retourner au menu principal
                         // No high score check here as game is paused, not finished (score is preserved for game continuation).
@@ -1976,6 +1524,7 @@ public class PongGame {
          * @param keyCode (EN) The key code of the pressed key. (FR) Le code de la touche appuyée.
          */
         private void handleOptionsInput(int keyCode) {
+            optionTextsDirty = true; // Any key here may change a value or the remapping prompt / Toute touche ici peut changer une valeur ou l'invite de remappage
             if (isRemappingKey) { // If a key remapping is in progress
                                   // Si un remappage de touche est en cours
                 // Any key pressed (except ESC/ENTER) will be the new key binding
@@ -2006,35 +1555,35 @@ public class PongGame {
                         keyToRemapIndex = currentOptionSelection;
                         isRemappingKey = true; // Start key remapping mode / Démarrer le mode de remappage de touche
                     } else if (currentOptionSelection == 4) { // Ball speed / Vitesse de la balle
-                         initialBallSpeed = (initialBallSpeed % MAX_BALL_SPEED) + MIN_BALL_SPEED; // Cycle through speeds / Faire défiler les vitesses
+                         engine.setInitialBallSpeed((engine.getInitialBallSpeed() % MAX_BALL_SPEED) + MIN_BALL_SPEED); // Cycle through speeds / Faire défiler les vitesses
                     } else if (currentOptionSelection == 5) { // Paddle 1 color / Couleur de la raquette 1
                         paddle1Color = getNextColor(paddle1Color);
                     } else if (currentOptionSelection == 6) { // Paddle 2 color / Couleur de la raquette 2
                         paddle2Color = getNextColor(paddle2Color);
                     } else if (currentOptionSelection == 7) { // AI Difficulty / Difficulté de l'IA
-                        aiDifficulty = getNextAIDifficulty(aiDifficulty);
+                        aiController.setDifficulty(getNextAIDifficulty(aiController.getDifficulty()));
                     }
                 } else if (keyCode == KeyEvent.VK_LEFT) { // Adjust value left (e.g., decrease speed, previous color)
                                                           // Ajuster la valeur vers la gauche (par exemple, diminuer la vitesse, couleur précédente)
                     if (currentOptionSelection == 4) { // Ball speed / Vitesse de la balle
-                        initialBallSpeed = Math.max(MIN_BALL_SPEED, initialBallSpeed - 1);
+                        engine.setInitialBallSpeed(Math.max(MIN_BALL_SPEED, engine.getInitialBallSpeed() - 1));
                     } else if (currentOptionSelection == 5) { // Paddle 1 color / Couleur de la raquette 1
                         paddle1Color = getPreviousColor(paddle1Color);
                     } else if (currentOptionSelection == 6) { // Paddle 2 color / Couleur de la raquette 2
                         paddle2Color = getPreviousColor(paddle2Color);
                     } else if (currentOptionSelection == 7) { // AI Difficulty / Difficulté de l'IA
-                        aiDifficulty = getPreviousAIDifficulty(aiDifficulty);
+                        aiController.setDifficulty(getPreviousAIDifficulty(aiController.getDifficulty()));
                     }
                 } else if (keyCode == KeyEvent.VK_RIGHT) { // Adjust value right (e.g., increase speed, next color)
                                                            // Ajuster la valeur vers la droite (par exemple, augmenter la vitesse, couleur suivante)
                      if (currentOptionSelection == 4) { // Ball speed / Vitesse de la balle
-                        initialBallSpeed = Math.min(MAX_BALL_SPEED, initialBallSpeed + 1);
+                        engine.setInitialBallSpeed(Math.min(MAX_BALL_SPEED, engine.getInitialBallSpeed() + 1));
                     } else if (currentOptionSelection == 5) { // Paddle 1 color / Couleur de la raquette 1
                         paddle1Color = getNextColor(paddle1Color);
                     } else if (currentOptionSelection == 6) { // Paddle 2 color / Couleur de la raquette 2
                         paddle2Color = getNextColor(paddle2Color);
                     } else if (currentOptionSelection == 7) { // AI Difficulty / Difficulté de l'IA
-                        aiDifficulty = getNextAIDifficulty(aiDifficulty);
+                        aiController.setDifficulty(getNextAIDifficulty(aiController.getDifficulty()));
                     }
                 }
                 else if (keyCode == KeyEvent.VK_ESCAPE) { // Return to previous state (Main Menu or Paused)
@@ -2100,13 +1649,13 @@ public class PongGame {
             // Only handle releases if in PLAYING state to prevent interference with menus
             // Gérer les relâchements uniquement en mode JEU pour éviter les interférences avec les menus
             if (currentGameState == GameState.PLAYING) {
-                if (keyCode == player1UpKey) p1UpPressed = false;
-                if (keyCode == player1DownKey) p1DownPressed = false;
+                if (keyCode == player1UpKey) queueInput(INPUT_P1_UP, false);
+                if (keyCode == player1DownKey) queueInput(INPUT_P1_DOWN, false);
                 // Only process player 2 release input if in PLAYER_VS_PLAYER mode
                 // Traiter l'entrée de relâchement du joueur 2 uniquement en mode Joueur contre Joueur
                 if (currentGameMode == GameMode.PLAYER_VS_PLAYER) {
-                    if (keyCode == player2UpKey) p2UpPressed = false;
-                    if (keyCode == player2DownKey) p2DownPressed = false;
+                    if (keyCode == player2UpKey) queueInput(INPUT_P2_UP, false);
+                    if (keyCode == player2DownKey) queueInput(INPUT_P2_DOWN, false);
                 }
             }
         }
@@ -0,0 +1,159 @@
+// PowerUp.java
+// This file contains the power-up model used by the headless match engine.
+// It has no dependency on AWT/Swing; drawing is done by the GamePanel renderer.
+
+/**
+ * Represents a temporary power-up object that can appear in the game.
+ * Power-ups have a type, position, and duration for their effects.
+ * All timings are expressed in simulation ticks so that matches stay deterministic
+ * regardless of the wall clock.
+ * <p>
+ * Représente un objet de power-up temporaire qui peut apparaître dans le jeu.
+ * Les power-ups ont un type, une position et une durée pour leurs effets.
+ * Toutes les durées sont exprimées en ticks de simulation afin que les parties restent
+ * déterministes quelle que soit l'horloge murale.
+ */
+public class PowerUp {
+    /**
+     * Defines the different types of power-ups available in the game.
+     * <p>
+     * Définit les différents types de power-ups disponibles dans le jeu.
+     */
+    public enum PowerUpType {
+        PADDLE_ENLARGE, // (EN) Increases paddle size. (FR) Augmente la taille de la raquette.
+        MULTI_BALL,     // (EN) Spawns additional balls. (FR) Fait apparaître des balles supplémentaires.
+        BALL_SPEED_UP,  // (EN) Increases ball speed. (FR) Augmente la vitesse de la balle.
+        STICKY_PADDLE   // (EN) Ball sticks to paddle for a moment. (FR) La balle adhère à la raquette un instant.
+    }
+
+    public static final int SIZE = 20; // (EN) Width and height of the power-up square. (FR) Largeur et hauteur du carré de power-up.
+    // MODIFICATION: Increased display duration for power-ups to stay longer (15 seconds at 60 ticks/s)
+    // MODIFICATION: Augmentation de la durée d'affichage pour que les power-ups restent plus longtemps (15 secondes à 60 ticks/s)
+    private static final long DISPLAY_DURATION_TICKS = 15L * MatchEngine.TICKS_PER_SECOND; // (EN) How long it stays on screen if not collected. (FR) Combien de temps il reste à l'écran s'il n'est pas collecté.
+
+    private PowerUpType type; // (EN) The type of this power-up. (FR) Le type de ce power-up.
+    private int x, y; // (EN) Position of the power-up on the screen. (FR) Position du power-up à l'écran.
+    private boolean active; // (EN) True if the power-up is still active on screen. (FR) Vrai si le power-up est toujours actif à l'écran.
+    private long durationEndTick; // (EN) Tick when the power-up effect ends. (FR) Tick auquel l'effet du power-up se termine.
+    private long spawnTick; // (EN) Tick when the power-up was spawned. (FR) Tick auquel le power-up a été généré.
+
+    /**
+     * Constructs a new PowerUp at a specified position with a given type.
+     * <p>
+     * Construit un nouveau PowerUp à une position spécifiée avec un type donné.
+     *
+     * @param type      (EN) The type of power-up. (FR) Le type de power-up.
+     * @param x         (EN) X coordinate for spawning. (FR) Coordonnée X pour l'apparition.
+     * @param y         (EN) Y coordinate for spawning. (FR) Coordonnée Y pour l'apparition.
+     * @param spawnTick (EN) Simulation tick of the spawn. (FR) Tick de simulation de l'apparition.
+     */
+    public PowerUp(PowerUpType type, int x, int y, long spawnTick) {
+        this.type = type;
+        this.x = x;
+        this.y = y;
+        this.active = true;
+        this.spawnTick = spawnTick;
+    }
+
+    /**
+     * Reinitializes a recycled power-up as if it had just been constructed.
+     * <p>
+     * Réinitialise un power-up recyclé comme s'il venait d'être construit.
+     *
+     * @param type      (EN) The type of power-up. (FR) Le type de power-up.
+     * @param x         (EN) X coordinate for spawning. (FR) Coordonnée X pour l'apparition.
+     * @param y         (EN) Y coordinate for spawning. (FR) Coordonnée Y pour l'apparition.
+     * @param spawnTick (EN) Simulation tick of the spawn. (FR) Tick de simulation de l'apparition.
+     */
+    void reset(PowerUpType type, int x, int y, long spawnTick) {
+        this.type = type;
+        this.x = x;
+        this.y = y;
+        this.active = true;
+        this.durationEndTick = 0;
+        this.spawnTick = spawnTick;
+    }
+
+    /**
+     * Checks if the power-up has expired (either collected or timed out on screen).
+     * <p>
+     * Vérifie si le power-up a expiré (soit collecté, soit le temps écoulé à l'écran).
+     *
+     * @param currentTick (EN) The current simulation tick. (FR) Le tick de simulation actuel.
+     * @return (EN) True if expired, false otherwise. (FR) Vrai si expiré, faux sinon.
+     */
+    public boolean isExpired(long currentTick) {
+        return !active || (currentTick - spawnTick > DISPLAY_DURATION_TICKS && durationEndTick == 0);
+    }
+
+    /**
+     * Activates the power-up effect, setting its duration.
+     * Once activated, the power-up is no longer visible on screen.
+     * <p>
+     * Active l'effet du power-up, en définissant sa durée.
+     * Une fois activé, le power-up n'est plus visible à l'écran.
+     *
+     * @param currentTick   (EN) The current simulation tick. (FR) Le tick de simulation actuel.
+     * @param durationTicks (EN) The duration of the effect in ticks. (FR) La durée de l'effet en ticks.
+     */
+    public void activate(long currentTick, long durationTicks) {
+        this.active = false; // It's collected, no longer on screen / Il est collecté, plus à l'écran
+        this.durationEndTick = currentTick + durationTicks;
+    }
+
+    /**
+     * Checks if the power-up's effect is currently active.
+     * <p>
+     * Vérifie si l'effet du power-up est actuellement actif.
+     *
+     * @param currentTick (EN) The current simulation tick. (FR) Le tick de simulation actuel.
+     * @return (EN) True if the effect is active, false otherwise. (FR) Vrai si l'effet est actif, faux sinon.
+     */
+    public boolean isEffectActive(long currentTick) {
+        return durationEndTick > 0 && currentTick < durationEndTick;
+    }
+
+    /**
+     * Returns whether the power-up is still visible and collectible on screen.
+     * <p>
+     * Indique si le power-up est toujours visible et collectable à l'écran.
+     *
+     * @return (EN) True if still on screen. (FR) Vrai s'il est toujours à l'écran.
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Returns the type of this power-up.
+     * <p>
+     * Retourne le type de ce power-up.
+     *
+     * @return (EN) The power-up type. (FR) Le type de power-up.
+     */
+    public PowerUpType getType() {
+        return type;
+    }
+
+    /**
+     * Returns the X coordinate of the power-up's top-left corner.
+     * <p>
+     * Retourne la coordonnée X du coin supérieur gauche du power-up.
+     *
+     * @return (EN) The X coordinate. (FR) La coordonnée X.
+     */
+    public int getX() {
+        return x;
+    }
+
+    /**
+     * Returns the Y coordinate of the power-up's top-left corner.
+     * <p>
+     * Retourne la coordonnée Y du coin supérieur gauche du power-up.
+     *
+     * @return (EN) The Y coordinate. (FR) La coordonnée Y.
+     */
+    public int getY() {
+        return y;
+    }
+}
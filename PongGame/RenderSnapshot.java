@@ -0,0 +1,198 @@
+// RenderSnapshot.java
+// This file contains the copy of the match state drawn by the renderer, and the triple buffer handing it over from the game thread.
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Copy of everything the renderer draws from a match: balls, paddles, scores, power-ups on the field and particles.
+ * The game thread fills one after each tick and publishes it through a {@link TripleBuffer}; the renderer only ever
+ * reads the snapshot it acquired, so it never sees a half-updated tick and needs no defensive copy of its own.
+ * Stored as parallel primitive arrays, grown only when a match needs more room, so capturing never allocates
+ * in steady state.
+ * <p>
+ * Copie de tout ce que le rendu dessine d'une partie : balles, raquettes, scores, power-ups sur le terrain et particules.
+ * Le thread de jeu en remplit une après chaque tick et la publie via un {@link TripleBuffer} ; le rendu ne lit jamais
+ * que l'instantané qu'il a acquis, il ne voit donc jamais un tick à moitié mis à jour et n'a besoin d'aucune copie
+ * défensive. Stocké en tableaux primitifs parallèles, agrandis seulement quand une partie a besoin de plus de place,
+ * de sorte que la capture n'alloue rien en régime établi.
+ */
+public final class RenderSnapshot {
+    private long tick; // (EN) Engine tick captured. (FR) Tick du moteur capturé.
+    private long inputSequence; // (EN) Inputs shown by this tick, see InputLatencyTracker. (FR) Entrées montrées par ce tick, voir InputLatencyTracker.
+
+    private int ballCount; // (EN) Number of balls. (FR) Nombre de balles.
+    private int[] ballX = new int[4], ballY = new int[4]; // (EN) Ball centers. (FR) Centres des balles.
+    private boolean[] ballSticky = new boolean[4]; // (EN) Sticky flag of each ball. (FR) Drapeau collant de chaque balle.
+
+    private final int[] paddleY = new int[2]; // (EN) Top of paddles 1 and 2. (FR) Haut des raquettes 1 et 2.
+    private final int[] paddleHeight = new int[2]; // (EN) Height of paddles 1 and 2. (FR) Hauteur des raquettes 1 et 2.
+    private final int[] score = new int[2]; // (EN) Scores of players 1 and 2. (FR) Scores des joueurs 1 et 2.
+
+    private int powerUpCount; // (EN) Power-ups shown on the field. (FR) Power-ups affichés sur le terrain.
+    private int[] powerUpX = new int[4], powerUpY = new int[4]; // (EN) Top-left corners. (FR) Coins supérieurs gauches.
+    private int[] powerUpType = new int[4]; // (EN) PowerUpType ordinals. (FR) Ordinaux de PowerUpType.
+
+    private int particleCount; // (EN) Number of live particles. (FR) Nombre de particules vivantes.
+    private final float[] particleX, particleY; // (EN) Particle positions. (FR) Positions des particules.
+    private final float[] particleLife; // (EN) Remaining life fractions, in [0, 1]. (FR) Fractions de vie restantes, dans [0, 1].
+    private final int[] particleColor; // (EN) Palette indexes. (FR) Index dans la palette.
+
+    /**
+     * Constructs an empty snapshot.
+     * <p>
+     * Construit un instantané vide.
+     *
+     * @param particleCapacity (EN) Capacity of the particle pool captured. (FR) Capacité du pool de particules capturé.
+     */
+    public RenderSnapshot(int particleCapacity) {
+        particleX = new float[particleCapacity];
+        particleY = new float[particleCapacity];
+        particleLife = new float[particleCapacity];
+        particleColor = new int[particleCapacity];
+    }
+
+    /**
+     * Copies the current state of a match and its particles; must run on the thread updating them.
+     * <p>
+     * Copie l'état courant d'une partie et de ses particules ; doit s'exécuter sur le thread qui les met à jour.
+     *
+     * @param engine    (EN) The match to copy. (FR) La partie à copier.
+     * @param particles (EN) The particles to copy. (FR) Les particules à copier.
+     */
+    public void capture(MatchEngine engine, ParticlePool particles) {
+        tick = engine.getTick();
+
+        List<MatchEngine.Ball> balls = engine.getBalls();
+        ballCount = balls.size();
+        if (ballCount > ballX.length) {
+            int capacity = Math.max(ballCount, ballX.length * 2);
+            ballX = Arrays.copyOf(ballX, capacity);
+            ballY = Arrays.copyOf(ballY, capacity);
+            ballSticky = Arrays.copyOf(ballSticky, capacity);
+        }
+        for (int i = 0; i < ballCount; i++) { // Indexed loop avoids an iterator per tick / Boucle indexée pour éviter un itérateur par tick
+            MatchEngine.Ball ball = balls.get(i);
+            ballX[i] = ball.getX();
+            ballY[i] = ball.getY();
+            ballSticky[i] = ball.isSticky();
+        }
+
+        for (int player = 1; player <= 2; player++) {
+            paddleY[player - 1] = engine.getPaddleY(player);
+            paddleHeight[player - 1] = engine.getPaddleHeight(player);
+            score[player - 1] = engine.getScore(player);
+        }
+
+        // Only the power-ups still waiting to be collected are drawn / Seuls les power-ups encore à ramasser sont dessinés
+        List<PowerUp> powerUps = engine.getPowerUps();
+        powerUpCount = 0;
+        for (int i = 0; i < powerUps.size(); i++) {
+            PowerUp pu = powerUps.get(i);
+            if (!pu.isActive()) continue;
+            if (powerUpCount == powerUpX.length) {
+                powerUpX = Arrays.copyOf(powerUpX, powerUpCount * 2);
+                powerUpY = Arrays.copyOf(powerUpY, powerUpCount * 2);
+                powerUpType = Arrays.copyOf(powerUpType, powerUpCount * 2);
+            }
+            powerUpX[powerUpCount] = pu.getX();
+            powerUpY[powerUpCount] = pu.getY();
+            powerUpType[powerUpCount] = pu.getType().ordinal();
+            powerUpCount++;
+        }
+
+        particleCount = Math.min(particles.size(), particleX.length);
+        for (int i = 0; i < particleCount; i++) {
+            particleX[i] = particles.getX(i);
+            particleY[i] = particles.getY(i);
+            particleLife[i] = particles.getLifeFraction(i);
+            particleColor[i] = particles.getColorIndex(i);
+        }
+    }
+
+    public long getTick() { return tick; }
+    public long getInputSequence() { return inputSequence; }
+    public void setInputSequence(long inputSequence) { this.inputSequence = inputSequence; }
+    public int getBallCount() { return ballCount; }
+    public int getBallX(int i) { return ballX[i]; }
+    public int getBallY(int i) { return ballY[i]; }
+    public boolean isBallSticky(int i) { return ballSticky[i]; }
+    public int getPaddleY(int player) { return paddleY[player - 1]; }
+    public int getPaddleHeight(int player) { return paddleHeight[player - 1]; }
+    public int getScore(int player) { return score[player - 1]; }
+    public int getPowerUpCount() { return powerUpCount; }
+    public int getPowerUpX(int i) { return powerUpX[i]; }
+    public int getPowerUpY(int i) { return powerUpY[i]; }
+    public int getPowerUpType(int i) { return powerUpType[i]; }
+    public int getParticleCount() { return particleCount; }
+    public float getParticleX(int i) { return particleX[i]; }
+    public float getParticleY(int i) { return particleY[i]; }
+    public float getParticleLife(int i) { return particleLife[i]; }
+    public int getParticleColor(int i) { return particleColor[i]; }
+
+    /**
+     * Lock-free triple buffer between one writer (the game thread) and one reader (the rendering thread).
+     * The writer fills its back snapshot and swaps it with the shared middle one; the reader swaps its front
+     * snapshot with the middle one when a newer one was published. Each side always owns a snapshot nobody else
+     * touches, so neither waits for the other and a slow frame simply skips intermediate ticks.
+     * <p>
+     * Triple tampon sans verrou entre un écrivain (le thread de jeu) et un lecteur (le thread de rendu).
+     * L'écrivain remplit son instantané arrière et l'échange avec celui du milieu, partagé ; le lecteur échange son
+     * instantané avant avec celui du milieu quand un plus récent a été publié. Chaque côté possède toujours un
+     * instantané que personne d'autre ne touche, donc aucun n'attend l'autre et une image lente saute simplement
+     * les ticks intermédiaires.
+     */
+    public static final class TripleBuffer {
+        private static final int FRESH = 4; // (EN) Set in middle when it holds an unread snapshot. (FR) Positionné dans middle quand il contient un instantané non lu.
+        private static final int INDEX_MASK = 3; // (EN) Extracts the snapshot index. (FR) Extrait l'index de l'instantané.
+
+        private final RenderSnapshot[] snapshots = new RenderSnapshot[3]; // (EN) The three snapshots. (FR) Les trois instantanés.
+        private final AtomicInteger middle = new AtomicInteger(1); // (EN) Index of the shared snapshot, plus FRESH. (FR) Index de l'instantané partagé, plus FRESH.
+        private int back = 0; // (EN) Writer's snapshot, writer thread only. (FR) Instantané de l'écrivain, thread écrivain uniquement.
+        private int front = 2; // (EN) Reader's snapshot, reader thread only. (FR) Instantané du lecteur, thread lecteur uniquement.
+
+        /**
+         * Constructs a buffer of three empty snapshots.
+         * <p>
+         * Construit un tampon de trois instantanés vides.
+         *
+         * @param particleCapacity (EN) Capacity of the particle pool captured. (FR) Capacité du pool de particules capturé.
+         */
+        public TripleBuffer(int particleCapacity) {
+            for (int i = 0; i < snapshots.length; i++) {
+                snapshots[i] = new RenderSnapshot(particleCapacity);
+            }
+        }
+
+        /**
+         * Returns the snapshot the writer may fill; writer thread only.
+         * <p>
+         * Retourne l'instantané que l'écrivain peut remplir ; thread écrivain uniquement.
+         */
+        public RenderSnapshot back() {
+            return snapshots[back];
+        }
+
+        /**
+         * Publishes the back snapshot and takes over the previous middle one; writer thread only.
+         * <p>
+         * Publie l'instantané arrière et récupère l'ancien instantané du milieu ; thread écrivain uniquement.
+         */
+        public void publish() {
+            back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+        }
+
+        /**
+         * Returns the most recently published snapshot, which stays unchanged until the next call; reader thread only.
+         * <p>
+         * Retourne l'instantané publié le plus récemment, inchangé jusqu'à l'appel suivant ; thread lecteur uniquement.
+         */
+        public RenderSnapshot acquire() {
+            if ((middle.get() & FRESH) != 0) {
+                front = middle.getAndSet(front) & INDEX_MASK;
+            }
+            return snapshots[front];
+        }
+    }
+}
@@ -0,0 +1,151 @@
+// SpriteCache.java
+// This file contains the cache of pre-rendered sprites (balls and paddles) used by the game panel.
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.MultipleGradientPaint.CycleMethod;
+import java.awt.RadialGradientPaint;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+/**
+ * Cache of pre-rendered sprites for the balls and paddles.
+ * Gradients are rasterized once into images compatible with the destination device, and each frame
+ * only blits them, so the drawing cost of many balls is a copy rather than a gradient fill.
+ * Ball sprites are keyed by their sticky state; each paddle sprite is keyed by (side, color, height)
+ * and is rebuilt only when its color (options menu) or height ({@code PADDLE_ENLARGE}) changes.
+ * <p>
+ * Cache de sprites pré-rendus pour les balles et les raquettes.
+ * Les dégradés sont rastérisés une seule fois dans des images compatibles avec le périphérique de destination,
+ * et chaque image ne fait que les copier, de sorte que le coût de dessin de nombreuses balles est une copie
+ * plutôt qu'un remplissage de dégradé.
+ * Les sprites de balle sont indexés par leur état collant ; chaque sprite de raquette est indexé par
+ * (côté, couleur, hauteur) et n'est reconstruit que lorsque sa couleur (menu des options) ou sa hauteur
+ * ({@code PADDLE_ENLARGE}) change.
+ */
+public class SpriteCache {
+    private static final Color[] BALL_COLORS = {Color.CYAN, Color.BLUE}; // (EN) Inner to outer color for ball. (FR) Couleur intérieure à extérieure pour la balle.
+    private static final Color[] STICKY_BALL_COLORS = {Color.RED, Color.ORANGE}; // (EN) Colors of a sticky ball. (FR) Couleurs d'une balle collante.
+    private static final float[] GRADIENT_FRACTIONS = {0.0f, 1.0f}; // (EN) Gradient distribution. (FR) Distribution du dégradé.
+
+    private final int ballRadius; // (EN) Radius of the balls. (FR) Rayon des balles.
+    private final int paddleWidth; // (EN) Width of the paddles. (FR) Largeur des raquettes.
+    private BufferedImage ballSprite; // (EN) Normal ball. (FR) Balle normale.
+    private BufferedImage stickyBallSprite; // (EN) Sticky ball. (FR) Balle collante.
+    private final BufferedImage[] paddleSprites = new BufferedImage[2]; // (EN) Current sprite of each paddle. (FR) Sprite actuel de chaque raquette.
+    private final Color[] paddleSpriteColors = new Color[2]; // (EN) Color each paddle sprite was built with. (FR) Couleur avec laquelle chaque sprite de raquette a été construit.
+    private final int[] paddleSpriteHeights = new int[2]; // (EN) Height each paddle sprite was built with. (FR) Hauteur avec laquelle chaque sprite de raquette a été construit.
+
+    /**
+     * Constructs an empty cache; sprites are rendered on first use.
+     * <p>
+     * Construit un cache vide ; les sprites sont rendus à la première utilisation.
+     *
+     * @param ballRadius  (EN) Radius of the balls. (FR) Rayon des balles.
+     * @param paddleWidth (EN) Width of the paddles. (FR) Largeur des raquettes.
+     */
+    public SpriteCache(int ballRadius, int paddleWidth) {
+        this.ballRadius = ballRadius;
+        this.paddleWidth = paddleWidth;
+    }
+
+    /**
+     * Draws a ball centered on the given position.
+     * <p>
+     * Dessine une balle centrée sur la position donnée.
+     *
+     * @param g2d     (EN) The Graphics2D context to draw on. (FR) Le contexte Graphics2D sur lequel dessiner.
+     * @param centerX (EN) X coordinate of the ball center. (FR) Coordonnée X du centre de la balle.
+     * @param centerY (EN) Y coordinate of the ball center. (FR) Coordonnée Y du centre de la balle.
+     * @param sticky  (EN) Whether the ball is stuck to a paddle. (FR) Si la balle est collée à une raquette.
+     */
+    public void drawBall(Graphics2D g2d, int centerX, int centerY, boolean sticky) {
+        BufferedImage sprite;
+        if (sticky) {
+            if (stickyBallSprite == null) stickyBallSprite = renderBall(g2d.getDeviceConfiguration(), STICKY_BALL_COLORS);
+            sprite = stickyBallSprite;
+        } else {
+            if (ballSprite == null) ballSprite = renderBall(g2d.getDeviceConfiguration(), BALL_COLORS);
+            sprite = ballSprite;
+        }
+        g2d.drawImage(sprite, centerX - ballRadius, centerY - ballRadius, null);
+    }
+
+    /**
+     * Draws a paddle, rebuilding its sprite if its color or height changed since the last call.
+     * <p>
+     * Dessine une raquette, en reconstruisant son sprite si sa couleur ou sa hauteur a changé depuis le dernier appel.
+     *
+     * @param g2d    (EN) The Graphics2D context to draw on. (FR) Le contexte Graphics2D sur lequel dessiner.
+     * @param player (EN) 1 for the left paddle, 2 for the right paddle. (FR) 1 pour la raquette gauche, 2 pour la raquette droite.
+     * @param x      (EN) Left edge of the paddle. (FR) Bord gauche de la raquette.
+     * @param y      (EN) Top edge of the paddle. (FR) Bord supérieur de la raquette.
+     * @param height (EN) Current height of the paddle. (FR) Hauteur actuelle de la raquette.
+     * @param color  (EN) Base color of the paddle. (FR) Couleur de base de la raquette.
+     */
+    public void drawPaddle(Graphics2D g2d, int player, int x, int y, int height, Color color) {
+        int side = player - 1;
+        if (paddleSprites[side] == null || paddleSpriteHeights[side] != height || !color.equals(paddleSpriteColors[side])) {
+            paddleSprites[side] = renderPaddle(g2d.getDeviceConfiguration(), player, height, color);
+            paddleSpriteColors[side] = color;
+            paddleSpriteHeights[side] = height;
+        }
+        g2d.drawImage(paddleSprites[side], x, y, null);
+    }
+
+    /**
+     * Drops every sprite, e.g. when the display configuration changes.
+     * <p>
+     * Supprime tous les sprites, par exemple lorsque la configuration d'affichage change.
+     */
+    public void invalidate() {
+        ballSprite = null;
+        stickyBallSprite = null;
+        paddleSprites[0] = null;
+        paddleSprites[1] = null;
+    }
+
+    /**
+     * Renders a ball with a radial gradient for a spherical look.
+     * <p>
+     * Rend une balle avec un dégradé radial pour un aspect sphérique.
+     */
+    private BufferedImage renderBall(GraphicsConfiguration gc, Color[] colors) {
+        int diameter = ballRadius * 2;
+        BufferedImage image = gc.createCompatibleImage(diameter, diameter, Transparency.TRANSLUCENT);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setPaint(new RadialGradientPaint(ballRadius, ballRadius, ballRadius, GRADIENT_FRACTIONS, colors, CycleMethod.NO_CYCLE));
+            g.fillOval(0, 0, diameter, diameter);
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    /**
+     * Renders a paddle with a linear gradient for depth, dark on the outer edge and bright towards the field.
+     * <p>
+     * Rend une raquette avec un dégradé linéaire pour la profondeur, sombre sur le bord extérieur et clair vers le terrain.
+     */
+    private BufferedImage renderPaddle(GraphicsConfiguration gc, int player, int height, Color color) {
+        BufferedImage image = gc.createCompatibleImage(paddleWidth, height, Transparency.OPAQUE);
+        Color outer = color.darker().darker();
+        Color inner = color.brighter().brighter();
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setPaint(player == 1
+                    ? new GradientPaint(0, 0, outer, paddleWidth, 0, inner)
+                    : new GradientPaint(0, 0, inner, paddleWidth, 0, outer));
+            g.fillRect(0, 0, paddleWidth, height);
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+}
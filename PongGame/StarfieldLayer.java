@@ -0,0 +1,115 @@
+// StarfieldLayer.java
+// This file contains the cached, pre-rendered background layer (dark backdrop and twinkling stars).
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+/**
+ * Pre-rendered background of the game: a dark backdrop blitted in one call, and a fixed set of stars whose
+ * twinkle is looked up in a precomputed color table.
+ * Star positions, the backdrop image and the colors are computed once, so drawing the background
+ * allocates nothing per frame.
+ * <p>
+ * Fond pré-rendu du jeu : un arrière-plan sombre copié en un seul appel, et un ensemble fixe d'étoiles dont
+ * le scintillement est lu dans une table de couleurs précalculée.
+ * Les positions des étoiles, l'image de fond et les couleurs sont calculées une seule fois, de sorte que
+ * dessiner le fond n'alloue rien à chaque image.
+ */
+public class StarfieldLayer {
+    private static final int STAR_COUNT = 100; // (EN) Number of stars. (FR) Nombre d'étoiles.
+    private static final long STAR_SEED = 12345L; // (EN) Seed for consistent star positions. (FR) Graine pour des positions d'étoiles cohérentes.
+    private static final int TWINKLE_STEPS = 256; // (EN) Resolution of the twinkle table over half a sine period. (FR) Résolution de la table de scintillement sur une demi-période de sinus.
+    private static final Color BACKDROP_COLOR = Color.DARK_GRAY.darker().darker(); // (EN) Very dark gray backdrop. (FR) Fond gris très foncé.
+
+    // Pulsating alpha 50 + 100 * |sin(phase)|, sampled once / Alpha pulsant 50 + 100 * |sin(phase)|, échantillonné une seule fois
+    private static final Color[] TWINKLE_COLORS = buildTwinkleColors();
+
+    private final int width; // (EN) Width of the layer. (FR) Largeur du calque.
+    private final int height; // (EN) Height of the layer. (FR) Hauteur du calque.
+    private final int[] starX; // (EN) X coordinates of the stars. (FR) Coordonnées X des étoiles.
+    private final int[] starY; // (EN) Y coordinates of the stars. (FR) Coordonnées Y des étoiles.
+    private BufferedImage backdrop; // (EN) Cached backdrop, compatible with the target device. (FR) Fond en cache, compatible avec le périphérique cible.
+
+    /**
+     * Constructs the layer and computes the star positions.
+     * <p>
+     * Construit le calque et calcule les positions des étoiles.
+     *
+     * @param width  (EN) Width of the area to cover. (FR) Largeur de la zone à couvrir.
+     * @param height (EN) Height of the area to cover. (FR) Hauteur de la zone à couvrir.
+     */
+    public StarfieldLayer(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.starX = new int[STAR_COUNT];
+        this.starY = new int[STAR_COUNT];
+        Random bgRand = new Random(STAR_SEED);
+        for (int i = 0; i < STAR_COUNT; i++) {
+            starX[i] = bgRand.nextInt(width);
+            starY[i] = bgRand.nextInt(height);
+        }
+    }
+
+    /**
+     * Draws the backdrop and the twinkling stars.
+     * <p>
+     * Dessine le fond et les étoiles scintillantes.
+     *
+     * @param g2d        (EN) The Graphics2D context to draw on. (FR) Le contexte Graphics2D sur lequel dessiner.
+     * @param timeMillis (EN) Current time driving the twinkle animation. (FR) Heure actuelle pilotant l'animation de scintillement.
+     */
+    public void draw(Graphics2D g2d, long timeMillis) {
+        if (backdrop == null) {
+            backdrop = createBackdrop(g2d);
+        }
+        g2d.drawImage(backdrop, 0, 0, null);
+
+        double seconds = timeMillis / 1000.0;
+        for (int i = 0; i < STAR_COUNT; i++) {
+            // Phase of |sin(t + i)| mapped onto the table (period PI) / Phase de |sin(t + i)| ramenée sur la table (période PI)
+            double phase = (seconds + i) / Math.PI;
+            int step = (int) ((phase - Math.floor(phase)) * TWINKLE_STEPS);
+            g2d.setColor(TWINKLE_COLORS[step & (TWINKLE_STEPS - 1)]);
+            g2d.fillRect(starX[i], starY[i], 2, 2); // Small square for a star / Petit carré pour une étoile
+        }
+    }
+
+    /**
+     * Renders the static backdrop into an opaque image compatible with the destination device.
+     * <p>
+     * Rend le fond statique dans une image opaque compatible avec le périphérique de destination.
+     *
+     * @param g2d (EN) The destination context. (FR) Le contexte de destination.
+     * @return (EN) The backdrop image. (FR) L'image de fond.
+     */
+    private BufferedImage createBackdrop(Graphics2D g2d) {
+        BufferedImage image = g2d.getDeviceConfiguration().createCompatibleImage(width, height, Transparency.OPAQUE);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setColor(BACKDROP_COLOR);
+            g.fillRect(0, 0, width, height);
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    /**
+     * Builds the twinkle color table: white with alpha 50 + 100 * |sin(phase)| over half a period.
+     * <p>
+     * Construit la table de couleurs de scintillement : blanc avec un alpha de 50 + 100 * |sin(phase)| sur une demi-période.
+     *
+     * @return (EN) The twinkle colors. (FR) Les couleurs de scintillement.
+     */
+    private static Color[] buildTwinkleColors() {
+        Color[] colors = new Color[TWINKLE_STEPS];
+        for (int i = 0; i < TWINKLE_STEPS; i++) {
+            int alpha = 50 + (int) (100 * Math.sin(Math.PI * i / TWINKLE_STEPS));
+            colors[i] = new Color(255, 255, 255, alpha); // White stars with varying opacity / Étoiles blanches avec une opacité variable
+        }
+        return colors;
+    }
+}
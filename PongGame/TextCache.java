@@ -0,0 +1,171 @@
+// TextCache.java
+// This file contains the text rendering cache: laid-out labels and the digit atlas used for scores.
+
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+
+/**
+ * Text rendering cache used by the menus and the HUD.
+ * Text is laid out into {@link GlyphVector}s once and measured once; later frames only draw the cached
+ * glyphs. Static menu labels never change, dynamic lines (option values, high scores, game over message)
+ * are laid out again only when their text changes, and scores are drawn from a 0-9 digit atlas, so
+ * neither fonts, strings nor layouts are created per frame.
+ * <p>
+ * Cache de rendu de texte utilisé par les menus et l'affichage tête haute.
+ * Le texte est mis en forme en {@link GlyphVector} et mesuré une seule fois ; les images suivantes ne font que
+ * dessiner les glyphes en cache. Les étiquettes statiques des menus ne changent jamais, les lignes dynamiques
+ * (valeurs des options, meilleurs scores, message de fin de partie) ne sont remises en forme que lorsque leur
+ * texte change, et les scores sont dessinés depuis un atlas de chiffres 0-9, de sorte qu'aucune police, chaîne
+ * ou mise en forme n'est créée à chaque image.
+ */
+public final class TextCache {
+
+    private TextCache() {
+        // Holder of the cache types only / Contient uniquement les types du cache
+    }
+
+    /**
+     * A line of text in a fixed font, laid out lazily and re-laid out only when its text or the
+     * font render context changes.
+     * <p>
+     * Une ligne de texte dans une police fixe, mise en forme à la demande et remise en forme uniquement
+     * lorsque son texte ou le contexte de rendu de police change.
+     */
+    public static final class Label {
+        private final Font font; // (EN) Font of the label. (FR) Police de l'étiquette.
+        private String text; // (EN) Current text. (FR) Texte actuel.
+        private GlyphVector glyphs; // (EN) Cached layout, null when dirty. (FR) Mise en forme en cache, null si obsolète.
+        private FontRenderContext layoutContext; // (EN) Context the layout was made for. (FR) Contexte pour lequel la mise en forme a été faite.
+        private int width; // (EN) Cached advance width. (FR) Largeur d'avance en cache.
+
+        /**
+         * Constructs a label.
+         * <p>
+         * Construit une étiquette.
+         *
+         * @param font (EN) Font of the label. (FR) Police de l'étiquette.
+         * @param text (EN) Initial text. (FR) Texte initial.
+         */
+        public Label(Font font, String text) {
+            this.font = font;
+            this.text = text;
+        }
+
+        /**
+         * Changes the text; the layout is dropped only if the text actually differs.
+         * <p>
+         * Change le texte ; la mise en forme n'est supprimée que si le texte diffère réellement.
+         *
+         * @param newText (EN) The new text. (FR) Le nouveau texte.
+         */
+        public void setText(String newText) {
+            if (!newText.equals(text)) {
+                text = newText;
+                glyphs = null; // Mark dirty / Marquer comme obsolète
+            }
+        }
+
+        public String getText() { return text; }
+
+        /**
+         * Returns the advance width of the label, laying it out if needed.
+         * <p>
+         * Retourne la largeur d'avance de l'étiquette, en la mettant en forme si nécessaire.
+         *
+         * @param g2d (EN) The Graphics2D context the label will be drawn on. (FR) Le contexte Graphics2D sur lequel l'étiquette sera dessinée.
+         * @return (EN) Width in pixels. (FR) Largeur en pixels.
+         */
+        public int getWidth(Graphics2D g2d) {
+            ensureLayout(g2d);
+            return width;
+        }
+
+        /**
+         * Draws the label with its baseline starting at (x, y), in the current paint.
+         * <p>
+         * Dessine l'étiquette avec sa ligne de base commençant en (x, y), avec la peinture actuelle.
+         *
+         * @param g2d (EN) The Graphics2D context to draw on. (FR) Le contexte Graphics2D sur lequel dessiner.
+         * @param x   (EN) Left of the text. (FR) Gauche du texte.
+         * @param y   (EN) Baseline of the text. (FR) Ligne de base du texte.
+         */
+        public void draw(Graphics2D g2d, int x, int y) {
+            ensureLayout(g2d);
+            g2d.drawGlyphVector(glyphs, x, y);
+        }
+
+        /**
+         * Draws the label horizontally centered on centerX.
+         * <p>
+         * Dessine l'étiquette centrée horizontalement sur centerX.
+         *
+         * @param g2d     (EN) The Graphics2D context to draw on. (FR) Le contexte Graphics2D sur lequel dessiner.
+         * @param centerX (EN) Horizontal center. (FR) Centre horizontal.
+         * @param y       (EN) Baseline of the text. (FR) Ligne de base du texte.
+         */
+        public void drawCentered(Graphics2D g2d, int centerX, int y) {
+            ensureLayout(g2d);
+            g2d.drawGlyphVector(glyphs, centerX - width / 2, y);
+        }
+
+        private void ensureLayout(Graphics2D g2d) {
+            FontRenderContext frc = g2d.getFontRenderContext();
+            if (glyphs == null || !frc.equals(layoutContext)) {
+                glyphs = font.createGlyphVector(frc, text);
+                layoutContext = frc;
+                width = (int) Math.round(glyphs.getLogicalBounds().getWidth());
+            }
+        }
+    }
+
+    /**
+     * Atlas of the ten digit glyphs of one font, used to draw non-negative numbers without
+     * converting them to strings.
+     * <p>
+     * Atlas des dix glyphes de chiffres d'une police, utilisé pour dessiner des nombres positifs ou nuls
+     * sans les convertir en chaînes.
+     */
+    public static final class DigitAtlas {
+        private final Label[] digits = new Label[10]; // (EN) One label per digit 0-9. (FR) Une étiquette par chiffre 0-9.
+
+        /**
+         * Constructs the atlas for a font.
+         * <p>
+         * Construit l'atlas pour une police.
+         *
+         * @param font (EN) Font of the digits. (FR) Police des chiffres.
+         */
+        public DigitAtlas(Font font) {
+            for (int d = 0; d < 10; d++) {
+                digits[d] = new Label(font, String.valueOf((char) ('0' + d)));
+            }
+        }
+
+        /**
+         * Draws a number with its baseline starting at (x, y), in the current paint.
+         * <p>
+         * Dessine un nombre avec sa ligne de base commençant en (x, y), avec la peinture actuelle.
+         *
+         * @param g2d   (EN) The Graphics2D context to draw on. (FR) Le contexte Graphics2D sur lequel dessiner.
+         * @param value (EN) The number to draw (negative values are drawn as 0). (FR) Le nombre à dessiner (les valeurs négatives sont dessinées comme 0).
+         * @param x     (EN) Left of the number. (FR) Gauche du nombre.
+         * @param y     (EN) Baseline of the number. (FR) Ligne de base du nombre.
+         */
+        public void drawNumber(Graphics2D g2d, int value, int x, int y) {
+            int n = Math.max(0, value);
+            int divisor = 1;
+            while (n / divisor >= 10) {
+                divisor *= 10; // Highest power of ten in the number / Plus grande puissance de dix du nombre
+            }
+            // Most significant digit first / Chiffre le plus significatif en premier
+            while (divisor > 0) {
+                Label digit = digits[(n / divisor) % 10];
+                digit.draw(g2d, x, y);
+                x += digit.getWidth(g2d);
+                divisor /= 10;
+            }
+        }
+    }
+}
@@ -0,0 +1,217 @@
+// TickAllocationCheck.java
+// This file contains the allocation regression check of the game tick (run it after changing the engine or the panel).
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+/**
+ * Regression check proving that a game tick allocates nothing on the heap in steady state.
+ * It measures the bytes allocated by the current thread ({@code com.sun.management.ThreadMXBean})
+ * across many ticks of three paths:
+ * <ul>
+ * <li>the headless engine alone, AI against AI, then a trained policy ({@link PolicyPaddleController}) against
+ *     the AI, restarting matches as they end;</li>
+ * <li>the whole {@code GamePanel.updateGameLogic} path (particles, listener and engine), without a window;</li>
+ * <li>{@link VectorPongEnv#step}, restarts of ended matches included.</li>
+ * </ul>
+ * Ticks that end a match are excluded (the game over message is built once per match, which is not
+ * steady state). With C2, the JVM itself occasionally allocates a few hundred bytes on the measured thread
+ * (one-off events tied to compilation timing, not to game code), so up to {@code MAX_ISOLATED_EVENTS}
+ * allocating ticks are tolerated; a real allocation in the tick recurs on every tick, goal or power-up and
+ * shows up hundreds of times. Exits with status 1 otherwise, so it can gate a build script:
+ * {@code java -Djava.awt.headless=true -cp PongGame TickAllocationCheck}.
+ * <p>
+ * Vérification de non-régression prouvant qu'un tick de jeu n'alloue rien sur le tas en régime établi.
+ * Elle mesure les octets alloués par le thread courant ({@code com.sun.management.ThreadMXBean})
+ * sur de nombreux ticks de trois chemins :
+ * <ul>
+ * <li>le moteur sans affichage seul, IA contre IA, puis une politique entraînée ({@link PolicyPaddleController})
+ *     contre l'IA, en relançant les parties à mesure qu'elles se terminent ;</li>
+ * <li>tout le chemin {@code GamePanel.updateGameLogic} (particules, écouteur et moteur), sans fenêtre ;</li>
+ * <li>{@link VectorPongEnv#step}, relances des parties terminées comprises.</li>
+ * </ul>
+ * Les ticks qui terminent une partie sont exclus (le message de fin de partie est construit une fois par partie,
+ * ce qui n'est pas le régime établi). Avec C2, la JVM elle-même alloue parfois quelques centaines d'octets sur le
+ * thread mesuré (événements ponctuels liés au calendrier de compilation, pas au code du jeu), donc jusqu'à
+ * {@code MAX_ISOLATED_EVENTS} ticks allouants sont tolérés ; une vraie allocation dans le tick se répète à chaque
+ * tick, but ou power-up et apparaît des centaines de fois. Se termine avec le code 1 sinon, afin de pouvoir
+ * bloquer un script de construction.
+ */
+public class TickAllocationCheck {
+    private static final int WARMUP_TICKS = 200_000; // (EN) Ticks run before measuring (JIT, list growth, pools). (FR) Ticks exécutés avant la mesure (JIT, agrandissement des listes, pools).
+    private static final int MEASURED_TICKS = 200_000; // (EN) Ticks measured per path. (FR) Ticks mesurés par chemin.
+    private static final int VECTOR_ENV_MATCHES = 64; // (EN) Matches of the measured training environment. (FR) Parties de l'environnement d'entraînement mesuré.
+    private static final int MAX_ISOLATED_EVENTS = 4; // (EN) Allocating ticks tolerated as JVM noise. (FR) Ticks allouants tolérés comme bruit de la JVM.
+
+    /**
+     * Result of one measured path.
+     * <p>
+     * Résultat d'un chemin mesuré.
+     */
+    private static final class Measurement {
+        long bytes; // (EN) Total bytes allocated by measured ticks. (FR) Total des octets alloués par les ticks mesurés.
+        int allocatingTicks; // (EN) Number of measured ticks that allocated. (FR) Nombre de ticks mesurés ayant alloué.
+
+        boolean passed() {
+            return allocatingTicks <= MAX_ISOLATED_EVENTS;
+        }
+
+        @Override
+        public String toString() {
+            return bytes + " bytes in " + allocatingTicks + " of " + MEASURED_TICKS + " ticks";
+        }
+    }
+
+    public static void main(String[] args) {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            System.err.println("Per-thread allocation counters are not available on this JVM.");
+            System.exit(2);
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        Measurement engine = checkEngine(threads, new AIPaddleController(AIDifficulty.HARD, new Random(1)));
+        Measurement policy = checkEngine(threads, new PolicyPaddleController(MlpPolicy.random(
+                new int[] {VectorPongEnv.OBSERVATION_SIZE, 64, 64, PolicyPaddleController.ACTIONS}, new Random(4))));
+        Measurement panel = checkPanel(threads);
+        Measurement env = checkVectorEnv(threads);
+        System.out.println("MatchEngine.step():        " + engine);
+        System.out.println("  with a policy paddle:    " + policy);
+        System.out.println("GamePanel.updateGameLogic: " + panel);
+        System.out.println("VectorPongEnv.step():      " + env);
+        if (!engine.passed() || !policy.passed() || !panel.passed() || !env.passed()) {
+            System.err.println("FAIL: the game tick allocates.");
+            System.exit(1);
+        }
+        System.out.println("OK: the game tick is allocation-free.");
+    }
+
+    /**
+     * Measures the engine alone, a given controller on paddle 1 against the AI.
+     * <p>
+     * Mesure le moteur seul, un contrôleur donné sur la raquette 1 contre l'IA.
+     */
+    private static Measurement checkEngine(com.sun.management.ThreadMXBean threads, PaddleController left) {
+        MatchEngine engine = new MatchEngine(800, 600, 42L);
+        engine.setControllers(left, new AIPaddleController(AIDifficulty.MEDIUM, new Random(2)));
+        engine.startNewMatch();
+        for (int i = 0; i < WARMUP_TICKS; i++) {
+            stepEngine(engine);
+        }
+        return measure(threads, engine, null);
+    }
+
+    /**
+     * Measures the full panel update path in player-versus-AI mode (paddle 1 idle).
+     * <p>
+     * Mesure tout le chemin de mise à jour du panneau en mode joueur contre IA (raquette 1 immobile).
+     */
+    private static Measurement checkPanel(com.sun.management.ThreadMXBean threads) {
+        String scratchFile = System.getProperty("java.io.tmpdir") + "/pong_alloc_check.dat"; // Never the player's file / Jamais le fichier du joueur
+        PongGame.GamePanel panel = new PongGame.GamePanel(800, 600, scratchFile);
+        panel.startNewGame();
+        for (int i = 0; i < WARMUP_TICKS; i++) {
+            if (!panel.isPlaying()) panel.startNewGame();
+            panel.updateGameLogic();
+        }
+        return measure(threads, null, panel);
+    }
+
+    /**
+     * Measures the training environment stepped on the measuring thread; each measured step advances
+     * {@code VECTOR_ENV_MATCHES} matches, restarting those that end, which must not allocate either.
+     * <p>
+     * Mesure l'environnement d'entraînement avancé sur le thread de mesure ; chaque pas mesuré fait avancer
+     * {@code VECTOR_ENV_MATCHES} parties, en relançant celles qui se terminent, ce qui ne doit pas allouer non plus.
+     */
+    private static Measurement checkVectorEnv(com.sun.management.ThreadMXBean threads) {
+        VectorPongEnv env = new VectorPongEnv(VECTOR_ENV_MATCHES, AIProfile.MEDIUM, 3_600, 42L);
+        int[] actions = new int[VECTOR_ENV_MATCHES];
+        Random policy = new Random(3);
+        env.reset();
+        // As many warmup ticks per match as the engine path: each match fills its own pools / Autant de ticks de préchauffage par partie que le chemin du moteur : chaque partie remplit ses propres pools
+        for (int i = 0; i < WARMUP_TICKS; i++) {
+            nextActions(policy, actions);
+            env.step(actions);
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long probe = probeCost(threads, threadId);
+        Measurement result = new Measurement();
+        for (int measured = 0; measured < MEASURED_TICKS; measured++) {
+            nextActions(policy, actions);
+            long before = threads.getThreadAllocatedBytes(threadId);
+            env.step(actions);
+            long allocated = threads.getThreadAllocatedBytes(threadId) - before - probe;
+            if (allocated > 0) {
+                result.bytes += allocated;
+                result.allocatingTicks++;
+            }
+        }
+        return result;
+    }
+
+    private static void nextActions(Random policy, int[] actions) {
+        for (int i = 0; i < actions.length; i++) {
+            actions[i] = policy.nextInt(3) - 1;
+        }
+    }
+
+    /**
+     * Returns the bytes reported by the allocation counter for reading itself, subtracted from every sample.
+     * <p>
+     * Retourne les octets comptés par le compteur d'allocation pour sa propre lecture, soustraits de chaque mesure.
+     */
+    private static long probeCost(com.sun.management.ThreadMXBean threads, long threadId) {
+        long probe = Long.MAX_VALUE;
+        for (int i = 0; i < 1000; i++) {
+            long a = threads.getThreadAllocatedBytes(threadId);
+            long b = threads.getThreadAllocatedBytes(threadId);
+            probe = Math.min(probe, b - a);
+        }
+        return probe;
+    }
+
+    /**
+     * Measures the bytes allocated by each tick that does not end a match; exactly one of engine / panel is non-null.
+     * <p>
+     * Mesure les octets alloués par chaque tick qui ne termine pas une partie ; exactement un parmi moteur / panneau est non nul.
+     */
+    private static Measurement measure(com.sun.management.ThreadMXBean threads, MatchEngine engine, PongGame.GamePanel panel) {
+        long threadId = Thread.currentThread().getId();
+        long probe = probeCost(threads, threadId);
+
+        Measurement result = new Measurement();
+        int measured = 0;
+        while (measured < MEASURED_TICKS) {
+            // Restarting a match is outside the measured window / Relancer une partie est hors de la fenêtre mesurée
+            if (engine != null && engine.isMatchOver()) engine.startNewMatch();
+            if (panel != null && !panel.isPlaying()) panel.startNewGame();
+
+            long before = threads.getThreadAllocatedBytes(threadId);
+            if (engine != null) {
+                engine.step();
+            } else {
+                panel.updateGameLogic();
+            }
+            long after = threads.getThreadAllocatedBytes(threadId);
+
+            boolean matchEnded = engine != null ? engine.isMatchOver() : !panel.isPlaying();
+            if (!matchEnded) {
+                long allocated = after - before - probe;
+                if (allocated > 0) {
+                    result.bytes += allocated;
+                    result.allocatingTicks++;
+                }
+                measured++;
+            }
+        }
+        return result;
+    }
+
+    private static void stepEngine(MatchEngine engine) {
+        if (engine.isMatchOver()) engine.startNewMatch();
+        engine.step();
+    }
+}
@@ -0,0 +1,477 @@
+// TournamentRunner.java
+// This file contains the command-line tool playing headless AI-vs-AI tournaments on all cores.
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays AI-vs-AI matches between every pair of variants with the real {@link MatchEngine} (physics, power-ups,
+ * multi-ball), and reports for each pair the win rate with its 95% Wilson confidence interval, the share of points
+ * won, the distribution of rally lengths (paddle hits between two goals, in a {@link LatencyHistogram}) and the
+ * match length.
+ * <ul>
+ * <li>The matches of a pair are split recursively into {@link RecursiveTask}s run by a {@link ForkJoinPool}, whose
+ *     work stealing keeps every core busy even though match lengths vary by orders of magnitude.</li>
+ * <li>Each match has its own seed derived from the tournament seed and its position, so the results do not
+ *     depend on the number of threads or on scheduling: a run is reproduced by passing the same seed.</li>
+ * <li>Variants swap sides every other match. Evenly matched AIs can rally forever, so a match stops after
+ *     {@code --max-ticks}; it then counts as capped, half a win for each variant, so that the win rate and its
+ *     interval stay defined. A warning is printed for a pair whose matches are mostly capped.</li>
+ * </ul>
+ * Variants are difficulty names or tuned profiles ({@link AIProfile#parse}); by default the four difficulties.
+ * Usage: {@code java -cp PongGame TournamentRunner [--matches N] [--threads N] [--seed S] [--max-ticks T] [--csv out.csv] [variant...]}
+ * <p>
+ * Joue des parties IA contre IA entre chaque paire de variantes avec le vrai {@link MatchEngine} (physique, power-ups,
+ * multi-balles), et rapporte pour chaque paire le taux de victoire avec son intervalle de confiance de Wilson à 95 %,
+ * la part des points gagnés, la distribution des longueurs d'échange (frappes de raquette entre deux buts, dans un
+ * {@link LatencyHistogram}) et la durée des parties.
+ * <ul>
+ * <li>Les parties d'une paire sont découpées récursivement en {@link RecursiveTask} exécutées par un
+ *     {@link ForkJoinPool}, dont le vol de travail occupe tous les cœurs même si la durée des parties varie de
+ *     plusieurs ordres de grandeur.</li>
+ * <li>Chaque partie a sa propre graine dérivée de la graine du tournoi et de sa position, de sorte que les résultats
+ *     ne dépendent ni du nombre de threads ni de l'ordonnancement : une exécution est reproduite avec la même graine.</li>
+ * <li>Les variantes changent de côté une partie sur deux. Des IA de même niveau peuvent échanger indéfiniment, une
+ *     partie s'arrête donc après {@code --max-ticks} ; elle compte alors comme plafonnée, une demi-victoire pour chaque
+ *     variante, afin que le taux de victoire et son intervalle restent définis. Un avertissement est affiché pour une
+ *     paire dont les parties sont pour la plupart plafonnées.</li>
+ * </ul>
+ * Les variantes sont des noms de difficulté ou des profils réglés ({@link AIProfile#parse}) ; par défaut les quatre difficultés.
+ */
+public class TournamentRunner {
+    private static final int DEFAULT_MATCHES = 1000; // (EN) Matches per pair of variants. (FR) Parties par paire de variantes.
+    private static final long DEFAULT_MAX_TICKS = 10L * 60 * MatchEngine.TICKS_PER_SECOND; // (EN) Ten minutes of play. (FR) Dix minutes de jeu.
+    private static final int FIELD_WIDTH = 800; // (EN) Field width, as in the game window. (FR) Largeur du terrain, comme dans la fenêtre du jeu.
+    private static final int FIELD_HEIGHT = 600; // (EN) Field height, as in the game window. (FR) Hauteur du terrain, comme dans la fenêtre du jeu.
+    private static final int LEAF_MATCHES = 8; // (EN) Matches played by a task without splitting it. (FR) Parties jouées par une tâche sans la découper.
+    private static final double Z_95 = 1.959964; // (EN) Normal quantile of a 95% interval. (FR) Quantile normal d'un intervalle à 95 %.
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L; // (EN) SplitMix64 increment. (FR) Incrément de SplitMix64.
+
+    private final List<AIProfile> variants; // (EN) The AIs compared. (FR) Les IA comparées.
+    private final int matchesPerPair; // (EN) Matches played by each pair. (FR) Parties jouées par chaque paire.
+    private final long maxTicks; // (EN) Ticks after which a match is stopped. (FR) Ticks après lesquels une partie est arrêtée.
+    private final long seed; // (EN) Seed of the whole tournament. (FR) Graine de tout le tournoi.
+
+    /**
+     * Results of a pair, or of a slice of its matches, from the point of view of its first variant.
+     * <p>
+     * Résultats d'une paire, ou d'une tranche de ses parties, du point de vue de sa première variante.
+     */
+    public static final class PairResult {
+        private final AIProfile first, second; // (EN) The two variants. (FR) Les deux variantes.
+        private int matches; // (EN) Matches played. (FR) Parties jouées.
+        private int firstWins, secondWins; // (EN) Matches won by each variant. (FR) Parties gagnées par chaque variante.
+        private int capped; // (EN) Matches stopped at the tick limit. (FR) Parties arrêtées à la limite de ticks.
+        private long firstPoints, secondPoints; // (EN) Points scored by each variant. (FR) Points marqués par chaque variante.
+        private long ticks; // (EN) Ticks simulated. (FR) Ticks simulés.
+        private final LatencyHistogram rallies = new LatencyHistogram(); // (EN) Paddle hits of each point, exact below 32. (FR) Frappes de raquette de chaque point, exactes sous 32.
+
+        PairResult(AIProfile first, AIProfile second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        void add(PairResult other) {
+            matches += other.matches;
+            firstWins += other.firstWins;
+            secondWins += other.secondWins;
+            capped += other.capped;
+            firstPoints += other.firstPoints;
+            secondPoints += other.secondPoints;
+            ticks += other.ticks;
+            rallies.add(other.rallies);
+        }
+
+        public AIProfile getFirst() { return first; }
+        public AIProfile getSecond() { return second; }
+        public int getMatches() { return matches; }
+        public int getFirstWins() { return firstWins; }
+        public int getSecondWins() { return secondWins; }
+        public int getCapped() { return capped; }
+        public long getTicks() { return ticks; }
+        public long getFirstPoints() { return firstPoints; }
+        public long getSecondPoints() { return secondPoints; }
+
+        /**
+         * Returns the share of matches won by the first variant, capped matches counting as half a win;
+         * NaN if no match was played.
+         * <p>
+         * Retourne la part des parties gagnées par la première variante, les parties plafonnées comptant pour une
+         * demi-victoire ; NaN si aucune partie n'a été jouée.
+         */
+        public double getFirstWinRate() {
+            return matches == 0 ? Double.NaN : (firstWins + 0.5 * capped) / matches;
+        }
+
+        /**
+         * Returns the bounds of the 95% Wilson score interval of the first variant's win rate, capped matches
+         * counting as half a win.
+         * <p>
+         * Retourne les bornes de l'intervalle de score de Wilson à 95 % du taux de victoire de la première variante,
+         * les parties plafonnées comptant pour une demi-victoire.
+         */
+        public double[] getFirstWinInterval() {
+            return wilsonInterval(firstWins + 0.5 * capped, matches);
+        }
+
+        /**
+         * Returns the share of all points scored by the first variant, capped matches included.
+         * <p>
+         * Retourne la part de tous les points marqués par la première variante, parties plafonnées comprises.
+         */
+        public double getFirstPointShare() {
+            long points = firstPoints + secondPoints;
+            return points == 0 ? Double.NaN : firstPoints / (double) points;
+        }
+
+        public long getPoints() { return firstPoints + secondPoints; }
+
+        /**
+         * Returns the distribution of rally lengths, in paddle hits per point; the rally in progress when a match
+         * is capped is not included.
+         * <p>
+         * Retourne la distribution des longueurs d'échange, en frappes de raquette par point ; l'échange en cours
+         * lorsqu'une partie est plafonnée n'est pas compris.
+         */
+        public LatencyHistogram getRallies() { return rallies; }
+    }
+
+    /**
+     * Counts the paddle hits of the current point and the points of each side.
+     * <p>
+     * Compte les frappes de raquette du point courant et les points de chaque côté.
+     */
+    private static final class RallyCounter implements MatchListener {
+        private final PairResult result; // (EN) Receives the rallies. (FR) Reçoit les échanges.
+        private int hits; // (EN) Paddle hits since the last goal. (FR) Frappes de raquette depuis le dernier but.
+
+        RallyCounter(PairResult result) {
+            this.result = result;
+        }
+
+        @Override
+        public void onPaddleHit(int player, int x, int y) {
+            hits++;
+        }
+
+        @Override
+        public void onGoal(int scoringPlayer) {
+            result.rallies.record(hits);
+            hits = 0;
+        }
+    }
+
+    /**
+     * Plays the matches {@code [from, to)} of a pair, splitting the range while it is larger than a leaf.
+     * <p>
+     * Joue les parties {@code [from, to)} d'une paire, en découpant l'intervalle tant qu'il dépasse une feuille.
+     */
+    private final class MatchesTask extends RecursiveTask<PairResult> {
+        private static final long serialVersionUID = 1L; // For serialization compatibility / Pour la compatibilité de sérialisation
+        private final long pairSeed; // (EN) Seed the pair's match seeds derive from. (FR) Graine dont dérivent les graines des parties de la paire.
+        private final AIProfile first, second; // (EN) The two variants. (FR) Les deux variantes.
+        private final int from, to; // (EN) Match range. (FR) Intervalle de parties.
+
+        MatchesTask(long pairSeed, AIProfile first, AIProfile second, int from, int to) {
+            this.pairSeed = pairSeed;
+            this.first = first;
+            this.second = second;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected PairResult compute() {
+            if (to - from > LEAF_MATCHES) {
+                int middle = (from + to) >>> 1;
+                MatchesTask left = new MatchesTask(pairSeed, first, second, from, middle);
+                left.fork(); // Stolen by an idle worker, or run below / Volée par un worker inactif, ou exécutée plus bas
+                PairResult result = new MatchesTask(pairSeed, first, second, middle, to).compute();
+                result.add(left.join());
+                return result;
+            }
+            PairResult result = new PairResult(first, second);
+            for (int match = from; match < to; match++) {
+                playMatch(result, matchSeed(pairSeed, match), match % 2 == 1);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Constructs a tournament.
+     * <p>
+     * Construit un tournoi.
+     *
+     * @param variants       (EN) The AIs compared, at least one; a single one plays itself. (FR) Les IA comparées, au moins une ; une seule joue contre elle-même.
+     * @param matchesPerPair (EN) Matches played by each pair. (FR) Parties jouées par chaque paire.
+     * @param maxTicks       (EN) Ticks after which a match is stopped. (FR) Ticks après lesquels une partie est arrêtée.
+     * @param seed           (EN) Seed of the whole tournament. (FR) Graine de tout le tournoi.
+     */
+    public TournamentRunner(List<AIProfile> variants, int matchesPerPair, long maxTicks, long seed) {
+        if (variants.isEmpty() || matchesPerPair <= 0 || maxTicks <= 0) {
+            throw new IllegalArgumentException("Need variants, positive matches and tick limit: " + variants.size()
+                    + ", " + matchesPerPair + ", " + maxTicks);
+        }
+        this.variants = new ArrayList<>(variants);
+        this.matchesPerPair = matchesPerPair;
+        this.maxTicks = maxTicks;
+        this.seed = seed;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int matches = DEFAULT_MATCHES;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = 1;
+        long maxTicks = DEFAULT_MAX_TICKS;
+        Path csv = null;
+        List<AIProfile> variants = new ArrayList<>();
+        boolean valid = true;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--matches": matches = Integer.parseInt(args[++i]); break;
+                    case "--threads": threads = Integer.parseInt(args[++i]); break;
+                    case "--seed": seed = Long.parseLong(args[++i]); break;
+                    case "--max-ticks": maxTicks = Long.parseLong(args[++i]); break;
+                    case "--csv": csv = Paths.get(args[++i]); break;
+                    default: variants.add(AIProfile.parse(args[i]));
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) { // NumberFormatException included / NumberFormatException comprise
+            valid = false; // Reported as a usage error below / Signalé comme erreur d'utilisation ci-dessous
+        }
+        if (!valid || matches <= 0 || threads <= 0 || maxTicks <= 0) {
+            System.err.println("Usage: java -cp PongGame TournamentRunner [--matches N] [--threads N] [--seed S] "
+                    + "[--max-ticks T] [--csv out.csv] [EASY|MEDIUM|HARD|IMPOSSIBLE|name=min-max:error ...]");
+            System.exit(2);
+        }
+        if (variants.isEmpty()) {
+            for (AIDifficulty difficulty : AIDifficulty.values()) {
+                variants.add(AIProfile.of(difficulty));
+            }
+        }
+
+        TournamentRunner tournament = new TournamentRunner(variants, matches, maxTicks, seed);
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        List<PairResult> results;
+        try {
+            results = tournament.run(pool);
+        } finally {
+            pool.shutdown();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long totalMatches = 0, totalTicks = 0;
+        for (PairResult result : results) {
+            totalMatches += result.getMatches();
+            totalTicks += result.getTicks();
+        }
+        System.out.print(report(results));
+        for (PairResult result : results) {
+            if (2 * result.getCapped() > result.getMatches()) {
+                System.err.println(String.format(Locale.ROOT, "Warning: %d of %d matches of %s vs %s reached --max-ticks %d; "
+                        + "raise it for a decisive win rate", result.getCapped(), result.getMatches(), result.getFirst(),
+                        result.getSecond(), maxTicks));
+            }
+        }
+        System.out.println(String.format(Locale.ROOT, "%d matches, %d ticks in %.1f s on %d threads (%.0f matches/s, %.1f M ticks/s), seed %d",
+                totalMatches, totalTicks, seconds, threads, totalMatches / seconds, totalTicks / seconds / 1e6, seed));
+        if (csv != null) {
+            writeCsv(csv, results);
+        }
+    }
+
+    /**
+     * Plays every pair of variants, all pairs at once on the pool.
+     * <p>
+     * Joue chaque paire de variantes, toutes les paires à la fois sur le pool.
+     *
+     * @param pool (EN) Runs the matches. (FR) Exécute les parties.
+     * @return (EN) One result per pair, in order. (FR) Un résultat par paire, dans l'ordre.
+     */
+    public List<PairResult> run(ForkJoinPool pool) {
+        List<MatchesTask> tasks = new ArrayList<>();
+        if (variants.size() == 1) {
+            tasks.add(new MatchesTask(seed, variants.get(0), variants.get(0), 0, matchesPerPair)); // Self-play / Contre elle-même
+        }
+        for (int i = 0; i < variants.size(); i++) {
+            for (int j = i + 1; j < variants.size(); j++) {
+                long pairSeed = seed + GOLDEN_GAMMA * ((long) tasks.size() << 32);
+                tasks.add(new MatchesTask(pairSeed, variants.get(i), variants.get(j), 0, matchesPerPair));
+            }
+        }
+        return joinAll(pool, tasks);
+    }
+
+    /**
+     * Plays each candidate against one opponent, all candidates at once on the pool, e.g. for
+     * {@link AICalibrationTool}. The matches of a candidate are seeded from its parameters and the opponent's
+     * rather than from its position, so its result does not depend on the other candidates of the call.
+     * <p>
+     * Joue chaque candidat contre un même adversaire, tous les candidats à la fois sur le pool, par exemple pour
+     * {@link AICalibrationTool}. Les parties d'un candidat sont ensemencées à partir de ses paramètres et de ceux
+     * de l'adversaire plutôt que de sa position, de sorte que son résultat ne dépend pas des autres candidats de l'appel.
+     *
+     * @param pool       (EN) Runs the matches. (FR) Exécute les parties.
+     * @param candidates (EN) The AIs evaluated, first variant of each result. (FR) Les IA évaluées, première variante de chaque résultat.
+     * @param opponent   (EN) The reference AI. (FR) L'IA de référence.
+     * @return (EN) One result per candidate, in order. (FR) Un résultat par candidat, dans l'ordre.
+     */
+    public List<PairResult> playAgainst(ForkJoinPool pool, List<AIProfile> candidates, AIProfile opponent) {
+        List<MatchesTask> tasks = new ArrayList<>(candidates.size());
+        long opponentSeed = profileSeed(seed, opponent);
+        for (AIProfile candidate : candidates) {
+            tasks.add(new MatchesTask(profileSeed(opponentSeed, candidate), candidate, opponent, 0, matchesPerPair));
+        }
+        return joinAll(pool, tasks);
+    }
+
+    /**
+     * Mixes the parameters of a profile into a seed, all 64 bits of each, so that distinct profiles get
+     * unrelated seeds (its name is left out: renaming a profile does not change its matches).
+     * <p>
+     * Mélange les paramètres d'un profil dans une graine, les 64 bits de chacun, de sorte que des profils distincts
+     * reçoivent des graines sans rapport (son nom est laissé de côté : renommer un profil ne change pas ses parties).
+     */
+    private static long profileSeed(long seed, AIProfile profile) {
+        long z = matchSeed(seed, profile.getMinReactionTicks());
+        z = matchSeed(z, profile.getMaxReactionTicks());
+        return matchSeed(z ^ Double.doubleToLongBits(profile.getMaxError()), 0);
+    }
+
+    private static List<PairResult> joinAll(ForkJoinPool pool, List<MatchesTask> tasks) {
+        for (MatchesTask task : tasks) {
+            pool.execute(task);
+        }
+        List<PairResult> results = new ArrayList<>(tasks.size());
+        for (MatchesTask task : tasks) {
+            results.add(task.join());
+        }
+        return results;
+    }
+
+    /**
+     * Plays one match until it has a winner or reaches the tick limit, and adds it to a result.
+     * <p>
+     * Joue une partie jusqu'à ce qu'elle ait un gagnant ou atteigne la limite de ticks, et l'ajoute à un résultat.
+     */
+    private void playMatch(PairResult result, long matchSeed, boolean swapSides) {
+        MatchEngine engine = new MatchEngine(FIELD_WIDTH, FIELD_HEIGHT, matchSeed);
+        AIPaddleController first = new AIPaddleController(result.first, new Random(matchSeed * 31 + 1));
+        AIPaddleController second = new AIPaddleController(result.second, new Random(matchSeed * 31 + 2));
+        if (swapSides) {
+            engine.setControllers(second, first);
+        } else {
+            engine.setControllers(first, second);
+        }
+        engine.setListener(new RallyCounter(result));
+        engine.startNewMatch();
+        long ticks = 0;
+        while (!engine.isMatchOver() && ticks < maxTicks) {
+            engine.step();
+            ticks++;
+        }
+
+        int firstPlayer = swapSides ? 2 : 1;
+        result.matches++;
+        result.ticks += ticks;
+        result.firstPoints += engine.getScore(firstPlayer);
+        result.secondPoints += engine.getScore(3 - firstPlayer);
+        if (!engine.isMatchOver()) {
+            result.capped++;
+        } else if (engine.getWinner() == firstPlayer) {
+            result.firstWins++;
+        } else {
+            result.secondWins++;
+        }
+    }
+
+    /**
+     * Derives the seed of a match from the seed of its pair, so that it depends only on the match's position.
+     * Package-private: {@link VectorPongEnv} seeds its matches the same way.
+     * <p>
+     * Dérive la graine d'une partie de la graine de sa paire, de sorte qu'elle ne dépende que de la position de la partie.
+     * Visibilité paquet : {@link VectorPongEnv} ensemence ses parties de la même façon.
+     */
+    static long matchSeed(long pairSeed, int match) {
+        long z = pairSeed + GOLDEN_GAMMA * (match + 1); // SplitMix64 / SplitMix64
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Computes the Wilson score interval of a binomial proportion, which stays inside [0, 1] and remains accurate
+     * for rates close to 0 or 1, unlike the normal approximation.
+     * <p>
+     * Calcule l'intervalle de score de Wilson d'une proportion binomiale, qui reste dans [0, 1] et reste précis pour
+     * des taux proches de 0 ou 1, contrairement à l'approximation normale.
+     *
+     * @param successes (EN) Successes, halves allowed (a capped match is half a win). (FR) Succès, moitiés permises (une partie plafonnée est une demi-victoire).
+     * @param trials    (EN) Trials. (FR) Essais.
+     * @return (EN) Lower and upper bounds, NaN without trials. (FR) Bornes inférieure et supérieure, NaN sans essai.
+     */
+    public static double[] wilsonInterval(double successes, long trials) {
+        if (trials == 0) return new double[] {Double.NaN, Double.NaN};
+        double p = successes / (double) trials;
+        double z2 = Z_95 * Z_95;
+        double denominator = 1 + z2 / trials;
+        double center = (p + z2 / (2 * trials)) / denominator;
+        double margin = Z_95 * Math.sqrt(p * (1 - p) / trials + z2 / (4.0 * trials * trials)) / denominator;
+        return new double[] {Math.max(0, center - margin), Math.min(1, center + margin)};
+    }
+
+    /**
+     * Formats the results as a table, one line per pair.
+     * <p>
+     * Met en forme les résultats en tableau, une ligne par paire.
+     */
+    static String report(List<PairResult> results) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%-25s %7s %7s %15s %7s %7s %7s %6s %6s %6s %6s %9s%n", "first vs second",
+                "matches", "win %", "95% CI", "capped", "pts %", "rally", "p50", "p90", "p99", "max", "ticks/m"));
+        for (PairResult r : results) {
+            double[] ci = r.getFirstWinInterval();
+            LatencyHistogram rallies = r.getRallies();
+            sb.append(String.format(Locale.ROOT, "%-25s %7d %7.2f %7.2f-%-7.2f %7d %7.2f %7.2f %6d %6d %6d %6d %9.0f%n",
+                    r.getFirst() + " vs " + r.getSecond(), r.getMatches(), 100 * r.getFirstWinRate(),
+                    100 * ci[0], 100 * ci[1], r.getCapped(), 100 * r.getFirstPointShare(), rallies.getMean(),
+                    rallies.valueAtPercentile(50), rallies.valueAtPercentile(90), rallies.valueAtPercentile(99),
+                    rallies.getMax(), r.getTicks() / (double) r.getMatches()));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Writes the results as CSV, one line per pair, rates as fractions.
+     * <p>
+     * Écrit les résultats en CSV, une ligne par paire, taux en fractions.
+     */
+    static void writeCsv(Path file, List<PairResult> results) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("first,second,matches,first_wins,second_wins,capped,first_win_rate,ci_low,ci_high,"
+                    + "first_point_share,mean_rally,rally_p50,rally_p90,rally_p99,rally_max,mean_ticks\n");
+            for (PairResult r : results) {
+                double[] ci = r.getFirstWinInterval();
+                LatencyHistogram rallies = r.getRallies();
+                out.write(String.format(Locale.ROOT, "%s,%s,%d,%d,%d,%d,%.5f,%.5f,%.5f,%.5f,%.3f,%d,%d,%d,%d,%.1f%n",
+                        r.getFirst().toSpec(), r.getSecond().toSpec(), r.getMatches(), r.getFirstWins(),
+                        r.getSecondWins(), r.getCapped(), r.getFirstWinRate(), ci[0], ci[1], r.getFirstPointShare(),
+                        rallies.getMean(), rallies.valueAtPercentile(50), rallies.valueAtPercentile(90),
+                        rallies.valueAtPercentile(99), rallies.getMax(), r.getTicks() / (double) r.getMatches()));
+            }
+        }
+    }
+}
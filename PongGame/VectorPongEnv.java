@@ -0,0 +1,316 @@
+// VectorPongEnv.java
+// This file contains the batched reinforcement-learning environment stepping many headless matches per call.
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Reinforcement-learning environment running N independent matches of the real {@link MatchEngine}, so that a
+ * policy trained here plays by the same ball, paddle and power-up rules as the game. In each match the agent
+ * controls paddle 1 against an {@link AIPaddleController} with a given {@link AIProfile}.
+ * <ul>
+ * <li>{@link #reset()} starts every match; {@link #step(int[])} applies one action per match (-1 up, 0 still,
+ *     1 down) and advances every match by one tick.</li>
+ * <li>Results are written to flat primitive arrays owned by the environment and overwritten by each call:
+ *     {@link #getObservations()} ({@link #OBSERVATION_SIZE} floats per match, see {@link #observe}),
+ *     {@link #getRewards()} (+1 when the agent scores, -1 when it concedes) and {@link #getDones()}.</li>
+ * <li>A match that ends (a winner, or the episode tick limit) is restarted within the same step: its done flag is
+ *     set, its reward is the one of the final tick and its observation is already the first of the next episode.</li>
+ * <li>In steady state a step allocates nothing: engines, controllers and shard tasks are built once and reused,
+ *     and each match recycles its balls and power-ups (checked by {@link TickAllocationCheck}).</li>
+ * <li>With a {@link ForkJoinPool}, the matches are split into contiguous shards stepped in parallel; each match
+ *     has its own seeded random sources, so the results do not depend on the number of shards.</li>
+ * </ul>
+ * <p>
+ * Environnement d'apprentissage par renforcement faisant tourner N parties indépendantes du vrai
+ * {@link MatchEngine}, afin qu'une politique entraînée ici joue selon les mêmes règles de balle, de raquette et de
+ * power-ups que le jeu. Dans chaque partie, l'agent contrôle la raquette 1 contre un {@link AIPaddleController}
+ * de {@link AIProfile} donné.
+ * <ul>
+ * <li>{@link #reset()} démarre toutes les parties ; {@link #step(int[])} applique une action par partie (-1 haut,
+ *     0 immobile, 1 bas) et fait avancer chaque partie d'un tick.</li>
+ * <li>Les résultats sont écrits dans des tableaux primitifs plats appartenant à l'environnement et écrasés à chaque
+ *     appel : {@link #getObservations()} ({@link #OBSERVATION_SIZE} flottants par partie, voir {@link #observe}),
+ *     {@link #getRewards()} (+1 quand l'agent marque, -1 quand il encaisse) et {@link #getDones()}.</li>
+ * <li>Une partie qui se termine (un gagnant, ou la limite de ticks de l'épisode) est relancée dans le même pas :
+ *     son drapeau de fin est levé, sa récompense est celle du dernier tick et son observation est déjà la première
+ *     de l'épisode suivant.</li>
+ * <li>En régime établi, un pas n'alloue rien : moteurs, contrôleurs et tâches de découpage sont construits une fois
+ *     et réutilisés, et chaque partie recycle ses balles et ses power-ups (vérifié par {@link TickAllocationCheck}).</li>
+ * <li>Avec un {@link ForkJoinPool}, les parties sont découpées en tranches contiguës avancées en parallèle ; chaque
+ *     partie a ses propres sources aléatoires avec graine, les résultats ne dépendent donc pas du nombre de tranches.</li>
+ * </ul>
+ */
+public class VectorPongEnv {
+    public static final int OBSERVED_BALLS = 2; // (EN) Balls described in an observation. (FR) Balles décrites dans une observation.
+    public static final int BALL_FEATURES = 5; // (EN) Floats per observed ball. (FR) Flottants par balle observée.
+    public static final int OBSERVATION_SIZE = 4 + OBSERVED_BALLS * BALL_FEATURES; // (EN) Floats per match. (FR) Flottants par partie.
+    private static final float VELOCITY_SCALE = 16f; // (EN) Ball speeds are divided by this, keeping them near [-1, 1]. (FR) Les vitesses des balles sont divisées par cette valeur, les gardant près de [-1, 1].
+    private static final int FIELD_WIDTH = 800; // (EN) Field width, as in the game window. (FR) Largeur du terrain, comme dans la fenêtre du jeu.
+    private static final int FIELD_HEIGHT = 600; // (EN) Field height, as in the game window. (FR) Hauteur du terrain, comme dans la fenêtre du jeu.
+
+    /**
+     * Paddle controller replaying the action set by {@link #step}.
+     * <p>
+     * Contrôleur de raquette rejouant l'action fixée par {@link #step}.
+     */
+    private static final class ActionController implements PaddleController {
+        int move; // (EN) Displacement of the current tick. (FR) Déplacement du tick courant.
+
+        @Override
+        public int computeMove(MatchEngine engine, int player) {
+            return move;
+        }
+    }
+
+    /**
+     * Steps a contiguous range of matches.
+     * <p>
+     * Fait avancer une tranche contiguë de parties.
+     */
+    private final class Shard extends RecursiveAction {
+        private static final long serialVersionUID = 1L; // For serialization compatibility / Pour la compatibilité de sérialisation
+        private final int from, to; // (EN) Matches [from, to). (FR) Parties [from, to).
+
+        Shard(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            stepRange(from, to);
+        }
+    }
+
+    /**
+     * Runs all the shards and waits for them.
+     * <p>
+     * Exécute toutes les tranches et les attend.
+     */
+    private final class AllShards extends RecursiveAction {
+        private static final long serialVersionUID = 1L; // For serialization compatibility / Pour la compatibilité de sérialisation
+        @Override
+        protected void compute() {
+            ForkJoinTask.invokeAll(shards); // The array itself, no varargs copy / Le tableau lui-même, sans copie varargs
+        }
+    }
+
+    private final MatchEngine[] engines; // (EN) One match per slot. (FR) Une partie par emplacement.
+    private final ActionController[] agents; // (EN) Paddle 1 of each match. (FR) Raquette 1 de chaque partie.
+    private final long[] episodeTicks; // (EN) Ticks played in the current episode of each match. (FR) Ticks joués dans l'épisode courant de chaque partie.
+    private final long maxEpisodeTicks; // (EN) Ticks after which an episode is cut. (FR) Ticks après lesquels un épisode est coupé.
+    private final float[] observations; // (EN) OBSERVATION_SIZE floats per match. (FR) OBSERVATION_SIZE flottants par partie.
+    private final float[] rewards; // (EN) Reward of the last step, per match. (FR) Récompense du dernier pas, par partie.
+    private final boolean[] dones; // (EN) Episode ended at the last step, per match. (FR) Épisode terminé au dernier pas, par partie.
+    private final ForkJoinPool pool; // (EN) Runs the shards, or null to step on the caller thread. (FR) Exécute les tranches, ou null pour avancer sur le thread appelant.
+    private final Shard[] shards; // (EN) Reused each step. (FR) Réutilisées à chaque pas.
+    private final AllShards root = new AllShards(); // (EN) Task submitted to the pool, reused each step. (FR) Tâche soumise au pool, réutilisée à chaque pas.
+    private int[] actions; // (EN) Actions of the step in progress. (FR) Actions du pas en cours.
+
+    /**
+     * Constructs an environment stepped on the caller thread.
+     * <p>
+     * Construit un environnement avancé sur le thread appelant.
+     *
+     * @param matches         (EN) Number of matches. (FR) Nombre de parties.
+     * @param opponent        (EN) Tuning of the AI on paddle 2. (FR) Réglage de l'IA de la raquette 2.
+     * @param maxEpisodeTicks (EN) Ticks after which an episode is cut. (FR) Ticks après lesquels un épisode est coupé.
+     * @param seed            (EN) Seed of all the matches. (FR) Graine de toutes les parties.
+     */
+    public VectorPongEnv(int matches, AIProfile opponent, long maxEpisodeTicks, long seed) {
+        this(matches, opponent, maxEpisodeTicks, seed, null, 1);
+    }
+
+    /**
+     * Constructs an environment whose matches are split into shards stepped by a pool.
+     * <p>
+     * Construit un environnement dont les parties sont découpées en tranches avancées par un pool.
+     *
+     * @param matches         (EN) Number of matches. (FR) Nombre de parties.
+     * @param opponent        (EN) Tuning of the AI on paddle 2. (FR) Réglage de l'IA de la raquette 2.
+     * @param maxEpisodeTicks (EN) Ticks after which an episode is cut. (FR) Ticks après lesquels un épisode est coupé.
+     * @param seed            (EN) Seed of all the matches. (FR) Graine de toutes les parties.
+     * @param pool            (EN) Runs the shards, or null for the caller thread. (FR) Exécute les tranches, ou null pour le thread appelant.
+     * @param shardCount      (EN) Number of shards, e.g. the pool parallelism. (FR) Nombre de tranches, par ex. le parallélisme du pool.
+     */
+    public VectorPongEnv(int matches, AIProfile opponent, long maxEpisodeTicks, long seed, ForkJoinPool pool, int shardCount) {
+        if (matches <= 0 || maxEpisodeTicks <= 0 || shardCount <= 0) {
+            throw new IllegalArgumentException("Matches, tick limit and shards must be positive: " + matches + ", "
+                    + maxEpisodeTicks + ", " + shardCount);
+        }
+        engines = new MatchEngine[matches];
+        agents = new ActionController[matches];
+        for (int i = 0; i < matches; i++) {
+            long matchSeed = TournamentRunner.matchSeed(seed, i); // As the matches of a tournament / Comme les parties d'un tournoi
+            engines[i] = new MatchEngine(FIELD_WIDTH, FIELD_HEIGHT, matchSeed);
+            agents[i] = new ActionController();
+            engines[i].setControllers(agents[i], new AIPaddleController(opponent, new Random(matchSeed * 31 + 2)));
+        }
+        this.episodeTicks = new long[matches];
+        this.maxEpisodeTicks = maxEpisodeTicks;
+        this.observations = new float[matches * OBSERVATION_SIZE];
+        this.rewards = new float[matches];
+        this.dones = new boolean[matches];
+        this.pool = pool;
+        int count = pool == null ? 1 : Math.min(shardCount, matches);
+        this.shards = new Shard[count];
+        for (int s = 0; s < count; s++) {
+            shards[s] = new Shard((int) ((long) matches * s / count), (int) ((long) matches * (s + 1) / count));
+        }
+    }
+
+    /**
+     * Starts a new episode in every match.
+     * <p>
+     * Démarre un nouvel épisode dans chaque partie.
+     *
+     * @return (EN) The first observations, also returned by {@link #getObservations()}. (FR) Les premières observations, aussi retournées par {@link #getObservations()}.
+     */
+    public float[] reset() {
+        for (int i = 0; i < engines.length; i++) {
+            engines[i].startNewMatch();
+            episodeTicks[i] = 0;
+            rewards[i] = 0;
+            dones[i] = false;
+            observe(engines[i], 1, observations, i * OBSERVATION_SIZE);
+        }
+        return observations;
+    }
+
+    /**
+     * Applies one action per match and advances every match by one tick, restarting the matches that end.
+     * <p>
+     * Applique une action par partie et fait avancer chaque partie d'un tick, en relançant les parties qui se terminent.
+     *
+     * @param actions (EN) Per match: -1 up, 0 still, 1 down. (FR) Par partie : -1 haut, 0 immobile, 1 bas.
+     * @return (EN) The new observations, also returned by {@link #getObservations()}. (FR) Les nouvelles observations, aussi retournées par {@link #getObservations()}.
+     */
+    public float[] step(int[] actions) {
+        if (actions.length != engines.length) {
+            throw new IllegalArgumentException("Expected " + engines.length + " actions, got " + actions.length);
+        }
+        this.actions = actions;
+        if (pool == null) {
+            stepRange(0, engines.length);
+        } else {
+            for (Shard shard : shards) {
+                shard.reinitialize(); // A completed task must be reset before it runs again / Une tâche terminée doit être réinitialisée avant de tourner à nouveau
+            }
+            root.reinitialize();
+            pool.invoke(root);
+        }
+        this.actions = null;
+        return observations;
+    }
+
+    private void stepRange(int from, int to) {
+        int[] actions = this.actions;
+        for (int i = from; i < to; i++) {
+            MatchEngine engine = engines[i];
+            agents[i].move = Integer.signum(actions[i]) * MatchEngine.PADDLE_SPEED;
+            int scored = engine.getScore(1);
+            int conceded = engine.getScore(2);
+            engine.step();
+            rewards[i] = (engine.getScore(1) - scored) - (engine.getScore(2) - conceded);
+            boolean done = engine.isMatchOver() || ++episodeTicks[i] >= maxEpisodeTicks;
+            dones[i] = done;
+            if (done) {
+                engine.startNewMatch();
+                episodeTicks[i] = 0;
+            }
+            observe(engine, 1, observations, i * OBSERVATION_SIZE);
+        }
+    }
+
+    /**
+     * Writes the observation of a match seen from one player; the field is mirrored for player 2, so the same policy
+     * can play either side. Layout, coordinates scaled to about [-1, 1]:
+     * <ol>
+     * <li>own paddle center y, own paddle height, opponent paddle center y, opponent paddle height;</li>
+     * <li>for the {@link #OBSERVED_BALLS} most urgent balls (those coming towards the player, soonest first, then the
+     *     others, nearest first): distance to the own goal line x, y, vx, vy, and 1 (0 for all five when the slot is
+     *     empty).</li>
+     * </ol>
+     * Allocates nothing, so a controller can call it every tick.
+     * <p>
+     * Écrit l'observation d'une partie vue par un joueur ; le terrain est mis en miroir pour le joueur 2, afin qu'une
+     * même politique puisse jouer des deux côtés. Disposition, coordonnées ramenées à environ [-1, 1] :
+     * <ol>
+     * <li>centre y de sa raquette, hauteur de sa raquette, centre y de la raquette adverse, hauteur de la raquette adverse ;</li>
+     * <li>pour les {@link #OBSERVED_BALLS} balles les plus urgentes (celles qui viennent vers le joueur, la plus proche
+     *     dans le temps d'abord, puis les autres, la plus proche d'abord) : distance x à sa ligne de but, y, vx, vy,
+     *     et 1 (0 pour les cinq quand l'emplacement est vide).</li>
+     * </ol>
+     * N'alloue rien, un contrôleur peut donc l'appeler à chaque tick.
+     *
+     * @param engine (EN) The match. (FR) La partie.
+     * @param player (EN) The observing player (1 = left, 2 = right). (FR) Le joueur qui observe (1 = gauche, 2 = droite).
+     * @param out    (EN) Destination array. (FR) Tableau de destination.
+     * @param offset (EN) Index of the first float written. (FR) Indice du premier flottant écrit.
+     */
+    public static void observe(MatchEngine engine, int player, float[] out, int offset) {
+        float width = engine.getWidth();
+        float height = engine.getHeight();
+        int opponent = 3 - player;
+        out[offset] = (engine.getPaddleY(player) + engine.getPaddleHeight(player) * 0.5f) / height * 2 - 1;
+        out[offset + 1] = engine.getPaddleHeight(player) / height;
+        out[offset + 2] = (engine.getPaddleY(opponent) + engine.getPaddleHeight(opponent) * 0.5f) / height * 2 - 1;
+        out[offset + 3] = engine.getPaddleHeight(opponent) / height;
+
+        // Two best keys, smaller is more urgent / Les deux meilleures clés, plus petit est plus urgent
+        int direction = player == 1 ? -1 : 1; // Sign of vx towards the player's goal / Signe de vx vers le but du joueur
+        List<MatchEngine.Ball> balls = engine.getBalls();
+        MatchEngine.Ball first = null, second = null;
+        float firstKey = Float.MAX_VALUE, secondKey = Float.MAX_VALUE;
+        for (int b = 0; b < balls.size(); b++) {
+            MatchEngine.Ball ball = balls.get(b);
+            float distance = player == 1 ? ball.getX() : width - ball.getX();
+            int towards = ball.getVx() * direction;
+            // Incoming balls rank by time to the goal line, ahead of all others / Les balles entrantes sont classées par temps jusqu'à la ligne de but, avant toutes les autres
+            float key = towards > 0 ? distance / towards : width * 2 + distance;
+            if (key < firstKey) {
+                second = first;
+                secondKey = firstKey;
+                first = ball;
+                firstKey = key;
+            } else if (key < secondKey) {
+                second = ball;
+                secondKey = key;
+            }
+        }
+        writeBall(engine, player, first, out, offset + 4);
+        writeBall(engine, player, second, out, offset + 4 + BALL_FEATURES);
+    }
+
+    private static void writeBall(MatchEngine engine, int player, MatchEngine.Ball ball, float[] out, int offset) {
+        if (ball == null) {
+            for (int f = 0; f < BALL_FEATURES; f++) out[offset + f] = 0;
+            return;
+        }
+        float width = engine.getWidth();
+        float distance = player == 1 ? ball.getX() : width - ball.getX();
+        out[offset] = distance / width * 2 - 1;
+        out[offset + 1] = (float) ball.getY() / engine.getHeight() * 2 - 1;
+        out[offset + 2] = (player == 1 ? ball.getVx() : -ball.getVx()) / VELOCITY_SCALE; // Positive = away from the own goal / Positif = s'éloigne de son but
+        out[offset + 3] = ball.getVy() / VELOCITY_SCALE;
+        out[offset + 4] = 1;
+    }
+
+    public int getMatchCount() { return engines.length; }
+    public float[] getObservations() { return observations; }
+    public float[] getRewards() { return rewards; }
+    public boolean[] getDones() { return dones; }
+
+    /**
+     * Returns the engine of one match, e.g. to render it or read its score.
+     * <p>
+     * Retourne le moteur d'une partie, par exemple pour l'afficher ou lire son score.
+     */
+    public MatchEngine getEngine(int match) {
+        return engines[match];
+    }
+}